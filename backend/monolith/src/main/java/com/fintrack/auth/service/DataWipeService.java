@@ -2,9 +2,11 @@ package com.fintrack.auth.service;
 
 import com.fintrack.budgets.repository.BudgetRepository;
 import com.fintrack.budgets.repository.GoalRepository;
+import com.fintrack.transactions.event.TransactionsChangedEvent;
 import com.fintrack.transactions.repository.TransactionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,12 +30,14 @@ public class DataWipeService {
     private final TransactionRepository transactionRepository;
     private final BudgetRepository      budgetRepository;
     private final GoalRepository        goalRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public void wipeAllUserData(String userId) {
         transactionRepository.deleteAllByUserId(userId);
         budgetRepository.deleteAllByUserId(userId);
         goalRepository.deleteAllByUserId(userId);
+        eventPublisher.publishEvent(TransactionsChangedEvent.allDates(userId));
         log.info("All data wiped for user {}", userId);
     }
 }
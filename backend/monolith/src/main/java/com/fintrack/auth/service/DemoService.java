@@ -10,9 +10,11 @@ import com.fintrack.budgets.entity.Goal;
 import com.fintrack.budgets.repository.BudgetRepository;
 import com.fintrack.budgets.repository.GoalRepository;
 import com.fintrack.transactions.entity.Transaction;
+import com.fintrack.transactions.event.TransactionsChangedEvent;
 import com.fintrack.transactions.repository.TransactionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -38,6 +40,7 @@ public class DemoService {
     private final DataWipeService       dataWipeService;
     private final PasswordEncoder       passwordEncoder;
     private final JwtUtil               jwtUtil;
+    private final ApplicationEventPublisher eventPublisher;
 
     // No @Transactional here — each repository call manages its own tx.
     // This lets DataWipeService.wipeAllUserData (REQUIRES_NEW) open its own
@@ -162,6 +165,7 @@ public class DemoService {
         }
 
         transactionRepository.saveAll(txns);
+        eventPublisher.publishEvent(TransactionsChangedEvent.allDates(userId));
     }
 
     private void seedBudgets(String userId) {
@@ -98,6 +98,33 @@ public class BudgetController {
         }
     }
 
+    /**
+     * All category budgets for a user and month in one call.
+     * Used by the reports service instead of one /category lookup per category.
+     */
+    @GetMapping("/categories")
+    public ResponseEntity<Map<String, Object>> getCategoryBudgets(
+            @RequestParam String userId,
+            @RequestParam(required = false) String month) {
+
+        log.debug("GET /api/budgets/categories - userId: {}, month: {}", userId, month);
+
+        if (userId == null || userId.trim().isEmpty()) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+
+        try {
+            String targetMonth = month != null && !month.isBlank() ? month : YearMonth.now().toString();
+            Map<String, Object> result = new HashMap<>();
+            result.put("month", targetMonth);
+            result.put("budgets", budgetsService.getCategoryBudgets(userId, targetMonth));
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            log.error("Error fetching category budgets for user {}: {}", userId, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Budget> getBudgetById(
             @PathVariable Long id,
@@ -20,6 +20,13 @@ public interface BudgetRepository extends JpaRepository<Budget, Long> {
 
     Optional<Budget> findByUserIdAndCategory(String userId, String category);
 
+    /**
+     * Category → budget amount for every budget a user has in one month.
+     * Single query used by the reports category breakdown instead of one lookup per category.
+     */
+    @Query("SELECT b.category, b.budget FROM Budget b WHERE b.userId = :userId AND b.month = :month")
+    List<Object[]> findCategoryBudgets(@Param("userId") String userId, @Param("month") String month);
+
     /** JPQL bulk delete — Hibernate resolves the userId field mapping so UUID/VARCHAR cast is handled correctly. */
     @Modifying(clearAutomatically = true)
     @Transactional
@@ -4,6 +4,7 @@ import com.fintrack.budgets.entity.Budget;
 import com.fintrack.budgets.exception.ResourceNotFoundException;
 import com.fintrack.budgets.exception.UnauthorizedException;
 import com.fintrack.budgets.repository.BudgetRepository;
+import com.fintrack.transactions.entity.Transaction;
 import com.fintrack.transactions.repository.TransactionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -14,7 +15,10 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 
@@ -43,15 +47,7 @@ public class BudgetsService {
             BigDecimal spent = transactionRepository.sumExpensesByCategoryAndMonth(
                     budget.getUserId(), budget.getCategory(), month);
 
-            double spentValue = spent != null ? spent.doubleValue() : 0.0;
-
-            if (!Double.valueOf(spentValue).equals(budget.getSpent())) {
-                budget.setSpent(spentValue);
-                Budget saved = budgetRepository.save(budget);
-                if (saved != null) budget = saved; // guard against unstubbed mock returning null
-                log.info("✅ Synced budget '{}' for user {}: spent = {}",
-                        budget.getCategory(), budget.getUserId(), spentValue);
-            }
+            budget = applySpent(budget, spent);
         } catch (Exception e) {
             Long budgetId = budget != null ? budget.getId() : null;
             log.error("⚠️ Failed to sync spent for budget {}: {}", budgetId, e.getMessage());
@@ -59,6 +55,20 @@ public class BudgetsService {
         return budget;
     }
 
+    /** Stores {@code spent} on the budget if it changed. */
+    private Budget applySpent(Budget budget, BigDecimal spent) {
+        double spentValue = spent != null ? spent.doubleValue() : 0.0;
+
+        if (!Double.valueOf(spentValue).equals(budget.getSpent())) {
+            budget.setSpent(spentValue);
+            Budget saved = budgetRepository.save(budget);
+            if (saved != null) budget = saved; // guard against unstubbed mock returning null
+            log.info("✅ Synced budget '{}' for user {}: spent = {}",
+                    budget.getCategory(), budget.getUserId(), spentValue);
+        }
+        return budget;
+    }
+
     /**
      * Sync all budgets for a user and return updated list.
      */
@@ -84,6 +94,21 @@ public class BudgetsService {
         return budgetRepository.findByUserIdAndCategory(userId, category);
     }
 
+    /**
+     * Every category budget for a user and month (YYYY-MM) in one repository call.
+     * Keys keep the stored category spelling; the first budget wins if a category repeats.
+     */
+    public Map<String, Double> getCategoryBudgets(String userId, String month) {
+        String targetMonth = month != null ? month : YearMonth.now().format(DateTimeFormatter.ofPattern("yyyy-MM"));
+        Map<String, Double> budgets = new LinkedHashMap<>();
+        for (Object[] row : budgetRepository.findCategoryBudgets(userId, targetMonth)) {
+            if (row[0] != null && row[1] != null) {
+                budgets.putIfAbsent((String) row[0], ((Number) row[1]).doubleValue());
+            }
+        }
+        return budgets;
+    }
+
     public Budget getBudgetById(String id, String userId) {
         Long budgetId;
         try {
@@ -200,7 +225,34 @@ public class BudgetsService {
 
         // Sync spent from transactions before computing summary
         List<Budget> budgets = syncAllSpent(budgetRepository.findByUserIdAndMonth(userId, targetMonth));
+        return summarize(targetMonth, budgets);
+    }
+
+    /**
+     * The same summary with spent taken from transactions the caller already loaded, which
+     * must cover the whole month; other rows are ignored. Saves one query per budget.
+     */
+    public Map<String, Object> getBudgetSummary(String userId, String month, List<Transaction> transactions) {
+        String targetMonth = month != null ? month : YearMonth.now().format(DateTimeFormatter.ofPattern("yyyy-MM"));
+
+        // Same match as sumExpensesByCategoryAndMonth: EXPENSE rows of the month, category ignoring case
+        Map<String, BigDecimal> spentByCategory = new HashMap<>();
+        for (Transaction t : transactions) {
+            if (!"EXPENSE".equals(t.getType()) || t.getCategory() == null || t.getDate() == null
+                    || !YearMonth.from(t.getDate()).toString().equals(targetMonth)) {
+                continue;
+            }
+            spentByCategory.merge(t.getCategory().toLowerCase(Locale.ROOT), t.getAmount(), BigDecimal::add);
+        }
+
+        List<Budget> budgets = budgetRepository.findByUserIdAndMonth(userId, targetMonth).stream()
+                .map(budget -> budget.getCategory() == null ? budget : applySpent(budget,
+                        spentByCategory.get(budget.getCategory().toLowerCase(Locale.ROOT))))
+                .toList();
+        return summarize(targetMonth, budgets);
+    }
 
+    private static Map<String, Object> summarize(String targetMonth, List<Budget> budgets) {
         double totalBudget = budgets.stream()
                 .mapToDouble(Budget::getBudget)
                 .sum();
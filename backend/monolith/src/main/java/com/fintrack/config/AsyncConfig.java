@@ -0,0 +1,37 @@
+package com.fintrack.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Bounded executor for Spring MVC async work (StreamingResponseBody exports and reports).
+ *
+ * Boot only creates {@code applicationTaskExecutor} when no other Executor bean exists, and
+ * the reports, dashboard and import pools are Executors. Without this bean MVC would fall back
+ * to SimpleAsyncTaskExecutor and start a new thread per streamed response. Sized by the usual
+ * {@code spring.task.execution.*} properties.
+ */
+@Configuration
+public class AsyncConfig implements WebMvcConfigurer {
+
+    private final ThreadPoolTaskExecutor applicationTaskExecutor;
+
+    public AsyncConfig(@Qualifier("applicationTaskExecutor") ThreadPoolTaskExecutor applicationTaskExecutor) {
+        this.applicationTaskExecutor = applicationTaskExecutor;
+    }
+
+    @Bean(name = "applicationTaskExecutor")
+    public static ThreadPoolTaskExecutor applicationTaskExecutor(ThreadPoolTaskExecutorBuilder builder) {
+        return builder.build();
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(applicationTaskExecutor);
+    }
+}
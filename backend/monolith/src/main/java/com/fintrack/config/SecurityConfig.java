@@ -115,7 +115,9 @@ public class SecurityConfig {
                                 "Authorization",
                                 "Content-Type",
                                 "Accept",
-                                "X-User-Id"));
+                                "X-User-Id",
+                                "X-Next-Cursor",
+                                "Link"));
 
                 configuration.setAllowCredentials(true);
                 configuration.setMaxAge(3600L);
@@ -0,0 +1,34 @@
+package com.fintrack.dashboard.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class DashboardConfig {
+
+    /**
+     * Pool the dashboard panels load on. It is separate from the report section pool because
+     * the financial panel fans out onto that pool and waits for it; sharing one pool could
+     * leave every worker waiting on sections queued behind it.
+     */
+    @Bean(name = "dashboardExecutor", destroyMethod = "shutdown")
+    public ExecutorService dashboardExecutor(
+            @Value("${dashboard.pool-size:8}") int poolSize,
+            @Value("${dashboard.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("dashboard-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
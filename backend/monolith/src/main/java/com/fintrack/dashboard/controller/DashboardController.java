@@ -0,0 +1,47 @@
+package com.fintrack.dashboard.controller;
+
+import com.fintrack.dashboard.service.DashboardService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Everything the dashboard renders on load in one request: the financial report, budget and
+ * goal summaries, the transaction summary, alerts and the unread notification count.
+ * {@code fields} selects panels, e.g. {@code ?fields=budgets,goals}.
+ */
+@RestController
+@RequestMapping("/api/dashboard")
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getDashboard(
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "last-30-days") String range,
+            @RequestParam(required = false) String month,
+            @RequestHeader(value = "X-User-Id", required = false) String userId) {
+
+        if (userId == null || userId.isBlank()) {
+            log.warn("GET /api/dashboard rejected: missing X-User-Id");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        Set<DashboardService.Panel> panels;
+        try {
+            panels = DashboardService.parseFields(fields);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+
+        return ResponseEntity.ok(dashboardService.load(dashboardService.context(userId, range, month), panels));
+    }
+}
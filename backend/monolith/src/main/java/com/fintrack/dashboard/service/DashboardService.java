@@ -0,0 +1,227 @@
+package com.fintrack.dashboard.service;
+
+import com.fintrack.alerts.service.AlertService;
+import com.fintrack.budgets.service.BudgetsService;
+import com.fintrack.budgets.service.GoalService;
+import com.fintrack.notifications.service.NotificationService;
+import com.fintrack.reports.service.ReportsService;
+import com.fintrack.transactions.entity.Transaction;
+import com.fintrack.transactions.service.TransactionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Loads the dashboard panels for one request.
+ *
+ * The user, the reporting range, the budget month and the transaction summary window are
+ * resolved once into a {@link DashboardContext} that every panel reads, so all panels use the
+ * same dates. When the budget and transaction panels are both requested and the budget month
+ * overlaps the summary window, the transactions covering both are loaded once and handed to
+ * each summary; otherwise each panel loads its own data through its service, the financial
+ * panel from the report cache and rollups. The requested panels load concurrently on the
+ * dashboard pool; a panel that fails or times out is reported in {@code degraded} instead of
+ * failing the whole response.
+ */
+@Slf4j
+@Service
+public class DashboardService {
+
+    public enum Panel {
+        FINANCIAL("financial"),
+        BUDGETS("budgets"),
+        GOALS("goals"),
+        TRANSACTIONS("transactions"),
+        ALERTS("alerts"),
+        UNREAD_NOTIFICATIONS("unreadNotifications");
+
+        private final String key;
+
+        Panel(String key) {
+            this.key = key;
+        }
+
+        public String key() {
+            return key;
+        }
+    }
+
+    private static final Map<String, Panel> PANELS_BY_KEY = Arrays.stream(Panel.values())
+            .collect(Collectors.toMap(p -> p.key().toLowerCase(), Function.identity()));
+
+    private final ReportsService reportsService;
+    private final BudgetsService budgetsService;
+    private final GoalService goalService;
+    private final TransactionService transactionService;
+    private final AlertService alertService;
+    private final NotificationService notificationService;
+    private final ExecutorService executor;
+    private final MeterRegistry meterRegistry;
+    private final long timeoutMs;
+
+    public DashboardService(ReportsService reportsService,
+            BudgetsService budgetsService,
+            GoalService goalService,
+            TransactionService transactionService,
+            AlertService alertService,
+            NotificationService notificationService,
+            @Qualifier("dashboardExecutor") ExecutorService executor,
+            MeterRegistry meterRegistry,
+            @Value("${dashboard.timeout-ms:8000}") long timeoutMs) {
+        this.reportsService = reportsService;
+        this.budgetsService = budgetsService;
+        this.goalService = goalService;
+        this.transactionService = transactionService;
+        this.alertService = alertService;
+        this.notificationService = notificationService;
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * Parses a comma-separated {@code fields} selector; null or blank selects every panel.
+     *
+     * @throws IllegalArgumentException naming the first unknown field
+     */
+    public static Set<Panel> parseFields(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return EnumSet.allOf(Panel.class);
+        }
+        Set<Panel> panels = EnumSet.noneOf(Panel.class);
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) continue;
+            Panel panel = PANELS_BY_KEY.get(name.toLowerCase());
+            if (panel == null) {
+                throw new IllegalArgumentException("Unknown dashboard field: " + name);
+            }
+            panels.add(panel);
+        }
+        return panels.isEmpty() ? EnumSet.allOf(Panel.class) : panels;
+    }
+
+    /** The request-scoped parameters shared by every panel. */
+    public DashboardContext context(String userId, String range, String month) {
+        LocalDate today = LocalDate.now();
+        String targetMonth = month != null && !month.isBlank()
+                ? month
+                : YearMonth.from(today).format(DateTimeFormatter.ofPattern("yyyy-MM"));
+        return new DashboardContext(userId, range != null ? range : "last-30-days", targetMonth,
+                today.minusMonths(1), today);
+    }
+
+    /** Returns the requested panels keyed by {@link Panel#key()}, in panel order. */
+    public Map<String, Object> load(DashboardContext ctx, Set<Panel> panels) {
+        long start = System.nanoTime();
+        Map<Panel, CompletableFuture<Object>> futures = new EnumMap<>(Panel.class);
+        List<String> degraded = Collections.synchronizedList(new ArrayList<>());
+        CompletableFuture<List<Transaction>> shared = sharedTransactions(ctx, panels);
+        for (Panel panel : panels) {
+            futures.put(panel, submit(panel, ctx, shared, degraded));
+        }
+
+        Map<String, Object> dashboard = new LinkedHashMap<>();
+        futures.forEach((panel, future) -> dashboard.put(panel.key(), future.join()));
+        if (!degraded.isEmpty()) {
+            List<String> names = new ArrayList<>(degraded);
+            Collections.sort(names);
+            dashboard.put("degraded", names);
+        }
+
+        log.debug("Dashboard for user {} loaded {} panels in {} ms", ctx.userId(), panels.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return dashboard;
+    }
+
+    /**
+     * One load of the transactions behind both the budget month and the summary window, or null
+     * when the two panels are not both requested or their dates do not overlap.
+     */
+    private CompletableFuture<List<Transaction>> sharedTransactions(DashboardContext ctx, Set<Panel> panels) {
+        if (!panels.contains(Panel.BUDGETS) || !panels.contains(Panel.TRANSACTIONS)) return null;
+        YearMonth month;
+        try {
+            month = YearMonth.parse(ctx.month());
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+        LocalDate monthStart = month.atDay(1);
+        LocalDate monthEnd = month.atEndOfMonth();
+        if (monthStart.isAfter(ctx.summaryEnd()) || monthEnd.isBefore(ctx.summaryStart())) return null;
+
+        LocalDate start = monthStart.isBefore(ctx.summaryStart()) ? monthStart : ctx.summaryStart();
+        LocalDate end = monthEnd.isAfter(ctx.summaryEnd()) ? monthEnd : ctx.summaryEnd();
+        return CompletableFuture.supplyAsync(
+                () -> transactionService.getTransactionsBetween(ctx.userId(), start, end), executor);
+    }
+
+    private CompletableFuture<Object> submit(Panel panel, DashboardContext ctx,
+            CompletableFuture<List<Transaction>> shared, List<String> degraded) {
+        return CompletableFuture.supplyAsync(() -> time(panel, ctx, shared), executor)
+                .orTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                .exceptionally(e -> {
+                    log.warn("Dashboard panel '{}' failed for user {}: {}", panel.key(), ctx.userId(), e.toString());
+                    meterRegistry.counter("dashboard.panel.fallback", "panel", panel.key()).increment();
+                    degraded.add(panel.key());
+                    return null;
+                });
+    }
+
+    private Object time(Panel panel, DashboardContext ctx, CompletableFuture<List<Transaction>> shared) {
+        long start = System.nanoTime();
+        try {
+            return loadPanel(panel, ctx, shared);
+        } finally {
+            Timer.builder("dashboard.panel")
+                    .tag("panel", panel.key())
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Object loadPanel(Panel panel, DashboardContext ctx, CompletableFuture<List<Transaction>> shared) {
+        return switch (panel) {
+            case FINANCIAL -> reportsService.getFinancialReports(ctx.userId(), ctx.range());
+            case BUDGETS -> shared != null
+                    ? budgetsService.getBudgetSummary(ctx.userId(), ctx.month(), shared.join())
+                    : budgetsService.getBudgetSummary(ctx.userId(), ctx.month());
+            case GOALS -> goalService.getGoalsSummary(ctx.userId());
+            case TRANSACTIONS -> shared != null
+                    ? transactionService.getTransactionSummary(shared.join(), ctx.summaryStart(), ctx.summaryEnd())
+                    : transactionService.getTransactionSummary(ctx.userId(), ctx.summaryStart(), ctx.summaryEnd());
+            case ALERTS -> alertService.getAlertsByUserId(ctx.userId());
+            case UNREAD_NOTIFICATIONS -> notificationService.unreadCount(ctx.userId());
+        };
+    }
+
+    /**
+     * The request parameters the panels share.
+     * {@code summaryStart}/{@code summaryEnd} match the defaults of {@code /api/transactions/summary}.
+     */
+    public record DashboardContext(String userId, String range, String month,
+            LocalDate summaryStart, LocalDate summaryEnd) {
+    }
+}
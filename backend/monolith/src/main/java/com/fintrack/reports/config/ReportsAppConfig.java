@@ -1,9 +1,16 @@
 package com.fintrack.reports.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
 @Configuration
 public class ReportsAppConfig {
 
@@ -11,4 +18,54 @@ public class ReportsAppConfig {
     public RestTemplate restTemplate() {
         return new RestTemplate();
     }
+
+    /**
+     * Bounded pool for concurrent report sections. The app runs on Java 17, so this is a
+     * platform-thread pool; when the queue is full the request thread runs the section itself.
+     */
+    @Bean(name = "reportSectionExecutor", destroyMethod = "shutdown")
+    public ExecutorService reportSectionExecutor(
+            @Value("${reports.sections.pool-size:8}") int poolSize,
+            @Value("${reports.sections.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("report-section-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Small fixed pool that renders exported reports off the request thread. The queue is
+     * bounded; when it is full new exports are rejected instead of piling up in memory.
+     */
+    @Bean(name = "reportExportExecutor", destroyMethod = "shutdown")
+    public ExecutorService reportExportExecutor(
+            @Value("${reports.export.pool-size:2}") int poolSize,
+            @Value("${reports.export.queue-capacity:50}") int queueCapacity) {
+        return new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("report-export-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Workers for scheduled reports. The executor only ever claims as many runs as this queue
+     * can hold, so the abort policy is a safety net rather than an expected path.
+     */
+    @Bean(name = "scheduledReportExecutor", destroyMethod = "shutdown")
+    public ExecutorService scheduledReportExecutor(
+            @Value("${reports.schedule.pool-size:2}") int poolSize,
+            @Value("${reports.schedule.max-in-flight:20}") int maxInFlight) {
+        return new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(maxInFlight),
+                new CustomizableThreadFactory("scheduled-report-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
 }
@@ -1,16 +1,32 @@
 package com.fintrack.reports.controller;
 
+import com.fintrack.reports.entity.ReportHistory;
+import com.fintrack.reports.service.ComparisonService;
+import com.fintrack.reports.service.ExcelGeneratorService;
+import com.fintrack.reports.service.ForecastService;
 import com.fintrack.reports.service.PdfGeneratorService;
+import com.fintrack.reports.service.ReportExportService;
 import com.fintrack.reports.service.ReportsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/reports")
@@ -20,6 +36,10 @@ public class ReportsController {
 
     private final ReportsService reportsService;
     private final PdfGeneratorService pdfGeneratorService;
+    private final ExcelGeneratorService excelGeneratorService;
+    private final ReportExportService reportExportService;
+    private final ForecastService forecastService;
+    private final ComparisonService comparisonService;
 
     @GetMapping("/financial")
     public ResponseEntity<Map<String, Object>> getFinancialReports(
@@ -99,8 +119,12 @@ public class ReportsController {
         return ResponseEntity.ok(insights);
     }
 
+    /**
+     * Synchronous download kept for existing clients. The PDF is streamed into the response
+     * as it renders (chunked, no Content-Length) rather than buffered as a byte array.
+     */
     @GetMapping("/export/pdf")
-    public ResponseEntity<byte[]> exportReportPDF(
+    public ResponseEntity<StreamingResponseBody> exportReportPDF(
             @RequestParam(defaultValue = "last-30-days") String range,
             @RequestHeader(value = "X-User-Id", required = false) String userId,
             Authentication authentication) {
@@ -111,9 +135,6 @@ public class ReportsController {
         // Fetch the same report data shown in the Overview tab
         Map<String, Object> reportData = reportsService.getFinancialReports(finalUserId, range);
 
-        // Generate real PDF bytes
-        byte[] pdfBytes = pdfGeneratorService.generateFinancialReport(reportData, range);
-
         // Sanitize range parameter for use in filename
         String safeRange = range.replaceAll("[^a-zA-Z0-9\\-]", "");
         String filename = "financial-report-" + safeRange + ".pdf";
@@ -121,14 +142,112 @@ public class ReportsController {
         return ResponseEntity.ok()
                 .header("Content-Type", "application/pdf")
                 .header("Content-Disposition", "attachment; filename=\"" + filename + "\"")
-                .header("Content-Length", String.valueOf(pdfBytes.length))
-                .body(pdfBytes);
+                .body(out -> pdfGeneratorService.writeFinancialReport(reportData, range, out));
+    }
+
+    /** The report as an .xlsx workbook, streamed into the response as it is written. */
+    @GetMapping("/export/xlsx")
+    public ResponseEntity<StreamingResponseBody> exportReportXlsx(
+            @RequestParam(defaultValue = "last-30-days") String range,
+            @RequestHeader(value = "X-User-Id", required = false) String userId,
+            Authentication authentication) {
+
+        String finalUserId = resolveUserId(userId, authentication);
+        if (finalUserId == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+
+        Map<String, Object> reportData = reportsService.getFinancialReports(finalUserId, range);
+
+        String safeRange = range.replaceAll("[^a-zA-Z0-9\\-]", "");
+        String filename = "financial-report-" + safeRange + ".xlsx";
+
+        return ResponseEntity.ok()
+                .header("Content-Type", ExcelGeneratorService.CONTENT_TYPE)
+                .header("Content-Disposition", "attachment; filename=\"" + filename + "\"")
+                .body(out -> excelGeneratorService.writeFinancialReport(reportData, range, out));
+    }
+
+    /**
+     * Queues a PDF export and returns its id at once; poll {@code /exports/{id}} and fetch
+     * the file from {@code /exports/{id}/download} when it is COMPLETED.
+     */
+    @PostMapping("/export/pdf")
+    public ResponseEntity<Map<String, Object>> submitPdfExport(
+            @RequestParam(defaultValue = "last-30-days") String range,
+            @RequestHeader(value = "X-User-Id", required = false) String userId,
+            Authentication authentication) {
+
+        String finalUserId = resolveUserId(userId, authentication);
+        if (finalUserId == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+
+        try {
+            ReportHistory job = reportExportService.submitPdf(finalUserId, range);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(toJobResponse(job));
+        } catch (IllegalArgumentException e) {
+            log.warn("PDF export rejected for non-UUID userId={}", finalUserId);
+            return ResponseEntity.badRequest().build();
+        } catch (RejectedExecutionException e) {
+            log.warn("PDF export queue full, rejecting export for userId={}", finalUserId);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
     }
 
+    @GetMapping("/exports/{reportId}")
+    public ResponseEntity<Map<String, Object>> getExportStatus(
+            @PathVariable UUID reportId,
+            @RequestHeader(value = "X-User-Id", required = false) String userId,
+            Authentication authentication) {
+
+        String finalUserId = resolveUserId(userId, authentication);
+        if (finalUserId == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+
+        return reportExportService.findJob(finalUserId, reportId)
+                .map(job -> ResponseEntity.ok(toJobResponse(job)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/exports/{reportId}/download")
+    public ResponseEntity<Resource> downloadExport(
+            @PathVariable UUID reportId,
+            @RequestHeader(value = "X-User-Id", required = false) String userId,
+            Authentication authentication) {
+
+        String finalUserId = resolveUserId(userId, authentication);
+        if (finalUserId == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+
+        Optional<ReportHistory> job = reportExportService.findJob(finalUserId, reportId);
+        if (job.isEmpty()) return ResponseEntity.notFound().build();
+
+        Optional<Path> file = reportExportService.completedFile(job.get());
+        if (file.isEmpty()) {
+            // Still running, failed, or already purged
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+
+        ReportExportService.Format format = ReportExportService.Format.ofFile(file.get());
+        String safeRange = String.valueOf(job.get().getDateRange()).replaceAll("[^a-zA-Z0-9\\-]", "");
+        String filename = "financial-report-" + safeRange + "." + format.extension();
+
+        // Streamed from disk by the resource handler — never loaded into the heap
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.contentType()))
+                .header("Content-Disposition", "attachment; filename=\"" + filename + "\"")
+                .body(new FileSystemResource(file.get()));
+    }
+
+    /**
+     * Either two of the fixed range keywords ({@code period1}, {@code period2}), or an
+     * arbitrary {@code start}..{@code end} range with the {@code periods - 1} periods before
+     * it, laid out by {@code step}: previous, month, quarter or year. This month against the
+     * same month in each of the last three years is {@code periods=4&step=year}.
+     */
     @GetMapping("/comparison")
     public ResponseEntity<Map<String, Object>> getComparisonData(
             @RequestParam(defaultValue = "last-30-days") String period1,
             @RequestParam(defaultValue = "last-30-days") String period2,
+            @RequestParam(required = false) String start,
+            @RequestParam(required = false) String end,
+            @RequestParam(defaultValue = "2") int periods,
+            @RequestParam(defaultValue = "previous") String step,
             @RequestHeader(value = "X-User-Id", required = false) String userId,
             Authentication authentication) {
 
@@ -136,17 +255,25 @@ public class ReportsController {
         if (finalUserId == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
 
         try {
-            java.time.LocalDate[] range1 = parseDateRange(period1);
-            java.time.LocalDate[] range2 = parseDateRange(period2);
+            if (start != null || end != null) {
+                if (start == null || end == null) {
+                    return ResponseEntity.badRequest().body(Map.of("error", "start and end must be given together"));
+                }
+                return ResponseEntity.ok(comparisonService.compare(finalUserId,
+                        LocalDate.parse(start), LocalDate.parse(end), periods, ComparisonService.Step.parse(step)));
+            }
 
-            Map<String, Object> summary1 = reportsService.getFinancialSummary(
-                    finalUserId, range1[0], range1[1], period1);
-            Map<String, Object> summary2 = reportsService.getFinancialSummary(
-                    finalUserId, range2[0], range2[1], period2);
+            LocalDate[] range1 = parseDateRange(period1);
+            LocalDate[] range2 = parseDateRange(period2);
+
+            Map<String, Object> summary1 = comparisonService.summary(finalUserId, range1[0], range1[1]);
+            Map<String, Object> summary2 = comparisonService.summary(finalUserId, range2[0], range2[1]);
 
             return ResponseEntity.ok(Map.of(
                     "period1", Map.of("range", period1, "data", summary1),
                     "period2", Map.of("range", period2, "data", summary2)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             log.error("Error generating comparison for userId={}: {}", finalUserId, e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -163,45 +290,27 @@ public class ReportsController {
         if (finalUserId == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
 
         try {
-            // Use last-6-months of history to project forward
-            List<Map<String, Object>> history = reportsService.getMonthlySummary(finalUserId, "last-6-months");
-
-            // Calculate average monthly income and expenses from history
-            double avgIncome   = history.stream()
-                    .mapToDouble(m -> toDouble(m.get("income"))).average().orElse(0);
-            double avgExpenses = history.stream()
-                    .mapToDouble(m -> toDouble(m.get("expenses"))).average().orElse(0);
-            double avgSavings  = avgIncome - avgExpenses;
-
-            // Build projected months
-            List<Map<String, Object>> projected = new java.util.ArrayList<>();
-            java.time.LocalDate next = java.time.LocalDate.now().withDayOfMonth(1);
-            for (int i = 1; i <= Math.max(1, Math.min(months, 12)); i++) {
-                next = next.plusMonths(1);
-                projected.add(Map.of(
-                        "month",    next.toString().substring(0, 7),
-                        "income",   Math.round(avgIncome   * 100.0) / 100.0,
-                        "expenses", Math.round(avgExpenses * 100.0) / 100.0,
-                        "savings",  Math.round(avgSavings  * 100.0) / 100.0));
-            }
-
-            return ResponseEntity.ok(Map.of(
-                    "forecast",        projected,
-                    "basedOnMonths",   history.size(),
-                    "averageIncome",   Math.round(avgIncome   * 100.0) / 100.0,
-                    "averageExpenses", Math.round(avgExpenses * 100.0) / 100.0,
-                    "averageSavings",  Math.round(avgSavings  * 100.0) / 100.0));
+            return ResponseEntity.ok(forecastService.forecast(finalUserId, months));
         } catch (Exception e) {
             log.error("Error generating forecast for userId={}: {}", finalUserId, e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
-    /** Safely converts a value from report maps to double. */
-    private double toDouble(Object val) {
-        if (val == null) return 0;
-        if (val instanceof Number) return ((Number) val).doubleValue();
-        try { return Double.parseDouble(val.toString()); } catch (NumberFormatException e) { return 0; }
+    private Map<String, Object> toJobResponse(ReportHistory job) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("reportId", job.getId());
+        response.put("status", job.getStatus());
+        response.put("range", job.getDateRange());
+        response.put("requestedAt", job.getGeneratedAt());
+        response.put("completedAt", job.getCompletedAt());
+        response.put("fileSize", job.getFileSize());
+        response.put("error", job.getErrorMessage());
+        response.put("statusUrl", "/api/reports/exports/" + job.getId());
+        if (job.getStatus() == ReportHistory.ReportStatus.COMPLETED) {
+            response.put("downloadUrl", "/api/reports/exports/" + job.getId() + "/download");
+        }
+        return response;
     }
 
     /**
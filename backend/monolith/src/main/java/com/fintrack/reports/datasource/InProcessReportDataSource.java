@@ -0,0 +1,203 @@
+package com.fintrack.reports.datasource;
+
+import com.fintrack.budgets.repository.GoalRepository;
+import com.fintrack.budgets.service.BudgetsService;
+import com.fintrack.reports.entity.TransactionAggregate;
+import com.fintrack.reports.repository.TransactionAggregateRepository;
+import com.fintrack.reports.service.CategoryMonthlySeries;
+import com.fintrack.reports.service.DailyTotalsIndex;
+import com.fintrack.reports.service.MonthlyTrend;
+import com.fintrack.reports.service.ReportSnapshot;
+import com.fintrack.reports.service.TransactionRollupService;
+import com.fintrack.transactions.entity.Transaction;
+import com.fintrack.transactions.repository.RecurringTransactionRepository;
+import com.fintrack.transactions.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Reads report data straight from the repositories. Used by the monolith, where the
+ * transactions and budgets modules live in the same JVM and an HTTP hop buys nothing.
+ *
+ * Snapshots are built from the daily {@code transaction_aggregates} rollups when they are
+ * available for the user, so a year-long range reads a few hundred rows instead of every
+ * transaction. Raw rows are used otherwise.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "reports.data-source", havingValue = "in-process", matchIfMissing = true)
+public class InProcessReportDataSource implements ReportDataSource {
+
+    private final TransactionRepository transactionRepository;
+    private final BudgetsService budgetsService;
+    private final GoalRepository goalRepository;
+    private final TransactionAggregateRepository aggregateRepository;
+    private final TransactionRollupService rollupService;
+    private final RecurringTransactionRepository recurringTransactionRepository;
+
+    @Override
+    public ReportSnapshot loadSnapshot(String userId, LocalDate startDate, LocalDate endDate,
+            LocalDate previousStart, LocalDate previousEnd) {
+        LocalDate[] range = ReportDataSource.fetchRange(startDate, endDate, previousStart, previousEnd);
+
+        UUID rollupKey = rollupService.isEnabled()
+                ? TransactionRollupService.rollupKey(userId).orElse(null)
+                : null;
+        if (rollupKey != null) {
+            List<TransactionAggregate> aggregates = aggregateRepository
+                    .findByUserIdAndDateRange(rollupKey, range[0], range[1]);
+            if (!aggregates.isEmpty()) {
+                log.debug("Loaded {} daily rollups for user {}", aggregates.size(), userId);
+                ReportSnapshot.Builder builder = ReportSnapshot
+                        .builder(startDate, endDate, previousStart, previousEnd)
+                        .aggregated();
+                for (TransactionAggregate a : aggregates) {
+                    builder.add(a.getAggregationDate(), a.getTotalAmount(), a.getAggregationType(),
+                            a.getCategory(), null);
+                }
+                return builder.build();
+            }
+        }
+        return loadTransactions(userId, range[0], range[1], startDate, endDate, previousStart, previousEnd);
+    }
+
+    /** Ranked and limited by the database; only {@code limit} rows are read. */
+    @Override
+    public List<TopExpense> getTopExpenses(String userId, LocalDate startDate, LocalDate endDate, int limit) {
+        if (limit < 1) return List.of();
+        return transactionRepository
+                .findTopExpenseVendors(userId, startDate, endDate, PageRequest.of(0, limit)).stream()
+                .map(row -> new TopExpense(
+                        row[0] != null ? (String) row[0] : "",
+                        row[1] != null ? (String) row[1] : "Other",
+                        (BigDecimal) row[2],
+                        ((Number) row[3]).longValue()))
+                .toList();
+    }
+
+    /**
+     * Grouped by year and month in the database — from the rollups when the user has them,
+     * otherwise from the transactions table.
+     */
+    @Override
+    public MonthlyTrend loadMonthlyTrend(String userId, LocalDate startDate, LocalDate endDate) {
+        UUID rollupKey = rollupService.isEnabled()
+                ? TransactionRollupService.rollupKey(userId).orElse(null)
+                : null;
+        List<Object[]> rows = rollupKey != null
+                ? aggregateRepository.sumByMonth(rollupKey, startDate, endDate)
+                : List.of();
+        if (rows.isEmpty()) {
+            rows = transactionRepository.sumByMonth(userId, startDate, endDate);
+        }
+
+        MonthlyTrend trend = MonthlyTrend.between(startDate, endDate);
+        for (Object[] row : rows) {
+            if (row[3] == null) continue;
+            trend.add(((Number) row[0]).intValue(), ((Number) row[1]).intValue(),
+                    (String) row[2], (BigDecimal) row[3]);
+        }
+        return trend;
+    }
+
+    /** Grouped in the database, from the rollups when the user has them. */
+    @Override
+    public CategoryMonthlySeries loadCategoryMonthlySeries(String userId, YearMonth first, YearMonth last) {
+        LocalDate startDate = first.atDay(1);
+        LocalDate endDate = last.atEndOfMonth();
+        UUID rollupKey = rollupService.isEnabled()
+                ? TransactionRollupService.rollupKey(userId).orElse(null)
+                : null;
+        List<Object[]> rows = rollupKey != null
+                ? aggregateRepository.sumByMonthAndCategory(rollupKey, startDate, endDate)
+                : List.of();
+        if (rows.isEmpty()) {
+            rows = transactionRepository.sumByMonthAndCategory(userId, startDate, endDate);
+        }
+
+        CategoryMonthlySeries series = new CategoryMonthlySeries(first, last);
+        for (Object[] row : rows) {
+            if (row[4] == null) continue;
+            series.add(((Number) row[0]).intValue(), ((Number) row[1]).intValue(),
+                    (String) row[2], (String) row[3], (BigDecimal) row[4]);
+        }
+        return series;
+    }
+
+    /** Grouped by day in the database, from the rollups when the user has them. */
+    @Override
+    public DailyTotalsIndex loadDailyTotals(String userId, LocalDate startDate, LocalDate endDate) {
+        UUID rollupKey = rollupService.isEnabled()
+                ? TransactionRollupService.rollupKey(userId).orElse(null)
+                : null;
+        List<Object[]> rows = rollupKey != null
+                ? aggregateRepository.sumByDay(rollupKey, startDate, endDate)
+                : List.of();
+        if (rows.isEmpty()) {
+            rows = transactionRepository.sumByDay(userId, startDate, endDate);
+        }
+
+        DailyTotalsIndex.Builder builder = DailyTotalsIndex.builder(startDate, endDate);
+        for (Object[] row : rows) {
+            if (row[0] == null || row[2] == null) continue;
+            builder.add((LocalDate) row[0], (String) row[1], (BigDecimal) row[2]);
+        }
+        return builder.build();
+    }
+
+    @Override
+    public List<RecurringSchedule> getRecurringSchedules(String userId) {
+        return recurringTransactionRepository.findByUserId(userId).stream()
+                .filter(r -> r.getAmount() != null && r.getStartDate() != null)
+                .map(r -> new RecurringSchedule(r.getType(), r.getCategory(), r.getAmount(), r.getFrequency(),
+                        r.getStartDate(), r.getEndDate(), r.getNextOccurrence(), Boolean.TRUE.equals(r.getActive())))
+                .toList();
+    }
+
+    @Override
+    public ReportSnapshot loadDetailedSnapshot(String userId, LocalDate startDate, LocalDate endDate) {
+        return loadTransactions(userId, startDate, endDate, startDate, endDate, null, null);
+    }
+
+    private ReportSnapshot loadTransactions(String userId, LocalDate fetchStart, LocalDate fetchEnd,
+            LocalDate startDate, LocalDate endDate, LocalDate previousStart, LocalDate previousEnd) {
+        List<Transaction> transactions = transactionRepository
+                .findByUserIdAndDateBetween(userId, fetchStart, fetchEnd);
+        log.debug("Loaded {} transactions in-process for user {}", transactions.size(), userId);
+
+        ReportSnapshot.Builder builder = ReportSnapshot.builder(startDate, endDate, previousStart, previousEnd);
+        for (Transaction t : transactions) {
+            if (t.getDate() == null || t.getAmount() == null) continue;
+            builder.add(t.getDate(), t.getAmount(), t.getType(), t.getCategory(), t.getDescription());
+        }
+        return builder.build();
+    }
+
+    @Override
+    public List<SavingsGoal> getSavingsGoals(String userId) {
+        return goalRepository.findByUserId(userId).stream()
+                .map(g -> new SavingsGoal(g.getName(),
+                        g.getCurrentAmount() != null ? g.getCurrentAmount() : BigDecimal.ZERO,
+                        g.getTargetAmount()))
+                .toList();
+    }
+
+    @Override
+    public Map<String, BigDecimal> getCategoryBudgets(String userId, YearMonth month) {
+        Map<String, BigDecimal> budgets = ReportDataSource.newBudgetMap();
+        budgetsService.getCategoryBudgets(userId, month.toString())
+                .forEach((category, amount) -> budgets.putIfAbsent(category, BigDecimal.valueOf(amount)));
+        return budgets;
+    }
+}
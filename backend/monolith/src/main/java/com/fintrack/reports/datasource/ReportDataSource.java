@@ -0,0 +1,171 @@
+package com.fintrack.reports.datasource;
+
+import com.fintrack.reports.service.CategoryMonthlySeries;
+import com.fintrack.reports.service.DailyTotalsIndex;
+import com.fintrack.reports.service.MonthlyTrend;
+import com.fintrack.reports.service.ReportSnapshot;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * Where the reports module reads transactions, budgets and goals from.
+ *
+ * The monolith uses {@link InProcessReportDataSource}, which queries the repositories in the
+ * same JVM. {@link RestReportDataSource} keeps the HTTP path for deployments where the
+ * transactions and budgets services run separately. Selected with {@code reports.data-source}.
+ */
+public interface ReportDataSource {
+
+    /**
+     * Loads the current window and, when {@code previousStart} is non-null, the previous
+     * comparison window into one snapshot.
+     */
+    ReportSnapshot loadSnapshot(String userId, LocalDate startDate, LocalDate endDate,
+            LocalDate previousStart, LocalDate previousEnd);
+
+    default ReportSnapshot loadSnapshot(String userId, LocalDate startDate, LocalDate endDate) {
+        return loadSnapshot(userId, startDate, endDate, null, null);
+    }
+
+    /**
+     * Loads individual transactions for the window, never rollups. Used by sections that
+     * need per-transaction detail (vendors, single amounts).
+     */
+    default ReportSnapshot loadDetailedSnapshot(String userId, LocalDate startDate, LocalDate endDate) {
+        return loadSnapshot(userId, startDate, endDate);
+    }
+
+    /**
+     * The {@code limit} expense vendors with the highest total spend in the window, highest
+     * first. The default ranks a detailed snapshot in memory with {@link #rankTopExpenses}.
+     */
+    default List<TopExpense> getTopExpenses(String userId, LocalDate startDate, LocalDate endDate, int limit) {
+        return rankTopExpenses(loadDetailedSnapshot(userId, startDate, endDate), limit);
+    }
+
+    /**
+     * Income and expense totals per month for the window. The default buckets a snapshot;
+     * implementations with a database close by push the grouping down instead.
+     */
+    default MonthlyTrend loadMonthlyTrend(String userId, LocalDate startDate, LocalDate endDate) {
+        return MonthlyTrend.of(loadSnapshot(userId, startDate, endDate));
+    }
+
+    /**
+     * Totals per month, type and category for the whole months {@code first}..{@code last}.
+     * The default buckets a snapshot; implementations with a database close by group there.
+     */
+    default CategoryMonthlySeries loadCategoryMonthlySeries(String userId, YearMonth first, YearMonth last) {
+        return CategoryMonthlySeries.of(loadSnapshot(userId, first.atDay(1), last.atEndOfMonth()), first, last);
+    }
+
+    /**
+     * Income and expense totals per day for the window, as running totals. The default
+     * buckets a snapshot; implementations with a database close by group there.
+     */
+    default DailyTotalsIndex loadDailyTotals(String userId, LocalDate startDate, LocalDate endDate) {
+        return DailyTotalsIndex.of(loadSnapshot(userId, startDate, endDate));
+    }
+
+    /**
+     * The user's recurring transaction schedules, active or not. The default has none, so
+     * forecasts work from history alone where the schedules are not reachable.
+     */
+    default List<RecurringSchedule> getRecurringSchedules(String userId) {
+        return List.of();
+    }
+
+    List<SavingsGoal> getSavingsGoals(String userId);
+
+    /**
+     * Every category budget the user has for {@code month}, fetched in one call.
+     * Keys are matched case-insensitively.
+     */
+    Map<String, BigDecimal> getCategoryBudgets(String userId, YearMonth month);
+
+    static Map<String, BigDecimal> newBudgetMap() {
+        return new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    }
+
+    /**
+     * The contiguous date range covering both windows, so a single query serves both.
+     */
+    static LocalDate[] fetchRange(LocalDate startDate, LocalDate endDate,
+            LocalDate previousStart, LocalDate previousEnd) {
+        LocalDate fetchStart = startDate;
+        LocalDate fetchEnd = endDate;
+        if (previousStart != null) {
+            if (previousStart.isBefore(fetchStart)) fetchStart = previousStart;
+            if (previousEnd.isAfter(fetchEnd)) fetchEnd = previousEnd;
+        }
+        return new LocalDate[] { fetchStart, fetchEnd };
+    }
+
+    /**
+     * Ranks the current window's expense vendors with a bounded min-heap: one pass to total
+     * each vendor, then O(vendors · log limit) to keep the top {@code limit}. The category is
+     * the vendor's alphabetically first one, as in the repository query. Requires a
+     * non-aggregated snapshot.
+     */
+    static List<TopExpense> rankTopExpenses(ReportSnapshot snapshot, int limit) {
+        if (limit < 1) return new ArrayList<>();
+
+        long[] vendorTotals = new long[snapshot.vendorCount()];
+        int[] vendorCounts = new int[snapshot.vendorCount()];
+        int[] vendorCategory = new int[snapshot.vendorCount()];
+        for (int i = 0; i < snapshot.size(); i++) {
+            if (!snapshot.inCurrent(i) || snapshot.type(i) != ReportSnapshot.TYPE_EXPENSE) continue;
+            int vendor = snapshot.vendorId(i);
+            int category = snapshot.categoryId(i);
+            if (vendorCounts[vendor]++ == 0 || snapshot.categoryName(category)
+                    .compareTo(snapshot.categoryName(vendorCategory[vendor])) < 0) {
+                vendorCategory[vendor] = category;
+            }
+            vendorTotals[vendor] += snapshot.amountCents(i);
+        }
+
+        // Head is the weakest kept vendor: smallest total, later first-seen on ties
+        PriorityQueue<Integer> heap = new PriorityQueue<>(limit + 1, (a, b) -> {
+            int byTotal = Long.compare(vendorTotals[a], vendorTotals[b]);
+            return byTotal != 0 ? byTotal : Integer.compare(b, a);
+        });
+        for (int vendor = 0; vendor < vendorCounts.length; vendor++) {
+            if (vendorCounts[vendor] == 0) continue;
+            heap.offer(vendor);
+            if (heap.size() > limit) heap.poll();
+        }
+
+        List<TopExpense> ranked = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            int vendor = heap.poll();
+            ranked.add(new TopExpense(snapshot.vendorName(vendor),
+                    snapshot.categoryName(vendorCategory[vendor]),
+                    ReportSnapshot.toAmount(vendorTotals[vendor]),
+                    vendorCounts[vendor]));
+        }
+        Collections.reverse(ranked);
+        return ranked;
+    }
+
+    record TopExpense(String vendor, String category, BigDecimal amount, long frequency) {
+    }
+
+    record SavingsGoal(String name, BigDecimal currentAmount, BigDecimal targetAmount) {
+    }
+
+    /**
+     * A recurring transaction schedule. Occurrences before {@code nextOccurrence} have already
+     * been written as transactions; later ones are still to come.
+     */
+    record RecurringSchedule(String type, String category, BigDecimal amount, String frequency,
+            LocalDate startDate, LocalDate endDate, LocalDate nextOccurrence, boolean active) {
+    }
+}
@@ -0,0 +1,200 @@
+package com.fintrack.reports.datasource;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fintrack.reports.service.ReportSnapshot;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.*;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads report data over HTTP from the transactions and budgets services.
+ * Enable with {@code reports.data-source=rest} when those services are deployed separately.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "reports.data-source", havingValue = "rest")
+public class RestReportDataSource implements ReportDataSource {
+
+    private static final TypeReference<List<Map<String, Object>>> ROW_LIST = new TypeReference<>() { };
+
+    private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
+
+    // Transaction service runs on port 8082
+    @Value("${services.transactions.url:http://localhost:8082}")
+    private String transactionsServiceUrl;
+
+    // Goals/Budgets service runs on port 8085
+    @Value("${services.budgets.url:http://localhost:8085}")
+    private String budgetsServiceUrl;
+
+    public RestReportDataSource(@Qualifier("reportsRestTemplate") RestTemplate restTemplate,
+            ObjectMapper objectMapper) {
+        this.restTemplate = restTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Asks for the streamed NDJSON form first and decodes it straight into the snapshot.
+     * Services that only speak the JSON list form are still understood. A failed call throws;
+     * an empty snapshot always means the user has no transactions in the range.
+     */
+    @Override
+    public ReportSnapshot loadSnapshot(String userId, LocalDate startDate, LocalDate endDate,
+            LocalDate previousStart, LocalDate previousEnd) {
+        LocalDate[] range = ReportDataSource.fetchRange(startDate, endDate, previousStart, previousEnd);
+        try {
+            String url = String.format("%s/api/transactions/reports?userId=%s&startDate=%s&endDate=%s",
+                    transactionsServiceUrl, userId, range[0], range[1]);
+
+            log.debug("Fetching transactions from: {}", url);
+
+            ReportSnapshot snapshot = restTemplate.execute(url, HttpMethod.GET,
+                    request -> request.getHeaders().setAccept(
+                            List.of(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON)),
+                    response -> {
+                        MediaType contentType = response.getHeaders().getContentType();
+                        if (contentType != null && MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType)) {
+                            return ReportSnapshot.fromNdjson(response.getBody(), objectMapper.getFactory(),
+                                    startDate, endDate, previousStart, previousEnd);
+                        }
+                        List<Map<String, Object>> rows = objectMapper.readValue(response.getBody(), ROW_LIST);
+                        return ReportSnapshot.fromRows(rows != null ? rows : List.of(),
+                                startDate, endDate, previousStart, previousEnd);
+                    });
+
+            log.debug("Fetched {} transactions", snapshot != null ? snapshot.size() : 0);
+            if (snapshot != null) {
+                return snapshot;
+            }
+        } catch (RestClientException e) {
+            // Rethrown so the report falls back and is not cached, rather than cached as all zeros
+            log.error("Error fetching transactions from service: {}", e.getMessage());
+            throw e;
+        }
+        return ReportSnapshot.builder(startDate, endDate, previousStart, previousEnd).build();
+    }
+
+    /**
+     * Uses the transactions service's ranked endpoint, so only {@code limit} rows are
+     * transferred. Falls back to ranking the raw range in memory if that call fails.
+     */
+    @Override
+    public List<TopExpense> getTopExpenses(String userId, LocalDate startDate, LocalDate endDate, int limit) {
+        try {
+            String url = String.format(
+                    "%s/api/transactions/reports/top-expenses?userId=%s&startDate=%s&endDate=%s&limit=%d",
+                    transactionsServiceUrl, userId, startDate, endDate, limit);
+
+            ResponseEntity<List<Map<String, Object>>> response = restTemplate.exchange(
+                    url,
+                    HttpMethod.GET,
+                    null,
+                    new ParameterizedTypeReference<List<Map<String, Object>>>() {
+                    });
+
+            List<Map<String, Object>> rows = response.getBody() != null ? response.getBody() : List.of();
+            List<TopExpense> result = new ArrayList<>(rows.size());
+            for (Map<String, Object> row : rows) {
+                Object frequency = row.get("frequency");
+                result.add(new TopExpense(
+                        row.get("vendor") != null ? row.get("vendor").toString() : "",
+                        (String) row.get("category"),
+                        toBigDecimal(row.get("amount")),
+                        frequency instanceof Number n ? n.longValue() : 0));
+            }
+            return result;
+        } catch (Exception e) {
+            log.warn("Ranked top expenses unavailable for user {}, ranking in memory: {}", userId, e.getMessage());
+            return ReportDataSource.super.getTopExpenses(userId, startDate, endDate, limit);
+        }
+    }
+
+    @Override
+    public List<SavingsGoal> getSavingsGoals(String userId) {
+        try {
+            String url = budgetsServiceUrl + "/api/goals?userId=" + userId;
+
+            log.debug("Fetching savings goals from: {}", url);
+
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            headers.set("X-User-Id", userId);
+            HttpEntity<?> entity = new HttpEntity<>(headers);
+
+            ResponseEntity<List<Map<String, Object>>> response = restTemplate.exchange(
+                    url,
+                    HttpMethod.GET,
+                    entity,
+                    new ParameterizedTypeReference<List<Map<String, Object>>>() {
+                    });
+
+            List<Map<String, Object>> goals = response.getBody();
+            if (goals == null) {
+                return new ArrayList<>();
+            }
+
+            List<SavingsGoal> result = new ArrayList<>();
+            for (Map<String, Object> goal : goals) {
+                result.add(new SavingsGoal(
+                        (String) goal.get("name"),
+                        toBigDecimal(goal.getOrDefault("currentAmount", goal.get("current"))),
+                        toBigDecimal(goal.getOrDefault("targetAmount", goal.get("target")))));
+            }
+            return result;
+        } catch (Exception e) {
+            log.error("Error fetching savings goals for user {}: {}", userId, e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    @Override
+    public Map<String, BigDecimal> getCategoryBudgets(String userId, YearMonth month) {
+        Map<String, BigDecimal> budgets = ReportDataSource.newBudgetMap();
+        try {
+            String url = String.format("%s/api/budgets/categories?userId=%s&month=%s",
+                    budgetsServiceUrl, userId, month);
+
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            HttpEntity<?> entity = new HttpEntity<>(headers);
+
+            ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
+                    url,
+                    HttpMethod.GET,
+                    entity,
+                    new ParameterizedTypeReference<Map<String, Object>>() {
+                    });
+
+            Object body = response.getBody() != null ? response.getBody().get("budgets") : null;
+            if (body instanceof Map<?, ?> amounts) {
+                amounts.forEach((category, amount) -> {
+                    if (category != null && amount != null) {
+                        budgets.putIfAbsent(category.toString(), new BigDecimal(amount.toString()));
+                    }
+                });
+            }
+        } catch (Exception e) {
+            log.warn("Error fetching category budgets for user {}: {}", userId, e.getMessage());
+        }
+        return budgets;
+    }
+
+    private BigDecimal toBigDecimal(Object value) {
+        return value != null ? new BigDecimal(value.toString()) : BigDecimal.ZERO;
+    }
+}
@@ -28,9 +28,25 @@ public class ReportHistory {
     @Column(nullable = false)
     private ReportStatus status;
 
+    /** When the report was requested. */
     @Column(name = "generated_at", nullable = false)
     private LocalDateTime generatedAt;
 
+    @Column(name = "date_range", length = 30)
+    private String dateRange;
+
+    @Column(name = "file_path", length = 500)
+    private String filePath;
+
+    @Column(name = "file_size")
+    private Long fileSize;
+
+    @Column(name = "error_message", length = 500)
+    private String errorMessage;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
     public enum ReportStatus {
         PENDING, PROCESSING, COMPLETED, FAILED
     }
@@ -9,7 +9,10 @@ import java.util.UUID;
 
 @Entity
 @Data
-@Table(name = "spending_summary_cache")
+@Table(name = "spending_summary_cache", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_spending_summary_cache_key",
+                columnNames = { "user_id", "period_type", "period_start", "period_end" })
+})
 public class SpendingSummaryCache {
 
     @Id
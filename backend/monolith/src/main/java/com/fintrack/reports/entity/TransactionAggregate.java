@@ -12,7 +12,9 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "transaction_aggregates")
+@Table(name = "transaction_aggregates", indexes = {
+        @Index(name = "idx_transaction_aggregates_user_date", columnList = "user_id, aggregation_date")
+})
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
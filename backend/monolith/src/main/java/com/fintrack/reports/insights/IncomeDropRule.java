@@ -0,0 +1,35 @@
+package com.fintrack.reports.insights;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+/** Flags income that fell by at least {@value #MIN_DROP_PERCENT}% against the previous window. */
+@Component
+@Order(20)
+public class IncomeDropRule implements InsightRule {
+
+    static final int MIN_DROP_PERCENT = 20;
+
+    @Override
+    public String name() {
+        return "income-drop";
+    }
+
+    @Override
+    public List<String> evaluate(InsightContext context) {
+        if (!context.hasPrevious()) return List.of();
+        BigDecimal previous = context.previous().income();
+        if (previous.compareTo(BigDecimal.ZERO) <= 0) return List.of();
+
+        BigDecimal drop = previous.subtract(context.current().income())
+                .multiply(BigDecimal.valueOf(100))
+                .divide(previous, 0, RoundingMode.HALF_UP);
+        if (drop.intValue() < MIN_DROP_PERCENT) return List.of();
+        return List.of("Your income is down " + drop.intValue()
+                + "% on the previous period. Check that every income source was recorded.");
+    }
+}
@@ -0,0 +1,84 @@
+package com.fintrack.reports.insights;
+
+import com.fintrack.reports.datasource.ReportDataSource;
+import com.fintrack.reports.service.ReportSnapshot;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The aggregates every {@link InsightRule} reads, computed in one pass over a snapshot:
+ * current and previous totals, expenses per category in both windows, the month's budgets
+ * and the user's recurring schedules.
+ *
+ * @param categoryExpenses         current-window expenses per category, largest first
+ * @param previousCategoryExpenses previous-window expenses per category
+ */
+public record InsightContext(
+        LocalDate startDate,
+        LocalDate endDate,
+        LocalDate previousStart,
+        LocalDate previousEnd,
+        boolean empty,
+        ReportSnapshot.Totals current,
+        ReportSnapshot.Totals previous,
+        Map<String, BigDecimal> categoryExpenses,
+        Map<String, BigDecimal> previousCategoryExpenses,
+        Map<String, BigDecimal> budgets,
+        BigDecimal defaultBudget,
+        List<ReportDataSource.RecurringSchedule> schedules) {
+
+    public static InsightContext of(ReportSnapshot snapshot, Map<String, BigDecimal> budgets,
+            BigDecimal defaultBudget, List<ReportDataSource.RecurringSchedule> schedules) {
+        long[] current = new long[snapshot.categoryCount()];
+        long[] previous = new long[snapshot.categoryCount()];
+        boolean[] seen = new boolean[snapshot.categoryCount()];
+        for (int i = 0; i < snapshot.size(); i++) {
+            if (snapshot.type(i) != ReportSnapshot.TYPE_EXPENSE) continue;
+            int category = snapshot.categoryId(i);
+            if (snapshot.inCurrent(i)) {
+                current[category] += snapshot.amountCents(i);
+                seen[category] = true;
+            }
+            if (snapshot.inPrevious(i)) previous[category] += snapshot.amountCents(i);
+        }
+
+        List<Integer> ids = new ArrayList<>();
+        for (int id = 0; id < seen.length; id++) {
+            if (seen[id]) ids.add(id);
+        }
+        ids.sort((a, b) -> Long.compare(current[b], current[a]));
+        Map<String, BigDecimal> categoryExpenses = new LinkedHashMap<>();
+        for (int id : ids) {
+            categoryExpenses.put(snapshot.categoryName(id), ReportSnapshot.toAmount(current[id]));
+        }
+        Map<String, BigDecimal> previousCategoryExpenses = new LinkedHashMap<>();
+        for (int id = 0; id < previous.length; id++) {
+            if (previous[id] != 0) {
+                previousCategoryExpenses.put(snapshot.categoryName(id), ReportSnapshot.toAmount(previous[id]));
+            }
+        }
+
+        return new InsightContext(snapshot.getStartDate(), snapshot.getEndDate(),
+                snapshot.getPreviousStart(), snapshot.getPreviousEnd(), snapshot.isCurrentEmpty(),
+                snapshot.currentTotals(), snapshot.previousTotals(),
+                Collections.unmodifiableMap(categoryExpenses),
+                Collections.unmodifiableMap(previousCategoryExpenses),
+                budgets, defaultBudget, schedules != null ? schedules : List.of());
+    }
+
+    /** True when the snapshot carried a previous window to compare against. */
+    public boolean hasPrevious() {
+        return previousStart != null;
+    }
+
+    /** The category's budget for the month, or the default when it has none. */
+    public BigDecimal budget(String category) {
+        return budgets.getOrDefault(category, defaultBudget);
+    }
+}
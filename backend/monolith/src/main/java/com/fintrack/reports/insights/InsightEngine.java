@@ -0,0 +1,151 @@
+package com.fintrack.reports.insights;
+
+import com.fintrack.reports.service.UserCache;
+import com.fintrack.transactions.event.RecurringTransactionsChangedEvent;
+import com.fintrack.transactions.event.TransactionsChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Evaluates the {@link InsightRule} beans against one {@link InsightContext}, in rule order,
+ * keeping the first {@value #MAX_INSIGHTS} insights.
+ *
+ * Each rule is timed against {@code reports.insights.rule-budget-ms}, and a pass gets that
+ * budget once per rule. A rule that overruns its own budget is counted so it can be tuned but
+ * keeps its insights; once the pass has used up its budget the remaining rules are skipped, so
+ * one slow rule cannot stretch a pass by more than its own run. A rule that throws contributes
+ * nothing, and the pass carries on with the next rule.
+ *
+ * {@link #insights} caches results per user and range until the user's transactions or
+ * recurring schedules change, or until the TTL runs out (budget edits raise no event).
+ */
+@Slf4j
+@Service
+public class InsightEngine {
+
+    static final int MAX_INSIGHTS = 4;
+
+    static final String EMPTY_STATE = "Start adding transactions to get personalized financial insights.";
+    static final String NOTHING_TO_REPORT = "Keep tracking your expenses to get personalized insights.";
+
+    private final List<InsightRule> rules;
+    private final MeterRegistry meterRegistry;
+    private final long ruleBudgetNanos;
+    private final Duration ttl;
+    private final UserCache<Key, Entry> cache;
+
+    public InsightEngine(List<InsightRule> rules,
+            MeterRegistry meterRegistry,
+            @Value("${reports.insights.rule-budget-ms:50}") long ruleBudgetMs,
+            @Value("${reports.insights.ttl-minutes:15}") long ttlMinutes,
+            @Value("${reports.insights.max-entries:1000}") int maxEntries) {
+        this.rules = List.copyOf(rules);
+        this.meterRegistry = meterRegistry;
+        this.ruleBudgetNanos = TimeUnit.MILLISECONDS.toNanos(ruleBudgetMs);
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.cache = new UserCache<>(maxEntries, Key::userId);
+    }
+
+    /** Cached insights for the user and range; {@code context} is only built on a miss. */
+    public List<String> insights(Key key, Supplier<InsightContext> context) {
+        LocalDateTime now = LocalDateTime.now();
+        Entry cached = cache.get(key);
+        if (cached != null && cached.expiresAt().isAfter(now)) {
+            meterRegistry.counter("reports.insights.cache", "result", "hit").increment();
+            return cached.insights();
+        }
+
+        meterRegistry.counter("reports.insights.cache", "result", "miss").increment();
+        long version = cache.version();
+        List<String> insights = evaluate(context.get());
+        cache.putIfCurrent(key, new Entry(insights, now.plus(ttl)), version);
+        return insights;
+    }
+
+    /** One uncached pass over the rules. */
+    public List<String> evaluate(InsightContext context) {
+        if (context.empty()) {
+            return List.of(EMPTY_STATE);
+        }
+
+        List<String> insights = new ArrayList<>();
+        long deadline = System.nanoTime() + ruleBudgetNanos * rules.size();
+        for (InsightRule rule : rules) {
+            if (insights.size() >= MAX_INSIGHTS) break;
+            if (System.nanoTime() - deadline > 0) {
+                log.warn("Insight pass is over its budget, skipping rule '{}'", rule.name());
+                meterRegistry.counter("reports.insights.rule.skipped", "rule", rule.name(), "reason", "budget")
+                        .increment();
+                continue;
+            }
+            List<String> produced = run(rule, context);
+            insights.addAll(produced.subList(0, Math.min(produced.size(), MAX_INSIGHTS - insights.size())));
+        }
+
+        if (insights.isEmpty()) {
+            insights.add(NOTHING_TO_REPORT);
+        }
+        return Collections.unmodifiableList(insights);
+    }
+
+    @Order(40)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionsChanged(TransactionsChangedEvent event) {
+        evictUser(event.userId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecurringTransactionsChanged(RecurringTransactionsChangedEvent event) {
+        evictUser(event.userId());
+    }
+
+    public void evictUser(String userId) {
+        cache.evictUser(userId);
+    }
+
+    private List<String> run(InsightRule rule, InsightContext context) {
+        long start = System.nanoTime();
+        List<String> produced;
+        try {
+            produced = rule.evaluate(context);
+        } catch (RuntimeException e) {
+            log.warn("Insight rule '{}' failed, skipping it: {}", rule.name(), e.toString());
+            meterRegistry.counter("reports.insights.rule.skipped", "rule", rule.name(), "reason", "error")
+                    .increment();
+            return List.of();
+        }
+
+        long elapsed = System.nanoTime() - start;
+        Timer.builder("reports.insights.rule")
+                .tag("rule", rule.name())
+                .register(meterRegistry)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+        if (elapsed > ruleBudgetNanos) {
+            log.warn("Insight rule '{}' took {} ms, over its budget",
+                    rule.name(), TimeUnit.NANOSECONDS.toMillis(elapsed));
+            meterRegistry.counter("reports.insights.rule.overrun", "rule", rule.name()).increment();
+        }
+        return produced != null ? produced : List.of();
+    }
+
+    /** Insights are cached per user and current window. */
+    public record Key(String userId, LocalDate startDate, LocalDate endDate) {
+    }
+
+    private record Entry(List<String> insights, LocalDateTime expiresAt) {
+    }
+}
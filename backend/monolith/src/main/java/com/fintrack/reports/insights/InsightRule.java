@@ -0,0 +1,19 @@
+package com.fintrack.reports.insights;
+
+import java.util.List;
+
+/**
+ * One kind of insight. Rules are Spring beans picked up by {@link InsightEngine} in
+ * {@code @Order} order; adding a rule is adding a component.
+ *
+ * Rules read only the precomputed {@link InsightContext} and must not do I/O. Each runs
+ * against the engine's per-rule time budget.
+ */
+public interface InsightRule {
+
+    /** Short name used in metrics and logs. */
+    String name();
+
+    /** The rule's insights for the context, most important first; empty when it has none. */
+    List<String> evaluate(InsightContext context);
+}
@@ -0,0 +1,37 @@
+package com.fintrack.reports.insights;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/** Names each category whose spend exceeds its budget, largest spend first. */
+@Component
+@Order(30)
+public class OverBudgetRule implements InsightRule {
+
+    @Override
+    public String name() {
+        return "over-budget";
+    }
+
+    @Override
+    public List<String> evaluate(InsightContext context) {
+        List<String> insights = new ArrayList<>();
+        for (Map.Entry<String, BigDecimal> category : context.categoryExpenses().entrySet()) {
+            BigDecimal amount = category.getValue();
+            BigDecimal budget = context.budget(category.getKey());
+            if (budget.signum() <= 0 || amount.compareTo(budget) <= 0) continue;
+
+            BigDecimal percentage = amount.subtract(budget).divide(budget, 2, RoundingMode.HALF_UP)
+                    .multiply(BigDecimal.valueOf(100));
+            insights.add(category.getKey() + " is " + percentage.intValue()
+                    + "% over budget. Consider reducing spending in this category.");
+        }
+        return insights;
+    }
+}
@@ -0,0 +1,37 @@
+package com.fintrack.reports.insights;
+
+import com.fintrack.reports.service.ReportsService;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/** Grades the savings rate of the current window. Says nothing without income. */
+@Component
+@Order(10)
+public class SavingsRateRule implements InsightRule {
+
+    @Override
+    public String name() {
+        return "savings-rate";
+    }
+
+    @Override
+    public List<String> evaluate(InsightContext context) {
+        BigDecimal income = context.current().income();
+        if (income.compareTo(BigDecimal.ZERO) <= 0) return List.of();
+
+        BigDecimal savingsRate = ReportsService.calculateSavingsRate(context.current().savings(), income);
+        if (savingsRate.compareTo(BigDecimal.valueOf(30)) > 0) {
+            return List.of("Great job! Your savings rate of " + savingsRate.intValue() + "% is excellent.");
+        } else if (savingsRate.compareTo(BigDecimal.valueOf(20)) > 0) {
+            return List.of("Your savings rate of " + savingsRate.intValue()
+                    + "% is good. Consider increasing it to 30% or more.");
+        } else if (savingsRate.compareTo(BigDecimal.ZERO) >= 0) {
+            return List.of("Your savings rate of " + savingsRate.intValue()
+                    + "% could be improved. Aim for at least 20%.");
+        }
+        return List.of("You're spending more than you earn. Review your expenses to improve your financial health.");
+    }
+}
@@ -0,0 +1,53 @@
+package com.fintrack.reports.insights;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Flags categories whose spend rose by at least {@value #MIN_INCREASE_PERCENT}% and
+ * {@value #MIN_INCREASE_AMOUNT} against the previous window, biggest increase first.
+ * Categories with no spend in the previous window are not spikes.
+ */
+@Component
+@Order(40)
+public class SpendingSpikeRule implements InsightRule {
+
+    static final int MIN_INCREASE_PERCENT = 50;
+    static final int MIN_INCREASE_AMOUNT = 50;
+
+    @Override
+    public String name() {
+        return "spending-spike";
+    }
+
+    @Override
+    public List<String> evaluate(InsightContext context) {
+        if (!context.hasPrevious()) return List.of();
+
+        List<Map.Entry<String, BigDecimal>> spikes = new ArrayList<>();
+        for (Map.Entry<String, BigDecimal> category : context.categoryExpenses().entrySet()) {
+            BigDecimal previous = context.previousCategoryExpenses().get(category.getKey());
+            if (previous == null || previous.signum() <= 0) continue;
+
+            BigDecimal increase = category.getValue().subtract(previous);
+            if (increase.compareTo(BigDecimal.valueOf(MIN_INCREASE_AMOUNT)) < 0) continue;
+            BigDecimal percentage = increase.multiply(BigDecimal.valueOf(100)).divide(previous, 0, RoundingMode.HALF_UP);
+            if (percentage.intValue() >= MIN_INCREASE_PERCENT) {
+                spikes.add(Map.entry(category.getKey(), percentage));
+            }
+        }
+
+        spikes.sort(Map.Entry.<String, BigDecimal>comparingByValue(Comparator.reverseOrder()));
+        return spikes.stream()
+                .map(spike -> "Spending on " + spike.getKey() + " is up " + spike.getValue().intValue()
+                        + "% on the previous period.")
+                .toList();
+    }
+}
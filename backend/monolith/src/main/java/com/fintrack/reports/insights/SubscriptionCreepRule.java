@@ -0,0 +1,73 @@
+package com.fintrack.reports.insights;
+
+import com.fintrack.reports.datasource.ReportDataSource;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Flags recurring expenses added since the start of the previous window (or the current one
+ * when there is none) once they raise the monthly recurring cost by at least
+ * {@value #MIN_GROWTH_PERCENT}%.
+ */
+@Component
+@Order(50)
+public class SubscriptionCreepRule implements InsightRule {
+
+    static final int MIN_GROWTH_PERCENT = 10;
+
+    @Override
+    public String name() {
+        return "subscription-creep";
+    }
+
+    @Override
+    public List<String> evaluate(InsightContext context) {
+        LocalDate since = context.hasPrevious() ? context.previousStart() : context.startDate();
+
+        BigDecimal before = BigDecimal.ZERO;
+        BigDecimal added = BigDecimal.ZERO;
+        int addedCount = 0;
+        for (ReportDataSource.RecurringSchedule schedule : context.schedules()) {
+            if (!schedule.active() || !"EXPENSE".equals(schedule.type())) continue;
+            if (schedule.startDate().isAfter(context.endDate())) continue;
+            if (schedule.endDate() != null && schedule.endDate().isBefore(context.endDate())) continue;
+
+            BigDecimal monthly = monthly(schedule);
+            if (schedule.startDate().isBefore(since)) {
+                before = before.add(monthly);
+            } else {
+                added = added.add(monthly);
+                addedCount++;
+            }
+        }
+
+        if (addedCount == 0) return List.of();
+        if (before.signum() > 0 && added.multiply(BigDecimal.valueOf(100))
+                .compareTo(before.multiply(BigDecimal.valueOf(MIN_GROWTH_PERCENT))) < 0) {
+            return List.of();
+        }
+
+        BigDecimal total = before.add(added).setScale(2, RoundingMode.HALF_UP);
+        return List.of(addedCount + (addedCount == 1 ? " new recurring expense adds " : " new recurring expenses add ")
+                + added.setScale(2, RoundingMode.HALF_UP) + " a month since " + since
+                + ". Recurring costs are now " + total + " a month.");
+    }
+
+    /** The schedule's cost per month, from its frequency. */
+    static BigDecimal monthly(ReportDataSource.RecurringSchedule schedule) {
+        String frequency = schedule.frequency() != null ? schedule.frequency().toUpperCase() : "MONTHLY";
+        return switch (frequency) {
+            case "DAILY" -> schedule.amount().multiply(BigDecimal.valueOf(365)).divide(BigDecimal.valueOf(12), 2,
+                    RoundingMode.HALF_UP);
+            case "WEEKLY" -> schedule.amount().multiply(BigDecimal.valueOf(52)).divide(BigDecimal.valueOf(12), 2,
+                    RoundingMode.HALF_UP);
+            case "YEARLY" -> schedule.amount().divide(BigDecimal.valueOf(12), 2, RoundingMode.HALF_UP);
+            default -> schedule.amount();
+        };
+    }
+}
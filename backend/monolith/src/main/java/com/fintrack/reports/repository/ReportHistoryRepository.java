@@ -6,7 +6,10 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
@@ -19,4 +22,13 @@ public interface ReportHistoryRepository extends JpaRepository<ReportHistory, UU
         @Param("userId") UUID userId,
         @Param("status") ReportHistory.ReportStatus status
     );
+
+    Optional<ReportHistory> findByIdAndUserId(UUID id, UUID userId);
+
+    List<ReportHistory> findByGeneratedAtBefore(LocalDateTime cutoff);
+
+    List<ReportHistory> findByStatusInAndGeneratedAtBefore(
+        Collection<ReportHistory.ReportStatus> statuses,
+        LocalDateTime cutoff
+    );
 }
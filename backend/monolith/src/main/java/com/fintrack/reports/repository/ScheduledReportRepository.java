@@ -1,8 +1,14 @@
 package com.fintrack.reports.repository;
 
 import com.fintrack.reports.entity.ScheduledReport;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -18,5 +24,14 @@ public interface ScheduledReportRepository extends JpaRepository<ScheduledReport
     @Query("SELECT sr FROM ScheduledReport sr WHERE sr.active = true AND sr.nextRun <= :now")
     List<ScheduledReport> findDueReports(@Param("now") LocalDateTime now);
 
+    /**
+     * Locks up to one page of due reports, oldest first, skipping rows another replica has
+     * already locked ({@code FOR UPDATE SKIP LOCKED}). Must run inside a transaction.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = AvailableSettings.JAKARTA_LOCK_TIMEOUT, value = "-2"))
+    @Query("SELECT sr FROM ScheduledReport sr WHERE sr.active = true AND sr.nextRun <= :now ORDER BY sr.nextRun")
+    List<ScheduledReport> claimDueReports(@Param("now") LocalDateTime now, Pageable pageable);
+
     List<ScheduledReport> findByUserIdAndActive(UUID userId, Boolean active);
 }
@@ -4,7 +4,9 @@ import com.fintrack.reports.entity.SpendingSummaryCache;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -21,7 +23,44 @@ public interface SpendingSummaryCacheRepository extends JpaRepository<SpendingSu
         LocalDate periodEnd
     );
 
+    /** The stored entry's expiry, which changes on every write; used to validate in-memory copies. */
+    @Query("SELECT ssc.expiresAt FROM SpendingSummaryCache ssc " +
+           "WHERE ssc.userId = :userId AND ssc.periodType = :periodType " +
+           "AND ssc.periodStart = :periodStart AND ssc.periodEnd = :periodEnd")
+    Optional<LocalDateTime> findExpiresAtByKey(
+        @Param("userId") UUID userId,
+        @Param("periodType") SpendingSummaryCache.PeriodType periodType,
+        @Param("periodStart") LocalDate periodStart,
+        @Param("periodEnd") LocalDate periodEnd
+    );
+
     @Modifying
     @Query("DELETE FROM SpendingSummaryCache ssc WHERE ssc.expiresAt < :now")
-    int deleteExpiredCache(LocalDateTime now);
+    int deleteExpiredCache(@Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM SpendingSummaryCache ssc " +
+           "WHERE ssc.userId = :userId AND ssc.periodType = :periodType " +
+           "AND ssc.periodStart = :periodStart AND ssc.periodEnd = :periodEnd")
+    int deleteByKey(
+        @Param("userId") UUID userId,
+        @Param("periodType") SpendingSummaryCache.PeriodType periodType,
+        @Param("periodStart") LocalDate periodStart,
+        @Param("periodEnd") LocalDate periodEnd
+    );
+
+    /** Drops every entry for the user whose period overlaps {@code from..to}. */
+    @Modifying
+    @Query("DELETE FROM SpendingSummaryCache ssc " +
+           "WHERE ssc.userId = :userId AND ssc.periodStart <= :to AND ssc.periodEnd >= :from")
+    int deleteOverlapping(
+        @Param("userId") UUID userId,
+        @Param("from") LocalDate from,
+        @Param("to") LocalDate to
+    );
+
+    @Modifying
+    @Query("DELETE FROM SpendingSummaryCache ssc WHERE ssc.userId = :userId")
+    int deleteAllByUserId(@Param("userId") UUID userId);
 }
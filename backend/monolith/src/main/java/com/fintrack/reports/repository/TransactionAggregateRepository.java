@@ -2,6 +2,7 @@ package com.fintrack.reports.repository;
 
 import com.fintrack.reports.entity.TransactionAggregate;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -43,4 +44,72 @@ public interface TransactionAggregateRepository extends JpaRepository<Transactio
         @Param("startDate") LocalDate startDate,
         @Param("endDate") LocalDate endDate
     );
+
+    @Query("SELECT YEAR(ta.aggregationDate), MONTH(ta.aggregationDate), ta.aggregationType, SUM(ta.totalAmount) " +
+           "FROM TransactionAggregate ta " +
+           "WHERE ta.userId = :userId " +
+           "AND ta.aggregationDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY YEAR(ta.aggregationDate), MONTH(ta.aggregationDate), ta.aggregationType")
+    List<Object[]> sumByMonth(
+        @Param("userId") UUID userId,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
+    );
+
+    @Query("SELECT YEAR(ta.aggregationDate), MONTH(ta.aggregationDate), ta.aggregationType, ta.category, " +
+           "SUM(ta.totalAmount) " +
+           "FROM TransactionAggregate ta " +
+           "WHERE ta.userId = :userId " +
+           "AND ta.aggregationDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY YEAR(ta.aggregationDate), MONTH(ta.aggregationDate), ta.aggregationType, ta.category")
+    List<Object[]> sumByMonthAndCategory(
+        @Param("userId") UUID userId,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
+    );
+
+    @Query("SELECT ta.aggregationDate, ta.aggregationType, SUM(ta.totalAmount) " +
+           "FROM TransactionAggregate ta " +
+           "WHERE ta.userId = :userId " +
+           "AND ta.aggregationDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY ta.aggregationDate, ta.aggregationType")
+    List<Object[]> sumByDay(
+        @Param("userId") UUID userId,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
+    );
+
+    @Modifying
+    @Query("DELETE FROM TransactionAggregate ta " +
+           "WHERE ta.userId = :userId " +
+           "AND ta.aggregationDate BETWEEN :startDate AND :endDate")
+    int deleteByUserIdAndDateRange(
+        @Param("userId") UUID userId,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
+    );
+
+    @Modifying
+    @Query("DELETE FROM TransactionAggregate ta WHERE ta.userId = :userId")
+    int deleteAllByUserId(@Param("userId") UUID userId);
+
+    @Query("SELECT DISTINCT ta.userId FROM TransactionAggregate ta")
+    List<UUID> findDistinctUserIds();
+
+    /**
+     * Users whose rollups disagree with their transactions on any (day, type, category) total
+     * or count, including users with transactions but no rollups. Scans both tables.
+     */
+    @Query(value = "SELECT DISTINCT d.user_id FROM (" +
+           "  SELECT t.user_id AS user_id, t.date AS txn_date, t.type AS txn_type, " +
+           "         COALESCE(t.category, '') AS txn_category, SUM(t.amount) AS total, COUNT(*) AS cnt " +
+           "  FROM transactions t GROUP BY t.user_id, t.date, t.type, t.category " +
+           "  UNION ALL " +
+           "  SELECT CAST(ta.user_id AS VARCHAR(36)), ta.aggregation_date, ta.aggregation_type, " +
+           "         COALESCE(ta.category, ''), -SUM(ta.total_amount), -SUM(ta.transaction_count) " +
+           "  FROM transaction_aggregates ta " +
+           "  GROUP BY ta.user_id, ta.aggregation_date, ta.aggregation_type, ta.category" +
+           ") d GROUP BY d.user_id, d.txn_date, d.txn_type, d.txn_category " +
+           "HAVING SUM(d.total) <> 0 OR SUM(d.cnt) <> 0", nativeQuery = true)
+    List<String> findUserIdsOutOfStep();
 }
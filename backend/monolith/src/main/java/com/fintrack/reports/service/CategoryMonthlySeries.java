@@ -0,0 +1,72 @@
+package com.fintrack.reports.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Monthly totals per (type, category) over a fixed range of months, one {@code long[]} of
+ * cents per series indexed by month offset from the first month. Income and expense series
+ * only; other types are dropped.
+ */
+public final class CategoryMonthlySeries {
+
+    private final YearMonth first;
+    private final int months;
+    private final Map<SeriesKey, long[]> series = new LinkedHashMap<>();
+
+    public CategoryMonthlySeries(YearMonth first, YearMonth last) {
+        this.first = first;
+        this.months = Math.max((int) ChronoUnit.MONTHS.between(first, last) + 1, 0);
+    }
+
+    /** Buckets the current window of a snapshot. */
+    public static CategoryMonthlySeries of(ReportSnapshot snapshot, YearMonth first, YearMonth last) {
+        CategoryMonthlySeries result = new CategoryMonthlySeries(first, last);
+        for (int i = 0; i < snapshot.size(); i++) {
+            if (!snapshot.inCurrent(i)) continue;
+            LocalDate date = snapshot.date(i);
+            result.add(date.getYear(), date.getMonthValue(), snapshot.type(i),
+                    snapshot.categoryName(snapshot.categoryId(i)), snapshot.amountCents(i));
+        }
+        return result;
+    }
+
+    /** Adds one amount; months outside the range and types other than income/expense are ignored. */
+    public CategoryMonthlySeries add(int year, int month, byte type, String category, long cents) {
+        if (type != ReportSnapshot.TYPE_INCOME && type != ReportSnapshot.TYPE_EXPENSE) return this;
+        int index = (year - first.getYear()) * 12 + (month - first.getMonthValue());
+        if (index < 0 || index >= months) return this;
+        SeriesKey key = new SeriesKey(type, category != null ? category : ReportSnapshot.DEFAULT_CATEGORY);
+        series.computeIfAbsent(key, k -> new long[months])[index] += cents;
+        return this;
+    }
+
+    public CategoryMonthlySeries add(int year, int month, String type, String category, BigDecimal amount) {
+        return add(year, month, ReportSnapshot.toType(type), category, ReportSnapshot.toCents(amount));
+    }
+
+    public YearMonth first() {
+        return first;
+    }
+
+    public int months() {
+        return months;
+    }
+
+    public Map<SeriesKey, long[]> series() {
+        return Collections.unmodifiableMap(series);
+    }
+
+    /** One forecastable series: a transaction type and category. */
+    public record SeriesKey(byte type, String category) {
+
+        public boolean isIncome() {
+            return type == ReportSnapshot.TYPE_INCOME;
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.fintrack.reports.service;
+
+import com.fintrack.reports.datasource.ReportDataSource;
+import com.fintrack.transactions.event.TransactionsChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Period comparisons for {@code /api/reports/comparison}, answered from a per-user
+ * {@link DailyTotalsIndex} of running daily income and expense totals. However many periods
+ * are compared and however long they are, each one costs two lookups.
+ *
+ * The index is kept per user and grows to cover whatever ranges are asked for, loading only
+ * the days it is missing. A transaction change cuts it back to the days before the earliest
+ * changed date; the next request reloads from there on.
+ */
+@Slf4j
+@Service
+public class ComparisonService {
+
+    static final int MAX_PERIODS = 24;
+
+    /** Upper bound on the days one index spans, about twenty years. */
+    static final int MAX_INDEX_DAYS = 7305;
+
+    /** How the earlier periods are laid out relative to the requested one. */
+    public enum Step {
+        /** Back to back, each as long as the requested range. */
+        PREVIOUS(0),
+        MONTH(1),
+        QUARTER(3),
+        YEAR(12);
+
+        private final int months;
+
+        Step(int months) {
+            this.months = months;
+        }
+
+        public static Step parse(String value) {
+            for (Step step : values()) {
+                if (step.name().equalsIgnoreCase(value.trim())) return step;
+            }
+            throw new IllegalArgumentException(
+                    "Unknown step '" + value + "'; expected previous, month, quarter or year");
+        }
+
+        /**
+         * The range {@code back} steps before {@code start..end}. A range ending on the last
+         * day of a month keeps ending on the last day of its shifted month.
+         */
+        LocalDate[] shift(LocalDate start, LocalDate end, int back) {
+            if (this == PREVIOUS) {
+                long days = (ChronoUnit.DAYS.between(start, end) + 1) * back;
+                return new LocalDate[] { start.minusDays(days), end.minusDays(days) };
+            }
+            long shift = (long) months * back;
+            LocalDate shiftedEnd = end.minusMonths(shift);
+            if (end.equals(end.with(TemporalAdjusters.lastDayOfMonth()))) {
+                shiftedEnd = shiftedEnd.with(TemporalAdjusters.lastDayOfMonth());
+            }
+            return new LocalDate[] { start.minusMonths(shift), shiftedEnd };
+        }
+    }
+
+    private final ReportDataSource reportDataSource;
+    private final MeterRegistry meterRegistry;
+    private final UserCache<String, DailyTotalsIndex> indexes;
+
+    public ComparisonService(ReportDataSource reportDataSource,
+            MeterRegistry meterRegistry,
+            @Value("${reports.comparison.max-users:1000}") int maxUsers) {
+        this.reportDataSource = reportDataSource;
+        this.meterRegistry = meterRegistry;
+        this.indexes = UserCache.byUser(maxUsers);
+    }
+
+    /**
+     * Totals for {@code start..end} and the {@code periods - 1} periods before it, newest
+     * first. Each period carries its change against the one that follows it in the list.
+     */
+    public Map<String, Object> compare(String userId, LocalDate start, LocalDate end, int periods, Step step) {
+        if (end.isBefore(start)) {
+            throw new IllegalArgumentException("end must not be before start");
+        }
+        if (periods < 1 || periods > MAX_PERIODS) {
+            throw new IllegalArgumentException("periods must be between 1 and " + MAX_PERIODS);
+        }
+
+        List<LocalDate[]> ranges = new ArrayList<>(periods);
+        for (int back = 0; back < periods; back++) {
+            ranges.add(step.shift(start, end, back));
+        }
+        DailyTotalsIndex index = index(userId, ranges.get(periods - 1)[0], end);
+
+        List<ReportSnapshot.Totals> totals = ranges.stream().map(r -> index.totals(r[0], r[1])).toList();
+        List<Map<String, Object>> result = new ArrayList<>(periods);
+        for (int i = 0; i < periods; i++) {
+            Map<String, Object> period = totalsMap(totals.get(i));
+            period.put("start", ranges.get(i)[0].toString());
+            period.put("end", ranges.get(i)[1].toString());
+            if (i + 1 < periods) putChanges(period, totals.get(i + 1), totals.get(i));
+            result.add(period);
+        }
+
+        Map<String, Object> comparison = new HashMap<>();
+        comparison.put("start", start.toString());
+        comparison.put("end", end.toString());
+        comparison.put("step", step.name().toLowerCase(Locale.ROOT));
+        comparison.put("periods", result);
+        return comparison;
+    }
+
+    /**
+     * The same figures as {@link ReportsService#getFinancialSummary}: the range against the
+     * equally long window that ends on its first day.
+     */
+    public Map<String, Object> summary(String userId, LocalDate start, LocalDate end) {
+        LocalDate previousStart = start.minusDays(ChronoUnit.DAYS.between(start, end));
+        DailyTotalsIndex index = index(userId, previousStart, end);
+
+        ReportSnapshot.Totals current = index.totals(start, end);
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("netIncome", current.income());
+        summary.put("totalExpenses", current.expenses());
+        summary.put("netSavings", current.savings());
+        summary.put("savingsRate", ReportsService.calculateSavingsRate(current.savings(), current.income()));
+        putChanges(summary, index.totals(previousStart, start), current);
+        return summary;
+    }
+
+    /**
+     * Cuts the user's index back to the days before the earliest changed date. Changes after
+     * the indexed days leave it alone; they are read when the index is extended.
+     */
+    @Order(30)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionsChanged(TransactionsChangedEvent event) {
+        indexes.invalidate(event.userId(), index -> {
+            LocalDate earliest = event.allDates() ? index.first()
+                    : event.dates().stream().min(Comparator.naturalOrder()).orElse(null);
+            if (earliest == null || earliest.isAfter(index.last())) return index;
+            return index.truncateBefore(earliest);
+        });
+    }
+
+    public void evictUser(String userId) {
+        indexes.evictUser(userId);
+    }
+
+    private DailyTotalsIndex index(String userId, LocalDate start, LocalDate end) {
+        if (ChronoUnit.DAYS.between(start, end) >= MAX_INDEX_DAYS) {
+            throw new IllegalArgumentException("Comparison spans more than " + MAX_INDEX_DAYS + " days");
+        }
+
+        long version = indexes.version();
+        DailyTotalsIndex cached = indexes.get(userId);
+        if (cached != null && cached.covers(start, end)) {
+            record("hit");
+            return cached;
+        }
+
+        DailyTotalsIndex index;
+        LocalDate first = cached != null && cached.first().isBefore(start) ? cached.first() : start;
+        LocalDate last = cached != null && cached.last().isAfter(end) ? cached.last() : end;
+        if (cached != null && ChronoUnit.DAYS.between(first, last) < MAX_INDEX_DAYS
+                && !start.isAfter(cached.last().plusDays(1)) && !end.isBefore(cached.first().minusDays(1))) {
+            // Overlapping or adjacent: load only the missing days on either side
+            index = cached;
+            if (start.isBefore(index.first())) {
+                index = reportDataSource.loadDailyTotals(userId, start, index.first().minusDays(1)).concat(index);
+            }
+            if (end.isAfter(index.last())) {
+                index = index.concat(reportDataSource.loadDailyTotals(userId, index.last().plusDays(1), end));
+            }
+            record("extended");
+        } else {
+            index = reportDataSource.loadDailyTotals(userId, start, end);
+            record("built");
+            log.debug("Indexed {} days of totals for user {} from {}", index.days(), userId, start);
+        }
+
+        // Skip the store if a change raced with the load; the next request reloads
+        indexes.putIfCurrent(userId, index, version);
+        return index;
+    }
+
+    private static Map<String, Object> totalsMap(ReportSnapshot.Totals totals) {
+        Map<String, Object> map = new HashMap<>();
+        map.put("income", totals.income());
+        map.put("expenses", totals.expenses());
+        map.put("savings", totals.savings());
+        map.put("savingsRate", ReportsService.calculateSavingsRate(totals.savings(), totals.income()));
+        return map;
+    }
+
+    private static void putChanges(Map<String, Object> target, ReportSnapshot.Totals previous,
+            ReportSnapshot.Totals current) {
+        target.put("incomeChange", ReportsService.calculatePercentageChange(previous.income(), current.income()));
+        target.put("expensesChange",
+                ReportsService.calculatePercentageChange(previous.expenses(), current.expenses()));
+        target.put("savingsChange", ReportsService.calculatePercentageChange(previous.savings(), current.savings()));
+        BigDecimal previousRate = ReportsService.calculateSavingsRate(previous.savings(), previous.income());
+        BigDecimal currentRate = ReportsService.calculateSavingsRate(current.savings(), current.income());
+        target.put("savingsRateChange", currentRate.subtract(previousRate));
+    }
+
+    private void record(String result) {
+        meterRegistry.counter("reports.comparison.index", "result", result).increment();
+    }
+}
@@ -0,0 +1,135 @@
+package com.fintrack.reports.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+
+/**
+ * Cumulative income and expense totals per day over a contiguous range of days, in cents.
+ * Slot {@code i} holds the sum of every day before day {@code i}, so the totals of any range
+ * inside the index are the difference of two slots: O(1) however long the range is.
+ *
+ * Immutable; {@link #concat} and {@link #truncateBefore} return new indexes, which is how a
+ * cached index is extended to new days or cut back when earlier days change.
+ */
+public final class DailyTotalsIndex {
+
+    private final LocalDate first;
+    private final long[] income;
+    private final long[] expenses;
+
+    private DailyTotalsIndex(LocalDate first, long[] income, long[] expenses) {
+        this.first = first;
+        this.income = income;
+        this.expenses = expenses;
+    }
+
+    public static Builder builder(LocalDate first, LocalDate last) {
+        return new Builder(first, last);
+    }
+
+    /** Indexes the current window of a snapshot. */
+    public static DailyTotalsIndex of(ReportSnapshot snapshot) {
+        Builder builder = builder(snapshot.getStartDate(), snapshot.getEndDate());
+        for (int i = 0; i < snapshot.size(); i++) {
+            if (!snapshot.inCurrent(i)) continue;
+            builder.add(snapshot.date(i), snapshot.type(i), snapshot.amountCents(i));
+        }
+        return builder.build();
+    }
+
+    public LocalDate first() {
+        return first;
+    }
+
+    public LocalDate last() {
+        return first.plusDays(days() - 1L);
+    }
+
+    public int days() {
+        return income.length - 1;
+    }
+
+    public boolean covers(LocalDate startDate, LocalDate endDate) {
+        return !startDate.isBefore(first) && !endDate.isAfter(last());
+    }
+
+    /** Totals of the inclusive range; an empty range (end before start) is zero. */
+    public ReportSnapshot.Totals totals(LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) return new ReportSnapshot.Totals(0, 0);
+        if (!covers(startDate, endDate)) {
+            throw new IllegalArgumentException("Range " + startDate + ".." + endDate
+                    + " is outside the index " + first + ".." + last());
+        }
+        int from = offset(startDate);
+        int to = offset(endDate) + 1;
+        return new ReportSnapshot.Totals(income[to] - income[from], expenses[to] - expenses[from]);
+    }
+
+    /** This index followed by {@code next}, which must start the day after this one ends. */
+    public DailyTotalsIndex concat(DailyTotalsIndex next) {
+        if (!next.first.equals(last().plusDays(1))) {
+            throw new IllegalArgumentException("Index starting " + next.first + " does not follow " + last());
+        }
+        int days = days();
+        long[] joinedIncome = Arrays.copyOf(income, days + next.days() + 1);
+        long[] joinedExpenses = Arrays.copyOf(expenses, days + next.days() + 1);
+        for (int i = 1; i <= next.days(); i++) {
+            joinedIncome[days + i] = income[days] + next.income[i];
+            joinedExpenses[days + i] = expenses[days] + next.expenses[i];
+        }
+        return new DailyTotalsIndex(first, joinedIncome, joinedExpenses);
+    }
+
+    /** The days before {@code date}, or null when there are none. */
+    public DailyTotalsIndex truncateBefore(LocalDate date) {
+        int keep = offset(date);
+        if (keep <= 0) return null;
+        if (keep >= days()) return this;
+        return new DailyTotalsIndex(first, Arrays.copyOf(income, keep + 1), Arrays.copyOf(expenses, keep + 1));
+    }
+
+    private int offset(LocalDate date) {
+        return (int) ChronoUnit.DAYS.between(first, date);
+    }
+
+    /**
+     * Collects daily amounts, then turns them into running totals once in {@link #build()}.
+     * Not thread-safe; build once per load.
+     */
+    public static final class Builder {
+
+        private final LocalDate first;
+        private final long[] income;
+        private final long[] expenses;
+
+        private Builder(LocalDate first, LocalDate last) {
+            this.first = first;
+            int days = Math.max((int) ChronoUnit.DAYS.between(first, last) + 1, 0);
+            this.income = new long[days + 1];
+            this.expenses = new long[days + 1];
+        }
+
+        /** Adds one amount; days outside the range and types other than income/expense are ignored. */
+        public Builder add(LocalDate date, byte type, long cents) {
+            int index = (int) ChronoUnit.DAYS.between(first, date) + 1;
+            if (index < 1 || index >= income.length) return this;
+            if (type == ReportSnapshot.TYPE_INCOME) income[index] += cents;
+            else if (type == ReportSnapshot.TYPE_EXPENSE) expenses[index] += cents;
+            return this;
+        }
+
+        public Builder add(LocalDate date, String type, BigDecimal amount) {
+            return add(date, ReportSnapshot.toType(type), ReportSnapshot.toCents(amount));
+        }
+
+        public DailyTotalsIndex build() {
+            for (int i = 1; i < income.length; i++) {
+                income[i] += income[i - 1];
+                expenses[i] += expenses[i - 1];
+            }
+            return new DailyTotalsIndex(first, income, expenses);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.fintrack.reports.service;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.FillPatternType;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.IndexedColors;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes financial reports as .xlsx with POI's streaming {@link SXSSFWorkbook}: only the
+ * last {@link #ROW_WINDOW} rows of a sheet stay in memory, older rows are flushed to a
+ * compressed temp file and the finished workbook is copied straight to the output stream.
+ */
+@Service
+public class ExcelGeneratorService {
+
+    public static final String CONTENT_TYPE =
+            "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+
+    /** Rows kept in memory per sheet before they are flushed to disk. */
+    public static final int ROW_WINDOW = 100;
+
+    /**
+     * Render the report to {@code out} as three sheets: Summary, Categories and Top Expenses.
+     * {@code out} is not closed.
+     */
+    @SuppressWarnings("unchecked")
+    public void writeFinancialReport(Map<String, Object> reportData, String range, OutputStream out) {
+        SXSSFWorkbook workbook = newWorkbook();
+        try {
+            Styles styles = new Styles(workbook);
+
+            Map<String, Object> summary = (Map<String, Object>) reportData.getOrDefault("summary", Map.of());
+            SXSSFSheet summarySheet = workbook.createSheet("Summary");
+            header(summarySheet, styles, "Metric", "Value");
+            int r = 1;
+            r = labelRow(summarySheet, r, "Period", range);
+            r = moneyRow(summarySheet, styles, r, "Net Income", summary.get("netIncome"));
+            r = moneyRow(summarySheet, styles, r, "Total Expenses", summary.get("totalExpenses"));
+            r = moneyRow(summarySheet, styles, r, "Net Savings", summary.get("netSavings"));
+            Row rate = summarySheet.createRow(r);
+            rate.createCell(0).setCellValue("Savings Rate (%)");
+            rate.createCell(1).setCellValue(toDouble(summary.get("savingsRate")));
+
+            List<Map<String, Object>> categories =
+                    (List<Map<String, Object>>) reportData.getOrDefault("categoryBreakdown", List.of());
+            SXSSFSheet categorySheet = workbook.createSheet("Categories");
+            header(categorySheet, styles, "Category", "Amount", "Budget", "% Used");
+            r = 1;
+            for (Map<String, Object> cat : categories) {
+                Row row = categorySheet.createRow(r++);
+                row.createCell(0).setCellValue(String.valueOf(cat.getOrDefault("name", "")));
+                money(row, 1, styles, cat.get("amount"));
+                money(row, 2, styles, cat.get("budget"));
+                row.createCell(3).setCellValue(toDouble(cat.get("percentage")));
+            }
+
+            List<Map<String, Object>> expenses =
+                    (List<Map<String, Object>>) reportData.getOrDefault("topExpenses", List.of());
+            SXSSFSheet expenseSheet = workbook.createSheet("Top Expenses");
+            header(expenseSheet, styles, "Vendor", "Category", "Frequency", "Amount");
+            r = 1;
+            for (Map<String, Object> exp : expenses) {
+                Row row = expenseSheet.createRow(r++);
+                row.createCell(0).setCellValue(String.valueOf(exp.getOrDefault("vendor", "")));
+                row.createCell(1).setCellValue(String.valueOf(exp.getOrDefault("category", "")));
+                row.createCell(2).setCellValue(toDouble(exp.get("frequency")));
+                money(row, 3, styles, exp.get("amount"));
+            }
+
+            workbook.write(out);
+            out.flush();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to generate Excel report", e);
+        } finally {
+            close(workbook);
+        }
+    }
+
+    // -----------------------------------------------------------------------
+    // Shared helpers
+    // -----------------------------------------------------------------------
+
+    /** A streaming workbook with the fixed row window and compressed temp files. */
+    private SXSSFWorkbook newWorkbook() {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(ROW_WINDOW);
+        workbook.setCompressTempFiles(true);
+        return workbook;
+    }
+
+    /** Deletes the workbook's temp files; POI leaves them behind otherwise. */
+    private void close(SXSSFWorkbook workbook) {
+        workbook.dispose();
+        try {
+            workbook.close();
+        } catch (IOException ignored) {
+            // Temp files are already gone; nothing left to release
+        }
+    }
+
+    /** Writes a bold header row and fixes column widths, which SXSSF cannot auto-size cheaply. */
+    private void header(SXSSFSheet sheet, Styles styles, String... labels) {
+        Row row = sheet.createRow(0);
+        for (int i = 0; i < labels.length; i++) {
+            Cell cell = row.createCell(i);
+            cell.setCellValue(labels[i]);
+            cell.setCellStyle(styles.header());
+            sheet.setColumnWidth(i, 18 * 256);
+        }
+        sheet.createFreezePane(0, 1);
+    }
+
+    private int labelRow(SXSSFSheet sheet, int r, String label, String value) {
+        Row row = sheet.createRow(r);
+        row.createCell(0).setCellValue(label);
+        row.createCell(1).setCellValue(value);
+        return r + 1;
+    }
+
+    private int moneyRow(SXSSFSheet sheet, Styles styles, int r, String label, Object value) {
+        Row row = sheet.createRow(r);
+        row.createCell(0).setCellValue(label);
+        money(row, 1, styles, value);
+        return r + 1;
+    }
+
+    private void money(Row row, int column, Styles styles, Object value) {
+        Cell cell = row.createCell(column);
+        cell.setCellValue(toDouble(value));
+        cell.setCellStyle(styles.money());
+    }
+
+    private double toDouble(Object val) {
+        if (val == null) return 0.0;
+        if (val instanceof Number) return ((Number) val).doubleValue();
+        try {
+            return Double.parseDouble(val.toString());
+        } catch (NumberFormatException e) {
+            return 0.0;
+        }
+    }
+
+    /**
+     * Cell styles are workbook-scoped and capped in number, so each workbook creates its
+     * handful once and every cell shares them.
+     */
+    private record Styles(CellStyle header, CellStyle money) {
+
+        Styles(SXSSFWorkbook workbook) {
+            this(headerStyle(workbook), moneyStyle(workbook));
+        }
+
+        private static CellStyle headerStyle(SXSSFWorkbook workbook) {
+            Font font = workbook.createFont();
+            font.setBold(true);
+            font.setColor(IndexedColors.WHITE.getIndex());
+            CellStyle style = workbook.createCellStyle();
+            style.setFont(font);
+            style.setFillForegroundColor(IndexedColors.ROYAL_BLUE.getIndex());
+            style.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+            return style;
+        }
+
+        private static CellStyle moneyStyle(SXSSFWorkbook workbook) {
+            CellStyle style = workbook.createCellStyle();
+            style.setDataFormat(workbook.createDataFormat().getFormat("#,##0.00"));
+            return style;
+        }
+    }
+}
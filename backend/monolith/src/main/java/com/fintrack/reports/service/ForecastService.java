@@ -0,0 +1,371 @@
+package com.fintrack.reports.service;
+
+import com.fintrack.reports.datasource.ReportDataSource;
+import com.fintrack.transactions.event.RecurringTransactionsChangedEvent;
+import com.fintrack.transactions.event.TransactionsChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Monthly income and expense forecasts for {@code /api/reports/forecast}.
+ *
+ * Each (type, category) series is fitted with {@link HoltWinters} over the complete months of
+ * the last {@code reports.forecast.history-months}, read as monthly totals from the rollups.
+ * Recurring schedules are handled separately: their past occurrences are taken out of the
+ * history before fitting and their upcoming occurrences are added back on top of the smoothed
+ * forecast, so a new subscription shows up at once and an ended one stops.
+ *
+ * The fitted models are kept per user. When a month closes only that month and the current
+ * schedules are read and fed to the models; they are dropped when transactions in an already
+ * fitted month change or when the user's schedules change. A warm request does no database
+ * work at all.
+ */
+@Slf4j
+@Service
+public class ForecastService {
+
+    /** Two-sided 95% normal quantile for the forecast bands. */
+    static final double Z_95 = 1.96;
+
+    private static final int MAX_HORIZON = 12;
+    private static final int AVERAGE_MONTHS = 6;
+
+    private final ReportDataSource reportDataSource;
+    private final MeterRegistry meterRegistry;
+    private final HoltWinters.Params params;
+    private final int historyMonths;
+    private final UserCache<String, UserModel> models;
+
+    public ForecastService(ReportDataSource reportDataSource,
+            MeterRegistry meterRegistry,
+            @Value("${reports.forecast.history-months:36}") int historyMonths,
+            @Value("${reports.forecast.max-users:1000}") int maxUsers,
+            @Value("${reports.forecast.alpha:0.4}") double alpha,
+            @Value("${reports.forecast.beta:0.1}") double beta,
+            @Value("${reports.forecast.gamma:0.3}") double gamma,
+            @Value("${reports.forecast.damping:0.9}") double damping) {
+        this.reportDataSource = reportDataSource;
+        this.meterRegistry = meterRegistry;
+        this.historyMonths = Math.max(historyMonths, 1);
+        this.params = new HoltWinters.Params(alpha, beta, gamma, damping);
+        this.models = UserCache.byUser(maxUsers);
+    }
+
+    /** Forecast for the {@code months} months after the current one (1 to 12). */
+    public Map<String, Object> forecast(String userId, int months) {
+        return forecast(userId, months, YearMonth.now());
+    }
+
+    Map<String, Object> forecast(String userId, int months, YearMonth current) {
+        int horizon = Math.max(1, Math.min(months, MAX_HORIZON));
+        UserModel model = model(userId, current.minusMonths(1));
+        return render(model, current, horizon);
+    }
+
+    /**
+     * Drops the user's model when a change lands in a month it was fitted on. Changes in the
+     * current, still open month do not touch the fitted months and keep the model.
+     */
+    @Order(20)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionsChanged(TransactionsChangedEvent event) {
+        UserModel model = models.get(event.userId());
+        if (model == null) return;
+        LocalDate fittedEnd = model.fittedThrough.atEndOfMonth();
+        if (event.allDates() || event.dates().stream().anyMatch(date -> !date.isAfter(fittedEnd))) {
+            evictUser(event.userId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecurringTransactionsChanged(RecurringTransactionsChangedEvent event) {
+        evictUser(event.userId());
+    }
+
+    public void evictUser(String userId) {
+        models.evictUser(userId);
+    }
+
+    private UserModel model(String userId, YearMonth lastComplete) {
+        long version = models.version();
+        UserModel cached = models.get(userId);
+        if (cached != null && cached.fittedThrough.equals(lastComplete)) {
+            record("hit");
+            return cached;
+        }
+
+        UserModel model;
+        if (cached != null && cached.fittedThrough.isBefore(lastComplete)
+                && ChronoUnit.MONTHS.between(cached.fittedThrough, lastComplete) < historyMonths) {
+            // Schedules are reloaded: the nightly run moves nextOccurrence without an event
+            model = cached.copy();
+            model.advance(reportDataSource.loadCategoryMonthlySeries(userId,
+                    cached.fittedThrough.plusMonths(1), lastComplete), reportDataSource.getRecurringSchedules(userId));
+            record("advanced");
+        } else {
+            model = new UserModel(params, lastComplete.minusMonths(historyMonths - 1));
+            model.advance(reportDataSource.loadCategoryMonthlySeries(userId, model.firstMonth, lastComplete),
+                    reportDataSource.getRecurringSchedules(userId));
+            record("fitted");
+            log.debug("Fitted {} forecast series for user {} through {}", model.series.size(), userId, lastComplete);
+        }
+
+        // Skip the store if an invalidation raced with the load; the next request refits
+        models.putIfCurrent(userId, model, version);
+        return model;
+    }
+
+    private Map<String, Object> render(UserModel model, YearMonth current, int horizon) {
+        YearMonth firstForecast = current.plusMonths(1);
+        int offset = (int) ChronoUnit.MONTHS.between(model.fittedThrough, firstForecast);
+        Map<CategoryMonthlySeries.SeriesKey, long[]> upcoming =
+                model.recurring(firstForecast, firstForecast.plusMonths(horizon - 1), false);
+
+        double[] income = new double[horizon];
+        double[] expenses = new double[horizon];
+        double[] incomeVar = new double[horizon];
+        double[] expenseVar = new double[horizon];
+        List<Map<String, Object>> categories = new ArrayList<>();
+
+        List<CategoryMonthlySeries.SeriesKey> keys = new ArrayList<>(model.series.keySet());
+        upcoming.keySet().stream().filter(key -> !model.series.containsKey(key)).forEach(keys::add);
+
+        for (CategoryMonthlySeries.SeriesKey key : keys) {
+            HoltWinters series = model.series.get(key);
+            long[] scheduled = upcoming.get(key);
+            List<Map<String, Object>> points = new ArrayList<>(horizon);
+            double total = 0;
+            for (int k = 0; k < horizon; k++) {
+                int h = offset + k;
+                double point = (series != null ? series.forecast(h) : 0) + (scheduled != null ? scheduled[k] : 0);
+                double variance = series != null ? series.variance(h) : 0;
+                point = Math.max(point, 0);
+                double band = Z_95 * Math.sqrt(variance);
+
+                if (key.isIncome()) {
+                    income[k] += point;
+                    incomeVar[k] += variance;
+                } else {
+                    expenses[k] += point;
+                    expenseVar[k] += variance;
+                }
+                total += point;
+                points.add(Map.of(
+                        "month", firstForecast.plusMonths(k).toString(),
+                        "amount", amount(point),
+                        "lower", amount(Math.max(point - band, 0)),
+                        "upper", amount(point + band)));
+            }
+            if (total <= 0) continue;
+
+            Map<String, Object> category = new HashMap<>();
+            category.put("category", key.category());
+            category.put("type", key.isIncome() ? "INCOME" : "EXPENSE");
+            category.put("method", series != null ? series.method() : "RECURRING");
+            category.put("total", amount(total));
+            category.put("forecast", points);
+            categories.add(category);
+        }
+        categories.sort(Comparator.comparing((Map<String, Object> c) -> (String) c.get("type"))
+                .thenComparing(c -> (Double) c.get("total"), Comparator.reverseOrder()));
+
+        List<Map<String, Object>> projected = new ArrayList<>(horizon);
+        for (int k = 0; k < horizon; k++) {
+            double incomeBand = Z_95 * Math.sqrt(incomeVar[k]);
+            double expenseBand = Z_95 * Math.sqrt(expenseVar[k]);
+            double savings = income[k] - expenses[k];
+            double savingsBand = Z_95 * Math.sqrt(incomeVar[k] + expenseVar[k]);
+            Map<String, Object> point = new HashMap<>();
+            point.put("month", firstForecast.plusMonths(k).toString());
+            point.put("income", amount(income[k]));
+            point.put("incomeLower", amount(Math.max(income[k] - incomeBand, 0)));
+            point.put("incomeUpper", amount(income[k] + incomeBand));
+            point.put("expenses", amount(expenses[k]));
+            point.put("expensesLower", amount(Math.max(expenses[k] - expenseBand, 0)));
+            point.put("expensesUpper", amount(expenses[k] + expenseBand));
+            point.put("savings", amount(savings));
+            point.put("savingsLower", amount(savings - savingsBand));
+            point.put("savingsUpper", amount(savings + savingsBand));
+            projected.add(point);
+        }
+
+        int recent = Math.min(AVERAGE_MONTHS, model.observedMonths());
+        double avgIncome = recent > 0 ? model.recentTotal(model.incomeCents, recent) / recent : 0;
+        double avgExpenses = recent > 0 ? model.recentTotal(model.expenseCents, recent) / recent : 0;
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("forecast", projected);
+        response.put("categories", categories);
+        response.put("basedOnMonths", model.observedMonths());
+        response.put("fittedThrough", model.fittedThrough.toString());
+        response.put("confidence", 0.95);
+        response.put("averageIncome", amount(avgIncome));
+        response.put("averageExpenses", amount(avgExpenses));
+        response.put("averageSavings", amount(avgIncome - avgExpenses));
+        return response;
+    }
+
+    private void record(String result) {
+        meterRegistry.counter("reports.forecast.model", "result", result).increment();
+    }
+
+    private static double amount(double cents) {
+        return Math.round(cents) / 100.0;
+    }
+
+    /**
+     * Fitted state for one user: a model per series over the residual after recurring
+     * occurrences are removed, plus monthly income and expense totals for the averages.
+     * Values are in cents.
+     */
+    private static final class UserModel {
+
+        private final HoltWinters.Params params;
+        private final YearMonth firstMonth;
+        private final Map<CategoryMonthlySeries.SeriesKey, HoltWinters> series;
+        private long[] incomeCents;
+        private long[] expenseCents;
+        /** Months since the user's first transaction in the window; -1 before any data. */
+        private int activeFrom = -1;
+        private YearMonth fittedThrough;
+        /** As of the last {@link #advance}; past occurrences are those before each nextOccurrence. */
+        private List<ReportDataSource.RecurringSchedule> schedules = List.of();
+
+        UserModel(HoltWinters.Params params, YearMonth firstMonth) {
+            this.params = params;
+            this.firstMonth = firstMonth;
+            this.series = new LinkedHashMap<>();
+            this.incomeCents = new long[0];
+            this.expenseCents = new long[0];
+            this.fittedThrough = firstMonth.minusMonths(1);
+        }
+
+        private UserModel(UserModel other) {
+            this.params = other.params;
+            this.schedules = other.schedules;
+            this.firstMonth = other.firstMonth;
+            this.series = new LinkedHashMap<>();
+            other.series.forEach((key, model) -> this.series.put(key, model.copy()));
+            this.incomeCents = other.incomeCents.clone();
+            this.expenseCents = other.expenseCents.clone();
+            this.activeFrom = other.activeFrom;
+            this.fittedThrough = other.fittedThrough;
+        }
+
+        UserModel copy() {
+            return new UserModel(this);
+        }
+
+        /**
+         * Feeds the months of {@code added}, which must start right after {@link #fittedThrough},
+         * taking out the occurrences {@code schedules} have materialised so far.
+         */
+        void advance(CategoryMonthlySeries added, List<ReportDataSource.RecurringSchedule> schedules) {
+            this.schedules = schedules;
+            int months = added.months();
+            Map<CategoryMonthlySeries.SeriesKey, long[]> backcast =
+                    recurring(added.first(), added.first().plusMonths(months - 1), true);
+
+            int start = incomeCents.length;
+            incomeCents = Arrays.copyOf(incomeCents, start + months);
+            expenseCents = Arrays.copyOf(expenseCents, start + months);
+            for (Map.Entry<CategoryMonthlySeries.SeriesKey, long[]> e : added.series().entrySet()) {
+                long[] totals = e.getKey().isIncome() ? incomeCents : expenseCents;
+                for (int i = 0; i < months; i++) totals[start + i] += e.getValue()[i];
+            }
+
+            for (int i = 0; i < months; i++) {
+                YearMonth month = added.first().plusMonths(i);
+                int monthIndex = HoltWinters.monthIndex(month.getYear(), month.getMonthValue());
+                if (activeFrom < 0 && (incomeCents[start + i] != 0 || expenseCents[start + i] != 0)) {
+                    activeFrom = start + i;
+                }
+
+                // Existing series take every month, zeros included; new ones start at their first value
+                for (Map.Entry<CategoryMonthlySeries.SeriesKey, long[]> e : added.series().entrySet()) {
+                    if (e.getValue()[i] != 0) {
+                        series.computeIfAbsent(e.getKey(), k -> new HoltWinters(params, monthIndex));
+                    }
+                }
+                for (Map.Entry<CategoryMonthlySeries.SeriesKey, HoltWinters> e : series.entrySet()) {
+                    long[] observed = added.series().get(e.getKey());
+                    long[] scheduled = backcast.get(e.getKey());
+                    double residual = (observed != null ? observed[i] : 0) - (scheduled != null ? scheduled[i] : 0);
+                    e.getValue().append(residual);
+                }
+            }
+            fittedThrough = added.first().plusMonths(months - 1);
+        }
+
+        int observedMonths() {
+            return activeFrom < 0 ? 0 : incomeCents.length - activeFrom;
+        }
+
+        double recentTotal(long[] totals, int months) {
+            long sum = 0;
+            for (int i = totals.length - months; i < totals.length; i++) sum += totals[i];
+            return sum;
+        }
+
+        /**
+         * Recurring amounts per series and month over {@code first}..{@code last}: occurrences
+         * already written as transactions when {@code past}, upcoming ones of active schedules
+         * otherwise.
+         */
+        Map<CategoryMonthlySeries.SeriesKey, long[]> recurring(YearMonth first, YearMonth last, boolean past) {
+            int months = (int) ChronoUnit.MONTHS.between(first, last) + 1;
+            Map<CategoryMonthlySeries.SeriesKey, long[]> result = new HashMap<>();
+            LocalDate windowStart = first.atDay(1);
+            LocalDate windowEnd = last.atEndOfMonth();
+            for (ReportDataSource.RecurringSchedule schedule : schedules) {
+                byte type = ReportSnapshot.toType(schedule.type());
+                if (type != ReportSnapshot.TYPE_INCOME && type != ReportSnapshot.TYPE_EXPENSE) continue;
+                if (!past && !schedule.active()) continue;
+
+                LocalDate next = schedule.nextOccurrence() != null ? schedule.nextOccurrence() : schedule.startDate();
+                LocalDate from = past ? schedule.startDate() : next;
+                LocalDate until = past ? next.minusDays(1) : windowEnd;
+                if (schedule.endDate() != null && schedule.endDate().isBefore(until)) until = schedule.endDate();
+                if (until.isAfter(windowEnd)) until = windowEnd;
+
+                long cents = ReportSnapshot.toCents(schedule.amount());
+                long[] amounts = null;
+                for (LocalDate date = from; !date.isAfter(until); date = step(date, schedule.frequency())) {
+                    if (date.isBefore(windowStart)) continue;
+                    if (amounts == null) {
+                        String category = schedule.category() != null ? schedule.category() : ReportSnapshot.DEFAULT_CATEGORY;
+                        amounts = result.computeIfAbsent(new CategoryMonthlySeries.SeriesKey(type, category),
+                                k -> new long[months]);
+                    }
+                    amounts[(int) ChronoUnit.MONTHS.between(first, YearMonth.from(date))] += cents;
+                }
+            }
+            return result;
+        }
+
+        /** Same stepping as RecurringTransactionService, so projected dates match materialised ones. */
+        private static LocalDate step(LocalDate date, String frequency) {
+            return switch (frequency != null ? frequency.toUpperCase() : "MONTHLY") {
+                case "DAILY" -> date.plusDays(1);
+                case "WEEKLY" -> date.plusWeeks(1);
+                case "YEARLY" -> date.plusYears(1);
+                default -> date.plusMonths(1);
+            };
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.fintrack.reports.service;
+
+import java.util.Arrays;
+
+/**
+ * Additive Holt-Winters exponential smoothing with a damped trend over one monthly series,
+ * fitted one observation at a time so a new month costs O(1).
+ *
+ * Until two full years are available the seasonal term is left out (damped Holt); when the
+ * 24th month arrives the model is refitted once from its own stored values with yearly
+ * seasonality. One-step-ahead errors give the residual variance behind the forecast bands.
+ */
+final class HoltWinters {
+
+    static final int PERIOD = 12;
+
+    /** Smoothing parameters: level, trend, season and trend damping. */
+    record Params(double alpha, double beta, double gamma, double phi) {
+    }
+
+    private final Params params;
+    /** Absolute month index (year * 12 + month - 1) of the first value; aligns the seasons. */
+    private final int firstMonth;
+
+    private double[] values;
+    private int size;
+    private double level;
+    private double trend;
+    private double[] seasonal;
+    private double sse;
+    private int errors;
+
+    HoltWinters(Params params, int firstMonth) {
+        this.params = params;
+        this.firstMonth = firstMonth;
+        this.values = new double[PERIOD];
+    }
+
+    static int monthIndex(int year, int month) {
+        return year * 12 + month - 1;
+    }
+
+    HoltWinters copy() {
+        HoltWinters copy = new HoltWinters(params, firstMonth);
+        copy.values = Arrays.copyOf(values, values.length);
+        copy.size = size;
+        copy.level = level;
+        copy.trend = trend;
+        copy.seasonal = seasonal != null ? seasonal.clone() : null;
+        copy.sse = sse;
+        copy.errors = errors;
+        return copy;
+    }
+
+    /** Adds the next month's value. */
+    void append(double y) {
+        if (size == values.length) values = Arrays.copyOf(values, size * 2);
+        values[size++] = y;
+
+        if (size == 1) {
+            level = y;
+            trend = 0;
+        } else if (seasonal == null && size >= 2 * PERIOD) {
+            fitSeasonal();
+        } else {
+            step(y, size - 1);
+        }
+    }
+
+    /** Point forecast {@code h} months after the last value. */
+    double forecast(int h) {
+        double phiSum = 0;
+        double phiPow = 1;
+        for (int i = 1; i <= h; i++) {
+            phiPow *= params.phi();
+            phiSum += phiPow;
+        }
+        double season = seasonal != null ? seasonal[season(size - 1 + h)] : 0;
+        return level + phiSum * trend + season;
+    }
+
+    /** Forecast error variance {@code h} months ahead. */
+    double variance(int h) {
+        double factor = 1;
+        double phiSum = 0;
+        double phiPow = 1;
+        for (int j = 1; j < h; j++) {
+            phiPow *= params.phi();
+            phiSum += phiPow;
+            double c = params.alpha() * (1 + params.beta() * phiSum);
+            if (seasonal != null && j % PERIOD == 0) c += params.gamma() * (1 - params.alpha());
+            factor += c * c;
+        }
+        return residualVariance() * factor;
+    }
+
+    int size() {
+        return size;
+    }
+
+    String method() {
+        if (size < 2) return "LAST_VALUE";
+        return seasonal != null ? "HOLT_WINTERS" : "DAMPED_TREND";
+    }
+
+    private void step(double y, int t) {
+        double season = seasonal != null ? seasonal[season(t)] : 0;
+        double damped = params.phi() * trend;
+        double error = y - (level + damped + season);
+        sse += error * error;
+        errors++;
+
+        double newLevel = params.alpha() * (y - season) + (1 - params.alpha()) * (level + damped);
+        trend = params.beta() * (newLevel - level) + (1 - params.beta()) * damped;
+        if (seasonal != null) {
+            seasonal[season(t)] = params.gamma() * (y - newLevel) + (1 - params.gamma()) * season;
+        }
+        level = newLevel;
+    }
+
+    /** Classic initialisation from the first two seasons, then a pass over the rest. */
+    private void fitSeasonal() {
+        double first = mean(0, PERIOD);
+        double second = mean(PERIOD, 2 * PERIOD);
+        seasonal = new double[PERIOD];
+        for (int t = 0; t < PERIOD; t++) {
+            seasonal[season(t)] = values[t] - first;
+        }
+        level = first;
+        trend = (second - first) / PERIOD;
+        sse = 0;
+        errors = 0;
+        for (int t = PERIOD; t < size; t++) {
+            step(values[t], t);
+        }
+    }
+
+    /** Mean squared one-step error; the sample variance while there are too few errors. */
+    private double residualVariance() {
+        if (errors >= 2) return sse / errors;
+        if (size < 2) return 0;
+        double mean = mean(0, size);
+        double sum = 0;
+        for (int t = 0; t < size; t++) {
+            sum += (values[t] - mean) * (values[t] - mean);
+        }
+        return sum / (size - 1);
+    }
+
+    private double mean(int from, int to) {
+        double sum = 0;
+        for (int t = from; t < to; t++) sum += values[t];
+        return sum / (to - from);
+    }
+
+    private int season(int t) {
+        return Math.floorMod(firstMonth + t, PERIOD);
+    }
+}
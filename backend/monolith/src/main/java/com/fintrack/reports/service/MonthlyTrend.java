@@ -0,0 +1,101 @@
+package com.fintrack.reports.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Income and expense totals per calendar month over a fixed range, held in arrays indexed
+ * by month offset from the first month. Memory is O(months) whatever the transaction count,
+ * months of different years never share a bucket, and the series comes out in order with
+ * empty months zero-filled.
+ */
+public final class MonthlyTrend {
+
+    /** Monthly savings target shown alongside each point. */
+    private static final BigDecimal MONTHLY_TARGET = BigDecimal.valueOf(1500);
+
+    private static final DateTimeFormatter SHORT_MONTH = DateTimeFormatter.ofPattern("MMM", Locale.ENGLISH);
+    private static final DateTimeFormatter SHORT_MONTH_YEAR = DateTimeFormatter.ofPattern("MMM yyyy", Locale.ENGLISH);
+
+    private final YearMonth first;
+    private final YearMonth last;
+    private final long[] incomeCents;
+    private final long[] expenseCents;
+    private boolean empty = true;
+
+    public MonthlyTrend(YearMonth first, YearMonth last) {
+        this.first = first;
+        this.last = last;
+        int months = (int) ChronoUnit.MONTHS.between(first, last) + 1;
+        this.incomeCents = new long[Math.max(months, 0)];
+        this.expenseCents = new long[Math.max(months, 0)];
+    }
+
+    public static MonthlyTrend between(LocalDate startDate, LocalDate endDate) {
+        return new MonthlyTrend(YearMonth.from(startDate), YearMonth.from(endDate));
+    }
+
+    /** Buckets the current window of a snapshot. */
+    public static MonthlyTrend of(ReportSnapshot snapshot) {
+        MonthlyTrend trend = between(snapshot.getStartDate(), snapshot.getEndDate());
+        for (int i = 0; i < snapshot.size(); i++) {
+            if (!snapshot.inCurrent(i)) continue;
+            LocalDate date = snapshot.date(i);
+            trend.add(date.getYear(), date.getMonthValue(), snapshot.type(i), snapshot.amountCents(i));
+        }
+        return trend;
+    }
+
+    /** Adds one amount; months outside the range are ignored. */
+    public MonthlyTrend add(int year, int month, byte type, long cents) {
+        int index = (year - first.getYear()) * 12 + (month - first.getMonthValue());
+        if (index < 0 || index >= incomeCents.length) return this;
+        if (type == ReportSnapshot.TYPE_INCOME) incomeCents[index] += cents;
+        else if (type == ReportSnapshot.TYPE_EXPENSE) expenseCents[index] += cents;
+        empty = false;
+        return this;
+    }
+
+    public MonthlyTrend add(int year, int month, String type, BigDecimal amount) {
+        return add(year, month, ReportSnapshot.toType(type), ReportSnapshot.toCents(amount));
+    }
+
+    public boolean isEmpty() {
+        return empty;
+    }
+
+    public int months() {
+        return incomeCents.length;
+    }
+
+    /**
+     * One point per month, oldest first. Labels carry the year when the range spans more than
+     * one calendar year. Empty when nothing was added, matching the other sections' empty state.
+     */
+    public List<Map<String, Object>> toSeries() {
+        List<Map<String, Object>> series = new ArrayList<>(incomeCents.length);
+        if (empty) return series;
+
+        DateTimeFormatter label = first.getYear() == last.getYear() ? SHORT_MONTH : SHORT_MONTH_YEAR;
+        for (int i = 0; i < incomeCents.length; i++) {
+            YearMonth month = first.plusMonths(i);
+            Map<String, Object> point = new HashMap<>();
+            point.put("month", month.format(label));
+            point.put("yearMonth", month.toString());
+            point.put("income", ReportSnapshot.toAmount(incomeCents[i]));
+            point.put("expenses", ReportSnapshot.toAmount(expenseCents[i]));
+            point.put("savings", ReportSnapshot.toAmount(incomeCents[i] - expenseCents[i]));
+            point.put("target", MONTHLY_TARGET);
+            series.add(point);
+        }
+        return series;
+    }
+}
@@ -5,10 +5,13 @@ import com.itextpdf.text.pdf.*;
 import org.springframework.stereotype.Service;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class PdfGeneratorService {
@@ -19,18 +22,57 @@ public class PdfGeneratorService {
     private static final BaseColor DARK_GRAY = new BaseColor(55, 65, 81);
     private static final BaseColor SUCCESS_GREEN = new BaseColor(16, 185, 129);
     private static final BaseColor DANGER_RED = new BaseColor(239, 68, 68);
+    private static final BaseColor BORDER_GRAY = new BaseColor(229, 231, 235);
+
+    // Shared font registry — built once, never mutated, safe to read from every export thread
+    private static final Font TITLE_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 24, BaseColor.WHITE);
+    private static final Font SUBTITLE_FONT = FontFactory.getFont(FontFactory.HELVETICA, 12, BaseColor.WHITE);
+    private static final Font SECTION_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 14, BRAND_BLUE);
+    private static final Font CARD_LABEL_FONT = FontFactory.getFont(FontFactory.HELVETICA, 9, DARK_GRAY);
+    private static final Font HEADER_CELL_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 10, BaseColor.WHITE);
+    private static final Font INSIGHT_FONT = FontFactory.getFont(FontFactory.HELVETICA, 10, DARK_GRAY);
+    private static final Font NO_DATA_FONT = FontFactory.getFont(FontFactory.HELVETICA_OBLIQUE, 10, BaseColor.GRAY);
+    private static final Font FOOTER_FONT = FontFactory.getFont(FontFactory.HELVETICA, 8, BaseColor.GRAY);
+    private static final Map<BaseColor, Font> CARD_VALUE_FONTS = new ConcurrentHashMap<>();
+    private static final Map<BaseColor, Font> CELL_FONTS = new ConcurrentHashMap<>();
+    private static final Map<BaseColor, Font> BOLD_CELL_FONTS = new ConcurrentHashMap<>();
+
+    private static final DateTimeFormatter GENERATED_FORMAT = DateTimeFormatter.ofPattern("MMM dd, yyyy");
+
+    /** Rows added to a table before it is flushed to the writer, keeping long tables off the heap. */
+    private static final int TABLE_FLUSH_ROWS = 50;
+
+    // Static header rows, styled once and cloned per document (iText elements are not shareable)
+    private static final PdfPCell[] CATEGORY_HEADER =
+            headerCells(BRAND_BLUE, "Category", "Amount", "Budget", "% Used");
+    private static final PdfPCell[] EXPENSE_HEADER =
+            headerCells(DARK_GRAY, "Vendor", "Category", "Frequency", "Amount");
 
     /**
      * Generate a complete financial report PDF and return it as bytes.
+     * Prefer {@link #writeFinancialReport} where the PDF can be streamed.
      */
     public byte[] generateFinancialReport(Map<String, Object> reportData, String range) {
         try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+            writeFinancialReport(reportData, range, baos);
+            return baos.toByteArray();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to generate PDF report", e);
+        }
+    }
 
+    /**
+     * Render the report straight to {@code out}. Pages are written as they fill, so nothing
+     * is buffered beyond the current page. {@code out} is flushed but not closed.
+     */
+    public void writeFinancialReport(Map<String, Object> reportData, String range, OutputStream out) {
+        try {
             Document document = new Document(PageSize.A4, 50, 50, 60, 60);
-            PdfWriter writer = PdfWriter.getInstance(document, baos);
+            PdfWriter writer = PdfWriter.getInstance(document, out);
+            writer.setCloseStream(false);
 
             // Page header/footer via page events
-            writer.setPageEvent(new HeaderFooterEvent(range));
+            writer.setPageEvent(new HeaderFooterEvent());
 
             document.open();
 
@@ -41,7 +83,7 @@ public class PdfGeneratorService {
             addInsightsSection(document, reportData);
 
             document.close();
-            return baos.toByteArray();
+            out.flush();
 
         } catch (Exception e) {
             throw new RuntimeException("Failed to generate PDF report", e);
@@ -62,15 +104,11 @@ public class PdfGeneratorService {
         cell.setPadding(20);
         cell.setBorder(Rectangle.NO_BORDER);
 
-        Font titleFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 24, BaseColor.WHITE);
-        Font subFont = FontFactory.getFont(FontFactory.HELVETICA, 12, BaseColor.WHITE);
-
-        Paragraph title = new Paragraph("FinTrack Financial Report", titleFont);
+        Paragraph title = new Paragraph("FinTrack Financial Report", TITLE_FONT);
         title.setAlignment(Element.ALIGN_CENTER);
         Paragraph sub = new Paragraph(
-                "Period: " + formatRange(range) + "  |  Generated: "
-                        + LocalDate.now().format(DateTimeFormatter.ofPattern("MMM dd, yyyy")),
-                subFont);
+                "Period: " + formatRange(range) + "  |  Generated: " + LocalDate.now().format(GENERATED_FORMAT),
+                SUBTITLE_FONT);
         sub.setAlignment(Element.ALIGN_CENTER);
 
         cell.addElement(title);
@@ -110,10 +148,10 @@ public class PdfGeneratorService {
         cell.setBorderWidth(2);
         cell.setPadding(12);
 
-        Font labelFont = FontFactory.getFont(FontFactory.HELVETICA, 9, DARK_GRAY);
-        Font valueFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 14, accent);
+        Font valueFont = CARD_VALUE_FONTS.computeIfAbsent(accent,
+                color -> FontFactory.getFont(FontFactory.HELVETICA_BOLD, 14, color));
 
-        cell.addElement(new Paragraph(label, labelFont));
+        cell.addElement(new Paragraph(label, CARD_LABEL_FONT));
         cell.addElement(new Paragraph(formatValue(label, value), valueFont));
         table.addCell(cell);
     }
@@ -142,23 +180,11 @@ public class PdfGeneratorService {
             return;
         }
 
-        PdfPTable table = new PdfPTable(4);
-        table.setWidthPercentage(100);
-        table.setWidths(new float[] { 3, 2, 2, 1.5f });
-        table.setSpacingBefore(8);
-
-        // Header row
-        for (String h : new String[] { "Category", "Amount", "Budget", "% Used" }) {
-            PdfPCell hCell = new PdfPCell(new Phrase(h,
-                    FontFactory.getFont(FontFactory.HELVETICA_BOLD, 10, BaseColor.WHITE)));
-            hCell.setBackgroundColor(BRAND_BLUE);
-            hCell.setPadding(8);
-            hCell.setBorder(Rectangle.NO_BORDER);
-            table.addCell(hCell);
-        }
+        PdfPTable table = streamingTable(new float[] { 3, 2, 2, 1.5f }, CATEGORY_HEADER);
 
         // Data rows
         boolean alternate = false;
+        int rows = 0;
         for (Map<String, Object> cat : categories) {
             BaseColor rowBg = alternate ? LIGHT_GRAY : BaseColor.WHITE;
             double amount = toDouble(cat.get("amount"));
@@ -172,8 +198,10 @@ public class PdfGeneratorService {
                     rowBg, over ? DANGER_RED : SUCCESS_GREEN, true);
 
             alternate = !alternate;
+            flushEvery(doc, table, ++rows);
         }
 
+        table.setComplete(true);
         doc.add(table);
         doc.add(Chunk.NEWLINE);
     }
@@ -193,21 +221,10 @@ public class PdfGeneratorService {
             return;
         }
 
-        PdfPTable table = new PdfPTable(4);
-        table.setWidthPercentage(100);
-        table.setWidths(new float[] { 3, 2, 1.5f, 2 });
-        table.setSpacingBefore(8);
-
-        for (String h : new String[] { "Vendor", "Category", "Frequency", "Amount" }) {
-            PdfPCell hCell = new PdfPCell(new Phrase(h,
-                    FontFactory.getFont(FontFactory.HELVETICA_BOLD, 10, BaseColor.WHITE)));
-            hCell.setBackgroundColor(DARK_GRAY);
-            hCell.setPadding(8);
-            hCell.setBorder(Rectangle.NO_BORDER);
-            table.addCell(hCell);
-        }
+        PdfPTable table = streamingTable(new float[] { 3, 2, 1.5f, 2 }, EXPENSE_HEADER);
 
         boolean alternate = false;
+        int rows = 0;
         for (Map<String, Object> exp : expenses) {
             BaseColor rowBg = alternate ? LIGHT_GRAY : BaseColor.WHITE;
             addTableCell(table, String.valueOf(exp.getOrDefault("vendor", "")), rowBg, BaseColor.BLACK, false);
@@ -215,8 +232,10 @@ public class PdfGeneratorService {
             addTableCell(table, String.valueOf(exp.getOrDefault("frequency", "")), rowBg, BaseColor.BLACK, false);
             addTableCell(table, String.format("$%.2f", toDouble(exp.get("amount"))), rowBg, DANGER_RED, true);
             alternate = !alternate;
+            flushEvery(doc, table, ++rows);
         }
 
+        table.setComplete(true);
         doc.add(table);
         doc.add(Chunk.NEWLINE);
     }
@@ -236,9 +255,8 @@ public class PdfGeneratorService {
             return;
         }
 
-        Font insightFont = FontFactory.getFont(FontFactory.HELVETICA, 10, DARK_GRAY);
         for (String insight : insights) {
-            Paragraph p = new Paragraph("- " + insight, insightFont);
+            Paragraph p = new Paragraph("- " + insight, INSIGHT_FONT);
             p.setIndentationLeft(10);
             p.setSpacingBefore(4);
             doc.add(p);
@@ -250,27 +268,60 @@ public class PdfGeneratorService {
     // -----------------------------------------------------------------------
 
     private Paragraph sectionTitle(String text) {
-        Font f = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 14, BRAND_BLUE);
-        Paragraph p = new Paragraph(text, f);
+        Paragraph p = new Paragraph(text, SECTION_FONT);
         p.setSpacingBefore(16);
         p.setSpacingAfter(4);
         return p;
     }
 
     private Paragraph noDataParagraph() {
-        Font f = FontFactory.getFont(FontFactory.HELVETICA_OBLIQUE, 10, BaseColor.GRAY);
-        return new Paragraph("No data available for this period.", f);
+        return new Paragraph("No data available for this period.", NO_DATA_FONT);
+    }
+
+    /**
+     * A four-column table with a repeating header row, built incomplete so rows can be
+     * flushed to the writer in batches; callers mark it complete before the final add.
+     */
+    private PdfPTable streamingTable(float[] widths, PdfPCell[] header) throws DocumentException {
+        PdfPTable table = new PdfPTable(widths.length);
+        table.setWidthPercentage(100);
+        table.setWidths(widths);
+        table.setSpacingBefore(8);
+        table.setHeaderRows(1);
+        table.setComplete(false);
+        for (PdfPCell prototype : header) {
+            table.addCell(new PdfPCell(prototype));
+        }
+        return table;
+    }
+
+    private void flushEvery(Document doc, PdfPTable table, int rows) throws DocumentException {
+        if (rows % TABLE_FLUSH_ROWS == 0) {
+            doc.add(table);
+        }
+    }
+
+    private static PdfPCell[] headerCells(BaseColor background, String... labels) {
+        PdfPCell[] cells = new PdfPCell[labels.length];
+        for (int i = 0; i < labels.length; i++) {
+            PdfPCell cell = new PdfPCell(new Phrase(labels[i], HEADER_CELL_FONT));
+            cell.setBackgroundColor(background);
+            cell.setPadding(8);
+            cell.setBorder(Rectangle.NO_BORDER);
+            cells[i] = cell;
+        }
+        return cells;
     }
 
     private void addTableCell(PdfPTable table, String text,
             BaseColor bg, BaseColor textColor, boolean bold) {
-        Font f = bold
-                ? FontFactory.getFont(FontFactory.HELVETICA_BOLD, 9, textColor)
-                : FontFactory.getFont(FontFactory.HELVETICA, 9, textColor);
+        Font f = (bold ? BOLD_CELL_FONTS : CELL_FONTS).computeIfAbsent(textColor, color -> bold
+                ? FontFactory.getFont(FontFactory.HELVETICA_BOLD, 9, color)
+                : FontFactory.getFont(FontFactory.HELVETICA, 9, color));
         PdfPCell cell = new PdfPCell(new Phrase(text, f));
         cell.setBackgroundColor(bg);
         cell.setPadding(7);
-        cell.setBorderColor(new BaseColor(229, 231, 235));
+        cell.setBorderColor(BORDER_GRAY);
         table.addCell(cell);
     }
 
@@ -301,26 +352,33 @@ public class PdfGeneratorService {
     // Page Header / Footer
     // -----------------------------------------------------------------------
 
+    /**
+     * The static footer text is drawn once per document into a template (a PDF XObject) and
+     * every page references it; only the page number is laid out per page.
+     */
     private static class HeaderFooterEvent extends PdfPageEventHelper {
-        private final String range;
+        private static final String BRAND = "FinTrack - Confidential";
 
-        HeaderFooterEvent(String range) {
-            this.range = range;
+        private PdfTemplate brandTemplate;
+
+        @Override
+        public void onOpenDocument(PdfWriter writer, Document document) {
+            float width = FOOTER_FONT.getCalculatedBaseFont(false).getWidthPoint(BRAND, FOOTER_FONT.getSize());
+            brandTemplate = writer.getDirectContent().createTemplate(width, FOOTER_FONT.getSize() + 2);
+            ColumnText.showTextAligned(brandTemplate, Element.ALIGN_LEFT,
+                    new Phrase(BRAND, FOOTER_FONT), 0, 2, 0);
         }
 
         @Override
         public void onEndPage(PdfWriter writer, Document document) {
             PdfContentByte cb = writer.getDirectContent();
-            Font font = FontFactory.getFont(FontFactory.HELVETICA, 8, BaseColor.GRAY);
 
             // Footer left: brand
-            ColumnText.showTextAligned(cb, Element.ALIGN_LEFT,
-                    new Phrase("FinTrack - Confidential", font),
-                    document.left(), document.bottom() - 15, 0);
+            cb.addTemplate(brandTemplate, document.left(), document.bottom() - 17);
 
             // Footer right: page number
             ColumnText.showTextAligned(cb, Element.ALIGN_RIGHT,
-                    new Phrase("Page " + writer.getPageNumber(), font),
+                    new Phrase("Page " + writer.getPageNumber(), FOOTER_FONT),
                     document.right(), document.bottom() - 15, 0);
         }
     }
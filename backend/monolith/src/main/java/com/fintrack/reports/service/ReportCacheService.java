@@ -0,0 +1,268 @@
+package com.fintrack.reports.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fintrack.reports.entity.SpendingSummaryCache;
+import com.fintrack.reports.repository.SpendingSummaryCacheRepository;
+import com.fintrack.transactions.event.TransactionsChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Two-tier cache for computed report payloads.
+ *
+ * Tier one is a bounded in-JVM LRU; tier two is the {@code spending_summary_cache} table, which
+ * survives restarts and is shared by every instance. Entries are keyed by user, period type and
+ * the covered date range (current plus comparison window), and are evicted when a transaction
+ * dated inside that range changes. Budget and goal edits are picked up when the entry expires.
+ *
+ * The table is the source of truth: a memory hit is served only while the row it was read from
+ * or written as is still there with the same expiry, so an eviction on another instance is seen
+ * on the next request. Users without a table key (non-UUID ids) are not cached. A load that
+ * overlaps an eviction is returned but not stored.
+ */
+@Slf4j
+@Service
+public class ReportCacheService {
+
+    /** Above this many changed dates, persisted entries are evicted by the covering range. */
+    private static final int MAX_PER_DATE_EVICTIONS = 8;
+
+    private final SpendingSummaryCacheRepository cacheRepository;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader payloadReader;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Duration ttl;
+    private final UserCache<Key, Entry> memory;
+
+    public ReportCacheService(SpendingSummaryCacheRepository cacheRepository,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${reports.cache.enabled:true}") boolean enabled,
+            @Value("${reports.cache.ttl-minutes:15}") long ttlMinutes,
+            @Value("${reports.cache.max-entries:1000}") int maxEntries) {
+        this.cacheRepository = cacheRepository;
+        this.objectMapper = objectMapper;
+        this.payloadReader = objectMapper.readerFor(new TypeReference<Map<String, Object>>() { })
+                .with(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.memory = new UserCache<>(maxEntries, Key::userId);
+    }
+
+    /**
+     * Returns the cached payload for {@code key}, computing and storing it on a miss.
+     * Results the loader marks as not cacheable (partial reports) are returned but not stored.
+     */
+    public Map<String, Object> getOrCompute(Key key, Supplier<Computed> loader) {
+        UUID persistedKey = TransactionRollupService.rollupKey(key.userId()).orElse(null);
+        if (!enabled || persistedKey == null) {
+            return loader.get().payload();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        long version = memory.version();
+        Entry cached = memory.get(key);
+        if (cached != null && cached.expiresAt().isAfter(now)) {
+            if (isCurrent(persistedKey, key, cached)) {
+                record("memory", "hit");
+                return cached.payload();
+            }
+            record("memory", "stale");
+            memory.remove(key, cached);
+        }
+
+        Optional<Entry> persisted = readPersisted(persistedKey, key, now);
+        if (persisted.isPresent()) {
+            record("table", "hit");
+            memory.putIfCurrent(key, persisted.get(), version);
+            return persisted.get().payload();
+        }
+
+        record("table", "miss");
+        Computed computed = loader.get();
+        if (!computed.cacheable() || memory.version() != version) {
+            record("table", "skipped");
+            return computed.payload();
+        }
+        // Postgres keeps microseconds; truncate so the expiry read back matches the memory copy
+        Entry entry = new Entry(Collections.unmodifiableMap(computed.payload()),
+                now.plus(ttl).truncatedTo(ChronoUnit.MICROS));
+        memory.putIfCurrent(key, entry, version);
+        writePersisted(persistedKey, key, entry, now);
+        if (memory.version() != version) {
+            // An eviction ran while the row was being written and may have missed it
+            memory.remove(key);
+            deletePersisted(persistedKey, key);
+        }
+        return entry.payload();
+    }
+
+    /**
+     * Evicts the user's entries whose covered range contains one of the changed dates.
+     * Runs after the rollup refresh so a recompute never reads stale aggregates.
+     */
+    @Order(10)
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onTransactionsChanged(TransactionsChangedEvent event) {
+        if (!enabled) return;
+        try {
+            if (event.allDates()) {
+                evictUser(event.userId());
+            } else {
+                evictDates(event.userId(), event.dates());
+            }
+        } catch (Exception e) {
+            log.error("Failed to invalidate report cache for user {}: {}", event.userId(), e.getMessage());
+        }
+    }
+
+    @Transactional
+    public void evictUser(String userId) {
+        memory.evictUser(userId);
+        TransactionRollupService.rollupKey(userId).ifPresent(cacheRepository::deleteAllByUserId);
+    }
+
+    private void evictDates(String userId, Set<LocalDate> dates) {
+        if (dates.isEmpty()) return;
+
+        memory.evictIf(key -> key.userId().equals(userId) && dates.stream().anyMatch(key::covers));
+
+        UUID persistedKey = TransactionRollupService.rollupKey(userId).orElse(null);
+        if (persistedKey == null) return;
+        if (dates.size() <= MAX_PER_DATE_EVICTIONS) {
+            for (LocalDate date : dates) {
+                cacheRepository.deleteOverlapping(persistedKey, date, date);
+            }
+        } else {
+            cacheRepository.deleteOverlapping(persistedKey, Collections.min(dates), Collections.max(dates));
+        }
+    }
+
+    @Scheduled(cron = "${reports.cache.purge-cron:0 */15 * * * *}")
+    @Transactional
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        memory.removeValuesIf(entry -> !entry.expiresAt().isAfter(now));
+        int purged = cacheRepository.deleteExpiredCache(now);
+        if (purged > 0) {
+            log.info("Purged {} expired report cache entries", purged);
+        }
+    }
+
+    /** True while the table still holds the row {@code cached} mirrors. */
+    private boolean isCurrent(UUID persistedKey, Key key, Entry cached) {
+        try {
+            return cacheRepository.findExpiresAtByKey(
+                            persistedKey, key.periodType(), key.periodStart(), key.periodEnd())
+                    .map(cached.expiresAt()::equals)
+                    .orElse(false);
+        } catch (Exception e) {
+            log.warn("Report cache check failed for user {}: {}", key.userId(), e.getMessage());
+            return false;
+        }
+    }
+
+    private Optional<Entry> readPersisted(UUID persistedKey, Key key, LocalDateTime now) {
+        try {
+            return cacheRepository.findByUserIdAndPeriodTypeAndPeriodStartAndPeriodEnd(
+                            persistedKey, key.periodType(), key.periodStart(), key.periodEnd())
+                    .filter(row -> row.getExpiresAt().isAfter(now) && row.getData() != null)
+                    .map(row -> new Entry(readPayload(row.getData()), row.getExpiresAt()));
+        } catch (Exception e) {
+            log.warn("Report cache read failed for user {}: {}", key.userId(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void writePersisted(UUID persistedKey, Key key, Entry entry, LocalDateTime now) {
+        try {
+            SpendingSummaryCache row = cacheRepository.findByUserIdAndPeriodTypeAndPeriodStartAndPeriodEnd(
+                    persistedKey, key.periodType(), key.periodStart(), key.periodEnd())
+                    .orElseGet(SpendingSummaryCache::new);
+            row.setUserId(persistedKey);
+            row.setPeriodType(key.periodType());
+            row.setPeriodStart(key.periodStart());
+            row.setPeriodEnd(key.periodEnd());
+            row.setTotalAmount(totalExpenses(entry.payload()));
+            row.setData(objectMapper.writeValueAsString(entry.payload()));
+            row.setExpiresAt(entry.expiresAt());
+            row.setUpdatedAt(now);
+            cacheRepository.save(row);
+        } catch (Exception e) {
+            // A concurrent writer may have inserted the same key; its row wins the next memory check
+            log.warn("Report cache write failed for user {}: {}", key.userId(), e.getMessage());
+        }
+    }
+
+    private void deletePersisted(UUID persistedKey, Key key) {
+        try {
+            cacheRepository.deleteByKey(persistedKey, key.periodType(), key.periodStart(), key.periodEnd());
+        } catch (Exception e) {
+            log.warn("Report cache delete failed for user {}: {}", key.userId(), e.getMessage());
+        }
+    }
+
+    private Map<String, Object> readPayload(String json) {
+        try {
+            return Collections.unmodifiableMap(payloadReader.readValue(json));
+        } catch (Exception e) {
+            throw new IllegalStateException("Unreadable cached report payload", e);
+        }
+    }
+
+    private static BigDecimal totalExpenses(Map<String, Object> payload) {
+        Object summary = payload.get("summary");
+        if (summary instanceof Map<?, ?> map && map.get("totalExpenses") instanceof BigDecimal total) {
+            return total;
+        }
+        return null;
+    }
+
+    private void record(String tier, String result) {
+        meterRegistry.counter("reports.cache", "tier", tier, "result", result).increment();
+    }
+
+    /**
+     * Cache key. {@code periodStart..periodEnd} is every date the payload was computed from,
+     * including the comparison window.
+     */
+    public record Key(String userId, SpendingSummaryCache.PeriodType periodType,
+            LocalDate periodStart, LocalDate periodEnd) {
+
+        boolean covers(LocalDate date) {
+            return !date.isBefore(periodStart) && !date.isAfter(periodEnd);
+        }
+    }
+
+    /** A freshly computed payload and whether it is complete enough to cache. */
+    public record Computed(Map<String, Object> payload, boolean cacheable) {
+    }
+
+    private record Entry(Map<String, Object> payload, LocalDateTime expiresAt) {
+    }
+}
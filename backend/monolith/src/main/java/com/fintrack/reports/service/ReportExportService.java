@@ -0,0 +1,240 @@
+package com.fintrack.reports.service;
+
+import com.fintrack.reports.entity.ReportHistory;
+import com.fintrack.reports.repository.ReportHistoryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Job-based PDF export. A submit records a PENDING {@link ReportHistory} row and returns at
+ * once; a bounded worker pool renders the PDF to local disk and moves the row through
+ * PROCESSING to COMPLETED or FAILED. Finished files are kept for
+ * {@code reports.export.retention-hours} and then purged with their rows. An export still
+ * unfinished after {@code reports.export.stale-minutes} lost its worker to a restart; the
+ * purge marks it FAILED and deletes its partial file.
+ */
+@Slf4j
+@Service
+public class ReportExportService {
+
+    public static final String REPORT_TYPE_PDF = "FINANCIAL_PDF";
+
+    private final ReportHistoryRepository historyRepository;
+    private final ReportsService reportsService;
+    private final PdfGeneratorService pdfGeneratorService;
+    private final ExcelGeneratorService excelGeneratorService;
+    private final Executor executor;
+    private final Path exportDir;
+    private final long retentionHours;
+    private final long staleMinutes;
+
+    public ReportExportService(ReportHistoryRepository historyRepository,
+            ReportsService reportsService,
+            PdfGeneratorService pdfGeneratorService,
+            ExcelGeneratorService excelGeneratorService,
+            @Qualifier("reportExportExecutor") Executor executor,
+            @Value("${reports.export.dir:${java.io.tmpdir}/fintrack-reports}") String exportDir,
+            @Value("${reports.export.retention-hours:24}") long retentionHours,
+            @Value("${reports.export.stale-minutes:30}") long staleMinutes) {
+        this.historyRepository = historyRepository;
+        this.reportsService = reportsService;
+        this.pdfGeneratorService = pdfGeneratorService;
+        this.excelGeneratorService = excelGeneratorService;
+        this.executor = executor;
+        this.exportDir = Paths.get(exportDir);
+        this.retentionHours = retentionHours;
+        this.staleMinutes = staleMinutes;
+    }
+
+    /**
+     * Queues a PDF export and returns its PENDING history row.
+     *
+     * @throws IllegalArgumentException if {@code userId} is not a UUID
+     * @throws RejectedExecutionException if the export queue is full
+     */
+    public ReportHistory submitPdf(String userId, String range) {
+        ReportHistory saved = createJob(UUID.fromString(userId), REPORT_TYPE_PDF, range);
+
+        try {
+            executor.execute(() -> render(saved.getId(), userId, range));
+        } catch (RejectedExecutionException e) {
+            markFailed(saved, "Export queue is full, try again shortly");
+            throw e;
+        }
+        log.info("Queued PDF export {} for user {} ({})", saved.getId(), userId, range);
+        return saved;
+    }
+
+    /** Records a PENDING export row; the caller is responsible for getting it rendered. */
+    ReportHistory createJob(UUID userId, String reportType, String range) {
+        ReportHistory job = new ReportHistory();
+        job.setUserId(userId);
+        job.setReportType(reportType);
+        job.setStatus(ReportHistory.ReportStatus.PENDING);
+        job.setDateRange(range);
+        job.setGeneratedAt(LocalDateTime.now());
+        return historyRepository.save(job);
+    }
+
+    /** The user's export job, or empty when it does not exist or belongs to someone else. */
+    public Optional<ReportHistory> findJob(String userId, UUID reportId) {
+        try {
+            return historyRepository.findByIdAndUserId(reportId, UUID.fromString(userId));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    /** Path of a completed export's file, or empty if it is not ready or has been purged. */
+    public Optional<Path> completedFile(ReportHistory job) {
+        if (job.getStatus() != ReportHistory.ReportStatus.COMPLETED || job.getFilePath() == null) {
+            return Optional.empty();
+        }
+        Path file = Paths.get(job.getFilePath());
+        return Files.isRegularFile(file) ? Optional.of(file) : Optional.empty();
+    }
+
+    Optional<ReportHistory> render(UUID reportId, String userId, String range) {
+        return render(reportId, userId, range, Format.PDF);
+    }
+
+    /** Renders a PENDING job on the calling thread and returns it in its final state. */
+    Optional<ReportHistory> render(UUID reportId, String userId, String range, Format format) {
+        ReportHistory job = historyRepository.findById(reportId).orElse(null);
+        if (job == null) return Optional.empty();
+
+        job.setStatus(ReportHistory.ReportStatus.PROCESSING);
+        job = historyRepository.save(job);
+
+        Path target = exportDir.resolve(reportId + "." + format.extension());
+        Path partial = partialFile(reportId, format);
+        try {
+            Map<String, Object> reportData = reportsService.getFinancialReports(userId, range);
+
+            Files.createDirectories(exportDir);
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(partial))) {
+                if (format == Format.XLSX) {
+                    excelGeneratorService.writeFinancialReport(reportData, range, out);
+                } else {
+                    pdfGeneratorService.writeFinancialReport(reportData, range, out);
+                }
+            }
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            job.setStatus(ReportHistory.ReportStatus.COMPLETED);
+            job.setFilePath(target.toString());
+            job.setFileSize(Files.size(target));
+            job.setCompletedAt(LocalDateTime.now());
+            historyRepository.save(job);
+            log.info("{} export {} completed ({} bytes)", format, reportId, job.getFileSize());
+        } catch (Exception e) {
+            log.error("{} export {} failed for user {}: {}", format, reportId, userId, e.getMessage(), e);
+            deleteQuietly(partial);
+            markFailed(job, "Report generation failed");
+        }
+        return Optional.of(job);
+    }
+
+    /** Fails exports orphaned by a lost worker, then drops exports older than the retention window, files first. */
+    @Scheduled(cron = "${reports.export.purge-cron:0 0 * * * *}")
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        for (ReportHistory job : historyRepository.findByStatusInAndGeneratedAtBefore(
+                List.of(ReportHistory.ReportStatus.PENDING, ReportHistory.ReportStatus.PROCESSING),
+                now.minusMinutes(staleMinutes))) {
+            log.warn("Export {} for user {} never finished, marking it failed", job.getId(), job.getUserId());
+            for (Format format : Format.values()) {
+                deleteQuietly(partialFile(job.getId(), format));
+            }
+            markFailed(job, "Report generation was interrupted, request it again");
+        }
+
+        LocalDateTime cutoff = now.minusHours(retentionHours);
+        int purged = 0;
+        for (ReportHistory job : historyRepository.findByGeneratedAtBefore(cutoff)) {
+            if (job.getStatus() == ReportHistory.ReportStatus.PENDING
+                    || job.getStatus() == ReportHistory.ReportStatus.PROCESSING) {
+                continue;
+            }
+            if (job.getFilePath() != null) {
+                deleteQuietly(Paths.get(job.getFilePath()));
+            }
+            historyRepository.delete(job);
+            purged++;
+        }
+        if (purged > 0) {
+            log.info("Purged {} expired report exports", purged);
+        }
+    }
+
+    void markFailed(ReportHistory job, String message) {
+        job.setStatus(ReportHistory.ReportStatus.FAILED);
+        job.setErrorMessage(message);
+        job.setCompletedAt(LocalDateTime.now());
+        historyRepository.save(job);
+    }
+
+    private Path partialFile(UUID reportId, Format format) {
+        return exportDir.resolve(reportId + "." + format.extension() + ".part");
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete export file {}: {}", file, e.getMessage());
+        }
+    }
+
+    /** File formats an export can be rendered to. */
+    public enum Format {
+        PDF("pdf", "application/pdf"),
+        XLSX("xlsx", ExcelGeneratorService.CONTENT_TYPE);
+
+        private final String extension;
+        private final String contentType;
+
+        Format(String extension, String contentType) {
+            this.extension = extension;
+            this.contentType = contentType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        /** The format of a rendered export file, judged by its extension. */
+        public static Format ofFile(Path file) {
+            return file.getFileName().toString().endsWith("." + XLSX.extension) ? XLSX : PDF;
+        }
+
+        /** Maps {@link com.fintrack.reports.entity.ScheduledReport#getFormat()}; empty if unsupported. */
+        public static Optional<Format> ofSchedule(String format) {
+            if (format == null || format.isBlank() || "PDF".equalsIgnoreCase(format)) return Optional.of(PDF);
+            if ("EXCEL".equalsIgnoreCase(format) || "XLSX".equalsIgnoreCase(format)) return Optional.of(XLSX);
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.fintrack.reports.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs the independent sections of a report, either concurrently on the report section pool
+ * or inline on the caller's thread ({@code reports.sections.parallel=false}).
+ *
+ * Every section gets a timeout and a fallback value, so one slow or failing section degrades
+ * to its empty value instead of failing the whole report. Section durations are recorded in the
+ * {@code reports.section} timer, tagged by section name.
+ */
+@Slf4j
+@Component
+public class ReportSectionRunner {
+
+    private final ExecutorService executor;
+    private final MeterRegistry meterRegistry;
+    private final long timeoutMs;
+    private final boolean parallel;
+
+    public ReportSectionRunner(@Qualifier("reportSectionExecutor") ExecutorService executor,
+            MeterRegistry meterRegistry,
+            @Value("${reports.sections.timeout-ms:5000}") long timeoutMs,
+            @Value("${reports.sections.parallel:true}") boolean parallel) {
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+        this.timeoutMs = timeoutMs;
+        this.parallel = parallel;
+    }
+
+    /**
+     * Starts a section. The returned future never completes exceptionally: errors and timeouts
+     * resolve to {@code fallback}.
+     */
+    public <T> CompletableFuture<T> submit(String section, Supplier<T> task, T fallback) {
+        return submit(section, task, fallback, () -> { });
+    }
+
+    /**
+     * As {@link #submit(String, Supplier, Object)}, additionally running {@code onFallback}
+     * when the section degrades, so callers can tell a partial report from a complete one.
+     */
+    public <T> CompletableFuture<T> submit(String section, Supplier<T> task, T fallback, Runnable onFallback) {
+        Supplier<T> timed = () -> time(section, task);
+
+        CompletableFuture<T> future;
+        if (parallel) {
+            future = CompletableFuture.supplyAsync(timed, executor)
+                    .orTimeout(timeoutMs, TimeUnit.MILLISECONDS);
+        } else {
+            try {
+                future = CompletableFuture.completedFuture(timed.get());
+            } catch (RuntimeException e) {
+                future = CompletableFuture.failedFuture(e);
+            }
+        }
+
+        return future.exceptionally(e -> {
+            log.warn("Report section '{}' failed, using fallback: {}", section, e.toString());
+            meterRegistry.counter("reports.section.fallback", "section", section).increment();
+            onFallback.run();
+            return fallback;
+        });
+    }
+
+    private <T> T time(String section, Supplier<T> task) {
+        long start = System.nanoTime();
+        try {
+            return task.get();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            Timer.builder("reports.section")
+                    .tag("section", section)
+                    .register(meterRegistry)
+                    .record(elapsed, TimeUnit.NANOSECONDS);
+            log.debug("Report section '{}' took {} ms", section, TimeUnit.NANOSECONDS.toMillis(elapsed));
+        }
+    }
+}
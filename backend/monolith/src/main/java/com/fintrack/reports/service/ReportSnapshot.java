@@ -0,0 +1,366 @@
+package com.fintrack.reports.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, column-oriented view of the transactions behind a single report request.
+ *
+ * The current window and (optionally) the previous comparison window are loaded once,
+ * decoded once into primitive columns and then shared by every report section, so a
+ * dashboard load no longer re-fetches and re-parses the same date range per section.
+ * Amounts are held as cents; categories and vendors are dictionary-encoded.
+ *
+ * A snapshot may also be {@linkplain #isAggregated() aggregated}: each row is then a daily
+ * per-type, per-category rollup rather than a single transaction, which is enough for totals,
+ * trends and category breakdowns but not for per-transaction sections such as top expenses.
+ */
+public final class ReportSnapshot {
+
+    public static final byte TYPE_OTHER = 0;
+    public static final byte TYPE_INCOME = 1;
+    public static final byte TYPE_EXPENSE = 2;
+
+    static final String DEFAULT_CATEGORY = "Other";
+
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final LocalDate previousStart;
+    private final LocalDate previousEnd;
+
+    private final boolean aggregated;
+    private final int size;
+    private final int[] epochDays;
+    private final long[] amountCents;
+    private final byte[] types;
+    private final int[] categoryIds;
+    private final int[] vendorIds;
+    private final String[] categories;
+    private final String[] vendors;
+
+    private final Totals currentTotals;
+    private final Totals previousTotals;
+
+    private ReportSnapshot(Builder b) {
+        this.startDate = b.startDate;
+        this.endDate = b.endDate;
+        this.previousStart = b.previousStart;
+        this.previousEnd = b.previousEnd;
+        this.aggregated = b.aggregated;
+        this.size = b.size;
+        this.epochDays = Arrays.copyOf(b.epochDays, b.size);
+        this.amountCents = Arrays.copyOf(b.amountCents, b.size);
+        this.types = Arrays.copyOf(b.types, b.size);
+        this.categoryIds = Arrays.copyOf(b.categoryIds, b.size);
+        this.vendorIds = Arrays.copyOf(b.vendorIds, b.size);
+        this.categories = b.categoryDictionary.toArray();
+        this.vendors = b.vendorDictionary.toArray();
+
+        long curIncome = 0, curExpense = 0, prevIncome = 0, prevExpense = 0;
+        for (int i = 0; i < size; i++) {
+            if (inCurrent(i)) {
+                if (types[i] == TYPE_INCOME) curIncome += amountCents[i];
+                else if (types[i] == TYPE_EXPENSE) curExpense += amountCents[i];
+            }
+            if (inPrevious(i)) {
+                if (types[i] == TYPE_INCOME) prevIncome += amountCents[i];
+                else if (types[i] == TYPE_EXPENSE) prevExpense += amountCents[i];
+            }
+        }
+        this.currentTotals = new Totals(curIncome, curExpense);
+        this.previousTotals = new Totals(prevIncome, prevExpense);
+    }
+
+    public static Builder builder(LocalDate startDate, LocalDate endDate) {
+        return new Builder(startDate, endDate, null, null);
+    }
+
+    public static Builder builder(LocalDate startDate, LocalDate endDate,
+            LocalDate previousStart, LocalDate previousEnd) {
+        return new Builder(startDate, endDate, previousStart, previousEnd);
+    }
+
+    /**
+     * Decodes the map-shaped rows returned by {@code /api/transactions/reports}.
+     * Rows that cannot be decoded are skipped rather than failing the whole report.
+     */
+    public static ReportSnapshot fromRows(List<Map<String, Object>> rows, LocalDate startDate,
+            LocalDate endDate, LocalDate previousStart, LocalDate previousEnd) {
+        Builder builder = builder(startDate, endDate, previousStart, previousEnd);
+        for (Map<String, Object> row : rows) {
+            Object date = row.get("date");
+            Object amount = row.get("amount");
+            if (date == null || amount == null) {
+                continue;
+            }
+            try {
+                builder.add(LocalDate.parse(date.toString()),
+                        new BigDecimal(amount.toString()),
+                        (String) row.get("type"),
+                        (String) row.get("category"),
+                        (String) row.get("description"));
+            } catch (RuntimeException e) {
+                // Malformed row — leave it out of the snapshot
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Decodes the {@code application/x-ndjson} form of {@code /api/transactions/reports}:
+     * one {@code [epochDay, amountCents, type, category, description]} array per line.
+     * Values are read token by token straight into the columns; no per-row objects are built.
+     */
+    public static ReportSnapshot fromNdjson(InputStream in, JsonFactory jsonFactory, LocalDate startDate,
+            LocalDate endDate, LocalDate previousStart, LocalDate previousEnd) throws IOException {
+        Builder builder = builder(startDate, endDate, previousStart, previousEnd);
+        try (JsonParser parser = jsonFactory.createParser(in)) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token != JsonToken.START_ARRAY) {
+                    throw new IOException("Expected a row array but found " + token);
+                }
+                parser.nextToken();
+                int epochDay = parser.getIntValue();
+                parser.nextToken();
+                long cents = parser.getLongValue();
+                byte type = toType(parser.nextTextValue());
+                String category = parser.nextTextValue();
+                String description = parser.nextTextValue();
+                if (parser.nextToken() != JsonToken.END_ARRAY) {
+                    throw new IOException("Unexpected trailing values in row");
+                }
+                builder.add(epochDay, cents, type, category, description);
+            }
+        }
+        return builder.build();
+    }
+
+    // ========== Row accessors ==========
+
+    public int size() {
+        return size;
+    }
+
+    public int epochDay(int row) {
+        return epochDays[row];
+    }
+
+    public LocalDate date(int row) {
+        return LocalDate.ofEpochDay(epochDays[row]);
+    }
+
+    public long amountCents(int row) {
+        return amountCents[row];
+    }
+
+    public byte type(int row) {
+        return types[row];
+    }
+
+    public int categoryId(int row) {
+        return categoryIds[row];
+    }
+
+    public int vendorId(int row) {
+        return vendorIds[row];
+    }
+
+    public boolean inCurrent(int row) {
+        return epochDays[row] >= startDate.toEpochDay() && epochDays[row] <= endDate.toEpochDay();
+    }
+
+    public boolean inPrevious(int row) {
+        return previousStart != null
+                && epochDays[row] >= previousStart.toEpochDay()
+                && epochDays[row] <= previousEnd.toEpochDay();
+    }
+
+    // ========== Dictionaries ==========
+
+    public int categoryCount() {
+        return categories.length;
+    }
+
+    public String categoryName(int categoryId) {
+        return categories[categoryId];
+    }
+
+    public int vendorCount() {
+        return vendors.length;
+    }
+
+    public String vendorName(int vendorId) {
+        return vendors[vendorId];
+    }
+
+    // ========== Windows ==========
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public LocalDate getPreviousStart() {
+        return previousStart;
+    }
+
+    public LocalDate getPreviousEnd() {
+        return previousEnd;
+    }
+
+    public Totals currentTotals() {
+        return currentTotals;
+    }
+
+    public Totals previousTotals() {
+        return previousTotals;
+    }
+
+    /** True when rows are daily rollups rather than individual transactions. */
+    public boolean isAggregated() {
+        return aggregated;
+    }
+
+    /** True when the current window holds no rows at all. */
+    public boolean isCurrentEmpty() {
+        for (int i = 0; i < size; i++) {
+            if (inCurrent(i)) return false;
+        }
+        return true;
+    }
+
+    public static BigDecimal toAmount(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    static long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    static byte toType(String type) {
+        if ("INCOME".equals(type)) return TYPE_INCOME;
+        if ("EXPENSE".equals(type)) return TYPE_EXPENSE;
+        return TYPE_OTHER;
+    }
+
+    /** Income and expense totals for one window, in cents. */
+    public record Totals(long incomeCents, long expenseCents) {
+
+        public BigDecimal income() {
+            return toAmount(incomeCents);
+        }
+
+        public BigDecimal expenses() {
+            return toAmount(expenseCents);
+        }
+
+        public BigDecimal savings() {
+            return toAmount(incomeCents - expenseCents);
+        }
+    }
+
+    /**
+     * Accumulates rows into growable primitive columns. Not thread-safe; build once per request.
+     */
+    public static final class Builder {
+
+        private final LocalDate startDate;
+        private final LocalDate endDate;
+        private final LocalDate previousStart;
+        private final LocalDate previousEnd;
+
+        private boolean aggregated;
+        private int size;
+        private int[] epochDays = new int[64];
+        private long[] amountCents = new long[64];
+        private byte[] types = new byte[64];
+        private int[] categoryIds = new int[64];
+        private int[] vendorIds = new int[64];
+        private final Dictionary categoryDictionary = new Dictionary();
+        private final Dictionary vendorDictionary = new Dictionary();
+
+        private Builder(LocalDate startDate, LocalDate endDate,
+                LocalDate previousStart, LocalDate previousEnd) {
+            this.startDate = startDate;
+            this.endDate = endDate;
+            this.previousStart = previousStart;
+            this.previousEnd = previousEnd;
+        }
+
+        public Builder add(LocalDate date, BigDecimal amount, String type, String category,
+                String description) {
+            return add(date, toCents(amount), toType(type), category, description);
+        }
+
+        public Builder add(LocalDate date, long cents, byte type, String category, String description) {
+            return add((int) date.toEpochDay(), cents, type, category, description);
+        }
+
+        Builder add(int epochDay, long cents, byte type, String category, String description) {
+            ensureCapacity(size + 1);
+            epochDays[size] = epochDay;
+            amountCents[size] = cents;
+            types[size] = type;
+            categoryIds[size] = categoryDictionary.idOf(category != null ? category : DEFAULT_CATEGORY);
+            vendorIds[size] = vendorDictionary.idOf(description != null ? description : "");
+            size++;
+            return this;
+        }
+
+        /** Marks the snapshot as built from daily rollups; vendors are then empty. */
+        public Builder aggregated() {
+            this.aggregated = true;
+            return this;
+        }
+
+        public ReportSnapshot build() {
+            return new ReportSnapshot(this);
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity <= epochDays.length) return;
+            int newLength = Math.max(capacity, epochDays.length * 2);
+            epochDays = Arrays.copyOf(epochDays, newLength);
+            amountCents = Arrays.copyOf(amountCents, newLength);
+            types = Arrays.copyOf(types, newLength);
+            categoryIds = Arrays.copyOf(categoryIds, newLength);
+            vendorIds = Arrays.copyOf(vendorIds, newLength);
+        }
+    }
+
+    /** Insertion-ordered string interning table. */
+    private static final class Dictionary {
+
+        private final Map<String, Integer> ids = new HashMap<>();
+        private String[] values = new String[16];
+
+        int idOf(String value) {
+            Integer id = ids.get(value);
+            if (id != null) return id;
+            int next = ids.size();
+            if (next == values.length) values = Arrays.copyOf(values, next * 2);
+            values[next] = value;
+            ids.put(value, next);
+            return next;
+        }
+
+        String[] toArray() {
+            return Arrays.copyOf(values, ids.size());
+        }
+    }
+}
@@ -1,56 +1,106 @@
 package com.fintrack.reports.service;
 
+import com.fintrack.reports.datasource.ReportDataSource;
+import com.fintrack.reports.entity.SpendingSummaryCache;
+import com.fintrack.reports.insights.InsightContext;
+import com.fintrack.reports.insights.InsightEngine;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.http.*;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
-import java.time.format.TextStyle;
+import java.time.YearMonth;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class ReportsService {
 
-    private final RestTemplate restTemplate;
+    /** Budget assumed for categories the user has not budgeted this month. */
+    private static final BigDecimal DEFAULT_CATEGORY_BUDGET = BigDecimal.valueOf(1000);
 
-    // Transaction service runs on port 8082
-    @Value("${services.transactions.url:http://localhost:8082}")
-    private String transactionsServiceUrl;
+    private final ReportDataSource reportDataSource;
+    private final ReportSectionRunner sectionRunner;
+    private final ReportCacheService reportCache;
+    private final InsightEngine insightEngine;
 
-    // Goals/Budgets service runs on port 8085
-    @Value("${services.budgets.url:http://localhost:8085}")
-    private String budgetsServiceUrl;
-
-    public ReportsService(@Qualifier("reportsRestTemplate") RestTemplate restTemplate) {
-        this.restTemplate = restTemplate;
+    /**
+     * Get comprehensive financial reports.
+     * Served from {@link ReportCacheService} when an unexpired payload exists for the same
+     * user and period; otherwise computed and cached unless a section had to fall back.
+     */
+    public Map<String, Object> getFinancialReports(String userId, String dateRange) {
+        LocalDate[] dateRangeArray = parseDateRange(dateRange);
+        LocalDate[] previousRange = getPreviousPeriod(dateRange);
+        ReportCacheService.Key key = new ReportCacheService.Key(userId, toPeriodType(dateRange),
+                previousRange[0], dateRangeArray[1]);
+
+        return reportCache.getOrCompute(key, () -> {
+            AtomicBoolean degraded = new AtomicBoolean();
+            Map<String, Object> report = computeFinancialReports(userId, dateRangeArray, previousRange, degraded);
+            return new ReportCacheService.Computed(report, !degraded.get());
+        });
     }
 
     /**
-     * Get comprehensive financial reports
+     * The current and previous windows are fetched once into a {@link ReportSnapshot}
+     * and every section is computed from that snapshot. Remote lookups (snapshot, budgets,
+     * goals, recurring schedules) and the snapshot-derived sections run concurrently via
+     * {@link ReportSectionRunner}. Insights come from {@link InsightEngine} over the same data.
      */
-    public Map<String, Object> getFinancialReports(String userId, String dateRange) {
-        log.info("Generating financial reports for user: {} with range: {}", userId, dateRange);
+    private Map<String, Object> computeFinancialReports(String userId, LocalDate[] dateRangeArray,
+            LocalDate[] previousRange, AtomicBoolean degraded) {
+        log.info("Generating financial reports for user: {} from {} to {}", userId,
+                dateRangeArray[0], dateRangeArray[1]);
 
-        LocalDate[] dateRangeArray = parseDateRange(dateRange);
         LocalDate startDate = dateRangeArray[0];
         LocalDate endDate = dateRangeArray[1];
+        Runnable onFallback = () -> degraded.set(true);
+
+        // Independent fetches
+        CompletableFuture<ReportSnapshot> snapshotFuture = sectionRunner.submit("snapshot",
+                () -> loadSnapshot(userId, startDate, endDate, previousRange[0], previousRange[1]),
+                ReportSnapshot.builder(startDate, endDate, previousRange[0], previousRange[1]).build(), onFallback);
+        CompletableFuture<Map<String, BigDecimal>> budgetsFuture = sectionRunner.submit("budgets",
+                () -> reportDataSource.getCategoryBudgets(userId, YearMonth.from(endDate)),
+                ReportDataSource.newBudgetMap(), onFallback);
+        CompletableFuture<List<Map<String, Object>>> goalsFuture = sectionRunner.submit("savingsGoals",
+                () -> getSavingsGoals(userId), new ArrayList<>(), onFallback);
+        CompletableFuture<List<ReportDataSource.RecurringSchedule>> schedulesFuture = sectionRunner.submit(
+                "recurringSchedules", () -> reportDataSource.getRecurringSchedules(userId), List.of(), onFallback);
+
+        // Sections derived from the snapshot
+        ReportSnapshot snapshot = snapshotFuture.join();
+        CompletableFuture<Map<String, Object>> summaryFuture = sectionRunner.submit("summary",
+                () -> buildFinancialSummary(snapshot), new HashMap<>(), onFallback);
+        CompletableFuture<List<Map<String, Object>>> monthlyFuture = sectionRunner.submit("monthlyData",
+                () -> buildMonthlySummary(snapshot), new ArrayList<>(), onFallback);
+        CompletableFuture<List<Map<String, Object>>> topExpensesFuture = sectionRunner.submit("topExpenses",
+                () -> buildTopExpenses(userId, snapshot, 5), new ArrayList<>(), onFallback);
+
+        Map<String, BigDecimal> budgets = budgetsFuture.join();
+        List<ReportDataSource.RecurringSchedule> schedules = schedulesFuture.join();
+        CompletableFuture<List<Map<String, Object>>> categoryFuture = sectionRunner.submit("categoryBreakdown",
+                () -> buildCategoryBreakdown(userId, snapshot, budgets), new ArrayList<>(), onFallback);
+        // The whole report is cached, so the rules run uncached here
+        CompletableFuture<List<String>> insightsFuture = sectionRunner.submit("insights",
+                () -> insightEngine.evaluate(InsightContext.of(snapshot, budgets, DEFAULT_CATEGORY_BUDGET, schedules)),
+                new ArrayList<>(), onFallback);
 
         Map<String, Object> report = new HashMap<>();
 
-        report.put("summary", getFinancialSummary(userId, startDate, endDate, dateRange));
-        report.put("monthlyData", getMonthlySummary(userId, dateRange));
-        report.put("categoryBreakdown", getCategoryBreakdown(userId, startDate, endDate));
-        report.put("savingsGoals", getSavingsGoals(userId));
-        report.put("topExpenses", getTopExpenses(userId, startDate, endDate, 5));
-        report.put("insights", generateInsights(userId, startDate, endDate));
+        report.put("summary", summaryFuture.join());
+        report.put("monthlyData", monthlyFuture.join());
+        report.put("categoryBreakdown", categoryFuture.join());
+        report.put("savingsGoals", goalsFuture.join());
+        report.put("topExpenses", topExpensesFuture.join());
+        report.put("insights", insightsFuture.join());
 
         log.info("Successfully generated financial reports for user: {}", userId);
         return report;
@@ -61,77 +111,18 @@ public class ReportsService {
      */
     public Map<String, Object> getFinancialSummary(String userId, LocalDate startDate,
             LocalDate endDate, String dateRange) {
-        List<Map<String, Object>> currentTransactions = getTransactionsFromService(userId, startDate, endDate);
-
         LocalDate[] previousRange = getPreviousPeriod(dateRange);
-        List<Map<String, Object>> previousTransactions = getTransactionsFromService(userId, previousRange[0],
-                previousRange[1]);
-
-        BigDecimal currentIncome = calculateTotalByType(currentTransactions, "INCOME");
-        BigDecimal currentExpenses = calculateTotalByType(currentTransactions, "EXPENSE");
-        BigDecimal currentSavings = currentIncome.subtract(currentExpenses);
-
-        BigDecimal previousIncome = calculateTotalByType(previousTransactions, "INCOME");
-        BigDecimal previousExpenses = calculateTotalByType(previousTransactions, "EXPENSE");
-        BigDecimal previousSavings = previousIncome.subtract(previousExpenses);
-
-        Map<String, Object> summary = new HashMap<>();
-        summary.put("netIncome", currentIncome);
-        summary.put("totalExpenses", currentExpenses);
-        summary.put("netSavings", currentSavings);
-        summary.put("savingsRate", calculateSavingsRate(currentSavings, currentIncome));
-        summary.put("incomeChange", calculatePercentageChange(previousIncome, currentIncome));
-        summary.put("expensesChange", calculatePercentageChange(previousExpenses, currentExpenses));
-        summary.put("savingsChange", calculatePercentageChange(previousSavings, currentSavings));
-
-        BigDecimal prevSavingsRate = calculateSavingsRate(previousSavings, previousIncome);
-        BigDecimal currSavingsRate = calculateSavingsRate(currentSavings, currentIncome);
-        summary.put("savingsRateChange", currSavingsRate.subtract(prevSavingsRate));
-
-        return summary;
+        return buildFinancialSummary(loadSnapshot(userId, startDate, endDate,
+                previousRange[0], previousRange[1]));
     }
 
     /**
-     * Get monthly summary for trend charts
+     * Get monthly summary for trend charts.
+     * Ordered oldest first and zero-filled; the per-month grouping runs in the data source.
      */
     public List<Map<String, Object>> getMonthlySummary(String userId, String dateRange) {
         LocalDate[] range = parseDateRange(dateRange);
-        LocalDate startDate = range[0];
-        LocalDate endDate = range[1];
-
-        List<Map<String, Object>> transactions = getTransactionsFromService(userId, startDate, endDate);
-
-        if (transactions.isEmpty()) {
-            log.info("No transactions found for user {} in date range", userId);
-            return new ArrayList<>();
-        }
-
-        Map<String, List<Map<String, Object>>> monthlyGroups = transactions.stream()
-                .collect(Collectors.groupingBy(t -> {
-                    String dateStr = (String) t.get("date");
-                    LocalDate date = LocalDate.parse(dateStr);
-                    return date.getMonth().getDisplayName(TextStyle.SHORT, Locale.ENGLISH);
-                }));
-
-        List<Map<String, Object>> monthlySummary = new ArrayList<>();
-
-        for (Map.Entry<String, List<Map<String, Object>>> entry : monthlyGroups.entrySet()) {
-            Map<String, Object> monthData = new HashMap<>();
-            monthData.put("month", entry.getKey());
-
-            BigDecimal income = calculateTotalByType(entry.getValue(), "INCOME");
-            BigDecimal expenses = calculateTotalByType(entry.getValue(), "EXPENSE");
-            BigDecimal savings = income.subtract(expenses);
-
-            monthData.put("income", income);
-            monthData.put("expenses", expenses);
-            monthData.put("savings", savings);
-            monthData.put("target", BigDecimal.valueOf(1500));
-
-            monthlySummary.add(monthData);
-        }
-
-        return monthlySummary;
+        return toMonthlySeries(reportDataSource.loadMonthlyTrend(userId, range[0], range[1]), range[0], range[1]);
     }
 
     /**
@@ -139,43 +130,8 @@ public class ReportsService {
      */
     public List<Map<String, Object>> getCategoryBreakdown(String userId, LocalDate startDate,
             LocalDate endDate) {
-        List<Map<String, Object>> allTransactions = getTransactionsFromService(userId, startDate, endDate);
-
-        List<Map<String, Object>> expenses = allTransactions.stream()
-                .filter(t -> "EXPENSE".equals(t.get("type")))
-                .collect(Collectors.toList());
-
-        if (expenses.isEmpty()) {
-            log.info("No expenses found for user {} in date range", userId);
-            return new ArrayList<>();
-        }
-
-        Map<String, List<Map<String, Object>>> categoryGroups = expenses.stream()
-                .collect(Collectors.groupingBy(t -> (String) t.get("category")));
-
-        List<Map<String, Object>> breakdown = new ArrayList<>();
-        BigDecimal totalExpenses = calculateTotal(expenses);
-
-        String[] colors = { "#3b82f6", "#8b5cf6", "#ec4899", "#f59e0b", "#10b981", "#ef4444", "#6b7280" };
-        int colorIndex = 0;
-
-        for (Map.Entry<String, List<Map<String, Object>>> entry : categoryGroups.entrySet()) {
-            Map<String, Object> categoryData = new HashMap<>();
-            BigDecimal categoryTotal = calculateTotal(entry.getValue());
-            BigDecimal budget = getBudgetForCategory(userId, entry.getKey());
-
-            categoryData.put("name", entry.getKey());
-            categoryData.put("amount", categoryTotal);
-            categoryData.put("budget", budget);
-            categoryData.put("percentage", calculatePercentage(categoryTotal, totalExpenses));
-            categoryData.put("color", colors[colorIndex++ % colors.length]);
-
-            breakdown.add(categoryData);
-        }
-
-        return breakdown.stream()
-                .sorted((a, b) -> ((BigDecimal) b.get("amount")).compareTo((BigDecimal) a.get("amount")))
-                .collect(Collectors.toList());
+        return buildCategoryBreakdown(userId, loadSnapshot(userId, startDate, endDate),
+                reportDataSource.getCategoryBudgets(userId, YearMonth.from(endDate)));
     }
 
     /**
@@ -183,23 +139,8 @@ public class ReportsService {
      */
     public List<Map<String, Object>> getSavingsGoals(String userId) {
         try {
-            String url = budgetsServiceUrl + "/api/goals?userId=" + userId;
-
-            log.debug("Fetching savings goals from: {}", url);
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            HttpEntity<?> entity = new HttpEntity<>(headers);
-
-            ResponseEntity<List<Map<String, Object>>> response = restTemplate.exchange(
-                    url,
-                    HttpMethod.GET,
-                    entity,
-                    new ParameterizedTypeReference<List<Map<String, Object>>>() {
-                    });
-
-            List<Map<String, Object>> goals = response.getBody();
-            if (goals == null || goals.isEmpty()) {
+            List<ReportDataSource.SavingsGoal> goals = reportDataSource.getSavingsGoals(userId);
+            if (goals.isEmpty()) {
                 log.info("No savings goals found for user: {}", userId);
                 return new ArrayList<>();
             }
@@ -208,15 +149,12 @@ public class ReportsService {
             List<Map<String, Object>> result = new ArrayList<>();
 
             for (int i = 0; i < goals.size(); i++) {
-                Map<String, Object> goal = goals.get(i);
+                ReportDataSource.SavingsGoal goal = goals.get(i);
                 Map<String, Object> goalData = new HashMap<>();
-                goalData.put("name", goal.get("name"));
-                goalData.put("current", goal.get("currentAmount"));
-                goalData.put("target", goal.get("targetAmount"));
-
-                BigDecimal current = new BigDecimal(goal.get("currentAmount").toString());
-                BigDecimal target = new BigDecimal(goal.get("targetAmount").toString());
-                goalData.put("progress", calculateProgress(current, target));
+                goalData.put("name", goal.name());
+                goalData.put("current", goal.currentAmount());
+                goalData.put("target", goal.targetAmount());
+                goalData.put("progress", calculateProgress(goal.currentAmount(), goal.targetAmount()));
                 goalData.put("color", colors[i % colors.length]);
                 result.add(goalData);
             }
@@ -229,151 +167,152 @@ public class ReportsService {
     }
 
     /**
-     * Get top expenses by vendor
+     * Get top expenses by vendor, ranked and limited by the data source
      */
     public List<Map<String, Object>> getTopExpenses(String userId, LocalDate startDate,
             LocalDate endDate, int limit) {
-        List<Map<String, Object>> allTransactions = getTransactionsFromService(userId, startDate, endDate);
+        return toTopExpenseList(reportDataSource.getTopExpenses(userId, startDate, endDate, limit));
+    }
 
-        List<Map<String, Object>> expenses = allTransactions.stream()
-                .filter(t -> "EXPENSE".equals(t.get("type")))
-                .collect(Collectors.toList());
+    /**
+     * Insights for the window, from {@link InsightEngine}. Cached per user and window until the
+     * user's transactions or schedules change; a miss loads one snapshot with the previous
+     * window, the month's budgets and the schedules.
+     */
+    public List<String> generateInsights(String userId, LocalDate startDate, LocalDate endDate) {
+        return insightEngine.insights(new InsightEngine.Key(userId, startDate, endDate), () -> {
+            long daysDiff = java.time.temporal.ChronoUnit.DAYS.between(startDate, endDate);
+            LocalDate previousStart = startDate.minusDays(daysDiff);
+            ReportSnapshot snapshot = loadSnapshot(userId, startDate, endDate, previousStart, startDate);
+            if (snapshot.isCurrentEmpty()) {
+                return InsightContext.of(snapshot, Map.of(), DEFAULT_CATEGORY_BUDGET, List.of());
+            }
+            return InsightContext.of(snapshot,
+                    reportDataSource.getCategoryBudgets(userId, YearMonth.from(endDate)),
+                    DEFAULT_CATEGORY_BUDGET, reportDataSource.getRecurringSchedules(userId));
+        });
+    }
 
-        if (expenses.isEmpty()) {
-            return new ArrayList<>();
-        }
+    // ========== Snapshot Section Builders ==========
 
-        Map<String, List<Map<String, Object>>> vendorGroups = expenses.stream()
-                .collect(Collectors.groupingBy(t -> (String) t.get("description")));
+    private Map<String, Object> buildFinancialSummary(ReportSnapshot snapshot) {
+        ReportSnapshot.Totals current = snapshot.currentTotals();
+        ReportSnapshot.Totals previous = snapshot.previousTotals();
 
-        List<Map<String, Object>> topExpenses = new ArrayList<>();
+        BigDecimal currentIncome = current.income();
+        BigDecimal currentExpenses = current.expenses();
+        BigDecimal currentSavings = current.savings();
 
-        for (Map.Entry<String, List<Map<String, Object>>> entry : vendorGroups.entrySet()) {
-            Map<String, Object> expenseData = new HashMap<>();
-            BigDecimal total = calculateTotal(entry.getValue());
+        BigDecimal previousIncome = previous.income();
+        BigDecimal previousExpenses = previous.expenses();
+        BigDecimal previousSavings = previous.savings();
 
-            expenseData.put("vendor", entry.getKey());
-            expenseData.put("category", entry.getValue().get(0).get("category"));
-            expenseData.put("amount", total);
-            expenseData.put("frequency", entry.getValue().size());
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("netIncome", currentIncome);
+        summary.put("totalExpenses", currentExpenses);
+        summary.put("netSavings", currentSavings);
+        summary.put("savingsRate", calculateSavingsRate(currentSavings, currentIncome));
+        summary.put("incomeChange", calculatePercentageChange(previousIncome, currentIncome));
+        summary.put("expensesChange", calculatePercentageChange(previousExpenses, currentExpenses));
+        summary.put("savingsChange", calculatePercentageChange(previousSavings, currentSavings));
 
-            topExpenses.add(expenseData);
-        }
+        BigDecimal prevSavingsRate = calculateSavingsRate(previousSavings, previousIncome);
+        BigDecimal currSavingsRate = calculateSavingsRate(currentSavings, currentIncome);
+        summary.put("savingsRateChange", currSavingsRate.subtract(prevSavingsRate));
 
-        return topExpenses.stream()
-                .sorted((a, b) -> ((BigDecimal) b.get("amount")).compareTo((BigDecimal) a.get("amount")))
-                .limit(limit)
-                .collect(Collectors.toList());
+        return summary;
     }
 
-    /**
-     * Generate financial insights
-     */
-    public List<String> generateInsights(String userId, LocalDate startDate, LocalDate endDate) {
-        List<String> insights = new ArrayList<>();
-
-        List<Map<String, Object>> transactions = getTransactionsFromService(userId, startDate, endDate);
+    private List<Map<String, Object>> buildMonthlySummary(ReportSnapshot snapshot) {
+        return toMonthlySeries(MonthlyTrend.of(snapshot), snapshot.getStartDate(), snapshot.getEndDate());
+    }
 
-        if (transactions.isEmpty()) {
-            insights.add("Start adding transactions to get personalized financial insights.");
-            return insights;
+    private List<Map<String, Object>> toMonthlySeries(MonthlyTrend trend, LocalDate startDate, LocalDate endDate) {
+        if (trend.isEmpty()) {
+            log.info("No transactions found in date range {} - {}", startDate, endDate);
         }
+        return trend.toSeries();
+    }
 
-        BigDecimal income = calculateTotalByType(transactions, "INCOME");
-        BigDecimal expenses = calculateTotalByType(transactions, "EXPENSE");
-        BigDecimal savings = income.subtract(expenses);
-        BigDecimal savingsRate = calculateSavingsRate(savings, income);
-
-        if (income.compareTo(BigDecimal.ZERO) > 0) {
-            if (savingsRate.compareTo(BigDecimal.valueOf(30)) > 0) {
-                insights.add("Great job! Your savings rate of " + savingsRate.intValue() + "% is excellent.");
-            } else if (savingsRate.compareTo(BigDecimal.valueOf(20)) > 0) {
-                insights.add("Your savings rate of " + savingsRate.intValue()
-                        + "% is good. Consider increasing it to 30% or more.");
-            } else if (savingsRate.compareTo(BigDecimal.ZERO) >= 0) {
-                insights.add("Your savings rate of " + savingsRate.intValue()
-                        + "% could be improved. Aim for at least 20%.");
-            } else {
-                insights.add(
-                        "You're spending more than you earn. Review your expenses to improve your financial health.");
-            }
+    private List<Map<String, Object>> buildCategoryBreakdown(String userId, ReportSnapshot snapshot,
+            Map<String, BigDecimal> budgets) {
+        long[] categoryTotals = new long[snapshot.categoryCount()];
+        boolean[] seen = new boolean[snapshot.categoryCount()];
+        long totalExpenses = 0;
+
+        for (int i = 0; i < snapshot.size(); i++) {
+            if (!snapshot.inCurrent(i) || snapshot.type(i) != ReportSnapshot.TYPE_EXPENSE) continue;
+            categoryTotals[snapshot.categoryId(i)] += snapshot.amountCents(i);
+            seen[snapshot.categoryId(i)] = true;
+            totalExpenses += snapshot.amountCents(i);
         }
 
-        List<Map<String, Object>> categories = getCategoryBreakdown(userId, startDate, endDate);
-        for (Map<String, Object> category : categories) {
-            BigDecimal amount = (BigDecimal) category.get("amount");
-            BigDecimal budget = (BigDecimal) category.get("budget");
-
-            if (amount.compareTo(budget) > 0 && insights.size() < 4) {
-                BigDecimal overBudget = amount.subtract(budget);
-                BigDecimal percentage = overBudget.divide(budget, 2, RoundingMode.HALF_UP)
-                        .multiply(BigDecimal.valueOf(100));
-                insights.add(category.get("name") + " is " + percentage.intValue() +
-                        "% over budget. Consider reducing spending in this category.");
-            }
+        List<Integer> categoryIds = new ArrayList<>();
+        for (int id = 0; id < seen.length; id++) {
+            if (seen[id]) categoryIds.add(id);
         }
 
-        if (insights.isEmpty()) {
-            insights.add("Keep tracking your expenses to get personalized insights.");
+        if (categoryIds.isEmpty()) {
+            log.info("No expenses found for user {} in date range", userId);
+            return new ArrayList<>();
         }
 
-        return insights.stream().limit(4).collect(Collectors.toList());
-    }
+        categoryIds.sort((a, b) -> Long.compare(categoryTotals[b], categoryTotals[a]));
 
-    // ========== REST API Helper Methods ==========
+        List<Map<String, Object>> breakdown = new ArrayList<>();
+        BigDecimal total = ReportSnapshot.toAmount(totalExpenses);
 
-    private List<Map<String, Object>> getTransactionsFromService(String userId, LocalDate startDate,
-            LocalDate endDate) {
-        try {
-            String url = String.format("%s/api/transactions/reports?userId=%s&startDate=%s&endDate=%s",
-                    transactionsServiceUrl, userId, startDate.toString(), endDate.toString());
+        String[] colors = { "#3b82f6", "#8b5cf6", "#ec4899", "#f59e0b", "#10b981", "#ef4444", "#6b7280" };
+        int colorIndex = 0;
 
-            log.debug("Fetching transactions from: {}", url);
+        for (int id : categoryIds) {
+            Map<String, Object> categoryData = new HashMap<>();
+            String category = snapshot.categoryName(id);
+            BigDecimal categoryTotal = ReportSnapshot.toAmount(categoryTotals[id]);
+            BigDecimal budget = budgets.getOrDefault(category, DEFAULT_CATEGORY_BUDGET);
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            HttpEntity<?> entity = new HttpEntity<>(headers);
+            categoryData.put("name", category);
+            categoryData.put("amount", categoryTotal);
+            categoryData.put("budget", budget);
+            categoryData.put("percentage", calculatePercentage(categoryTotal, total));
+            categoryData.put("color", colors[colorIndex++ % colors.length]);
 
-            ResponseEntity<List<Map<String, Object>>> response = restTemplate.exchange(
-                    url,
-                    HttpMethod.GET,
-                    entity,
-                    new ParameterizedTypeReference<List<Map<String, Object>>>() {
-                    });
+            breakdown.add(categoryData);
+        }
 
-            List<Map<String, Object>> transactions = response.getBody();
-            log.debug("Fetched {} transactions", transactions != null ? transactions.size() : 0);
+        return breakdown;
+    }
 
-            return transactions != null ? transactions : new ArrayList<>();
-        } catch (Exception e) {
-            log.error("Error fetching transactions from service: {}", e.getMessage());
-            return new ArrayList<>();
-        }
+    private List<Map<String, Object>> buildTopExpenses(String userId, ReportSnapshot snapshot, int limit) {
+        // Rollups carry no vendor detail; let the data source rank the raw rows instead
+        List<ReportDataSource.TopExpense> ranked = snapshot.isAggregated()
+                ? reportDataSource.getTopExpenses(userId, snapshot.getStartDate(), snapshot.getEndDate(), limit)
+                : ReportDataSource.rankTopExpenses(snapshot, limit);
+        return toTopExpenseList(ranked);
     }
 
-    private BigDecimal getBudgetForCategory(String userId, String category) {
-        try {
-            String url = String.format("%s/api/budgets/category?userId=%s&category=%s",
-                    budgetsServiceUrl, userId, category);
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            HttpEntity<?> entity = new HttpEntity<>(headers);
-
-            ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
-                    url,
-                    HttpMethod.GET,
-                    entity,
-                    new ParameterizedTypeReference<Map<String, Object>>() {
-                    });
-
-            if (response.getBody() != null && response.getBody().get("amount") != null) {
-                return new BigDecimal(response.getBody().get("amount").toString());
-            }
-        } catch (Exception e) {
-            log.debug("Budget not found for category {}: {}", category, e.getMessage());
-        }
-        return BigDecimal.valueOf(1000);
+    private List<Map<String, Object>> toTopExpenseList(List<ReportDataSource.TopExpense> ranked) {
+        return ranked.stream()
+                .map(expense -> {
+                    Map<String, Object> expenseData = new HashMap<>();
+                    expenseData.put("vendor", expense.vendor());
+                    expenseData.put("category", expense.category());
+                    expenseData.put("amount", expense.amount());
+                    expenseData.put("frequency", expense.frequency());
+                    return expenseData;
+                })
+                .collect(Collectors.toList());
+    }
+
+    // ========== Data Source Helpers ==========
+
+    private ReportSnapshot loadSnapshot(String userId, LocalDate startDate, LocalDate endDate) {
+        return reportDataSource.loadSnapshot(userId, startDate, endDate);
+    }
+
+    private ReportSnapshot loadSnapshot(String userId, LocalDate startDate, LocalDate endDate,
+            LocalDate previousStart, LocalDate previousEnd) {
+        return reportDataSource.loadSnapshot(userId, startDate, endDate, previousStart, previousEnd);
     }
 
     // ========== Helper Methods ==========
@@ -405,6 +344,21 @@ public class ReportsService {
         return new LocalDate[] { startDate, endDate };
     }
 
+    private SpendingSummaryCache.PeriodType toPeriodType(String dateRange) {
+        switch (dateRange) {
+            case "last-7-days":
+                return SpendingSummaryCache.PeriodType.WEEKLY;
+            case "last-3-months":
+                return SpendingSummaryCache.PeriodType.QUARTERLY;
+            case "last-6-months":
+                return SpendingSummaryCache.PeriodType.CUSTOM;
+            case "last-year":
+                return SpendingSummaryCache.PeriodType.YEARLY;
+            default:
+                return SpendingSummaryCache.PeriodType.MONTHLY;
+        }
+    }
+
     private LocalDate[] getPreviousPeriod(String dateRange) {
         LocalDate[] current = parseDateRange(dateRange);
         long daysDiff = java.time.temporal.ChronoUnit.DAYS.between(current[0], current[1]);
@@ -415,20 +369,7 @@ public class ReportsService {
         return new LocalDate[] { startDate, endDate };
     }
 
-    private BigDecimal calculateTotalByType(List<Map<String, Object>> transactions, String type) {
-        return transactions.stream()
-                .filter(t -> type.equals(t.get("type")))
-                .map(t -> new BigDecimal(t.get("amount").toString()))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-    }
-
-    private BigDecimal calculateTotal(List<Map<String, Object>> transactions) {
-        return transactions.stream()
-                .map(t -> new BigDecimal(t.get("amount").toString()))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-    }
-
-    private BigDecimal calculateSavingsRate(BigDecimal savings, BigDecimal income) {
+    public static BigDecimal calculateSavingsRate(BigDecimal savings, BigDecimal income) {
         if (income.compareTo(BigDecimal.ZERO) == 0) {
             return BigDecimal.ZERO;
         }
@@ -436,7 +377,7 @@ public class ReportsService {
                 .multiply(BigDecimal.valueOf(100));
     }
 
-    private BigDecimal calculatePercentageChange(BigDecimal previous, BigDecimal current) {
+    static BigDecimal calculatePercentageChange(BigDecimal previous, BigDecimal current) {
         if (previous.compareTo(BigDecimal.ZERO) == 0) {
             return BigDecimal.ZERO;
         }
@@ -455,7 +396,7 @@ public class ReportsService {
     }
 
     private int calculateProgress(BigDecimal current, BigDecimal target) {
-        if (target.compareTo(BigDecimal.ZERO) == 0) {
+        if (target == null || target.compareTo(BigDecimal.ZERO) == 0) {
             return 0;
         }
         return current.divide(target, 2, RoundingMode.HALF_UP)
@@ -0,0 +1,232 @@
+package com.fintrack.reports.service;
+
+import com.fintrack.reports.entity.ReportHistory;
+import com.fintrack.reports.entity.ScheduledReport;
+import com.fintrack.reports.repository.ReportHistoryRepository;
+import com.fintrack.reports.repository.ScheduledReportRepository;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Runs {@link ScheduledReport}s when they fall due.
+ *
+ * Each poll claims a batch of due schedules with {@code FOR UPDATE SKIP LOCKED}, so replicas
+ * polling at the same moment take disjoint rows. In the same short transaction every claimed
+ * schedule has its {@code nextRun} advanced and gets a PENDING {@link ReportHistory} row; once
+ * that commits no other replica can pick the run up again. Rendering and delivery then happen
+ * on a bounded pool, and a poll never claims more than the pool has room for, so a Monday or
+ * month-start peak drains over successive polls instead of being held by one replica.
+ */
+@Slf4j
+@Service
+public class ScheduledReportExecutor {
+
+    public static final String REPORT_TYPE_SCHEDULED = "SCHEDULED_REPORT";
+
+    private final ScheduledReportRepository scheduledReportRepository;
+    private final ReportHistoryRepository historyRepository;
+    private final ReportExportService reportExportService;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor executor;
+    private final JavaMailSender mailSender;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Semaphore inFlight;
+
+    @Autowired
+    public ScheduledReportExecutor(ScheduledReportRepository scheduledReportRepository,
+            ReportHistoryRepository historyRepository,
+            ReportExportService reportExportService,
+            TransactionTemplate transactionTemplate,
+            @Qualifier("scheduledReportExecutor") Executor executor,
+            @Autowired(required = false) JavaMailSender mailSender,
+            @Value("${reports.schedule.enabled:true}") boolean enabled,
+            @Value("${reports.schedule.batch-size:10}") int batchSize,
+            @Value("${reports.schedule.max-in-flight:20}") int maxInFlight) {
+        this.scheduledReportRepository = scheduledReportRepository;
+        this.historyRepository = historyRepository;
+        this.reportExportService = reportExportService;
+        this.transactionTemplate = transactionTemplate;
+        this.executor = executor;
+        this.mailSender = mailSender;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    @Scheduled(fixedDelayString = "${reports.schedule.poll-ms:30000}",
+            initialDelayString = "${reports.schedule.poll-ms:30000}")
+    public void poll() {
+        if (!enabled) return;
+        try {
+            int dispatched = runDue(LocalDateTime.now());
+            if (dispatched > 0) {
+                log.info("Dispatched {} scheduled reports", dispatched);
+            }
+        } catch (Exception e) {
+            log.error("Scheduled report poll failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /** Claims and dispatches due schedules until none are left or the pool is full. */
+    int runDue(LocalDateTime now) {
+        int dispatched = 0;
+        while (true) {
+            int capacity = Math.min(batchSize, inFlight.availablePermits());
+            if (capacity == 0) break;
+
+            List<Run> runs = transactionTemplate.execute(status -> claim(now, capacity));
+            if (runs == null || runs.isEmpty()) break;
+
+            for (Run run : runs) {
+                dispatch(run);
+                dispatched++;
+            }
+            if (runs.size() < capacity) break;
+        }
+        return dispatched;
+    }
+
+    private List<Run> claim(LocalDateTime now, int limit) {
+        List<ScheduledReport> due = scheduledReportRepository.claimDueReports(now, PageRequest.of(0, limit));
+        List<Run> runs = new ArrayList<>(due.size());
+        for (ScheduledReport schedule : due) {
+            String range = rangeFor(schedule.getFrequency());
+            ReportHistory job = reportExportService.createJob(schedule.getUserId(), REPORT_TYPE_SCHEDULED, range);
+
+            schedule.setLastRun(now);
+            LocalDateTime next = nextRun(schedule.getFrequency(), schedule.getNextRun(), now);
+            if (next == null || (schedule.getEndDate() != null && next.toLocalDate().isAfter(schedule.getEndDate()))) {
+                schedule.setActive(false);
+            }
+            schedule.setNextRun(next);
+
+            runs.add(new Run(job.getId(), schedule.getId(), schedule.getUserId().toString(), range,
+                    schedule.getFormat(), schedule.getDeliveryMethod(), schedule.getDeliveryEmail()));
+        }
+        scheduledReportRepository.saveAll(due);
+        return runs;
+    }
+
+    private void dispatch(Run run) {
+        inFlight.acquireUninterruptibly();
+        try {
+            executor.execute(() -> {
+                try {
+                    execute(run);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.release();
+            reportExportService.findJob(run.userId(), run.reportId())
+                    .ifPresent(job -> reportExportService.markFailed(job, "Scheduled report queue is full"));
+            log.warn("Scheduled report {} rejected: queue is full", run.scheduleId());
+        }
+    }
+
+    void execute(Run run) {
+        ReportExportService.Format format = ReportExportService.Format.ofSchedule(run.format()).orElse(null);
+        if (format == null) {
+            reportExportService.findJob(run.userId(), run.reportId())
+                    .ifPresent(job -> reportExportService.markFailed(job, "Unsupported format " + run.format()));
+            log.warn("Scheduled report {} skipped: format {} is not supported", run.scheduleId(), run.format());
+            return;
+        }
+
+        ReportHistory job = reportExportService.render(run.reportId(), run.userId(), run.range(), format)
+                .orElse(null);
+        if (job == null || job.getStatus() != ReportHistory.ReportStatus.COMPLETED) return;
+
+        if ("EMAIL".equalsIgnoreCase(run.deliveryMethod())) {
+            reportExportService.completedFile(job).ifPresent(file -> deliver(run, job, file, format));
+        }
+    }
+
+    /** Emails the rendered file; on failure it stays available for download. */
+    private void deliver(Run run, ReportHistory job, Path file, ReportExportService.Format format) {
+        if (mailSender == null || run.deliveryEmail() == null || run.deliveryEmail().isBlank()) {
+            log.warn("Scheduled report {} not emailed: mail is not configured or no address is set",
+                    run.scheduleId());
+            job.setErrorMessage("Email delivery unavailable; report is available for download");
+            historyRepository.save(job);
+            return;
+        }
+        try {
+            MimeMessage message = mailSender.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(message, true);
+            helper.setTo(run.deliveryEmail());
+            helper.setSubject("Your FinTrack financial report");
+            helper.setText("""
+                    Hi,
+
+                    Your scheduled FinTrack financial report is attached.
+
+                    Best regards,
+                    FinTrack Team
+                    """);
+            helper.addAttachment("financial-report-" + run.range() + "." + format.extension(),
+                    new FileSystemResource(file));
+            mailSender.send(message);
+            log.info("Scheduled report {} emailed to {}", run.scheduleId(), run.deliveryEmail());
+        } catch (Exception e) {
+            log.error("Failed to email scheduled report {}: {}", run.scheduleId(), e.getMessage());
+            job.setErrorMessage("Email delivery failed; report is available for download");
+            historyRepository.save(job);
+        }
+    }
+
+    /** The reporting window a schedule of the given frequency covers. */
+    static String rangeFor(String frequency) {
+        if ("DAILY".equalsIgnoreCase(frequency) || "WEEKLY".equalsIgnoreCase(frequency)) {
+            return "last-7-days";
+        }
+        return "last-30-days";
+    }
+
+    /**
+     * The first occurrence after {@code now}, stepping from the previous due time so schedules
+     * keep their time of day. Runs missed while the app was down are skipped, not replayed.
+     * Returns null for an unknown frequency.
+     */
+    static LocalDateTime nextRun(String frequency, LocalDateTime previous, LocalDateTime now) {
+        LocalDateTime next = previous != null ? previous : now;
+        if (frequency == null) return null;
+        do {
+            switch (frequency.toUpperCase()) {
+                case "DAILY" -> next = next.plusDays(1);
+                case "WEEKLY" -> next = next.plusWeeks(1);
+                case "MONTHLY" -> next = next.plusMonths(1);
+                default -> {
+                    return null;
+                }
+            }
+        } while (!next.isAfter(now));
+        return next;
+    }
+
+    /** Everything a worker needs, captured while the schedule row is locked. */
+    record Run(UUID reportId, UUID scheduleId, String userId, String range,
+            String format, String deliveryMethod, String deliveryEmail) {
+    }
+}
@@ -0,0 +1,86 @@
+package com.fintrack.reports.service;
+
+import com.fintrack.reports.repository.TransactionAggregateRepository;
+import com.fintrack.transactions.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Builds rollups for users who have transactions but no {@code transaction_aggregates} rows yet —
+ * existing data from before rollups were maintained, or writes that bypassed the change events.
+ * Runs once at startup.
+ *
+ * The nightly run also reconciles: every user whose daily rollups no longer match the raw
+ * transactions is rebuilt, which repairs a refresh that failed after a change (reports read
+ * the rollups whenever a user has any, so such a gap would otherwise never heal).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TransactionRollupBackfillJob {
+
+    private final TransactionRollupService rollupService;
+    private final TransactionRepository transactionRepository;
+    private final TransactionAggregateRepository aggregateRepository;
+
+    @Value("${reports.rollups.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (backfillOnStartup) {
+            backfillMissingUsers();
+        }
+    }
+
+    @Scheduled(cron = "${reports.rollups.backfill-cron:0 30 3 * * *}")
+    public void nightly() {
+        reconcile();
+    }
+
+    public int backfillMissingUsers() {
+        if (!rollupService.isEnabled()) return 0;
+
+        Set<UUID> rolledUp = new HashSet<>(aggregateRepository.findDistinctUserIds());
+        return rebuild(transactionRepository.findDistinctUserIds().stream()
+                .filter(userId -> TransactionRollupService.rollupKey(userId)
+                        .map(key -> !rolledUp.contains(key))
+                        .orElse(false))
+                .toList());
+    }
+
+    /** Rebuilds every user whose rollups are missing or out of step with their transactions. */
+    public int reconcile() {
+        if (!rollupService.isEnabled()) return 0;
+
+        return rebuild(aggregateRepository.findUserIdsOutOfStep().stream()
+                .filter(userId -> TransactionRollupService.rollupKey(userId).isPresent())
+                .toList());
+    }
+
+    private int rebuild(List<String> userIds) {
+        int rebuilt = 0;
+        for (String userId : userIds) {
+            try {
+                rollupService.rebuildUser(userId);
+                rebuilt++;
+            } catch (Exception e) {
+                log.error("Rollup backfill failed for user {}: {}", userId, e.getMessage());
+            }
+        }
+        if (rebuilt > 0) {
+            log.info("Rollup backfill rebuilt {} users", rebuilt);
+        }
+        return rebuilt;
+    }
+}
@@ -0,0 +1,159 @@
+package com.fintrack.reports.service;
+
+import com.fintrack.reports.entity.TransactionAggregate;
+import com.fintrack.reports.repository.TransactionAggregateRepository;
+import com.fintrack.transactions.event.TransactionsChangedEvent;
+import com.fintrack.transactions.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Keeps {@code transaction_aggregates} in step with the transactions table.
+ *
+ * Rollups are daily, per user, per type and per category. On every change the affected
+ * days are rebuilt from the raw rows with one grouped query, which keeps min/max exact
+ * (they cannot be maintained by increments on delete) and makes rebuilds idempotent.
+ *
+ * A rebuild deletes and then re-inserts rows, so two rebuilds for the same user must not
+ * interleave or both sets of rows survive. On PostgreSQL each rebuild first takes a
+ * transaction-scoped advisory lock on the user, which serializes them across replicas; the
+ * second rebuild then re-reads the raw rows after the first has committed. Other databases
+ * (the H2 test profile) run without the lock.
+ *
+ * Aggregates are keyed by UUID; users whose id is not a UUID are never rolled up and
+ * reports for them read raw rows.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TransactionRollupService {
+
+    /** Above this many distinct days an event rebuilds the whole covered range in one pass. */
+    private static final int MAX_SINGLE_DAY_REBUILDS = 4;
+
+    private final TransactionRepository transactionRepository;
+    private final TransactionAggregateRepository aggregateRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Boolean postgres;
+
+    @Value("${reports.rollups.enabled:true}")
+    private boolean enabled;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public static Optional<UUID> rollupKey(String userId) {
+        if (userId == null) return Optional.empty();
+        try {
+            return Optional.of(UUID.fromString(userId));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onTransactionsChanged(TransactionsChangedEvent event) {
+        if (!enabled) return;
+        Optional<UUID> key = rollupKey(event.userId());
+        if (key.isEmpty()) return;
+
+        try {
+            if (event.allDates()) {
+                rebuild(event.userId(), key.get());
+            } else if (event.dates().size() <= MAX_SINGLE_DAY_REBUILDS) {
+                for (LocalDate date : event.dates()) {
+                    rebuildRange(event.userId(), key.get(), date, date);
+                }
+            } else {
+                rebuildRange(event.userId(), key.get(),
+                        Collections.min(event.dates()), Collections.max(event.dates()));
+            }
+        } catch (Exception e) {
+            // The nightly reconcile in TransactionRollupBackfillJob rebuilds this user
+            log.error("Failed to refresh rollups for user {}: {}", event.userId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Drops and rebuilds every rollup for a user. Used by bulk changes and the backfill job.
+     */
+    @Transactional
+    public void rebuildUser(String userId) {
+        rollupKey(userId).ifPresent(key -> rebuild(userId, key));
+    }
+
+    private void rebuild(String userId, UUID key) {
+        lockUser(key);
+        aggregateRepository.deleteAllByUserId(key);
+        List<Object[]> bounds = transactionRepository.findDateBounds(userId);
+        if (bounds.isEmpty() || bounds.get(0)[0] == null) return;
+        int written = insertRollups(userId, key, (LocalDate) bounds.get(0)[0], (LocalDate) bounds.get(0)[1]);
+        log.info("Rebuilt {} daily rollups for user {}", written, userId);
+    }
+
+    private void rebuildRange(String userId, UUID key, LocalDate startDate, LocalDate endDate) {
+        lockUser(key);
+        aggregateRepository.deleteByUserIdAndDateRange(key, startDate, endDate);
+        insertRollups(userId, key, startDate, endDate);
+    }
+
+    /** Blocks until no other transaction is rebuilding this user's rollups; held until commit. */
+    private void lockUser(UUID key) {
+        if (!isPostgres()) return;
+        long lockKey = key.getMostSignificantBits() ^ key.getLeastSignificantBits();
+        jdbcTemplate.query("SELECT pg_advisory_xact_lock(?)", (ResultSetExtractor<Void>) rs -> null, lockKey);
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            postgres = jdbcTemplate.execute((ConnectionCallback<Boolean>) con ->
+                    "PostgreSQL".equals(con.getMetaData().getDatabaseProductName()));
+        }
+        return Boolean.TRUE.equals(postgres);
+    }
+
+    private int insertRollups(String userId, UUID key, LocalDate startDate, LocalDate endDate) {
+        List<Object[]> rows = transactionRepository.aggregateDaily(userId, startDate, endDate);
+        List<TransactionAggregate> aggregates = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            BigDecimal total = (BigDecimal) row[3];
+            long count = ((Number) row[4]).longValue();
+
+            TransactionAggregate aggregate = new TransactionAggregate();
+            aggregate.setUserId(key);
+            aggregate.setAggregationDate((LocalDate) row[0]);
+            aggregate.setAggregationType((String) row[1]);
+            aggregate.setCategory((String) row[2]);
+            aggregate.setTotalAmount(total);
+            aggregate.setTransactionCount((int) count);
+            aggregate.setAvgAmount(count > 0 ? total.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP) : null);
+            aggregate.setMinAmount((BigDecimal) row[5]);
+            aggregate.setMaxAmount((BigDecimal) row[6]);
+            aggregates.add(aggregate);
+        }
+        aggregateRepository.saveAll(aggregates);
+        return aggregates.size();
+    }
+}
@@ -0,0 +1,93 @@
+package com.fintrack.reports.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Bounded, access-ordered LRU of values derived from a user's data, shared by the report
+ * caches. Every invalidation bumps a generation; a caller reads {@link #version()} before
+ * loading and stores with {@link #putIfCurrent}, so a load that overlapped an invalidation is
+ * returned to its caller but never cached.
+ */
+public final class UserCache<K, V> {
+
+    private final Map<K, V> entries;
+    private final Function<K, String> userOf;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public UserCache(int maxEntries, Function<K, String> userOf) {
+        this.userOf = userOf;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /** A cache keyed by the user id itself. */
+    public static <V> UserCache<String, V> byUser(int maxUsers) {
+        return new UserCache<>(maxUsers, Function.identity());
+    }
+
+    public synchronized V get(K key) {
+        return entries.get(key);
+    }
+
+    /** The generation to hand back to {@link #putIfCurrent} once a load finishes. */
+    public long version() {
+        return invalidations.get();
+    }
+
+    /** Stores {@code value} unless an invalidation ran since {@code version} was read. */
+    public synchronized boolean putIfCurrent(K key, V value, long version) {
+        if (invalidations.get() != version) return false;
+        entries.put(key, value);
+        return true;
+    }
+
+    /** Drops the entry if it is still {@code value}; not an invalidation. */
+    public synchronized void remove(K key, V value) {
+        entries.remove(key, value);
+    }
+
+    /** Drops the entry; not an invalidation. */
+    public synchronized void remove(K key) {
+        entries.remove(key);
+    }
+
+    public void evictUser(String userId) {
+        evictIf(key -> userOf.apply(key).equals(userId));
+    }
+
+    public synchronized void evictIf(Predicate<K> stale) {
+        invalidations.incrementAndGet();
+        entries.keySet().removeIf(stale);
+    }
+
+    /**
+     * Replaces the entry with what {@code shrink} keeps of it, or drops it when that is null.
+     * Returning the entry unchanged is not an invalidation.
+     */
+    public synchronized void invalidate(K key, UnaryOperator<V> shrink) {
+        V current = entries.get(key);
+        if (current == null) return;
+        V kept = shrink.apply(current);
+        if (kept == current) return;
+        invalidations.incrementAndGet();
+        if (kept != null) {
+            entries.put(key, kept);
+        } else {
+            entries.remove(key);
+        }
+    }
+
+    /** Drops entries whose value has lapsed, such as expired TTLs; not an invalidation. */
+    public synchronized void removeValuesIf(Predicate<V> lapsed) {
+        entries.values().removeIf(lapsed);
+    }
+}
@@ -1,9 +1,16 @@
 package com.fintrack.transactions.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
 @Configuration
 public class AppConfig {
 
@@ -11,4 +18,20 @@ public class AppConfig {
     public RestTemplate restTemplate() {
         return new RestTemplate();
     }
+
+    /**
+     * Workers for streaming CSV imports. The queue is bounded; when it is full new imports
+     * are rejected instead of spooling ever more uploads to disk.
+     */
+    @Bean(name = "transactionImportExecutor", destroyMethod = "shutdown")
+    public ExecutorService transactionImportExecutor(
+            @Value("${transactions.import.pool-size:2}") int poolSize,
+            @Value("${transactions.import.queue-capacity:20}") int queueCapacity) {
+        return new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("transaction-import-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
 }
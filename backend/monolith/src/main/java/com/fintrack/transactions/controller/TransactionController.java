@@ -2,15 +2,26 @@ package com.fintrack.transactions.controller;
 
 import com.fintrack.transactions.dto.TransactionResponse;
 import com.fintrack.transactions.dto.CreateTransactionRequest;
+import com.fintrack.transactions.event.TransactionsChangedEvent;
 import com.fintrack.transactions.repository.TransactionRepository;
+import com.fintrack.transactions.service.TransactionExportService;
 import com.fintrack.transactions.service.TransactionService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Map;
 
@@ -23,13 +34,22 @@ public class TransactionController {
 
     private final TransactionService    transactionService;
     private final TransactionRepository transactionRepository;
+    private final TransactionExportService transactionExportService;
+    private final ApplicationEventPublisher eventPublisher;
 
     private static final int DEFAULT_TRANSACTION_LIMIT = 500;
     private static final int MAX_TRANSACTION_LIMIT     = 2000;
 
+    /**
+     * The user's transactions, newest first, one page at a time. The body stays a plain array;
+     * when more rows follow, the opaque cursor for the next page is returned in
+     * {@code X-Next-Cursor} and as a {@code Link: rel="next"} header. Pages are read from an
+     * index seek on (date, id), so deep pages cost the same as the first.
+     */
     @GetMapping
     public ResponseEntity<List<TransactionResponse>> getAllTransactions(
             @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
             @RequestHeader(name = "X-User-Id", required = false) String userId) {
 
         if (userId == null || userId.isBlank()) {
@@ -43,13 +63,24 @@ public class TransactionController {
 
         log.debug("Getting transactions for user: {} (limit: {})", userId, effectiveLimit);
 
-        List<TransactionResponse> transactions = transactionService.getAllTransactions(userId);
-
-        if (transactions.size() > effectiveLimit) {
-            transactions = transactions.subList(0, effectiveLimit);
+        TransactionService.TransactionPage page;
+        try {
+            page = transactionService.listTransactions(userId, cursor, effectiveLimit);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         }
 
-        return ResponseEntity.ok(transactions);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("cursor", page.nextCursor())
+                    .replaceQueryParam("limit", effectiveLimit)
+                    .build()
+                    .toUriString();
+            response.header("X-Next-Cursor", page.nextCursor())
+                    .header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return response.body(page.items());
     }
 
     // ⚠️ IMPORTANT: Specific routes MUST come BEFORE generic path variable routes
@@ -88,6 +119,45 @@ public class TransactionController {
         return ResponseEntity.ok(Map.of("status", "UP", "service", "transactions-service"));
     }
 
+    /**
+     * Full ledger as CSV, optionally limited to a date range. Rows are written to the response
+     * as they are read from the database, so memory use does not grow with the history.
+     */
+    @GetMapping("/export/csv")
+    public ResponseEntity<StreamingResponseBody> exportCsv(
+            @RequestParam(required = false) String startDate,
+            @RequestParam(required = false) String endDate,
+            @RequestHeader(name = "X-User-Id", required = false) String userId) {
+
+        return export(userId, startDate, endDate, TransactionExportService.CSV_CONTENT_TYPE, "transactions.csv",
+                (start, end, out) -> transactionExportService.writeCsv(userId, start, end, out));
+    }
+
+    /** Full ledger as NDJSON — one transaction object per line, streamed like the CSV export. */
+    @GetMapping("/export/ndjson")
+    public ResponseEntity<StreamingResponseBody> exportNdjson(
+            @RequestParam(required = false) String startDate,
+            @RequestParam(required = false) String endDate,
+            @RequestHeader(name = "X-User-Id", required = false) String userId) {
+
+        return export(userId, startDate, endDate, MediaType.APPLICATION_NDJSON_VALUE, "transactions.ndjson",
+                (start, end, out) -> transactionExportService.writeNdjson(userId, start, end, out));
+    }
+
+    /**
+     * Full ledger as .xlsx, optionally limited to a date range. The workbook is streamed into
+     * the response as rows are read, so large ledgers are never held in memory.
+     */
+    @GetMapping("/export/xlsx")
+    public ResponseEntity<StreamingResponseBody> exportXlsx(
+            @RequestParam(required = false) String startDate,
+            @RequestParam(required = false) String endDate,
+            @RequestHeader(name = "X-User-Id", required = false) String userId) {
+
+        return export(userId, startDate, endDate, TransactionExportService.XLSX_CONTENT_TYPE, "transactions.xlsx",
+                (start, end, out) -> transactionExportService.writeXlsx(userId, start, end, out));
+    }
+
     /** Delete every transaction belonging to the authenticated user. Used by CSV import "replace" mode. */
     @DeleteMapping("/all")
     public ResponseEntity<Map<String, String>> deleteAllTransactions(
@@ -97,6 +167,7 @@ public class TransactionController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
         transactionRepository.deleteAllByUserId(userId);
+        eventPublisher.publishEvent(TransactionsChangedEvent.allDates(userId));
         log.info("Deleted all transactions for user {}", userId);
         return ResponseEntity.ok(Map.of("message", "All transactions deleted"));
     }
@@ -152,4 +223,32 @@ public class TransactionController {
         transactionService.deleteTransaction(id, userId);
         return ResponseEntity.noContent().build();
     }
+
+    private ResponseEntity<StreamingResponseBody> export(String userId, String startDate, String endDate,
+            String contentType, String filename, LedgerWriter writer) {
+
+        if (userId == null || userId.isBlank()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        LocalDate start;
+        LocalDate end;
+        try {
+            start = startDate != null ? LocalDate.parse(startDate) : null;
+            end = endDate != null ? LocalDate.parse(endDate) : null;
+        } catch (DateTimeParseException e) {
+            log.warn("Invalid export date range - startDate={} endDate={}", startDate, endDate);
+            return ResponseEntity.badRequest().build();
+        }
+
+        return ResponseEntity.ok()
+                .header("Content-Type", contentType)
+                .header("Content-Disposition", "attachment; filename=\"" + filename + "\"")
+                .body(out -> writer.write(start, end, out));
+    }
+
+    @FunctionalInterface
+    private interface LedgerWriter {
+        void write(LocalDate start, LocalDate end, OutputStream out) throws IOException;
+    }
 }
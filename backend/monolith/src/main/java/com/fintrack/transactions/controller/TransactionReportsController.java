@@ -1,17 +1,29 @@
 package com.fintrack.transactions.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fintrack.transactions.entity.Transaction;
 import com.fintrack.transactions.repository.TransactionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * NEW CONTROLLER: Provides transaction data to the Reports Service
@@ -25,6 +37,8 @@ import java.util.stream.Collectors;
 public class TransactionReportsController {
 
     private final TransactionRepository transactionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
 
     /**
      * Get transactions for reports with date range filtering
@@ -65,6 +79,45 @@ public class TransactionReportsController {
         }
     }
 
+    /**
+     * Compact streaming variant of {@link #getTransactionsForReports}, selected with
+     * {@code Accept: application/x-ndjson}. Each line is one positional array:
+     *
+     * <pre>[epochDay, amountCents, "type", "category", "description"]</pre>
+     *
+     * Rows are streamed from the database as they are read, so neither side holds the
+     * whole range as objects. Rows without a date or amount are left out.
+     */
+    @GetMapping(value = "/reports", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamTransactionsForReports(
+            @RequestParam String userId,
+            @RequestParam String startDate,
+            @RequestParam String endDate) {
+
+        LocalDate start;
+        LocalDate end;
+        try {
+            start = LocalDate.parse(startDate);
+            end = LocalDate.parse(endDate);
+        } catch (java.time.format.DateTimeParseException e) {
+            log.warn("Invalid date format - startDate={} endDate={}", startDate, endDate);
+            return ResponseEntity.badRequest().build();
+        }
+
+        StreamingResponseBody body = out -> transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Object[]> rows = transactionRepository.streamReportRows(userId, start, end)) {
+                int written = writeReportRows(rows.iterator(), out);
+                log.debug("Streamed {} transactions for reports userId={}", written, userId);
+            } catch (IOException e) {
+                throw new java.io.UncheckedIOException(e);
+            }
+        });
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     /**
      * Get transactions by type (INCOME/EXPENSE) for a date range
      * Optimized endpoint for type-specific queries
@@ -102,6 +155,53 @@ public class TransactionReportsController {
         }
     }
 
+    /**
+     * Top expense vendors by total spend, ranked and limited in the database
+     * so only {@code limit} rows cross the wire.
+     */
+    @GetMapping("/reports/top-expenses")
+    public ResponseEntity<List<Map<String, Object>>> getTopExpenses(
+            @RequestParam String userId,
+            @RequestParam String startDate,
+            @RequestParam String endDate,
+            @RequestParam(defaultValue = "5") int limit) {
+
+        log.debug("Top expenses - userId: {}, startDate: {}, endDate: {}, limit: {}",
+                userId, startDate, endDate, limit);
+
+        if (limit < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        try {
+            LocalDate start = LocalDate.parse(startDate);
+            LocalDate end = LocalDate.parse(endDate);
+
+            List<Object[]> vendors = transactionRepository
+                    .findTopExpenseVendors(userId, start, end, PageRequest.of(0, Math.min(limit, 100)));
+
+            List<Map<String, Object>> response = vendors.stream()
+                    .map(row -> {
+                        Map<String, Object> vendor = new HashMap<>();
+                        vendor.put("vendor",    row[0] != null ? row[0] : "");
+                        vendor.put("category",  row[1]);
+                        vendor.put("amount",    row[2]);
+                        vendor.put("frequency", row[3]);
+                        return vendor;
+                    })
+                    .collect(Collectors.toList());
+
+            return ResponseEntity.ok(response);
+
+        } catch (java.time.format.DateTimeParseException e) {
+            log.warn("Invalid date format - startDate={} endDate={}", startDate, endDate);
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            log.error("Error getting top expenses for userId={}: {}", userId, e.getMessage(), e);
+            return ResponseEntity.status(org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     /**
      * Get aggregated totals by type
      * Fast endpoint for summary calculations
@@ -197,6 +297,30 @@ public class TransactionReportsController {
                 "feature", "reports-api"));
     }
 
+    private int writeReportRows(Iterator<Object[]> rows, OutputStream out) throws IOException {
+        int written = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+            generator.setRootValueSeparator(null);
+            while (rows.hasNext()) {
+                Object[] row = rows.next();
+                if (row[0] == null || row[1] == null) continue;
+
+                generator.writeStartArray();
+                generator.writeNumber(((LocalDate) row[0]).toEpochDay());
+                generator.writeNumber(((BigDecimal) row[1]).setScale(2, RoundingMode.HALF_UP)
+                        .unscaledValue().longValueExact());
+                generator.writeString((String) row[2]);
+                generator.writeString((String) row[3]);
+                generator.writeString((String) row[4]);
+                generator.writeEndArray();
+                generator.writeRaw('\n');
+                written++;
+            }
+        }
+        return written;
+    }
+
     /**
      * Convert Transaction entity to Map for JSON serialization
      * This ensures all fields are properly formatted
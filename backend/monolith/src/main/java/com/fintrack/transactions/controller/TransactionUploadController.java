@@ -1,29 +1,26 @@
 package com.fintrack.transactions.controller;
 
-import com.fintrack.transactions.dto.TransactionDTO;
-import com.fintrack.transactions.dto.TransactionRequest;
-import com.fintrack.transactions.dto.TransactionResponse;
-import com.fintrack.transactions.repository.TransactionRepository;
-import com.fintrack.transactions.service.TransactionService;
+import com.fintrack.transactions.entity.ImportJob;
+import com.fintrack.transactions.service.TransactionCsvReader;
+import com.fintrack.transactions.service.TransactionImportJobService;
+import com.fintrack.transactions.service.TransactionImportService;
+import com.fintrack.transactions.service.TransactionImportService.ImportResult;
+import com.fintrack.transactions.service.TransactionImportService.ImportRow;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.csv.CSVFormat;
-import org.apache.commons.csv.CSVParser;
-import org.apache.commons.csv.CSVRecord;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.BufferedReader;
 import java.io.InputStreamReader;
-import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Stream;
 
 @Slf4j
 @RestController
@@ -31,17 +28,9 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class TransactionUploadController {
 
-    private final TransactionService    transactionService;
-    private final TransactionRepository transactionRepository;
-
-    private static final DateTimeFormatter[] DATE_FORMATTERS = {
-            DateTimeFormatter.ofPattern("yyyy-MM-dd"),
-            DateTimeFormatter.ofPattern("MM/dd/yyyy"),
-            DateTimeFormatter.ofPattern("dd/MM/yyyy"),
-            DateTimeFormatter.ofPattern("yyyy/MM/dd"),
-            DateTimeFormatter.ofPattern("M/d/yyyy"),
-            DateTimeFormatter.ofPattern("d/M/yyyy")
-    };
+    private final TransactionImportService importService;
+    private final TransactionImportJobService importJobService;
+    private final TransactionCsvReader csvReader;
 
     private static final long MAX_FILE_SIZE_BYTES = 5 * 1024 * 1024; // 5 MB
 
@@ -71,50 +60,24 @@ public class TransactionUploadController {
         }
 
         try {
-            // Optionally wipe existing transactions before import
-            if (clearFirst) {
-                transactionRepository.deleteAllByUserId(userId);
-                log.info("Cleared existing transactions for user {} before import", userId);
-            }
-
-            List<TransactionDTO> transactions = parseCSV(file, userId);
-
-            // Save all transactions
-            List<TransactionResponse> savedTransactions = new ArrayList<>();
-            int successCount = 0;
-            int errorCount = 0;
-            List<String> errors = new ArrayList<>();
-
-            for (int i = 0; i < transactions.size(); i++) {
-                try {
-                    TransactionDTO dto = transactions.get(i);
-                    // Convert DTO to Request
-                    TransactionRequest request = new TransactionRequest(
-                            dto.getDescription(),
-                            dto.getAmount(),
-                            dto.getMerchantName(),
-                            dto.getCategory(),
-                            dto.getType(),
-                            dto.getDate());
-                    TransactionResponse saved = transactionService.createTransaction(request, userId);
-                    savedTransactions.add(saved);
-                    successCount++;
-                } catch (Exception e) {
-                    errorCount++;
-                    errors.add("Row " + (i + 2) + ": " + e.getMessage());
-                    log.error("Error saving transaction at row {}: {}", i + 2, e.getMessage());
-                }
+            // Validated, categorized and batch-inserted chunk by chunk as the file is read; with
+            // clearFirst the old transactions go with the first chunk that commits
+            ImportResult result;
+            try (Stream<ImportRow> rows = csvReader.rows(new BufferedReader(
+                    new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8)), userId)) {
+                result = importService.importTransactions(userId, rows.iterator(), clearFirst, progress -> { });
             }
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
-            response.put("totalRows", transactions.size());
-            response.put("successCount", successCount);
-            response.put("errorCount", errorCount);
-            response.put("transactions", savedTransactions);
-
-            if (!errors.isEmpty()) {
-                response.put("errors", errors);
+            response.put("totalRows", result.totalRows());
+            response.put("successCount", result.imported());
+            response.put("duplicateCount", result.duplicates());
+            response.put("errorCount", result.failed());
+
+            if (!result.errors().isEmpty()) {
+                response.put("errors", result.errors());
+                response.put("errorsTruncated", result.errorsTruncated());
             }
 
             return ResponseEntity.ok(response);
@@ -126,132 +89,84 @@ public class TransactionUploadController {
         }
     }
 
-    private List<TransactionDTO> parseCSV(MultipartFile file, String userId) throws Exception {
-        List<TransactionDTO> transactions = new ArrayList<>();
-
-        try (BufferedReader reader = new BufferedReader(
-                new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8));
-                CSVParser csvParser = new CSVParser(reader,
-                        CSVFormat.DEFAULT.builder()
-                                .setHeader()
-                                .setSkipHeaderRecord(true)
-                                .setIgnoreHeaderCase(true)
-                                .setTrim(true)
-                                .build())) {
-
-            for (CSVRecord record : csvParser) {
-                try {
-                    TransactionDTO transaction = new TransactionDTO();
-
-                    transaction.setUserId(userId);
-
-                    // Parse date
-                    String dateStr = getColumnValue(record, "date", "transaction_date", "txn_date");
-                    transaction.setDate(parseDate(dateStr));
-
-                    // Parse description
-                    String description = getColumnValue(record, "description", "desc", "merchant", "name");
-                    transaction.setDescription(description != null ? description : "Unknown");
-
-                    // Parse amount
-                    String amountStr = getColumnValue(record, "amount", "value", "price", "total");
-                    BigDecimal amount = parseAmount(amountStr);
-                    transaction.setAmount(amount);
-
-                    // Parse category
-                    String category = getColumnValue(record, "category", "type", "class");
-                    transaction.setCategory(category != null ? category : "Other");
-
-                    // Parse transaction type (optional)
-                    String typeStr = getColumnValue(record, "type", "transaction_type", "txn_type");
-                    if (typeStr != null && typeStr.equalsIgnoreCase("INCOME")) {
-                        transaction.setType("INCOME");
-                    } else {
-                        // Default to EXPENSE
-                        transaction.setType("EXPENSE");
-                    }
-
-                    // Optional: merchant name
-                    String merchantName = getColumnValue(record, "merchant_name", "merchant", "vendor");
-                    transaction.setMerchantName(merchantName);
-
-                    // Optional: notes
-                    String notes = getColumnValue(record, "notes", "memo", "comment");
-                    transaction.setNotes(notes);
-
-                    transactions.add(transaction);
+    /**
+     * Queues a streaming import for large statement files and returns its job at once. The
+     * file is spooled to local disk and imported in chunks by a worker; poll the status URL
+     * for progress.
+     */
+    @PostMapping("/imports")
+    public ResponseEntity<Map<String, Object>> submitImport(
+            @RequestParam("file") MultipartFile file,
+            @RequestHeader(value = "X-User-Id", required = false) String userId,
+            @RequestParam(value = "clearFirst", defaultValue = "false") boolean clearFirst) {
 
-                } catch (Exception e) {
-                    log.warn("Skipping invalid row {}: {}", record.getRecordNumber(), e.getMessage());
-                }
-            }
+        if (userId == null || userId.isBlank()) {
+            log.warn("POST /api/transactions/imports rejected: missing X-User-Id");
+            return ResponseEntity.status(401).body(Map.of("error", "Unauthorized"));
         }
 
-        return transactions;
-    }
-
-    private String getColumnValue(CSVRecord record, String... possibleNames) {
-        for (String name : possibleNames) {
-            try {
-                if (record.isMapped(name)) {
-                    String value = record.get(name);
-                    if (value != null && !value.trim().isEmpty()) {
-                        return value.trim();
-                    }
-                }
-            } catch (IllegalArgumentException e) {
-                // Column doesn't exist, try next
-            }
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "File is empty"));
         }
-        return null;
-    }
 
-    private LocalDate parseDate(String dateStr) {
-        if (dateStr == null || dateStr.isEmpty()) {
-            return LocalDate.now();
+        if (file.getSize() > importJobService.getMaxFileSize()) {
+            log.warn("CSV import rejected: file size {} bytes exceeds {} byte limit",
+                    file.getSize(), importJobService.getMaxFileSize());
+            return ResponseEntity.status(413).body(Map.of("error",
+                    "File exceeds maximum allowed size of " + importJobService.getMaxFileSize() / (1024 * 1024) + " MB"));
         }
 
-        for (DateTimeFormatter formatter : DATE_FORMATTERS) {
-            try {
-                return LocalDate.parse(dateStr, formatter);
-            } catch (Exception e) {
-                // Try next formatter
-            }
+        String originalFilename = file.getOriginalFilename();
+        if (originalFilename == null || !originalFilename.toLowerCase().endsWith(".csv")) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Only CSV files are allowed"));
         }
 
-        throw new IllegalArgumentException("Unable to parse date: " + dateStr);
-    }
-
-    private BigDecimal parseAmount(String amountStr) {
-        if (amountStr == null || amountStr.isEmpty()) {
-            throw new IllegalArgumentException("Amount is required");
+        try {
+            ImportJob job = importJobService.submit(userId, file, clearFirst);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(toJobResponse(job));
+        } catch (RejectedExecutionException e) {
+            log.warn("Import queue full, rejecting import for user {}", userId);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Map.of("error", "Import queue is full, try again shortly"));
+        } catch (Exception e) {
+            log.error("Error queueing CSV import", e);
+            return ResponseEntity.badRequest().body(Map.of(
+                    "error", "Failed to queue CSV import: " + e.getMessage()));
         }
+    }
 
-        String s = amountStr.trim();
+    @GetMapping("/imports/{jobId}")
+    public ResponseEntity<Map<String, Object>> getImportStatus(
+            @PathVariable UUID jobId,
+            @RequestHeader(value = "X-User-Id", required = false) String userId) {
 
-        // Accounting notation: (100.00) means negative
-        boolean accountingNegative = s.startsWith("(") && s.endsWith(")");
-        if (accountingNegative) {
-            s = s.substring(1, s.length() - 1);
+        if (userId == null || userId.isBlank()) {
+            return ResponseEntity.status(401).body(Map.of("error", "Unauthorized"));
         }
 
-        // Strip everything except digits, dot, and leading minus
-        boolean hasLeadingMinus = s.startsWith("-");
-        String cleaned = s.replaceAll("[^0-9.]", "");
-
-        if (cleaned.isEmpty()) {
-            throw new IllegalArgumentException("Invalid amount: " + amountStr);
-        }
+        return importJobService.findJob(userId, jobId)
+                .map(job -> ResponseEntity.ok(toJobResponse(job)))
+                .orElse(ResponseEntity.notFound().build());
+    }
 
-        try {
-            BigDecimal value = new BigDecimal(cleaned);
-            // Preserve sign from original: leading minus OR accounting notation
-            if (hasLeadingMinus || accountingNegative) {
-                value = value.negate();
-            }
-            return value.abs(); // Transaction amounts are always stored positive; type column drives sign
-        } catch (NumberFormatException e) {
-            throw new IllegalArgumentException("Invalid amount: " + amountStr);
-        }
+    private Map<String, Object> toJobResponse(ImportJob job) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("jobId", job.getId());
+        response.put("status", job.getStatus());
+        response.put("fileName", job.getFileName());
+        response.put("fileSize", job.getFileSize());
+        response.put("bytesRead", job.getBytesRead());
+        response.put("progress", job.progressPercent());
+        response.put("totalRows", job.getRowsRead());
+        response.put("successCount", job.getImported());
+        response.put("duplicateCount", job.getDuplicates());
+        response.put("errorCount", job.getFailed());
+        response.put("errors", job.errorList());
+        response.put("error", job.getErrorMessage());
+        response.put("requestedAt", job.getCreatedAt());
+        response.put("startedAt", job.getStartedAt());
+        response.put("completedAt", job.getCompletedAt());
+        response.put("statusUrl", "/api/transactions/imports/" + job.getId());
+        return response;
     }
 }
@@ -0,0 +1,99 @@
+package com.fintrack.transactions.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A streaming CSV import. Counters are updated after every committed chunk, so polling the
+ * job shows progress while the file is still being read.
+ */
+@Entity
+@Data
+@Table(name = "transaction_import_jobs", indexes = {
+        @Index(name = "idx_import_jobs_created_at", columnList = "created_at")
+})
+public class ImportJob {
+
+    /** Errors are stored one per line, up to the column width. */
+    public static final int MAX_ERRORS_LENGTH = 4000;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "user_id", nullable = false, columnDefinition = "VARCHAR(255)")
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    private String userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    @Column(name = "file_name", length = 255)
+    private String fileName;
+
+    /** Replace the user's transactions instead of adding to them; done with the first committed chunk. */
+    @Column(name = "clear_first", nullable = false)
+    private boolean clearFirst;
+
+    @Column(name = "file_size")
+    private long fileSize;
+
+    @Column(name = "bytes_read")
+    private long bytesRead;
+
+    @Column(name = "rows_read")
+    private int rowsRead;
+
+    private int imported;
+
+    private int duplicates;
+
+    private int failed;
+
+    @Column(length = MAX_ERRORS_LENGTH)
+    private String errors;
+
+    @Column(name = "error_message", length = 500)
+    private String errorMessage;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    /** Last save, so a job whose worker died (a restart) can be told apart from a slow one. */
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    /** Share of the file read so far, 0 to 100. */
+    public int progressPercent() {
+        if (status == Status.COMPLETED) return 100;
+        if (fileSize <= 0) return 0;
+        return (int) Math.min(99, bytesRead * 100 / fileSize);
+    }
+
+    public List<String> errorList() {
+        return errors == null || errors.isEmpty() ? List.of() : List.of(errors.split("\n"));
+    }
+
+    public enum Status {
+        PENDING, PROCESSING, COMPLETED, FAILED
+    }
+}
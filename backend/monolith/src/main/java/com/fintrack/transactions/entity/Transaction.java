@@ -12,7 +12,10 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+        @Index(name = "idx_transactions_user_date_id", columnList = "user_id, date, id"),
+        @Index(name = "idx_transactions_user_fingerprint", columnList = "user_id, fingerprint", unique = true)
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -80,6 +83,9 @@ public class Transaction {
     @JdbcTypeCode(SqlTypes.VARCHAR)
     private String tags; // comma-separated tag list e.g. "business,vacation"
 
+    @Column(length = 32)
+    private String fingerprint; // duplicate-detection key set by CSV imports
+
     // Getter and Setter
     public boolean isMlPredicted() {
         return mlPredicted;
@@ -0,0 +1,8 @@
+package com.fintrack.transactions.event;
+
+/**
+ * Published when a user's recurring transaction schedules are created, updated or deleted.
+ * Forecasts project these schedules forward, so listeners drop anything derived from them.
+ */
+public record RecurringTransactionsChangedEvent(String userId) {
+}
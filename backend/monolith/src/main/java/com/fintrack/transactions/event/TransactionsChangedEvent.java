@@ -0,0 +1,31 @@
+package com.fintrack.transactions.event;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Published whenever a user's transactions are created, updated or deleted.
+ *
+ * Listeners use it to keep data derived from the transactions table (daily rollups,
+ * report caches) in step. {@code dates} holds the affected transaction dates; bulk
+ * operations that touch the whole history set {@code allDates} instead.
+ */
+public record TransactionsChangedEvent(String userId, Set<LocalDate> dates, boolean allDates) {
+
+    public static TransactionsChangedEvent of(String userId, LocalDate... dates) {
+        return new TransactionsChangedEvent(userId,
+                Arrays.stream(dates).filter(Objects::nonNull).collect(Collectors.toUnmodifiableSet()),
+                false);
+    }
+
+    public static TransactionsChangedEvent of(String userId, Set<LocalDate> dates) {
+        return new TransactionsChangedEvent(userId, Set.copyOf(dates), false);
+    }
+
+    public static TransactionsChangedEvent allDates(String userId) {
+        return new TransactionsChangedEvent(userId, Set.of(), true);
+    }
+}
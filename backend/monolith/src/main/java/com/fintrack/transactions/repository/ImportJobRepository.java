@@ -0,0 +1,27 @@
+package com.fintrack.transactions.repository;
+
+import com.fintrack.transactions.entity.ImportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJob, UUID> {
+
+    Optional<ImportJob> findByIdAndUserId(UUID id, String userId);
+
+    List<ImportJob> findByCreatedAtBefore(LocalDateTime cutoff);
+
+    /** Unfinished jobs not saved since {@code cutoff}; rows from before updated_at fall back to created_at. */
+    @Query("SELECT j FROM ImportJob j WHERE j.status IN :statuses "
+            + "AND COALESCE(j.updatedAt, j.createdAt) < :cutoff")
+    List<ImportJob> findStale(@Param("statuses") Collection<ImportJob.Status> statuses,
+            @Param("cutoff") LocalDateTime cutoff);
+}
@@ -18,6 +18,8 @@ public interface RecurringTransactionRepository extends JpaRepository<RecurringT
 
     Optional<RecurringTransaction> findByIdAndUserId(Long id, String userId);
 
+    List<RecurringTransaction> findByUserId(String userId);
+
     @Query("SELECT r FROM RecurringTransaction r WHERE r.active = true " +
            "AND r.nextOccurrence <= :date " +
            "AND (r.endDate IS NULL OR r.endDate >= :date)")
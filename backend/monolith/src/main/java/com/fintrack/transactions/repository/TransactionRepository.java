@@ -1,11 +1,14 @@
 package com.fintrack.transactions.repository;
 
 import com.fintrack.transactions.entity.Transaction;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
@@ -13,6 +16,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
@@ -50,6 +54,27 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
             @Param("search") String search,
             Pageable pageable);
 
+    /**
+     * First page of the user's transactions, newest first.
+     * Served by idx_transactions_user_date_id without sorting.
+     */
+    @Query(value = "SELECT * FROM public.transactions t WHERE t.user_id = :userId " +
+            "ORDER BY t.date DESC, t.id DESC LIMIT :limit", nativeQuery = true)
+    List<Transaction> findFirstPage(@Param("userId") String userId, @Param("limit") int limit);
+
+    /**
+     * The page after the row (date, id), newest first. The row-value comparison lets the index
+     * seek straight to the cursor, so every page costs the same as the first.
+     */
+    @Query(value = "SELECT * FROM public.transactions t WHERE t.user_id = :userId " +
+            "AND (t.date, t.id) < (:date, :id) " +
+            "ORDER BY t.date DESC, t.id DESC LIMIT :limit", nativeQuery = true)
+    List<Transaction> findPageBefore(
+            @Param("userId") String userId,
+            @Param("date") LocalDate date,
+            @Param("id") Long id,
+            @Param("limit") int limit);
+
     // ========== NEW METHODS FOR REPORTS SERVICE ==========
 
     /**
@@ -117,6 +142,96 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate);
 
+    /**
+     * Report rows (date, amount, type, category, description) as an unmanaged projection,
+     * streamed with a fetch size so large ranges are never materialised as a list.
+     * Must be consumed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT t.date, t.amount, t.type, t.category, t.description FROM Transaction t " +
+            "WHERE t.userId = :userId AND t.date BETWEEN :startDate AND :endDate")
+    Stream<Object[]> streamReportRows(
+            @Param("userId") String userId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    /**
+     * Ledger rows (id, date, description, merchant, category, type, amount, status, notes, tags)
+     * in date order, streamed as an unmanaged projection for exports. Must be consumed inside
+     * a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT t.id, t.date, t.description, t.merchant, t.category, t.type, t.amount, " +
+            "t.status, t.notes, t.tags FROM Transaction t " +
+            "WHERE t.userId = :userId AND t.date BETWEEN :startDate AND :endDate " +
+            "ORDER BY t.date, t.id")
+    Stream<Object[]> streamLedgerRows(
+            @Param("userId") String userId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    /**
+     * Daily rollup source: one row per (date, type, category) with
+     * sum, count, min and max of the amounts. Feeds transaction_aggregates.
+     */
+    @Query("SELECT t.date, t.type, t.category, SUM(t.amount), COUNT(t), MIN(t.amount), MAX(t.amount) " +
+            "FROM Transaction t " +
+            "WHERE t.userId = :userId AND t.date BETWEEN :startDate AND :endDate " +
+            "GROUP BY t.date, t.type, t.category")
+    List<Object[]> aggregateDaily(
+            @Param("userId") String userId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    /**
+     * Expense vendors (by description) ranked by total spend, highest first. Pass
+     * {@code PageRequest.of(0, n)} to get the top n; the category is the vendor's
+     * alphabetically first one.
+     */
+    @Query("SELECT t.description, MIN(t.category), SUM(t.amount), COUNT(t) FROM Transaction t " +
+            "WHERE t.userId = :userId AND t.type = 'EXPENSE' AND t.date BETWEEN :startDate AND :endDate " +
+            "GROUP BY t.description " +
+            "ORDER BY SUM(t.amount) DESC")
+    List<Object[]> findTopExpenseVendors(
+            @Param("userId") String userId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            Pageable pageable);
+
+    /** Totals per (year, month, type) for monthly trend charts. */
+    @Query("SELECT YEAR(t.date), MONTH(t.date), t.type, SUM(t.amount) FROM Transaction t " +
+            "WHERE t.userId = :userId AND t.date BETWEEN :startDate AND :endDate " +
+            "GROUP BY YEAR(t.date), MONTH(t.date), t.type")
+    List<Object[]> sumByMonth(
+            @Param("userId") String userId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    /** Totals per (date, type); the daily index behind period comparisons. */
+    @Query("SELECT t.date, t.type, SUM(t.amount) FROM Transaction t " +
+            "WHERE t.userId = :userId AND t.date BETWEEN :startDate AND :endDate " +
+            "GROUP BY t.date, t.type")
+    List<Object[]> sumByDay(
+            @Param("userId") String userId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    /** Totals per (year, month, type, category); the per-category series behind forecasts. */
+    @Query("SELECT YEAR(t.date), MONTH(t.date), t.type, t.category, SUM(t.amount) FROM Transaction t " +
+            "WHERE t.userId = :userId AND t.date BETWEEN :startDate AND :endDate " +
+            "GROUP BY YEAR(t.date), MONTH(t.date), t.type, t.category")
+    List<Object[]> sumByMonthAndCategory(
+            @Param("userId") String userId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    /** Earliest and latest transaction date for a user (single row, nulls when empty). */
+    @Query("SELECT MIN(t.date), MAX(t.date) FROM Transaction t WHERE t.userId = :userId")
+    List<Object[]> findDateBounds(@Param("userId") String userId);
+
+    @Query("SELECT DISTINCT t.userId FROM Transaction t")
+    List<String> findDistinctUserIds();
+
     /**
      * Sum EXPENSE transactions for a specific user, category, and month (YYYY-MM).
      * Case-insensitive category match. Used for auto-syncing budget spent amounts.
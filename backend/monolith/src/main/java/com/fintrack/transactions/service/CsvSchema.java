@@ -0,0 +1,269 @@
+package com.fintrack.transactions.service;
+
+import com.fintrack.transactions.dto.TransactionDTO;
+import com.fintrack.transactions.service.TransactionImportService.ImportRow;
+import org.apache.commons.csv.CSVRecord;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The layout of one bank export, worked out once from its header and first rows: which
+ * column holds each field, how dates are written and which character is the decimal
+ * separator. {@link #toRow} then reads every record by column index with hand-rolled date
+ * and amount parsers, so no header lookups, formatter retries or exceptions happen per row.
+ */
+final class CsvSchema {
+
+    // Header aliases per field, in order of preference
+    private static final String[] DATE = { "date", "transaction_date", "txn_date" };
+    private static final String[] DESCRIPTION = { "description", "desc", "merchant", "name" };
+    private static final String[] AMOUNT = { "amount", "value", "price", "total" };
+    private static final String[] CATEGORY = { "category", "type", "class" };
+    private static final String[] TYPE = { "type", "transaction_type", "txn_type" };
+    private static final String[] MERCHANT = { "merchant_name", "merchant", "vendor" };
+    private static final String[] NOTES = { "notes", "memo", "comment" };
+
+    // Longest amount that still fits a long once the decimal point is dropped
+    private static final int MAX_AMOUNT_DIGITS = 18;
+
+    enum DateOrder { YMD, MDY, DMY }
+
+    private final int[] date;
+    private final int[] description;
+    private final int[] amount;
+    private final int[] category;
+    private final int[] type;
+    private final int[] merchant;
+    private final int[] notes;
+    private final DateOrder dateOrder;
+    private final char dateSeparator;
+    private final char decimalSeparator;
+    private final boolean certain;
+
+    private CsvSchema(List<String> header, DateOrder dateOrder, char dateSeparator, char decimalSeparator,
+            boolean certain) {
+        this.date = columns(header, DATE);
+        this.description = columns(header, DESCRIPTION);
+        this.amount = columns(header, AMOUNT);
+        this.category = columns(header, CATEGORY);
+        this.type = columns(header, TYPE);
+        this.merchant = columns(header, MERCHANT);
+        this.notes = columns(header, NOTES);
+        this.dateOrder = dateOrder;
+        this.dateSeparator = dateSeparator;
+        this.decimalSeparator = decimalSeparator;
+        this.certain = certain;
+    }
+
+    /**
+     * Works out the schema from the header and sample records. Day-first vs month-first dates
+     * and the decimal separator are decided by the samples. A choice they do not settle comes
+     * from {@code preset} when there is one (a schema learned from an earlier file with this
+     * header), otherwise the old defaults apply (month first, decimal point); either way
+     * {@link #isCertain()} is false. A file with no rows settles nothing.
+     */
+    static CsvSchema detect(List<String> header, List<CSVRecord> sample, CsvSchema preset) {
+        int[] dateColumns = columns(header, DATE);
+        int[] amountColumns = columns(header, AMOUNT);
+
+        List<String> dates = new ArrayList<>();
+        List<String> amounts = new ArrayList<>();
+        for (CSVRecord record : sample) {
+            String d = value(record, dateColumns);
+            if (d != null) dates.add(d);
+            String a = value(record, amountColumns);
+            if (a != null) amounts.add(a);
+        }
+
+        // Dates: the separator is the first non-digit; a four-digit first field means year first
+        char separator = '-';
+        DateOrder order = DateOrder.YMD;
+        boolean dateCertain = false;
+        if (dates.isEmpty() && preset != null) {
+            separator = preset.dateSeparator;
+            order = preset.dateOrder;
+        } else if (!dates.isEmpty()) {
+            String first = dates.get(0);
+            int end = 0;
+            while (end < first.length() && Character.isDigit(first.charAt(end))) end++;
+            separator = end < first.length() ? first.charAt(end) : '-';
+            if (end == 4) {
+                dateCertain = true;
+            } else {
+                int maxFirst = 0;
+                int maxSecond = 0;
+                for (String d : dates) {
+                    int[] fields = fields(d, separator);
+                    if (fields == null) continue;
+                    maxFirst = Math.max(maxFirst, fields[0]);
+                    maxSecond = Math.max(maxSecond, fields[1]);
+                }
+                dateCertain = maxFirst > 12 != maxSecond > 12;
+                if (dateCertain) {
+                    order = maxFirst > 12 ? DateOrder.DMY : DateOrder.MDY;
+                } else {
+                    // A year-first preset does not fit these dates
+                    order = preset != null && preset.dateOrder != DateOrder.YMD ? preset.dateOrder : DateOrder.MDY;
+                }
+            }
+        }
+
+        // Amounts: a comma followed by one or two trailing digits is a decimal comma
+        int commaDecimals = 0;
+        int pointDecimals = 0;
+        for (String a : amounts) {
+            int comma = a.lastIndexOf(',');
+            int point = a.lastIndexOf('.');
+            int last = Math.max(comma, point);
+            if (last < 0) continue;
+            int digits = 0;
+            for (int i = last + 1; i < a.length() && Character.isDigit(a.charAt(i)); i++) digits++;
+            if (digits == 1 || digits == 2) {
+                if (last == comma) commaDecimals++;
+                else pointDecimals++;
+            }
+        }
+        boolean amountCertain = commaDecimals > 0 != pointDecimals > 0;
+        char decimal;
+        if (amountCertain) {
+            decimal = commaDecimals > 0 ? ',' : '.';
+        } else {
+            decimal = preset != null ? preset.decimalSeparator : '.';
+        }
+
+        return new CsvSchema(header, order, separator, decimal, dateCertain && amountCertain);
+    }
+
+    /** True when this file's samples settled every choice, so the schema can be reused for the same header. */
+    boolean isCertain() {
+        return certain;
+    }
+
+    ImportRow toRow(CSVRecord record, String userId) {
+        // Header is line 1
+        long line = record.getRecordNumber() + 1;
+        TransactionDTO transaction = new TransactionDTO();
+        transaction.setUserId(userId);
+
+        String dateText = value(record, date);
+        if (dateText == null) {
+            transaction.setDate(LocalDate.now());
+        } else {
+            LocalDate parsed = parseDate(dateText);
+            if (parsed == null) return ImportRow.rejected(line, "Unable to parse date: " + dateText);
+            transaction.setDate(parsed);
+        }
+
+        String descriptionText = value(record, description);
+        transaction.setDescription(descriptionText != null ? descriptionText : "Unknown");
+
+        String amountText = value(record, amount);
+        if (amountText == null) return ImportRow.rejected(line, "Amount is required");
+        BigDecimal parsedAmount = parseAmount(amountText);
+        if (parsedAmount == null) return ImportRow.rejected(line, "Invalid amount: " + amountText);
+        transaction.setAmount(parsedAmount);
+
+        // Rows without a category are auto-categorized on import
+        transaction.setCategory(value(record, category));
+
+        String typeText = value(record, type);
+        transaction.setType("INCOME".equalsIgnoreCase(typeText) ? "INCOME" : "EXPENSE");
+
+        transaction.setMerchantName(value(record, merchant));
+        transaction.setNotes(value(record, notes));
+        return ImportRow.of(line, transaction);
+    }
+
+    /** The date in this schema's layout, or null when the text does not match it. */
+    LocalDate parseDate(String text) {
+        int[] fields = fields(text, dateSeparator);
+        if (fields == null) return null;
+        int year;
+        int month;
+        int day;
+        switch (dateOrder) {
+            case YMD -> { year = fields[0]; month = fields[1]; day = fields[2]; }
+            case MDY -> { month = fields[0]; day = fields[1]; year = fields[2]; }
+            default -> { day = fields[0]; month = fields[1]; year = fields[2]; }
+        }
+        if (year < 1000 || month < 1 || month > 12 || day < 1
+                || day > YearMonth.of(year, month).lengthOfMonth()) {
+            return null;
+        }
+        return LocalDate.of(year, month, day);
+    }
+
+    /**
+     * The absolute amount, or null when the text has no digits or is malformed. Currency
+     * symbols, spaces, signs, parentheses and grouping separators are skipped; transaction
+     * amounts are stored positive and the type column carries the direction.
+     */
+    BigDecimal parseAmount(String text) {
+        long unscaled = 0;
+        int digits = 0;
+        int scale = -1;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (++digits > MAX_AMOUNT_DIGITS) return null;
+                unscaled = unscaled * 10 + (c - '0');
+                if (scale >= 0) scale++;
+            } else if (c == decimalSeparator) {
+                if (scale >= 0) return null;
+                scale = 0;
+            }
+        }
+        if (digits == 0) return null;
+        return BigDecimal.valueOf(unscaled, Math.max(scale, 0));
+    }
+
+    /** Three numeric fields split on {@code separator}, or null if the text is not shaped like a date. */
+    private static int[] fields(String text, char separator) {
+        int[] fields = new int[3];
+        int field = 0;
+        int length = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (++length > 4) return null;
+                fields[field] = fields[field] * 10 + (c - '0');
+            } else if (c == separator && length > 0 && field < 2) {
+                field++;
+                length = 0;
+            } else {
+                return null;
+            }
+        }
+        return field == 2 && length > 0 ? fields : null;
+    }
+
+    /** First non-blank value among the candidate columns. */
+    private static String value(CSVRecord record, int[] columns) {
+        for (int column : columns) {
+            if (column < record.size()) {
+                String value = record.get(column).trim();
+                if (!value.isEmpty()) return value;
+            }
+        }
+        return null;
+    }
+
+    /** Positions of the header columns matching {@code aliases}, in alias order. */
+    private static int[] columns(List<String> header, String[] aliases) {
+        List<Integer> found = new ArrayList<>();
+        for (String alias : aliases) {
+            for (int i = 0; i < header.size(); i++) {
+                if (header.get(i) != null && header.get(i).trim().toLowerCase(Locale.ROOT).equals(alias)) {
+                    found.add(i);
+                    break;
+                }
+            }
+        }
+        return found.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
@@ -0,0 +1,40 @@
+package com.fintrack.transactions.service;
+
+/**
+ * Bloom filter over fingerprints. {@link #mightContain} never misses a fingerprint that was
+ * added, and answers true for an absent one about 1% of the time at the expected size, so
+ * only rows it flags need a database lookup.
+ */
+final class FingerprintFilter {
+
+    private static final int HASHES = 7;
+
+    private final long[] bits;
+    private final long size;
+
+    /** Sized for about 1% false positives at {@code expected} entries (~10 bits each). */
+    FingerprintFilter(long expected) {
+        long wanted = Math.max(1024, expected * 10);
+        this.bits = new long[(int) Math.min(Integer.MAX_VALUE - 8, (wanted + 63) / 64)];
+        this.size = bits.length * 64L;
+    }
+
+    void add(String fingerprint) {
+        long h1 = Long.parseUnsignedLong(fingerprint, 0, 16, 16);
+        long h2 = Long.parseUnsignedLong(fingerprint, 16, TransactionFingerprint.LENGTH, 16);
+        for (int i = 0; i < HASHES; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, size);
+            bits[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    boolean mightContain(String fingerprint) {
+        long h1 = Long.parseUnsignedLong(fingerprint, 0, 16, 16);
+        long h2 = Long.parseUnsignedLong(fingerprint, 16, TransactionFingerprint.LENGTH, 16);
+        for (int i = 0; i < HASHES; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, size);
+            if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) return false;
+        }
+        return true;
+    }
+}
@@ -4,10 +4,13 @@ import com.fintrack.transactions.dto.CreateRecurringTransactionRequest;
 import com.fintrack.transactions.dto.RecurringTransactionResponse;
 import com.fintrack.transactions.entity.RecurringTransaction;
 import com.fintrack.transactions.entity.Transaction;
+import com.fintrack.transactions.event.RecurringTransactionsChangedEvent;
+import com.fintrack.transactions.event.TransactionsChangedEvent;
 import com.fintrack.transactions.repository.RecurringTransactionRepository;
 import com.fintrack.transactions.repository.TransactionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -25,6 +28,7 @@ public class RecurringTransactionService {
 
     private final RecurringTransactionRepository recurringTransactionRepository;
     private final TransactionRepository transactionRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public RecurringTransactionResponse createRecurringTransaction(
@@ -48,6 +52,7 @@ public class RecurringTransactionService {
 
         RecurringTransaction saved = recurringTransactionRepository.save(recurring);
         log.info("Recurring transaction created with ID: {}", saved.getId());
+        eventPublisher.publishEvent(new RecurringTransactionsChangedEvent(userId));
 
         return mapToResponse(saved);
     }
@@ -84,6 +89,7 @@ public class RecurringTransactionService {
 
         RecurringTransaction updated = recurringTransactionRepository.save(recurring);
         log.info("Recurring transaction updated: {}", updated.getId());
+        eventPublisher.publishEvent(new RecurringTransactionsChangedEvent(userId));
 
         return mapToResponse(updated);
     }
@@ -95,6 +101,7 @@ public class RecurringTransactionService {
                 .orElseThrow(() -> new RuntimeException("Recurring transaction not found"));
         recurringTransactionRepository.delete(recurring);
         log.info("Recurring transaction deleted: {}", id);
+        eventPublisher.publishEvent(new RecurringTransactionsChangedEvent(userId));
     }
 
     @Scheduled(cron = "0 0 2 * * *") // Run at 2 AM every day
@@ -131,6 +138,7 @@ public class RecurringTransactionService {
 
         transactionRepository.save(transaction);
         log.info("Created transaction from recurring ID: {}", recurring.getId());
+        eventPublisher.publishEvent(TransactionsChangedEvent.of(transaction.getUserId(), transaction.getDate()));
     }
 
     private void updateNextOccurrence(RecurringTransaction recurring) {
@@ -0,0 +1,137 @@
+package com.fintrack.transactions.service;
+
+import com.fintrack.transactions.service.TransactionImportService.ImportRow;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Turns an uploaded bank export into {@link ImportRow}s. Rows are parsed lazily as the
+ * stream is consumed, so a file of any length is read in constant memory; a row that cannot
+ * be parsed becomes a rejected row rather than ending the import.
+ *
+ * Before the first row is returned the delimiter is sniffed from the header line and a
+ * {@link CsvSchema} is detected from the first {@code transactions.import.sniff-rows} records.
+ * A schema the samples settled completely is kept as a preset for that user and header; a
+ * later file of theirs from the same bank takes from it only what its own samples leave open,
+ * such as the date order when every day is 12 or less.
+ */
+@Slf4j
+@Component
+public class TransactionCsvReader {
+
+    private static final char[] DELIMITERS = { ',', ';', '\t', '|' };
+
+    // Longest header line considered when sniffing the delimiter
+    private static final int MAX_HEADER_CHARS = 64 * 1024;
+
+    // Bounds the learned presets; cleared when full like the import's classification memo
+    private static final int MAX_PRESETS = 512;
+
+    private final int sniffRows;
+    private final Map<String, CsvSchema> presets = new ConcurrentHashMap<>();
+
+    public TransactionCsvReader(@Value("${transactions.import.sniff-rows:50}") int sniffRows) {
+        this.sniffRows = sniffRows;
+    }
+
+    /** Rows of the CSV in file order. Closing the stream closes {@code reader}. */
+    public Stream<ImportRow> rows(Reader reader, String userId) throws IOException {
+        BufferedReader in = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+        char delimiter = sniffDelimiter(in);
+        CSVParser parser = new CSVParser(in, CSVFormat.DEFAULT.builder()
+                .setDelimiter(delimiter)
+                .setHeader()
+                .setSkipHeaderRecord(true)
+                .setTrim(true)
+                .build());
+
+        List<String> header = parser.getHeaderNames();
+        Iterator<CSVRecord> records = parser.iterator();
+        List<CSVRecord> sample = new ArrayList<>();
+        CsvSchema schema;
+        try {
+            while (sample.size() < sniffRows && records.hasNext()) {
+                sample.add(records.next());
+            }
+            schema = detect(signature(userId, delimiter, header), header, sample);
+        } catch (RuntimeException e) {
+            parser.close();
+            throw e;
+        }
+
+        CsvSchema compiled = schema;
+        Stream<CSVRecord> rest = StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(records, Spliterator.ORDERED), false);
+        return Stream.concat(sample.stream(), rest)
+                .map(record -> compiled.toRow(record, userId))
+                .onClose(() -> {
+                    try {
+                        parser.close();
+                    } catch (IOException e) {
+                        log.debug("Could not close CSV parser: {}", e.getMessage());
+                    }
+                });
+    }
+
+    private CsvSchema detect(String signature, List<String> header, List<CSVRecord> sample) {
+        CsvSchema schema = CsvSchema.detect(header, sample, presets.get(signature));
+        if (schema.isCertain()) {
+            if (presets.size() >= MAX_PRESETS) {
+                presets.clear();
+            }
+            presets.put(signature, schema);
+        }
+        return schema;
+    }
+
+    /** The header line's most frequent candidate delimiter outside quotes; comma if none occurs. */
+    private static char sniffDelimiter(BufferedReader in) throws IOException {
+        in.mark(MAX_HEADER_CHARS);
+        int[] counts = new int[DELIMITERS.length];
+        boolean quoted = false;
+        for (int i = 0, c; i < MAX_HEADER_CHARS && (c = in.read()) != -1; i++) {
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (!quoted && (c == '\n' || c == '\r')) {
+                break;
+            } else if (!quoted) {
+                for (int d = 0; d < DELIMITERS.length; d++) {
+                    if (c == DELIMITERS[d]) counts[d]++;
+                }
+            }
+        }
+        in.reset();
+
+        int best = 0;
+        for (int d = 1; d < DELIMITERS.length; d++) {
+            if (counts[d] > counts[best]) best = d;
+        }
+        return DELIMITERS[best];
+    }
+
+    // Per user, so one user's exports never change how another's are read
+    private static String signature(String userId, char delimiter, List<String> header) {
+        return userId + "\u0000" + delimiter + header.stream()
+                .map(name -> name == null ? "" : name.trim().toLowerCase(Locale.ROOT))
+                .collect(Collectors.joining("\u0000"));
+    }
+}
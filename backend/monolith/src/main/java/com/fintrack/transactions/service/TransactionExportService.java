@@ -0,0 +1,217 @@
+package com.fintrack.transactions.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fintrack.transactions.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Full-ledger exports as CSV, NDJSON or .xlsx. Rows are streamed from the database as an
+ * unmanaged projection and written as they arrive, so an export of 50k+ transactions never
+ * holds the ledger in heap.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TransactionExportService {
+
+    public static final String CSV_CONTENT_TYPE = "text/csv";
+
+    public static final String XLSX_CONTENT_TYPE =
+            "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+
+    /** Rows kept in memory before SXSSF flushes them to its temp file. */
+    static final int XLSX_ROW_WINDOW = 100;
+
+    /** Open-ended bounds used when the caller does not limit the export. */
+    static final LocalDate EARLIEST = LocalDate.of(1900, 1, 1);
+    static final LocalDate LATEST = LocalDate.of(2999, 12, 31);
+
+    /** CSV header and NDJSON keys; the CSV columns match what the upload endpoint reads back. */
+    private static final String[] LEDGER_FIELDS = {
+            "id", "date", "description", "merchant", "category", "type", "amount", "status", "notes", "tags" };
+    private static final String[] LEDGER_COLUMNS = {
+            "ID", "Date", "Description", "Merchant", "Category", "Type", "Amount", "Status", "Notes", "Tags" };
+    private static final int[] LEDGER_WIDTHS = { 10, 12, 36, 24, 18, 10, 14, 12, 30, 20 };
+
+    private final TransactionRepository transactionRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Writes the user's ledger as CSV with a header row; either bound may be null.
+     * {@code out} is not closed. Returns the number of transactions written.
+     */
+    @Transactional(readOnly = true)
+    public int writeCsv(String userId, LocalDate startDate, LocalDate endDate, OutputStream out) {
+        try (Stream<Object[]> rows = streamLedger(userId, startDate, endDate)) {
+            BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            CSVPrinter printer = new CSVPrinter(writer, CSVFormat.DEFAULT.builder().setHeader(LEDGER_FIELDS).build());
+            int written = 0;
+            Iterator<Object[]> it = rows.iterator();
+            while (it.hasNext()) {
+                Object[] t = it.next();
+                for (Object value : t) {
+                    printer.print(value instanceof BigDecimal amount ? amount.toPlainString() : value);
+                }
+                printer.println();
+                written++;
+            }
+            printer.flush();
+            log.info("Exported {} transactions to CSV for user {}", written, userId);
+            return written;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the user's ledger as NDJSON, one object per line; either bound may be null.
+     * {@code out} is not closed. Returns the number of transactions written.
+     */
+    @Transactional(readOnly = true)
+    public int writeNdjson(String userId, LocalDate startDate, LocalDate endDate, OutputStream out) {
+        try (Stream<Object[]> rows = streamLedger(userId, startDate, endDate);
+                JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+            generator.setRootValueSeparator(null);
+            int written = 0;
+            Iterator<Object[]> it = rows.iterator();
+            while (it.hasNext()) {
+                Object[] t = it.next();
+                generator.writeStartObject();
+                for (int i = 0; i < LEDGER_FIELDS.length; i++) {
+                    Object value = t[i];
+                    if (value == null) {
+                        generator.writeNullField(LEDGER_FIELDS[i]);
+                    } else if (value instanceof Number number) {
+                        generator.writeFieldName(LEDGER_FIELDS[i]);
+                        if (number instanceof BigDecimal amount) generator.writeNumber(amount);
+                        else generator.writeNumber(number.longValue());
+                    } else {
+                        generator.writeStringField(LEDGER_FIELDS[i], value.toString());
+                    }
+                }
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+                written++;
+            }
+            generator.flush();
+            log.info("Exported {} transactions to NDJSON for user {}", written, userId);
+            return written;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the user's ledger as a single-sheet .xlsx to {@code out}; either bound may be null.
+     * {@code out} is not closed. Returns the number of transactions written.
+     */
+    @Transactional(readOnly = true)
+    public int writeXlsx(String userId, LocalDate startDate, LocalDate endDate, OutputStream out) {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(XLSX_ROW_WINDOW);
+        workbook.setCompressTempFiles(true);
+        try (Stream<Object[]> rows = streamLedger(userId, startDate, endDate)) {
+
+            SXSSFSheet sheet = workbook.createSheet("Transactions");
+            int written = writeLedgerSheet(workbook, sheet, rows.iterator());
+
+            workbook.write(out);
+            out.flush();
+            log.info("Exported {} transactions to XLSX for user {}", written, userId);
+            return written;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            workbook.dispose();
+            try {
+                workbook.close();
+            } catch (IOException ignored) {
+                // Temp files are already disposed
+            }
+        }
+    }
+
+    /**
+     * Ledger rows in {@link #LEDGER_FIELDS} order, read through a server-side cursor as an
+     * unmanaged projection: nothing is attached to the persistence context, so memory stays
+     * flat however long the history is.
+     */
+    private Stream<Object[]> streamLedger(String userId, LocalDate startDate, LocalDate endDate) {
+        return transactionRepository.streamLedgerRows(userId,
+                startDate != null ? startDate : EARLIEST, endDate != null ? endDate : LATEST);
+    }
+
+    private int writeLedgerSheet(SXSSFWorkbook workbook, SXSSFSheet sheet, Iterator<Object[]> rows) {
+        Font bold = workbook.createFont();
+        bold.setBold(true);
+        CellStyle headerStyle = workbook.createCellStyle();
+        headerStyle.setFont(bold);
+        CellStyle dateStyle = workbook.createCellStyle();
+        dateStyle.setDataFormat(workbook.createDataFormat().getFormat("yyyy-mm-dd"));
+        CellStyle moneyStyle = workbook.createCellStyle();
+        moneyStyle.setDataFormat(workbook.createDataFormat().getFormat("#,##0.00"));
+
+        Row header = sheet.createRow(0);
+        for (int i = 0; i < LEDGER_COLUMNS.length; i++) {
+            Cell cell = header.createCell(i);
+            cell.setCellValue(LEDGER_COLUMNS[i]);
+            cell.setCellStyle(headerStyle);
+            sheet.setColumnWidth(i, LEDGER_WIDTHS[i] * 256);
+        }
+        sheet.createFreezePane(0, 1);
+
+        int r = 1;
+        while (rows.hasNext()) {
+            Object[] t = rows.next();
+            Row row = sheet.createRow(r++);
+            if (t[0] != null) row.createCell(0).setCellValue(((Number) t[0]).doubleValue());
+            if (t[1] != null) {
+                Cell date = row.createCell(1);
+                date.setCellValue((LocalDate) t[1]);
+                date.setCellStyle(dateStyle);
+            }
+            text(row, 2, t[2]);
+            text(row, 3, t[3]);
+            text(row, 4, t[4]);
+            text(row, 5, t[5]);
+            if (t[6] != null) {
+                Cell amount = row.createCell(6);
+                amount.setCellValue(((BigDecimal) t[6]).doubleValue());
+                amount.setCellStyle(moneyStyle);
+            }
+            text(row, 7, t[7]);
+            text(row, 8, t[8]);
+            text(row, 9, t[9]);
+        }
+        return r - 1;
+    }
+
+    private void text(Row row, int column, Object value) {
+        if (value != null) {
+            row.createCell(column).setCellValue(value.toString());
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.fintrack.transactions.service;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+
+/**
+ * Duplicate-detection keys for imported transactions.
+ *
+ * A fingerprint hashes the date, amount, type, description and merchant after normalizing
+ * case, whitespace and amount scale, plus the row's occurrence number among identical rows of the
+ * same import. Two genuine coffees on one day get different fingerprints, while the same
+ * statement uploaded twice, or two overlapping statements, produce the same ones. A refund
+ * and the purchase it reverses differ by type and are kept apart.
+ *
+ * Not thread-safe; use one instance per import.
+ */
+final class TransactionFingerprint {
+
+    /** Hex characters stored per fingerprint (the first 128 bits of SHA-256). */
+    static final int LENGTH = 32;
+
+    private final MessageDigest digest;
+
+    // Occurrences per key, held by the key's 128-bit hash so a large file costs a fixed amount
+    // per distinct row; never cleared, or a repeat after the reset would reuse occurrence #0
+    private final Map<KeyHash, Integer> occurrences = new HashMap<>();
+
+    TransactionFingerprint() {
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /** The fingerprint of the next row with these values. */
+    String next(LocalDate date, BigDecimal amount, String type, String description, String merchant) {
+        String key = date + "|" + amount.abs().stripTrailingZeros().toPlainString() + "|" + normalize(type)
+                + "|" + normalize(description) + "|" + normalize(merchant);
+        ByteBuffer keyHash = ByteBuffer.wrap(digest.digest(key.getBytes(StandardCharsets.UTF_8)));
+        int occurrence = occurrences.merge(new KeyHash(keyHash.getLong(), keyHash.getLong()), 1, Integer::sum) - 1;
+        byte[] hash = digest.digest((key + "#" + occurrence).getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(hash, 0, LENGTH / 2);
+    }
+
+    private record KeyHash(long high, long low) {
+    }
+
+    private static String normalize(String value) {
+        if (value == null) return "";
+        StringBuilder normalized = new StringBuilder(value.length());
+        boolean space = false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (Character.isWhitespace(c)) {
+                space = normalized.length() > 0;
+            } else {
+                if (space) normalized.append(' ');
+                normalized.append(Character.toLowerCase(c));
+                space = false;
+            }
+        }
+        return normalized.toString();
+    }
+}
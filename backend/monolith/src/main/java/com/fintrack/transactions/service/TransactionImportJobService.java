@@ -0,0 +1,269 @@
+package com.fintrack.transactions.service;
+
+import com.fintrack.transactions.entity.ImportJob;
+import com.fintrack.transactions.repository.ImportJobRepository;
+import com.fintrack.transactions.service.TransactionImportService.ImportResult;
+import com.fintrack.transactions.service.TransactionImportService.ImportRow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Stream;
+
+/**
+ * Streaming imports for large statement files. A submit spools the upload to local disk,
+ * records a PENDING {@link ImportJob} and returns at once; a bounded worker pool then reads
+ * the file record by record through {@link TransactionImportService}, committing one chunk
+ * at a time and saving the job's progress after each chunk. Memory use does not grow with
+ * the file. Finished jobs are purged after {@code transactions.import.retention-hours}.
+ *
+ * A job that has not saved progress for {@code transactions.import.stale-minutes} lost its
+ * worker, typically to a restart; the purge marks it FAILED and deletes its spooled file.
+ */
+@Slf4j
+@Service
+public class TransactionImportJobService {
+
+    private final ImportJobRepository jobRepository;
+    private final TransactionImportService importService;
+    private final TransactionCsvReader csvReader;
+    private final Executor executor;
+    private final Path spoolDir;
+    private final long maxFileSize;
+    private final long retentionHours;
+    private final long staleMinutes;
+
+    public TransactionImportJobService(ImportJobRepository jobRepository,
+            TransactionImportService importService,
+            TransactionCsvReader csvReader,
+            @Qualifier("transactionImportExecutor") Executor executor,
+            @Value("${transactions.import.dir:${java.io.tmpdir}/fintrack-imports}") String spoolDir,
+            @Value("${transactions.import.max-file-size:100MB}") DataSize maxFileSize,
+            @Value("${transactions.import.retention-hours:72}") long retentionHours,
+            @Value("${transactions.import.stale-minutes:60}") long staleMinutes) {
+        this.jobRepository = jobRepository;
+        this.importService = importService;
+        this.csvReader = csvReader;
+        this.executor = executor;
+        this.spoolDir = Paths.get(spoolDir);
+        this.maxFileSize = maxFileSize.toBytes();
+        this.retentionHours = retentionHours;
+        this.staleMinutes = staleMinutes;
+    }
+
+    public long getMaxFileSize() {
+        return maxFileSize;
+    }
+
+    /**
+     * Spools the upload and queues its import; returns the PENDING job. With {@code clearFirst}
+     * the user's transactions are replaced by the worker, never by a job that fails to queue.
+     *
+     * @throws RejectedExecutionException if the import queue is full
+     */
+    public ImportJob submit(String userId, MultipartFile file, boolean clearFirst) throws IOException {
+        ImportJob job = new ImportJob();
+        job.setUserId(userId);
+        job.setClearFirst(clearFirst);
+        job.setStatus(ImportJob.Status.PENDING);
+        job.setFileName(file.getOriginalFilename());
+        job.setFileSize(file.getSize());
+        job.setCreatedAt(LocalDateTime.now());
+        ImportJob saved = jobRepository.save(job);
+
+        Path spooled = spoolFile(saved.getId());
+        try {
+            Files.createDirectories(spoolDir);
+            file.transferTo(spooled);
+            executor.execute(() -> run(saved.getId()));
+        } catch (IOException | RejectedExecutionException e) {
+            deleteQuietly(spooled);
+            markFailed(saved, e instanceof RejectedExecutionException
+                    ? "Import queue is full, try again shortly" : "Could not store the upload");
+            throw e;
+        }
+        log.info("Queued import {} for user {} ({} bytes)", saved.getId(), userId, file.getSize());
+        return saved;
+    }
+
+    /** The user's import job, or empty when it does not exist or belongs to someone else. */
+    public Optional<ImportJob> findJob(String userId, UUID jobId) {
+        return jobRepository.findByIdAndUserId(jobId, userId);
+    }
+
+    /** Imports a PENDING job's spooled file on the calling thread and returns the job in its final state. */
+    Optional<ImportJob> run(UUID jobId) {
+        ImportJob job = jobRepository.findById(jobId).orElse(null);
+        if (job == null) return Optional.empty();
+
+        job.setStatus(ImportJob.Status.PROCESSING);
+        job.setStartedAt(LocalDateTime.now());
+        ImportJob running = jobRepository.save(job);
+
+        Path spooled = spoolFile(jobId);
+        try (CountingInputStream in = new CountingInputStream(Files.newInputStream(spooled));
+             Stream<ImportRow> rows = csvReader.rows(new BufferedReader(
+                     new InputStreamReader(in, StandardCharsets.UTF_8)), running.getUserId())) {
+
+            ImportResult result = importService.importTransactions(running.getUserId(), rows.iterator(),
+                    running.isClearFirst(), progress -> {
+                        running.setBytesRead(in.count());
+                        apply(running, progress);
+                        jobRepository.save(running);
+                    });
+
+            apply(running, result);
+            running.setBytesRead(running.getFileSize());
+            running.setStatus(ImportJob.Status.COMPLETED);
+            running.setCompletedAt(LocalDateTime.now());
+            jobRepository.save(running);
+            log.info("Import {} completed: {} of {} rows imported", jobId, result.imported(), result.totalRows());
+        } catch (Exception e) {
+            log.error("Import {} failed for user {}: {}", jobId, running.getUserId(), e.getMessage(), e);
+            markFailed(running, "Import stopped after " + running.getImported()
+                    + " rows: the file could not be read as CSV");
+        } finally {
+            deleteQuietly(spooled);
+        }
+        return Optional.of(running);
+    }
+
+    /**
+     * Fails jobs orphaned by a lost worker, then drops finished jobs and leftover spooled files
+     * older than the retention window.
+     */
+    @Scheduled(cron = "${transactions.import.purge-cron:0 20 * * * *}")
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        for (ImportJob job : jobRepository.findStale(
+                List.of(ImportJob.Status.PENDING, ImportJob.Status.PROCESSING), now.minusMinutes(staleMinutes))) {
+            log.warn("Import {} for user {} stopped making progress, marking it failed", job.getId(), job.getUserId());
+            deleteQuietly(spoolFile(job.getId()));
+            markFailed(job, "Import was interrupted after " + job.getImported() + " rows, upload the file again");
+        }
+
+        LocalDateTime cutoff = now.minusHours(retentionHours);
+        deleteSpooledBefore(cutoff);
+        int purged = 0;
+        for (ImportJob job : jobRepository.findByCreatedAtBefore(cutoff)) {
+            if (job.getStatus() == ImportJob.Status.PENDING || job.getStatus() == ImportJob.Status.PROCESSING) {
+                continue;
+            }
+            jobRepository.delete(job);
+            purged++;
+        }
+        if (purged > 0) {
+            log.info("Purged {} expired import jobs", purged);
+        }
+    }
+
+    private static void apply(ImportJob job, ImportResult progress) {
+        job.setRowsRead(progress.totalRows());
+        job.setImported(progress.imported());
+        job.setDuplicates(progress.duplicates());
+        job.setFailed(progress.failed());
+        job.setErrors(joinErrors(progress));
+    }
+
+    private static String joinErrors(ImportResult progress) {
+        StringBuilder errors = new StringBuilder();
+        for (String error : progress.errors()) {
+            if (errors.length() + error.length() + 1 > ImportJob.MAX_ERRORS_LENGTH) break;
+            if (errors.length() > 0) errors.append('\n');
+            errors.append(error.replace('\n', ' '));
+        }
+        return errors.toString();
+    }
+
+    private void markFailed(ImportJob job, String message) {
+        job.setStatus(ImportJob.Status.FAILED);
+        job.setErrorMessage(message);
+        job.setCompletedAt(LocalDateTime.now());
+        jobRepository.save(job);
+    }
+
+    /** Spooled files a lost worker never cleaned up; live jobs are younger than the retention window. */
+    private void deleteSpooledBefore(LocalDateTime cutoff) {
+        if (!Files.isDirectory(spoolDir)) return;
+        Instant before = cutoff.atZone(ZoneId.systemDefault()).toInstant();
+        try (Stream<Path> files = Files.list(spoolDir)) {
+            files.filter(file -> {
+                try {
+                    return Files.getLastModifiedTime(file).toInstant().isBefore(before);
+                } catch (IOException e) {
+                    return false;
+                }
+            }).forEach(this::deleteQuietly);
+        } catch (IOException e) {
+            log.warn("Could not list import spool {}: {}", spoolDir, e.getMessage());
+        }
+    }
+
+    private Path spoolFile(UUID jobId) {
+        return spoolDir.resolve(jobId + ".csv");
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete import file {}: {}", file, e.getMessage());
+        }
+    }
+
+    /** Counts the bytes read so far, for progress. */
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private volatile long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        long count() {
+            return count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) count++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) count += n;
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+}
@@ -0,0 +1,425 @@
+package com.fintrack.transactions.service;
+
+import com.fintrack.transactions.client.MLClassifierClient;
+import com.fintrack.transactions.dto.TransactionDTO;
+import com.fintrack.transactions.event.TransactionsChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Bulk path for CSV imports.
+ *
+ * Rows are validated as they arrive and collected into chunks of
+ * {@code transactions.import.chunk-size}. Each chunk is categorized (the classifier runs once
+ * per distinct description and merchant) and written with JDBC batch inserts in its own
+ * transaction. A chunk that fails is rolled back on its own and reported; earlier chunks stay
+ * committed. One {@link TransactionsChangedEvent} covering every imported date is published
+ * at the end.
+ *
+ * Imports are idempotent. Every row gets a {@link TransactionFingerprint} stored in the
+ * {@code fingerprint} column, unique per user, and rows whose fingerprint the user already has
+ * are skipped as duplicates, so overlapping statements can be uploaded without clearing first.
+ * Inserts use {@code ON CONFLICT DO NOTHING}, so a row a concurrent import committed first is
+ * skipped and counted as a duplicate too.
+ * The user's fingerprints are loaded into a {@link FingerprintFilter} when the first chunk is
+ * written; only rows the filter flags are looked up, in one query per chunk. Transactions
+ * without a fingerprint (created before fingerprinting, or by hand) are fingerprinted then.
+ *
+ * An import that replaces the user's transactions deletes them in the transaction of the
+ * first chunk that commits, so a file that fails before then leaves them untouched.
+ */
+@Slf4j
+@Service
+public class TransactionImportService {
+
+    static final int MAX_REPORTED_ERRORS = 100;
+
+    // Bounds the per-import classification memo on very large files
+    private static final int MAX_CLASSIFIED = 10_000;
+
+    private static final String INSERT_SQL = "INSERT INTO transactions "
+            + "(user_id, description, amount, merchant, category, type, date, status, notes, ml_predicted, "
+            + "fingerprint, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) "
+            + "ON CONFLICT DO NOTHING";
+
+    private static final String DELETE_USER_SQL = "DELETE FROM transactions WHERE user_id = ?";
+
+    private static final String UNFINGERPRINTED_SQL = "SELECT id, date, amount, type, description, merchant "
+            + "FROM transactions WHERE user_id = ? AND fingerprint IS NULL ORDER BY date, id";
+
+    private static final String SET_FINGERPRINT_SQL = "UPDATE transactions SET fingerprint = ? WHERE id = ?";
+
+    private static final String COUNT_FINGERPRINTS_SQL =
+            "SELECT COUNT(*) FROM transactions WHERE user_id = ? AND fingerprint IS NOT NULL";
+
+    private static final String FINGERPRINTS_SQL =
+            "SELECT fingerprint FROM transactions WHERE user_id = ? AND fingerprint IS NOT NULL";
+
+    private static final String EXISTING_FINGERPRINTS_SQL =
+            "SELECT fingerprint FROM transactions WHERE user_id = ? AND fingerprint IN (";
+
+    // Column widths from the Transaction entity
+    private static final int MAX_DESCRIPTION = 500;
+    private static final int MAX_MERCHANT = 255;
+    private static final int MAX_CATEGORY = 100;
+    private static final int MAX_NOTES = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MLClassifierClient mlClassifierClient;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final int chunkSize;
+
+    public TransactionImportService(JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            MLClassifierClient mlClassifierClient,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${transactions.import.batch-size:500}") int batchSize,
+            @Value("${transactions.import.chunk-size:5000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.mlClassifierClient = mlClassifierClient;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.chunkSize = chunkSize;
+    }
+
+    public ImportResult importTransactions(String userId, List<ImportRow> rows) {
+        return importTransactions(userId, rows.iterator(), progress -> { });
+    }
+
+    /**
+     * Imports rows as they are pulled from {@code rows}, holding at most one chunk in memory.
+     * {@code onChunk} receives the running totals after each chunk. If reading {@code rows}
+     * fails part-way, the chunks committed so far are kept and still announced.
+     */
+    public ImportResult importTransactions(String userId, Iterator<ImportRow> rows,
+            Consumer<ImportResult> onChunk) {
+        return importTransactions(userId, rows, false, onChunk);
+    }
+
+    /**
+     * As above; with {@code replaceExisting} the user's current transactions are deleted along
+     * with the first chunk that commits instead of being checked for duplicates. Nothing is
+     * deleted when no chunk commits.
+     */
+    public ImportResult importTransactions(String userId, Iterator<ImportRow> rows, boolean replaceExisting,
+            Consumer<ImportResult> onChunk) {
+        long started = System.nanoTime();
+        Run run = new Run();
+        run.replacing = replaceExisting;
+        List<Pending> chunk = new ArrayList<>(Math.min(chunkSize, 1024));
+        try {
+            while (rows.hasNext()) {
+                ImportRow row = rows.next();
+                run.total++;
+                String error = row.error() != null ? row.error() : validate(row.transaction());
+                if (error != null) {
+                    run.reject("Row " + row.line() + ": " + error, 1);
+                } else {
+                    TransactionDTO t = row.transaction();
+                    chunk.add(new Pending(row, run.fingerprints.next(t.getDate(), t.getAmount(), t.getType(),
+                            t.getDescription(), t.getMerchantName())));
+                }
+                if (chunk.size() == chunkSize) {
+                    flush(userId, chunk, run);
+                    onChunk.accept(run.result());
+                }
+            }
+            if (!chunk.isEmpty()) {
+                flush(userId, chunk, run);
+                onChunk.accept(run.result());
+            }
+        } finally {
+            if (run.replaced) {
+                eventPublisher.publishEvent(TransactionsChangedEvent.allDates(userId));
+            } else if (!run.dates.isEmpty()) {
+                eventPublisher.publishEvent(TransactionsChangedEvent.of(userId, run.dates));
+            }
+        }
+
+        log.info("Imported {} of {} rows for user {} ({} duplicates skipped) in {} ms", run.imported, run.total,
+                userId, run.duplicates, (System.nanoTime() - started) / 1_000_000);
+        return run.result();
+    }
+
+    /** Drops duplicates, then categorizes and inserts one chunk in its own transaction, and empties it. */
+    private void flush(String userId, List<Pending> chunk, Run run) {
+        if (run.known == null) {
+            // Rows about to be replaced are not duplicates
+            run.known = run.replacing ? new FingerprintFilter(chunkSize) : loadFingerprints(userId);
+        }
+        List<Pending> fresh = dropDuplicates(userId, chunk, run);
+        if (!fresh.isEmpty()) {
+            categorize(fresh, run.classified);
+            try {
+                int[][] counts = insert(userId, fresh, run.replacing);
+                if (run.replacing) {
+                    run.replacing = false;
+                    run.replaced = true;
+                    log.info("Cleared existing transactions for user {} on import", userId);
+                }
+                int index = 0;
+                for (int[] batch : counts) {
+                    for (int count : batch) {
+                        Pending pending = fresh.get(index++);
+                        if (count == 0) {
+                            // A concurrent import committed the same row first
+                            run.duplicates++;
+                        } else {
+                            // SUCCESS_NO_INFO from rewritten batches counts as inserted
+                            run.imported++;
+                            run.dates.add(pending.row().transaction().getDate());
+                        }
+                        run.known.add(pending.fingerprint());
+                    }
+                }
+            } catch (DataAccessException e) {
+                run.reject("Rows " + fresh.get(0).row().line() + "-" + fresh.get(fresh.size() - 1).row().line()
+                        + " not imported: " + e.getMostSpecificCause().getMessage(), fresh.size());
+                log.warn("Import chunk for user {} failed, rolled back {} rows: {}",
+                        userId, fresh.size(), e.getMostSpecificCause().getMessage());
+            }
+        }
+        chunk.clear();
+    }
+
+    /** The chunk's rows whose fingerprints the user does not have yet. */
+    private List<Pending> dropDuplicates(String userId, List<Pending> chunk, Run run) {
+        List<String> candidates = new ArrayList<>();
+        for (Pending pending : chunk) {
+            if (run.known.mightContain(pending.fingerprint())) {
+                candidates.add(pending.fingerprint());
+            }
+        }
+        Set<String> existing = candidates.isEmpty() ? Collections.emptySet() : existingFingerprints(userId, candidates);
+
+        List<Pending> fresh = new ArrayList<>(chunk.size());
+        for (Pending pending : chunk) {
+            if (existing.contains(pending.fingerprint())) {
+                run.duplicates++;
+            } else {
+                fresh.add(pending);
+            }
+        }
+        return fresh;
+    }
+
+    private Set<String> existingFingerprints(String userId, List<String> candidates) {
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < candidates.size(); from += batchSize) {
+            List<String> batch = candidates.subList(from, Math.min(from + batchSize, candidates.size()));
+            Object[] args = new Object[batch.size() + 1];
+            args[0] = userId;
+            for (int i = 0; i < batch.size(); i++) {
+                args[i + 1] = batch.get(i);
+            }
+            String sql = EXISTING_FINGERPRINTS_SQL + String.join(", ", Collections.nCopies(batch.size(), "?")) + ")";
+            existing.addAll(jdbcTemplate.queryForList(sql, String.class, args));
+        }
+        return existing;
+    }
+
+    /** Fingerprints the user's older transactions, then loads every fingerprint into a Bloom filter. */
+    private FingerprintFilter loadFingerprints(String userId) {
+        backfillFingerprints(userId);
+
+        Long count = jdbcTemplate.queryForObject(COUNT_FINGERPRINTS_SQL, Long.class, userId);
+        long known = count != null ? count : 0;
+        FingerprintFilter filter = new FingerprintFilter(known + chunkSize);
+        if (known > 0) {
+            // Inside a transaction so the driver streams with the fetch size instead of buffering every row
+            transactionTemplate.execute(status -> {
+                jdbcTemplate.query(con -> {
+                    PreparedStatement ps = con.prepareStatement(FINGERPRINTS_SQL);
+                    ps.setFetchSize(batchSize);
+                    ps.setString(1, userId);
+                    return ps;
+                }, (RowCallbackHandler) rs -> filter.add(rs.getString(1)));
+                return null;
+            });
+        }
+        return filter;
+    }
+
+    private void backfillFingerprints(String userId) {
+        List<Legacy> legacy = new ArrayList<>();
+        jdbcTemplate.query(UNFINGERPRINTED_SQL, (RowCallbackHandler) rs -> legacy.add(new Legacy(rs.getLong(1),
+                rs.getDate(2).toLocalDate(), rs.getBigDecimal(3), rs.getString(4), rs.getString(5), rs.getString(6))),
+                userId);
+        if (legacy.isEmpty()) return;
+
+        // A row entered by hand can match an imported one; it moves on to the next free occurrence
+        TransactionFingerprint fingerprints = new TransactionFingerprint();
+        Map<Long, String> assigned = new HashMap<>();
+        List<Legacy> pending = legacy;
+        while (!pending.isEmpty()) {
+            List<String> candidates = new ArrayList<>(pending.size());
+            for (Legacy row : pending) {
+                String fingerprint = fingerprints.next(row.date(), row.amount(), row.type(), row.description(),
+                        row.merchant());
+                assigned.put(row.id(), fingerprint);
+                candidates.add(fingerprint);
+            }
+            Set<String> taken = existingFingerprints(userId, candidates);
+            pending = pending.stream().filter(row -> taken.contains(assigned.get(row.id()))).toList();
+        }
+
+        List<Object[]> updates = legacy.stream()
+                .map(row -> new Object[] { assigned.get(row.id()), row.id() })
+                .toList();
+        try {
+            transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(SET_FINGERPRINT_SQL, updates));
+            log.info("Fingerprinted {} earlier transactions of user {}", updates.size(), userId);
+        } catch (DataAccessException e) {
+            // A concurrent import took one of the fingerprints; the rows stay unfingerprinted until the next import
+            log.warn("Could not fingerprint earlier transactions of user {}: {}",
+                    userId, e.getMostSpecificCause().getMessage());
+        }
+    }
+
+    private String validate(TransactionDTO t) {
+        if (t.getDate() == null) return "Date is required";
+        if (t.getAmount() == null) return "Amount is required";
+        if (!"INCOME".equals(t.getType()) && !"EXPENSE".equals(t.getType())) {
+            return "Type must be INCOME or EXPENSE";
+        }
+        if (t.getDescription() == null || t.getDescription().isBlank()) return "Description is required";
+        if (t.getDescription().length() > MAX_DESCRIPTION) return tooLong("Description", MAX_DESCRIPTION);
+        if (length(t.getMerchantName()) > MAX_MERCHANT) return tooLong("Merchant", MAX_MERCHANT);
+        if (length(t.getCategory()) > MAX_CATEGORY) return tooLong("Category", MAX_CATEGORY);
+        if (length(t.getNotes()) > MAX_NOTES) return tooLong("Notes", MAX_NOTES);
+        return null;
+    }
+
+    /** Fills in missing categories, classifying each distinct description and merchant once. */
+    private void categorize(List<Pending> rows, Map<String, String> classified) {
+        for (Pending pending : rows) {
+            TransactionDTO t = pending.row().transaction();
+            if (t.getCategory() == null || t.getCategory().isBlank()) {
+                String key = t.getDescription() + '\u0000' + t.getMerchantName();
+                if (classified.size() >= MAX_CLASSIFIED && !classified.containsKey(key)) {
+                    classified.clear();
+                }
+                t.setCategory(classified.computeIfAbsent(key, k ->
+                        mlClassifierClient.classifyTransaction(t.getDescription(), t.getAmount(), t.getMerchantName())));
+            }
+        }
+    }
+
+    /** Update counts per batch; 0 marks a row skipped on conflict. */
+    private int[][] insert(String userId, List<Pending> chunk, boolean clearFirst) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return transactionTemplate.execute(status -> {
+            if (clearFirst) {
+                jdbcTemplate.update(DELETE_USER_SQL, userId);
+            }
+            return jdbcTemplate.batchUpdate(INSERT_SQL, chunk, batchSize, (ps, pending) -> {
+                TransactionDTO t = pending.row().transaction();
+                ps.setString(1, userId);
+                ps.setString(2, t.getDescription());
+                ps.setBigDecimal(3, t.getAmount());
+                ps.setString(4, t.getMerchantName());
+                ps.setString(5, t.getCategory());
+                ps.setString(6, t.getType());
+                ps.setDate(7, Date.valueOf(t.getDate()));
+                ps.setString(8, "completed");
+                ps.setString(9, t.getNotes());
+                ps.setBoolean(10, false);
+                ps.setString(11, pending.fingerprint());
+                ps.setTimestamp(12, now);
+                ps.setTimestamp(13, now);
+            });
+        });
+    }
+
+    private static int length(String value) {
+        return value != null ? value.length() : 0;
+    }
+
+    private static String tooLong(String field, int max) {
+        return field + " is longer than " + max + " characters";
+    }
+
+    /**
+     * One parsed CSV row. {@code line} is the row's line in the file; {@code error} is set,
+     * and {@code transaction} null, when the row could not be parsed.
+     */
+    public record ImportRow(long line, TransactionDTO transaction, String error) {
+
+        public static ImportRow of(long line, TransactionDTO transaction) {
+            return new ImportRow(line, transaction, null);
+        }
+
+        public static ImportRow rejected(long line, String error) {
+            return new ImportRow(line, null, error);
+        }
+    }
+
+    /** A valid row waiting in the current chunk. */
+    record Pending(ImportRow row, String fingerprint) {
+    }
+
+    /** A transaction stored before fingerprinting, or entered by hand. */
+    private record Legacy(long id, LocalDate date, BigDecimal amount, String type, String description,
+            String merchant) {
+    }
+
+    /** Running totals of one import. */
+    private static final class Run {
+        final List<String> errors = new ArrayList<>();
+        final Set<LocalDate> dates = new HashSet<>();
+        final Map<String, String> classified = new HashMap<>();
+        final TransactionFingerprint fingerprints = new TransactionFingerprint();
+        FingerprintFilter known;
+        /** Existing transactions are still to be deleted with the next chunk. */
+        boolean replacing;
+        boolean replaced;
+        int total;
+        int imported;
+        int duplicates;
+        int failed;
+
+        void reject(String error, int rows) {
+            failed += rows;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(error);
+            }
+        }
+
+        ImportResult result() {
+            return new ImportResult(total, imported, duplicates, failed, List.copyOf(errors), failed > errors.size());
+        }
+    }
+
+    /**
+     * Import summary. {@code duplicates} counts rows skipped because the user already had them;
+     * {@code errors} lists at most {@value #MAX_REPORTED_ERRORS} rows.
+     */
+    public record ImportResult(int totalRows, int imported, int duplicates, int failed, List<String> errors,
+            boolean errorsTruncated) {
+    }
+}
@@ -3,17 +3,21 @@ package com.fintrack.transactions.service;
 import com.fintrack.transactions.client.MLClassifierClient;
 import com.fintrack.transactions.dto.*;
 import com.fintrack.transactions.entity.Transaction;
+import com.fintrack.transactions.event.TransactionsChangedEvent;
 import com.fintrack.transactions.repository.TransactionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.List;
@@ -26,6 +30,7 @@ public class TransactionService {
 
     private final TransactionRepository transactionRepository;
     private final MLClassifierClient mlClassifierClient;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public TransactionResponse createTransaction(CreateTransactionRequest request, String userId) {
@@ -59,6 +64,7 @@ public class TransactionService {
 
         Transaction saved = transactionRepository.save(transaction);
         log.info("Transaction created with ID: {}", saved.getId());
+        eventPublisher.publishEvent(TransactionsChangedEvent.of(userId, transaction.getDate()));
 
         return mapToResponse(saved);
     }
@@ -92,6 +98,7 @@ public class TransactionService {
 
         Transaction saved = transactionRepository.save(transaction);
         log.info("Transaction created with ID: {}", saved.getId());
+        eventPublisher.publishEvent(TransactionsChangedEvent.of(userId, transaction.getDate()));
 
         return mapToResponse(saved);
     }
@@ -123,6 +130,7 @@ public class TransactionService {
 
         Transaction transaction = transactionRepository.findByIdAndUserId(id, userId)
                 .orElseThrow(() -> new RuntimeException("Transaction not found"));
+        LocalDate previousDate = transaction.getDate();
 
         transaction.setDescription(request.getDescription());
         transaction.setAmount(request.getAmount());
@@ -139,6 +147,7 @@ public class TransactionService {
 
         Transaction updated = transactionRepository.save(transaction);
         log.info("Transaction updated: {}", updated.getId());
+        eventPublisher.publishEvent(TransactionsChangedEvent.of(userId, previousDate, transaction.getDate()));
 
         return mapToResponse(updated);
     }
@@ -150,6 +159,7 @@ public class TransactionService {
                 .orElseThrow(() -> new RuntimeException("Transaction not found"));
         transactionRepository.delete(transaction);
         log.info("Transaction deleted: {}", id);
+        eventPublisher.publishEvent(TransactionsChangedEvent.of(userId, transaction.getDate()));
     }
 
     public Map<String, Object> getTransactionSummary(String userId, LocalDate startDate, LocalDate endDate) {
@@ -159,11 +169,31 @@ public class TransactionService {
         Page<Transaction> transactions = transactionRepository.findByFilters(
                 userId, null, null, startDate, endDate, null, pageable);
 
+        return summarize(transactions.getContent(), transactions.getTotalElements());
+    }
+
+    /**
+     * The same summary over transactions the caller already loaded; rows outside
+     * {@code startDate}..{@code endDate} are ignored, so a wider window can be shared.
+     */
+    public Map<String, Object> getTransactionSummary(List<Transaction> transactions, LocalDate startDate,
+            LocalDate endDate) {
+        List<Transaction> inWindow = transactions.stream()
+                .filter(t -> t.getDate() != null && !t.getDate().isBefore(startDate) && !t.getDate().isAfter(endDate))
+                .toList();
+        return summarize(inWindow, inWindow.size());
+    }
+
+    /** A user's transactions between the two dates, inclusive, for callers that share one load. */
+    public List<Transaction> getTransactionsBetween(String userId, LocalDate startDate, LocalDate endDate) {
+        return transactionRepository.findByUserIdAndDateBetween(userId, startDate, endDate);
+    }
+
+    private Map<String, Object> summarize(List<Transaction> transactions, long transactionCount) {
         BigDecimal totalIncome = BigDecimal.ZERO;
         BigDecimal totalExpenses = BigDecimal.ZERO;
-        long transactionCount = transactions.getTotalElements();
 
-        for (Transaction transaction : transactions.getContent()) {
+        for (Transaction transaction : transactions) {
             if ("INCOME".equalsIgnoreCase(transaction.getType())) {
                 totalIncome = totalIncome.add(transaction.getAmount());
             } else {
@@ -200,15 +230,46 @@ public class TransactionService {
                 .build();
     }
 
-    public List<TransactionResponse> getAllTransactions(String userId) {
-        log.info("Fetching all transactions for user: {}", userId);
-        return transactionRepository
-                .findByUserId(userId, Pageable.unpaged())
-                .getContent()
-                .stream()
-                .sorted((a, b) -> b.getDate().compareTo(a.getDate())) // ensure desc by date
-                .map(this::mapToResponse)
-                .toList();
+    /**
+     * One page of the user's transactions, newest first (date, then id). {@code cursor} is the
+     * {@link TransactionPage#nextCursor()} of the previous page, or null for the first page.
+     *
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public TransactionPage listTransactions(String userId, String cursor, int limit) {
+        log.debug("Fetching transactions for user: {} (limit: {}, cursor: {})", userId, limit, cursor);
+        // One extra row tells whether another page follows
+        List<Transaction> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = transactionRepository.findFirstPage(userId, limit + 1);
+        } else {
+            Cursor after = decodeCursor(cursor);
+            rows = transactionRepository.findPageBefore(userId, after.date(), after.id(), limit + 1);
+        }
+
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            nextCursor = encodeCursor(rows.get(limit - 1));
+        }
+        return new TransactionPage(rows.stream().map(this::mapToResponse).toList(), nextCursor);
+    }
+
+    /** Opaque to clients: base64url of "date:id". */
+    private static String encodeCursor(Transaction last) {
+        String position = last.getDate() + ":" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Cursor decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = position.indexOf(':');
+            return new Cursor(LocalDate.parse(position.substring(0, separator)),
+                    Long.parseLong(position.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
     }
 
     public String classifyTransaction(String description) {
@@ -221,4 +282,12 @@ public class TransactionService {
         LocalDate end = endDate != null ? LocalDate.parse(endDate) : LocalDate.now();
         return getTransactionSummary(userId, start, end);
     }
+
+    /** Position of the last row of a page. */
+    private record Cursor(LocalDate date, long id) {
+    }
+
+    /** A page of transactions; {@code nextCursor} is null on the last page. */
+    public record TransactionPage(List<TransactionResponse> items, String nextCursor) {
+    }
 }
@@ -0,0 +1,7 @@
+-- V10: Duplicate-detection fingerprint for imported transactions
+ALTER TABLE transactions
+    ADD COLUMN IF NOT EXISTS fingerprint VARCHAR(32);
+
+-- Unique so concurrent imports of the same statement cannot both insert a row; NULLs (rows
+-- created by hand, not yet fingerprinted) do not conflict
+CREATE UNIQUE INDEX IF NOT EXISTS idx_transactions_user_fingerprint ON transactions (user_id, fingerprint);
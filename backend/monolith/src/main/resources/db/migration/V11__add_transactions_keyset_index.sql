@@ -0,0 +1,2 @@
+-- V11: Index for keyset pagination of GET /api/transactions
+CREATE INDEX IF NOT EXISTS idx_transactions_user_date_id ON transactions (user_id, date, id);
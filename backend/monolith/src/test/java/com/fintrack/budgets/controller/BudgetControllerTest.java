@@ -151,6 +151,30 @@ class BudgetControllerTest {
         }
     }
 
+    // ─────────────────────────────────────────────────────────────────────────
+    // GET /api/budgets/categories
+    // ─────────────────────────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("GET /api/budgets/categories")
+    class GetCategoryBudgets {
+
+        @Test
+        @DisplayName("returns every category budget for the month")
+        void returnsAllCategoryBudgets() throws Exception {
+            when(budgetsService.getCategoryBudgets(USER_ID, MONTH))
+                    .thenReturn(Map.of("Groceries", 400.0, "Transportation", 150.0));
+
+            mockMvc.perform(get("/api/budgets/categories")
+                            .param("userId", USER_ID)
+                            .param("month", MONTH))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.month").value(MONTH))
+                    .andExpect(jsonPath("$.budgets.Groceries").value(400.0))
+                    .andExpect(jsonPath("$.budgets.Transportation").value(150.0));
+        }
+    }
+
     // ─────────────────────────────────────────────────────────────────────────
     // GET /api/budgets/{id}
     // ─────────────────────────────────────────────────────────────────────────
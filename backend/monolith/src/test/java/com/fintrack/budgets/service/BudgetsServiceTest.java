@@ -4,6 +4,7 @@ import com.fintrack.budgets.entity.Budget;
 import com.fintrack.budgets.exception.ResourceNotFoundException;
 import com.fintrack.budgets.exception.UnauthorizedException;
 import com.fintrack.budgets.repository.BudgetRepository;
+import com.fintrack.transactions.entity.Transaction;
 import com.fintrack.transactions.repository.TransactionRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -15,6 +16,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.List;
 import java.util.Map;
@@ -305,6 +307,35 @@ class BudgetsServiceTest {
             // Should call findByUserIdAndMonth with current month, not null
             verify(budgetRepository).findByUserIdAndMonth(eq(USER_ID), eq(MONTH));
         }
+
+        @Test
+        @DisplayName("takes spent from preloaded transactions of the month, matching category case-insensitively")
+        void getBudgetSummary_fromPreloadedTransactions() {
+            Budget budget = buildBudget(1L, USER_ID, 500.0, 0.0);
+            when(budgetRepository.findByUserIdAndMonth(USER_ID, MONTH)).thenReturn(List.of(budget));
+            when(budgetRepository.save(any(Budget.class))).thenAnswer(inv -> inv.getArgument(0));
+            LocalDate inMonth = YearMonth.parse(MONTH).atDay(1);
+
+            Map<String, Object> summary = budgetsService.getBudgetSummary(USER_ID, MONTH, List.of(
+                    transaction("EXPENSE", "120.00", "food & dining", inMonth),
+                    transaction("EXPENSE", "30.00", CATEGORY, inMonth),
+                    transaction("INCOME", "900.00", CATEGORY, inMonth),
+                    transaction("EXPENSE", "70.00", CATEGORY, inMonth.minusDays(1))));
+
+            assertThat((Double) summary.get("totalSpent")).isEqualTo(150.0);
+            verify(budgetRepository).save(budget);
+            verifyNoInteractions(transactionRepository);
+        }
+
+        private Transaction transaction(String type, String amount, String category, LocalDate date) {
+            Transaction t = new Transaction();
+            t.setUserId(USER_ID);
+            t.setType(type);
+            t.setAmount(new BigDecimal(amount));
+            t.setCategory(category);
+            t.setDate(date);
+            return t;
+        }
     }
 
     // ─────────────────────────────────────────────────────────────────────────
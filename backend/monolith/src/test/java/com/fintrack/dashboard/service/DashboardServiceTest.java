@@ -0,0 +1,186 @@
+package com.fintrack.dashboard.service;
+
+import com.fintrack.alerts.service.AlertService;
+import com.fintrack.budgets.service.BudgetsService;
+import com.fintrack.budgets.service.GoalService;
+import com.fintrack.notifications.service.NotificationService;
+import com.fintrack.reports.service.ReportsService;
+import com.fintrack.transactions.entity.Transaction;
+import com.fintrack.transactions.service.TransactionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for DashboardService.
+ * Uses Mockito — no Spring context, no database.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DashboardService")
+class DashboardServiceTest {
+
+    @Mock
+    private ReportsService reportsService;
+
+    @Mock
+    private BudgetsService budgetsService;
+
+    @Mock
+    private GoalService goalService;
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private AlertService alertService;
+
+    @Mock
+    private NotificationService notificationService;
+
+    private ExecutorService executor;
+    private DashboardService dashboardService;
+
+    private static final String USER_ID = "user-dash-001";
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+        dashboardService = new DashboardService(reportsService, budgetsService, goalService, transactionService,
+                alertService, notificationService, executor, new SimpleMeterRegistry(), 2000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // parseFields
+    // ─────────────────────────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("parseFields()")
+    class ParseFields {
+
+        @Test
+        @DisplayName("selects every panel when fields is absent")
+        void defaultsToAll() {
+            assertThat(DashboardService.parseFields(null)).isEqualTo(EnumSet.allOf(DashboardService.Panel.class));
+            assertThat(DashboardService.parseFields(" ")).isEqualTo(EnumSet.allOf(DashboardService.Panel.class));
+        }
+
+        @Test
+        @DisplayName("matches panel keys case-insensitively and ignores blanks")
+        void parsesKeys() {
+            assertThat(DashboardService.parseFields("Budgets, unreadnotifications,,"))
+                    .containsExactly(DashboardService.Panel.BUDGETS, DashboardService.Panel.UNREAD_NOTIFICATIONS);
+        }
+
+        @Test
+        @DisplayName("rejects an unknown field")
+        void rejectsUnknown() {
+            assertThatThrownBy(() -> DashboardService.parseFields("budgets,weather"))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("weather");
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // load
+    // ─────────────────────────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("load()")
+    class Load {
+
+        @Test
+        @DisplayName("loads only the selected panels")
+        void onlySelectedPanels() {
+            when(goalService.getGoalsSummary(USER_ID)).thenReturn(Map.of("totalGoals", 2));
+            when(notificationService.unreadCount(USER_ID)).thenReturn(3L);
+
+            Map<String, Object> dashboard = dashboardService.load(
+                    dashboardService.context(USER_ID, null, null),
+                    EnumSet.of(DashboardService.Panel.GOALS, DashboardService.Panel.UNREAD_NOTIFICATIONS));
+
+            assertThat(dashboard).containsOnlyKeys("goals", "unreadNotifications");
+            assertThat(dashboard.get("unreadNotifications")).isEqualTo(3L);
+            verifyNoInteractions(reportsService, budgetsService, transactionService, alertService);
+        }
+
+        @Test
+        @DisplayName("passes the shared context to every panel")
+        void sharesContext() {
+            DashboardService.DashboardContext ctx = dashboardService.context(USER_ID, "last-7-days", "2026-03");
+            when(reportsService.getFinancialReports(USER_ID, "last-7-days")).thenReturn(Map.of());
+            when(budgetsService.getBudgetSummary(USER_ID, "2026-03")).thenReturn(Map.of());
+            when(transactionService.getTransactionSummary(USER_ID, ctx.summaryStart(), ctx.summaryEnd()))
+                    .thenReturn(Map.of());
+            when(alertService.getAlertsByUserId(USER_ID)).thenReturn(List.of());
+
+            Map<String, Object> dashboard = dashboardService.load(ctx, EnumSet.of(
+                    DashboardService.Panel.FINANCIAL, DashboardService.Panel.BUDGETS,
+                    DashboardService.Panel.TRANSACTIONS, DashboardService.Panel.ALERTS));
+
+            assertThat(dashboard).containsKeys("financial", "budgets", "transactions", "alerts")
+                    .doesNotContainKey("degraded");
+            assertThat(ctx.summaryEnd()).isEqualTo(LocalDate.now());
+            assertThat(ctx.summaryStart()).isEqualTo(LocalDate.now().minusMonths(1));
+        }
+
+        @Test
+        @DisplayName("loads the transactions once for the budget and transaction panels")
+        void sharesTransactionWindow() {
+            DashboardService.DashboardContext ctx = dashboardService.context(USER_ID, null, null);
+            List<Transaction> transactions = List.of(new Transaction());
+            LocalDate monthEnd = YearMonth.parse(ctx.month()).atEndOfMonth();
+            when(transactionService.getTransactionsBetween(USER_ID, ctx.summaryStart(), monthEnd))
+                    .thenReturn(transactions);
+            when(budgetsService.getBudgetSummary(USER_ID, ctx.month(), transactions)).thenReturn(Map.of("a", 1));
+            when(transactionService.getTransactionSummary(transactions, ctx.summaryStart(), ctx.summaryEnd()))
+                    .thenReturn(Map.of("b", 2));
+
+            Map<String, Object> dashboard = dashboardService.load(ctx, EnumSet.of(
+                    DashboardService.Panel.BUDGETS, DashboardService.Panel.TRANSACTIONS));
+
+            assertThat(dashboard).containsEntry("budgets", Map.of("a", 1))
+                    .containsEntry("transactions", Map.of("b", 2));
+            verify(transactionService).getTransactionsBetween(any(), any(), any());
+            verify(budgetsService, never()).getBudgetSummary(anyString(), anyString());
+        }
+
+        @Test
+        @DisplayName("reports a failing panel as degraded and still returns the others")
+        void degradesFailingPanel() {
+            when(budgetsService.getBudgetSummary(eq(USER_ID), anyString()))
+                    .thenThrow(new IllegalStateException("db down"));
+            when(goalService.getGoalsSummary(USER_ID)).thenReturn(Map.of("totalGoals", 1));
+
+            Map<String, Object> dashboard = dashboardService.load(
+                    dashboardService.context(USER_ID, null, null),
+                    EnumSet.of(DashboardService.Panel.BUDGETS, DashboardService.Panel.GOALS));
+
+            assertThat(dashboard.get("budgets")).isNull();
+            assertThat(dashboard.get("goals")).isEqualTo(Map.of("totalGoals", 1));
+            assertThat(dashboard.get("degraded")).isEqualTo(List.of("budgets"));
+        }
+    }
+}
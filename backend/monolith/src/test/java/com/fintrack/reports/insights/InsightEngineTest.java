@@ -0,0 +1,255 @@
+package com.fintrack.reports.insights;
+
+import com.fintrack.reports.datasource.ReportDataSource;
+import com.fintrack.reports.service.ReportSnapshot;
+import com.fintrack.transactions.event.RecurringTransactionsChangedEvent;
+import com.fintrack.transactions.event.TransactionsChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for InsightEngine and the built-in rules.
+ * No Spring context, no database.
+ */
+@DisplayName("InsightEngine")
+class InsightEngineTest {
+
+    private static final String USER_ID = "user-ins-001";
+    private static final LocalDate START = LocalDate.of(2026, 9, 17);
+    private static final LocalDate END = LocalDate.of(2026, 10, 17);
+    private static final LocalDate PREVIOUS_START = LocalDate.of(2026, 8, 17);
+
+    private static final List<InsightRule> BUILT_IN = List.of(new SavingsRateRule(), new IncomeDropRule(),
+            new OverBudgetRule(), new SpendingSpikeRule(), new SubscriptionCreepRule());
+
+    private static InsightEngine engine(List<InsightRule> rules, long ruleBudgetMs) {
+        return new InsightEngine(rules, new SimpleMeterRegistry(), ruleBudgetMs, 15, 100);
+    }
+
+    private static InsightRule rule(String name, Supplier<List<String>> insights) {
+        return new InsightRule() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public List<String> evaluate(InsightContext context) {
+                return insights.get();
+            }
+        };
+    }
+
+    /** Rows are {date, type, amount, category}. */
+    private static InsightContext context(Map<String, BigDecimal> budgets,
+            List<ReportDataSource.RecurringSchedule> schedules, Object[]... rows) {
+        ReportSnapshot.Builder builder = ReportSnapshot.builder(START, END, PREVIOUS_START, START);
+        for (Object[] r : rows) {
+            builder.add((LocalDate) r[0], new BigDecimal(r[2].toString()), (String) r[1], (String) r[3], null);
+        }
+        return InsightContext.of(builder.build(), budgets, BigDecimal.valueOf(1000), schedules);
+    }
+
+    private static InsightContext context(Object[]... rows) {
+        return context(Map.of(), List.of(), rows);
+    }
+
+    private static Object[] row(LocalDate date, String type, Object amount, String category) {
+        return new Object[] { date, type, amount, category };
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Evaluation
+    // ─────────────────────────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("evaluate()")
+    class Evaluate {
+
+        @Test
+        @DisplayName("runs rules in order and keeps the first four insights")
+        void ordersAndCaps() {
+            InsightEngine engine = engine(List.of(
+                    rule("first", () -> List.of("a", "b", "c")),
+                    rule("second", () -> List.of("d", "e")),
+                    rule("third", () -> List.of("f"))), 50);
+
+            assertThat(engine.evaluate(context(row(END, "EXPENSE", 10, "Food"))))
+                    .containsExactly("a", "b", "c", "d");
+        }
+
+        @Test
+        @DisplayName("returns the empty-state and nothing-to-report messages")
+        void fallbackMessages() {
+            InsightEngine engine = engine(List.of(rule("silent", List::of)), 50);
+
+            assertThat(engine.evaluate(context())).containsExactly(InsightEngine.EMPTY_STATE);
+            assertThat(engine.evaluate(context(row(END, "EXPENSE", 10, "Food"))))
+                    .containsExactly(InsightEngine.NOTHING_TO_REPORT);
+        }
+
+        @Test
+        @DisplayName("skips a rule that throws")
+        void skipsFailingRules() {
+            InsightEngine engine = engine(List.of(
+                    rule("broken", () -> { throw new IllegalStateException("boom"); }),
+                    rule("fast", () -> List.of("on time"))), 1000);
+
+            assertThat(engine.evaluate(context(row(END, "EXPENSE", 10, "Food")))).containsExactly("on time");
+        }
+
+        @Test
+        @DisplayName("keeps an overrunning rule's insights and skips the rules after the pass budget")
+        void countsSlowRules() {
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            InsightEngine engine = new InsightEngine(List.of(
+                    rule("slow", () -> {
+                        try {
+                            Thread.sleep(40);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return List.of("late");
+                    }),
+                    rule("fast", () -> List.of("on time"))), registry, 10, 15, 100);
+
+            assertThat(engine.evaluate(context(row(END, "EXPENSE", 10, "Food")))).containsExactly("late");
+            assertThat(registry.counter("reports.insights.rule.overrun", "rule", "slow").count()).isEqualTo(1.0);
+            assertThat(registry.counter("reports.insights.rule.skipped", "rule", "fast", "reason", "budget")
+                    .count()).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("keeps running rules while the pass is within its budget")
+        void runsRulesWithinPassBudget() {
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            InsightEngine engine = new InsightEngine(List.of(
+                    rule("slow", () -> {
+                        try {
+                            Thread.sleep(15);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return List.of("late");
+                    }),
+                    rule("fast", () -> List.of("on time")),
+                    rule("silent", List::of),
+                    rule("quiet", List::of)), registry, 10, 15, 100);
+
+            assertThat(engine.evaluate(context(row(END, "EXPENSE", 10, "Food"))))
+                    .containsExactly("late", "on time");
+            assertThat(registry.counter("reports.insights.rule.overrun", "rule", "slow").count()).isEqualTo(1.0);
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Built-in rules
+    // ─────────────────────────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("built-in rules")
+    class BuiltInRules {
+
+        private final InsightEngine engine = engine(BUILT_IN, 1000);
+
+        @Test
+        @DisplayName("grades the savings rate and flags a category over its budget")
+        void savingsAndBudget() {
+            List<String> insights = engine.evaluate(context(Map.of("Food", BigDecimal.valueOf(500)), List.of(),
+                    row(END, "INCOME", 3000, "Income"),
+                    row(END, "EXPENSE", 600, "Food")));
+
+            assertThat(insights).containsExactly(
+                    "Great job! Your savings rate of 80% is excellent.",
+                    "Food is 20% over budget. Consider reducing spending in this category.");
+        }
+
+        @Test
+        @DisplayName("flags an income drop and a category spike against the previous window")
+        void dropAndSpike() {
+            List<String> insights = engine.evaluate(context(
+                    row(PREVIOUS_START.plusDays(1), "INCOME", 4000, "Income"),
+                    row(PREVIOUS_START.plusDays(1), "EXPENSE", 100, "Dining"),
+                    row(END, "INCOME", 3000, "Income"),
+                    row(END, "EXPENSE", 250, "Dining")));
+
+            assertThat(insights).contains(
+                    "Your income is down 25% on the previous period. Check that every income source was recorded.",
+                    "Spending on Dining is up 150% on the previous period.");
+        }
+
+        @Test
+        @DisplayName("flags recurring expenses added since the previous window")
+        void subscriptionCreep() {
+            List<ReportDataSource.RecurringSchedule> schedules = List.of(
+                    new ReportDataSource.RecurringSchedule("EXPENSE", "Rent", new BigDecimal("1200"), "MONTHLY",
+                            LocalDate.of(2025, 1, 1), null, LocalDate.of(2026, 11, 1), true),
+                    new ReportDataSource.RecurringSchedule("EXPENSE", "Streaming", new BigDecimal("180"), "YEARLY",
+                            LocalDate.of(2026, 9, 1), null, LocalDate.of(2027, 9, 1), true),
+                    new ReportDataSource.RecurringSchedule("EXPENSE", "Gym", new BigDecimal("120"), "MONTHLY",
+                            LocalDate.of(2026, 10, 1), null, LocalDate.of(2026, 11, 1), true));
+
+            List<String> insights = engine.evaluate(context(Map.of(), schedules, row(END, "EXPENSE", 10, "Food")));
+
+            assertThat(insights).containsExactly("2 new recurring expenses add 135.00 a month since 2026-08-17. "
+                    + "Recurring costs are now 1335.00 a month.");
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Cache
+    // ─────────────────────────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("insights()")
+    class Cache {
+
+        private final InsightEngine engine = engine(BUILT_IN, 1000);
+        private final InsightEngine.Key key = new InsightEngine.Key(USER_ID, START, END);
+        private final AtomicInteger builds = new AtomicInteger();
+
+        private List<String> insights() {
+            return engine.insights(key, () -> {
+                builds.incrementAndGet();
+                return context(row(END, "EXPENSE", 10, "Food"));
+            });
+        }
+
+        @Test
+        @DisplayName("builds the context once until the user's data changes")
+        void cachesUntilChange() {
+            insights();
+            insights();
+            assertThat(builds).hasValue(1);
+
+            engine.onTransactionsChanged(TransactionsChangedEvent.of(USER_ID, END));
+            insights();
+            assertThat(builds).hasValue(2);
+
+            engine.onRecurringTransactionsChanged(new RecurringTransactionsChangedEvent(USER_ID));
+            insights();
+            assertThat(builds).hasValue(3);
+        }
+
+        @Test
+        @DisplayName("keeps entries of other users")
+        void evictsOnlyTheUser() {
+            insights();
+            engine.evictUser("someone-else");
+            insights();
+
+            assertThat(builds).hasValue(1);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.fintrack.reports.service;
+
+import com.fintrack.reports.datasource.ReportDataSource;
+import com.fintrack.transactions.event.TransactionsChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ComparisonService.
+ * Uses Mockito — no Spring context, no database.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ComparisonService")
+class ComparisonServiceTest {
+
+    @Mock
+    private ReportDataSource reportDataSource;
+
+    private ComparisonService comparisonService;
+
+    private static final String USER_ID = "user-cmp-001";
+    private static final LocalDate OCT_1 = LocalDate.of(2026, 10, 1);
+    private static final LocalDate OCT_31 = LocalDate.of(2026, 10, 31);
+
+    @BeforeEach
+    void setUp() {
+        comparisonService = new ComparisonService(reportDataSource, new SimpleMeterRegistry(), 100);
+        // 3000 income on the first of each month, 100 spent every day
+        lenient().when(reportDataSource.loadDailyTotals(eq(USER_ID), any(), any())).thenAnswer(inv -> {
+            LocalDate start = inv.getArgument(1);
+            LocalDate end = inv.getArgument(2);
+            DailyTotalsIndex.Builder builder = DailyTotalsIndex.builder(start, end);
+            for (LocalDate d = start; !d.isAfter(end); d = d.plusDays(1)) {
+                if (d.getDayOfMonth() == 1) builder.add(d, "INCOME", new BigDecimal("3000"));
+                builder.add(d, "EXPENSE", new BigDecimal("100"));
+            }
+            return builder.build();
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> periods(Map<String, Object> comparison) {
+        return (List<Map<String, Object>>) comparison.get("periods");
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // compare
+    // ─────────────────────────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("compare()")
+    class Compare {
+
+        @Test
+        @DisplayName("compares a month with the same month in earlier years from one load")
+        void sameMonthEarlierYears() {
+            List<Map<String, Object>> periods = periods(
+                    comparisonService.compare(USER_ID, OCT_1, OCT_31, 4, ComparisonService.Step.YEAR));
+
+            assertThat(periods).extracting(p -> p.get("start"))
+                    .containsExactly("2026-10-01", "2025-10-01", "2024-10-01", "2023-10-01");
+            assertThat(periods).extracting(p -> p.get("expenses")).containsOnly(new BigDecimal("3100.00"));
+            assertThat(periods.get(0).get("income")).isEqualTo(new BigDecimal("3000.00"));
+            assertThat(periods.get(0)).containsKey("incomeChange");
+            assertThat(periods.get(3)).doesNotContainKey("incomeChange");
+            verify(reportDataSource, times(1)).loadDailyTotals(USER_ID, LocalDate.of(2023, 10, 1), OCT_31);
+        }
+
+        @Test
+        @DisplayName("keeps whole months whole when stepping by month")
+        void monthEnds() {
+            List<Map<String, Object>> periods = periods(comparisonService.compare(USER_ID,
+                    LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 31), 2, ComparisonService.Step.MONTH));
+
+            assertThat(periods.get(1).get("end")).isEqualTo("2026-02-28");
+            assertThat(periods.get(1).get("expenses")).isEqualTo(new BigDecimal("2800.00"));
+            assertThat((BigDecimal) periods.get(0).get("expensesChange")).isPositive();
+        }
+
+        @Test
+        @DisplayName("lays previous periods out back to back with the same length")
+        void previousPeriods() {
+            List<Map<String, Object>> periods = periods(comparisonService.compare(USER_ID,
+                    LocalDate.of(2026, 10, 11), LocalDate.of(2026, 10, 20), 3, ComparisonService.Step.PREVIOUS));
+
+            assertThat(periods).extracting(p -> p.get("start"))
+                    .containsExactly("2026-10-11", "2026-10-01", "2026-09-21");
+            assertThat(periods.get(1).get("income")).isEqualTo(new BigDecimal("3000.00"));
+            assertThat(periods.get(2).get("expenses")).isEqualTo(new BigDecimal("1000.00"));
+        }
+
+        @Test
+        @DisplayName("rejects inverted ranges, too many periods and unknown steps")
+        void rejectsBadInput() {
+            assertThatThrownBy(() -> comparisonService.compare(USER_ID, OCT_31, OCT_1, 2,
+                    ComparisonService.Step.PREVIOUS)).isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> comparisonService.compare(USER_ID, OCT_1, OCT_31, 25,
+                    ComparisonService.Step.YEAR)).isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> ComparisonService.Step.parse("fortnight"))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("fortnight");
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // summary
+    // ─────────────────────────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("summary()")
+    class Summary {
+
+        @Test
+        @DisplayName("returns the financial summary figures against the preceding window")
+        void financialSummaryKeys() {
+            Map<String, Object> summary = comparisonService.summary(USER_ID, LocalDate.of(2026, 10, 2), OCT_31);
+
+            assertThat(summary).containsKeys("netIncome", "totalExpenses", "netSavings", "savingsRate",
+                    "incomeChange", "expensesChange", "savingsChange", "savingsRateChange");
+            assertThat(summary.get("totalExpenses")).isEqualTo(new BigDecimal("3000.00"));
+            assertThat(summary.get("netIncome")).isEqualTo(new BigDecimal("0.00"));
+            verify(reportDataSource).loadDailyTotals(USER_ID, LocalDate.of(2026, 9, 3), OCT_31);
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Index cache
+    // ─────────────────────────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("index cache")
+    class IndexCache {
+
+        @Test
+        @DisplayName("answers ranges inside the index without loading")
+        void reusesIndex() {
+            comparisonService.compare(USER_ID, OCT_1, OCT_31, 4, ComparisonService.Step.YEAR);
+            comparisonService.compare(USER_ID, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 6, 30), 2,
+                    ComparisonService.Step.PREVIOUS);
+
+            verify(reportDataSource, times(1)).loadDailyTotals(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("loads only the missing days when a range reaches past the index")
+        void extendsIndex() {
+            comparisonService.compare(USER_ID, OCT_1, OCT_31, 1, ComparisonService.Step.MONTH);
+            comparisonService.compare(USER_ID, OCT_1, OCT_31, 2, ComparisonService.Step.MONTH);
+
+            verify(reportDataSource).loadDailyTotals(USER_ID, LocalDate.of(2026, 9, 1), LocalDate.of(2026, 9, 30));
+        }
+
+        @Test
+        @DisplayName("reloads from the earliest changed date after a transaction change")
+        void truncatesOnChange() {
+            comparisonService.compare(USER_ID, OCT_1, OCT_31, 1, ComparisonService.Step.MONTH);
+
+            comparisonService.onTransactionsChanged(TransactionsChangedEvent.of(USER_ID,
+                    LocalDate.of(2026, 10, 20), LocalDate.of(2026, 10, 12)));
+            comparisonService.compare(USER_ID, OCT_1, OCT_31, 1, ComparisonService.Step.MONTH);
+
+            verify(reportDataSource).loadDailyTotals(USER_ID, LocalDate.of(2026, 10, 12), OCT_31);
+        }
+
+        @Test
+        @DisplayName("ignores changes after the indexed days")
+        void ignoresLaterChanges() {
+            comparisonService.compare(USER_ID, OCT_1, OCT_31, 1, ComparisonService.Step.MONTH);
+
+            comparisonService.onTransactionsChanged(TransactionsChangedEvent.of(USER_ID, LocalDate.of(2026, 11, 2)));
+            comparisonService.compare(USER_ID, OCT_1, OCT_31, 1, ComparisonService.Step.MONTH);
+
+            verify(reportDataSource, times(1)).loadDailyTotals(any(), any(), any());
+        }
+    }
+}
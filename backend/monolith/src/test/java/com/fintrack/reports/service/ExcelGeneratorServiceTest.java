@@ -0,0 +1,54 @@
+package com.fintrack.reports.service;
+
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for ExcelGeneratorService.
+ * Writes real workbooks in memory and reads them back — no Spring context, no database.
+ */
+@DisplayName("ExcelGeneratorService")
+class ExcelGeneratorServiceTest {
+
+    private final ExcelGeneratorService service = new ExcelGeneratorService();
+
+    @Test
+    @DisplayName("writes summary, category and expense sheets")
+    void writesAllSheets() throws Exception {
+        List<Map<String, Object>> expenses = new ArrayList<>();
+        for (int i = 0; i < ExcelGeneratorService.ROW_WINDOW * 3; i++) {
+            expenses.add(Map.of("vendor", "Vendor " + i, "category", "Food", "frequency", 1, "amount", 10.0 + i));
+        }
+        Map<String, Object> data = Map.of(
+                "summary", Map.of("netIncome", 5000.0, "totalExpenses", 3200.0,
+                        "netSavings", 1800.0, "savingsRate", 36.0),
+                "categoryBreakdown", List.of(Map.of("name", "Food", "amount", 800.0, "budget", 1000.0,
+                        "percentage", 80.0)),
+                "topExpenses", expenses);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        service.writeFinancialReport(data, "last-30-days", out);
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet summary = workbook.getSheet("Summary");
+            assertThat(summary.getRow(2).getCell(0).getStringCellValue()).isEqualTo("Net Income");
+            assertThat(summary.getRow(2).getCell(1).getNumericCellValue()).isEqualTo(5000.0);
+            assertThat(workbook.getSheet("Categories").getRow(1).getCell(0).getStringCellValue()).isEqualTo("Food");
+
+            // Rows flushed out of the window must still be present in the file
+            Sheet top = workbook.getSheet("Top Expenses");
+            assertThat(top.getLastRowNum()).isEqualTo(expenses.size());
+            assertThat(top.getRow(1).getCell(0).getStringCellValue()).isEqualTo("Vendor 0");
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.fintrack.reports.service;
+
+import com.fintrack.reports.datasource.ReportDataSource;
+import com.fintrack.transactions.event.RecurringTransactionsChangedEvent;
+import com.fintrack.transactions.event.TransactionsChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ForecastService.
+ * Uses Mockito — no Spring context, no database.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ForecastService")
+class ForecastServiceTest {
+
+    @Mock
+    private ReportDataSource reportDataSource;
+
+    private ForecastService forecastService;
+
+    private static final String USER_ID = "user-fc-001";
+    private static final YearMonth CURRENT = YearMonth.of(2026, 10);
+
+    @BeforeEach
+    void setUp() {
+        forecastService = new ForecastService(reportDataSource, new SimpleMeterRegistry(),
+                36, 100, 0.4, 0.1, 0.3, 0.9);
+        lenient().when(reportDataSource.getRecurringSchedules(USER_ID)).thenReturn(List.of());
+    }
+
+    /** Stubs monthly expense totals for one category; {@code amount} maps a month to whole currency units. */
+    private void stubExpenses(String category, Function<YearMonth, Integer> amount) {
+        when(reportDataSource.loadCategoryMonthlySeries(eq(USER_ID), any(), any())).thenAnswer(inv -> {
+            YearMonth first = inv.getArgument(1);
+            YearMonth last = inv.getArgument(2);
+            CategoryMonthlySeries series = new CategoryMonthlySeries(first, last);
+            for (YearMonth m = first; !m.isAfter(last); m = m.plusMonths(1)) {
+                Integer value = amount.apply(m);
+                if (value != null && value != 0) {
+                    series.add(m.getYear(), m.getMonthValue(), "EXPENSE", category, BigDecimal.valueOf(value));
+                }
+            }
+            return series;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> points(Map<String, Object> forecast) {
+        return (List<Map<String, Object>>) forecast.get("forecast");
+    }
+
+    private static double expenses(Map<String, Object> forecast, int index) {
+        return (double) points(forecast).get(index).get("expenses");
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Forecast values
+    // ─────────────────────────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("forecast()")
+    class Forecast {
+
+        @Test
+        @DisplayName("starts the month after the current one and clamps the horizon")
+        void horizon() {
+            stubExpenses("Food", m -> 400);
+
+            Map<String, Object> forecast = forecastService.forecast(USER_ID, 40, CURRENT);
+
+            assertThat(points(forecast)).hasSize(12);
+            assertThat(points(forecast).get(0).get("month")).isEqualTo("2026-11");
+            assertThat(forecast.get("fittedThrough")).isEqualTo("2026-09");
+            assertThat(forecast.get("averageExpenses")).isEqualTo(400.0);
+        }
+
+        @Test
+        @DisplayName("a steady series forecasts its level with a band around it")
+        void steadySeries() {
+            // Noise on a 5-month cycle, which yearly seasonality cannot absorb
+            stubExpenses("Food", m -> 400 + ((m.getYear() * 12 + m.getMonthValue()) % 5 - 2) * 20);
+
+            Map<String, Object> point = points(forecastService.forecast(USER_ID, 3, CURRENT)).get(0);
+
+            assertThat((double) point.get("expenses")).isBetween(350.0, 450.0);
+            assertThat((double) point.get("expensesLower")).isLessThan((double) point.get("expenses"));
+            assertThat((double) point.get("expensesUpper")).isGreaterThan((double) point.get("expenses"));
+        }
+
+        @Test
+        @DisplayName("picks up yearly seasonality once two full years are available")
+        void seasonal() {
+            stubExpenses("Gifts", m -> m.getMonthValue() == 12 ? 1000 : 100);
+
+            Map<String, Object> forecast = forecastService.forecast(USER_ID, 3, CURRENT);
+
+            // November, December, January
+            assertThat(expenses(forecast, 1)).isGreaterThan(expenses(forecast, 0) * 3);
+            assertThat(expenses(forecast, 2)).isLessThan(expenses(forecast, 1) / 3);
+        }
+
+        @Test
+        @DisplayName("projects recurring items from the schedule rather than from history")
+        void recurringSchedules() {
+            // Rent has been materialised monthly since 2025 and continues; the gym ends in October
+            stubExpenses("Rent", m -> m.isBefore(YearMonth.of(2025, 1)) ? 0 : 1200);
+            when(reportDataSource.getRecurringSchedules(USER_ID)).thenReturn(List.of(
+                    new ReportDataSource.RecurringSchedule("EXPENSE", "Rent", new BigDecimal("1200"), "MONTHLY",
+                            LocalDate.of(2025, 1, 1), null, LocalDate.of(2026, 10, 1), true),
+                    new ReportDataSource.RecurringSchedule("EXPENSE", "Gym", new BigDecimal("50"), "MONTHLY",
+                            LocalDate.of(2026, 11, 5), LocalDate.of(2026, 12, 31), LocalDate.of(2026, 11, 5), true)));
+
+            Map<String, Object> forecast = forecastService.forecast(USER_ID, 3, CURRENT);
+
+            assertThat(expenses(forecast, 0)).isEqualTo(1250.0);
+            assertThat(expenses(forecast, 1)).isEqualTo(1250.0);
+            assertThat(expenses(forecast, 2)).isEqualTo(1200.0);
+            assertThat(points(forecast).get(0).get("expensesUpper")).isEqualTo(1250.0);
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Model cache
+    // ─────────────────────────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("model cache")
+    class ModelCache {
+
+        @Test
+        @DisplayName("answers repeat requests without touching the data source")
+        void reusesModel() {
+            stubExpenses("Food", m -> 400);
+
+            forecastService.forecast(USER_ID, 3, CURRENT);
+            forecastService.forecast(USER_ID, 6, CURRENT);
+
+            verify(reportDataSource, times(1)).loadCategoryMonthlySeries(any(), any(), any());
+            verify(reportDataSource, times(1)).getRecurringSchedules(USER_ID);
+        }
+
+        @Test
+        @DisplayName("reads only the newly closed month when the calendar moves on")
+        void advancesIncrementally() {
+            stubExpenses("Food", m -> 400);
+
+            forecastService.forecast(USER_ID, 3, CURRENT);
+            Map<String, Object> next = forecastService.forecast(USER_ID, 3, CURRENT.plusMonths(1));
+
+            verify(reportDataSource).loadCategoryMonthlySeries(USER_ID, CURRENT, CURRENT);
+            assertThat(next.get("fittedThrough")).isEqualTo("2026-10");
+        }
+
+        @Test
+        @DisplayName("keeps the model for changes in the open month and refits for earlier ones")
+        void invalidation() {
+            stubExpenses("Food", m -> 400);
+            forecastService.forecast(USER_ID, 3, CURRENT);
+
+            forecastService.onTransactionsChanged(TransactionsChangedEvent.of(USER_ID, LocalDate.of(2026, 10, 3)));
+            forecastService.forecast(USER_ID, 3, CURRENT);
+            verify(reportDataSource, times(1)).loadCategoryMonthlySeries(any(), any(), any());
+
+            forecastService.onTransactionsChanged(TransactionsChangedEvent.of(USER_ID, LocalDate.of(2026, 9, 30)));
+            forecastService.forecast(USER_ID, 3, CURRENT);
+            verify(reportDataSource, times(2)).loadCategoryMonthlySeries(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("takes a month's materialised occurrence out when the month closes")
+        void closesMonthWithMaterialisedOccurrence() {
+            // Rent is written as a transaction on the 1st; the nightly run then moves nextOccurrence on
+            stubExpenses("Rent", m -> m.isBefore(YearMonth.of(2025, 1)) ? 0 : 1200);
+            when(reportDataSource.getRecurringSchedules(USER_ID)).thenReturn(
+                    List.of(rent(LocalDate.of(2026, 10, 1))),
+                    List.of(rent(LocalDate.of(2026, 11, 1))));
+            forecastService.forecast(USER_ID, 3, CURRENT);
+
+            Map<String, Object> next = forecastService.forecast(USER_ID, 3, CURRENT.plusMonths(1));
+
+            verify(reportDataSource).loadCategoryMonthlySeries(USER_ID, CURRENT, CURRENT);
+            assertThat(expenses(next, 0)).isEqualTo(1200.0);
+        }
+
+        private ReportDataSource.RecurringSchedule rent(LocalDate nextOccurrence) {
+            return new ReportDataSource.RecurringSchedule("EXPENSE", "Rent", new BigDecimal("1200"), "MONTHLY",
+                    LocalDate.of(2025, 1, 1), null, nextOccurrence, true);
+        }
+
+        @Test
+        @DisplayName("refits when the user's recurring schedules change")
+        void scheduleChange() {
+            stubExpenses("Food", m -> 400);
+            forecastService.forecast(USER_ID, 3, CURRENT);
+
+            forecastService.onRecurringTransactionsChanged(new RecurringTransactionsChangedEvent(USER_ID));
+            forecastService.forecast(USER_ID, 3, CURRENT);
+
+            verify(reportDataSource, times(2)).getRecurringSchedules(USER_ID);
+        }
+    }
+}
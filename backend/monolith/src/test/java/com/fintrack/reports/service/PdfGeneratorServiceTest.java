@@ -0,0 +1,66 @@
+package com.fintrack.reports.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for PdfGeneratorService.
+ * Renders real PDFs in memory — no Spring context, no database.
+ */
+@DisplayName("PdfGeneratorService")
+class PdfGeneratorServiceTest {
+
+    private final PdfGeneratorService service = new PdfGeneratorService();
+
+    @Test
+    @DisplayName("streams a PDF into the caller's stream without closing it")
+    void streamsWithoutClosing() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        boolean[] closed = { false };
+        FilterOutputStream out = new FilterOutputStream(bytes) {
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+        };
+
+        service.writeFinancialReport(reportData(5), "last-30-days", out);
+
+        assertThat(new String(bytes.toByteArray(), 0, 5)).isEqualTo("%PDF-");
+        assertThat(closed[0]).isFalse();
+    }
+
+    @Test
+    @DisplayName("renders long expense tables across pages in flushed batches")
+    void rendersLongTables() {
+        byte[] small = service.generateFinancialReport(reportData(5), "last-30-days");
+        byte[] large = service.generateFinancialReport(reportData(500), "last-30-days");
+
+        assertThat(new String(large, 0, 5)).isEqualTo("%PDF-");
+        assertThat(large.length).isGreaterThan(small.length);
+    }
+
+    private Map<String, Object> reportData(int expenseCount) {
+        List<Map<String, Object>> expenses = new ArrayList<>();
+        for (int i = 0; i < expenseCount; i++) {
+            expenses.add(Map.of("vendor", "Vendor " + i, "category", "Food",
+                    "frequency", 1, "amount", 10.0 + i));
+        }
+        Map<String, Object> data = new HashMap<>();
+        data.put("summary", Map.of("netIncome", 5000.0, "totalExpenses", 3200.0,
+                "netSavings", 1800.0, "savingsRate", 36.0));
+        data.put("categoryBreakdown", List.of(Map.of("name", "Food", "amount", 800.0, "budget", 1000.0, "percentage", 80.0)));
+        data.put("topExpenses", expenses);
+        data.put("insights", List.of("Spending is on track."));
+        return data;
+    }
+}
@@ -0,0 +1,238 @@
+package com.fintrack.reports.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fintrack.reports.entity.SpendingSummaryCache;
+import com.fintrack.reports.repository.SpendingSummaryCacheRepository;
+import com.fintrack.transactions.event.TransactionsChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ReportCacheService.
+ * Uses Mockito — no Spring context, no database.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReportCacheService")
+class ReportCacheServiceTest {
+
+    @Mock
+    private SpendingSummaryCacheRepository cacheRepository;
+
+    private ReportCacheService reportCache;
+
+    private static final UUID USER_UUID = UUID.fromString("00000000-0000-0000-0000-000000000042");
+    private static final String USER_ID = USER_UUID.toString();
+    private static final LocalDate START = LocalDate.of(2026, 1, 1);
+    private static final LocalDate END = LocalDate.of(2026, 2, 28);
+
+    private final ReportCacheService.Key key = new ReportCacheService.Key(
+            USER_ID, SpendingSummaryCache.PeriodType.MONTHLY, START, END);
+
+    @BeforeEach
+    void setUp() {
+        reportCache = new ReportCacheService(cacheRepository, new ObjectMapper(),
+                new SimpleMeterRegistry(), true, 15, 100);
+    }
+
+    private Map<String, Object> payload(String expenses) {
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("totalExpenses", new BigDecimal(expenses));
+        Map<String, Object> report = new HashMap<>();
+        report.put("summary", summary);
+        return report;
+    }
+
+    /** Makes saves visible to the memory tier's check, as the shared table would. */
+    private AtomicReference<SpendingSummaryCache> backWithTable() {
+        AtomicReference<SpendingSummaryCache> table = new AtomicReference<>();
+        lenient().when(cacheRepository.save(any())).thenAnswer(inv -> {
+            table.set(inv.getArgument(0));
+            return inv.getArgument(0);
+        });
+        lenient().when(cacheRepository.findExpiresAtByKey(USER_UUID, SpendingSummaryCache.PeriodType.MONTHLY,
+                START, END)).thenAnswer(inv -> Optional.ofNullable(table.get()).map(SpendingSummaryCache::getExpiresAt));
+        return table;
+    }
+
+    /** Loader that counts invocations. */
+    private ReportCacheService.Computed load(AtomicInteger calls, boolean cacheable) {
+        calls.incrementAndGet();
+        return new ReportCacheService.Computed(payload("120.50"), cacheable);
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // getOrCompute
+    // ─────────────────────────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("getOrCompute()")
+    class GetOrCompute {
+
+        @Test
+        @DisplayName("computes once and serves repeats from memory")
+        void servesRepeatsFromMemory() {
+            when(cacheRepository.findByUserIdAndPeriodTypeAndPeriodStartAndPeriodEnd(any(), any(), any(), any()))
+                    .thenReturn(Optional.empty());
+            backWithTable();
+            AtomicInteger calls = new AtomicInteger();
+
+            reportCache.getOrCompute(key, () -> load(calls, true));
+            Map<String, Object> second = reportCache.getOrCompute(key, () -> load(calls, true));
+
+            assertThat(calls).hasValue(1);
+            assertThat(second).containsKey("summary");
+            ArgumentCaptor<SpendingSummaryCache> saved = ArgumentCaptor.forClass(SpendingSummaryCache.class);
+            verify(cacheRepository).save(saved.capture());
+            assertThat(saved.getValue().getUserId()).isEqualTo(USER_UUID);
+            assertThat(saved.getValue().getTotalAmount()).isEqualByComparingTo("120.50");
+        }
+
+        @Test
+        @DisplayName("serves a persisted entry without recomputing")
+        void servesPersistedEntry() {
+            SpendingSummaryCache row = new SpendingSummaryCache();
+            row.setData("{\"summary\":{\"totalExpenses\":99.10}}");
+            row.setExpiresAt(LocalDateTime.now().plusMinutes(5));
+            when(cacheRepository.findByUserIdAndPeriodTypeAndPeriodStartAndPeriodEnd(
+                    USER_UUID, SpendingSummaryCache.PeriodType.MONTHLY, START, END)).thenReturn(Optional.of(row));
+            AtomicInteger calls = new AtomicInteger();
+
+            Map<String, Object> report = reportCache.getOrCompute(key, () -> load(calls, true));
+
+            assertThat(calls).hasValue(0);
+            @SuppressWarnings("unchecked")
+            Map<String, Object> summary = (Map<String, Object>) report.get("summary");
+            assertThat(summary.get("totalExpenses")).isEqualTo(new BigDecimal("99.10"));
+        }
+
+        @Test
+        @DisplayName("does not store partial reports")
+        void skipsPartialReports() {
+            when(cacheRepository.findByUserIdAndPeriodTypeAndPeriodStartAndPeriodEnd(any(), any(), any(), any()))
+                    .thenReturn(Optional.empty());
+            AtomicInteger calls = new AtomicInteger();
+
+            reportCache.getOrCompute(key, () -> load(calls, false));
+            reportCache.getOrCompute(key, () -> load(calls, false));
+
+            assertThat(calls).hasValue(2);
+            verify(cacheRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("recomputes when another instance evicted the table row")
+        void revalidatesMemoryAgainstTable() {
+            when(cacheRepository.findByUserIdAndPeriodTypeAndPeriodStartAndPeriodEnd(any(), any(), any(), any()))
+                    .thenReturn(Optional.empty());
+            AtomicReference<SpendingSummaryCache> table = backWithTable();
+            AtomicInteger calls = new AtomicInteger();
+
+            reportCache.getOrCompute(key, () -> load(calls, true));
+            table.set(null);
+            reportCache.getOrCompute(key, () -> load(calls, true));
+
+            assertThat(calls).hasValue(2);
+        }
+
+        @Test
+        @DisplayName("does not store a load that raced with an invalidation")
+        void skipsLoadOverlappingInvalidation() {
+            when(cacheRepository.findByUserIdAndPeriodTypeAndPeriodStartAndPeriodEnd(any(), any(), any(), any()))
+                    .thenReturn(Optional.empty());
+            AtomicInteger calls = new AtomicInteger();
+
+            reportCache.getOrCompute(key, () -> {
+                reportCache.onTransactionsChanged(TransactionsChangedEvent.of(USER_ID, START));
+                return load(calls, true);
+            });
+            reportCache.getOrCompute(key, () -> load(calls, true));
+
+            assertThat(calls).hasValue(2);
+            verify(cacheRepository, times(1)).save(any());
+        }
+
+        @Test
+        @DisplayName("does not cache users without a table key")
+        void skipsNonUuidUsers() {
+            ReportCacheService.Key legacy = new ReportCacheService.Key(
+                    "legacy-user", SpendingSummaryCache.PeriodType.MONTHLY, START, END);
+            AtomicInteger calls = new AtomicInteger();
+
+            reportCache.getOrCompute(legacy, () -> load(calls, true));
+            reportCache.getOrCompute(legacy, () -> load(calls, true));
+
+            assertThat(calls).hasValue(2);
+            verifyNoInteractions(cacheRepository);
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // onTransactionsChanged
+    // ─────────────────────────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("onTransactionsChanged()")
+    class OnTransactionsChanged {
+
+        @BeforeEach
+        void warmCache() {
+            lenient().when(cacheRepository.findByUserIdAndPeriodTypeAndPeriodStartAndPeriodEnd(
+                    any(), any(), any(), any())).thenReturn(Optional.empty());
+            backWithTable();
+            reportCache.getOrCompute(key, () -> load(new AtomicInteger(), true));
+        }
+
+        @Test
+        @DisplayName("keeps entries whose period does not cover the changed date")
+        void ignoresDatesOutsidePeriod() {
+            reportCache.onTransactionsChanged(TransactionsChangedEvent.of(USER_ID, END.plusDays(1)));
+
+            AtomicInteger calls = new AtomicInteger();
+            reportCache.getOrCompute(key, () -> load(calls, true));
+            assertThat(calls).hasValue(0);
+            verify(cacheRepository).deleteOverlapping(USER_UUID, END.plusDays(1), END.plusDays(1));
+        }
+
+        @Test
+        @DisplayName("evicts entries whose period covers the changed date")
+        void evictsCoveredPeriod() {
+            reportCache.onTransactionsChanged(TransactionsChangedEvent.of(USER_ID, START.plusDays(10)));
+
+            AtomicInteger calls = new AtomicInteger();
+            reportCache.getOrCompute(key, () -> load(calls, true));
+            assertThat(calls).hasValue(1);
+        }
+
+        @Test
+        @DisplayName("evicts every entry for the user on bulk changes")
+        void evictsAllOnBulkChange() {
+            reportCache.onTransactionsChanged(TransactionsChangedEvent.allDates(USER_ID));
+
+            AtomicInteger calls = new AtomicInteger();
+            reportCache.getOrCompute(key, () -> load(calls, true));
+            assertThat(calls).hasValue(1);
+            verify(cacheRepository).deleteAllByUserId(USER_UUID);
+        }
+    }
+}
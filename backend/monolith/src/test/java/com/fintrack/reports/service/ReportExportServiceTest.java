@@ -0,0 +1,175 @@
+package com.fintrack.reports.service;
+
+import com.fintrack.reports.entity.ReportHistory;
+import com.fintrack.reports.repository.ReportHistoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ReportExportService.
+ * Uses Mockito and a same-thread executor — no Spring context, no database.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReportExportService")
+class ReportExportServiceTest {
+
+    @Mock
+    private ReportHistoryRepository historyRepository;
+
+    @Mock
+    private ReportsService reportsService;
+
+    @Mock
+    private PdfGeneratorService pdfGeneratorService;
+
+    @Mock
+    private ExcelGeneratorService excelGeneratorService;
+
+    @TempDir
+    Path exportDir;
+
+    private static final String USER_ID = "00000000-0000-0000-0000-0000000000aa";
+
+    /** Simulates the repository: assigns ids on first save and serves them back from findById. */
+    private void stubRepository() {
+        when(historyRepository.save(any(ReportHistory.class))).thenAnswer(inv -> {
+            ReportHistory job = inv.getArgument(0);
+            if (job.getId() == null) {
+                job.setId(UUID.randomUUID());
+                lenient().when(historyRepository.findById(job.getId())).thenReturn(Optional.of(job));
+            }
+            return job;
+        });
+    }
+
+    private ReportExportService service(java.util.concurrent.Executor executor) {
+        return new ReportExportService(historyRepository, reportsService, pdfGeneratorService,
+                excelGeneratorService, executor, exportDir.toString(), 24, 30);
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // submitPdf
+    // ─────────────────────────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("submitPdf()")
+    class SubmitPdf {
+
+        @BeforeEach
+        void setUp() {
+            stubRepository();
+        }
+
+        @Test
+        @DisplayName("renders the PDF to disk and marks the job COMPLETED")
+        void rendersAndCompletes() throws Exception {
+            when(reportsService.getFinancialReports(USER_ID, "last-30-days")).thenReturn(Map.of());
+            doAnswer(inv -> {
+                inv.<OutputStream>getArgument(2).write("%PDF-1.4".getBytes());
+                return null;
+            }).when(pdfGeneratorService).writeFinancialReport(any(), eq("last-30-days"), any());
+
+            ReportHistory job = service(Runnable::run).submitPdf(USER_ID, "last-30-days");
+
+            assertThat(job.getStatus()).isEqualTo(ReportHistory.ReportStatus.COMPLETED);
+            assertThat(job.getFileSize()).isEqualTo(8L);
+            assertThat(Files.readString(Path.of(job.getFilePath()))).isEqualTo("%PDF-1.4");
+            assertThat(job.getUserId()).isEqualTo(UUID.fromString(USER_ID));
+        }
+
+        @Test
+        @DisplayName("marks the job FAILED and leaves no file when rendering throws")
+        void marksFailedOnError() throws Exception {
+            when(reportsService.getFinancialReports(USER_ID, "last-year"))
+                    .thenThrow(new IllegalStateException("boom"));
+
+            ReportHistory job = service(Runnable::run).submitPdf(USER_ID, "last-year");
+
+            assertThat(job.getStatus()).isEqualTo(ReportHistory.ReportStatus.FAILED);
+            assertThat(job.getErrorMessage()).isEqualTo("Report generation failed");
+            try (var files = Files.list(exportDir)) {
+                assertThat(files).isEmpty();
+            }
+        }
+
+        @Test
+        @DisplayName("marks the job FAILED and rethrows when the export queue is full")
+        void rejectsWhenQueueFull() {
+            ReportExportService busy = service(task -> {
+                throw new RejectedExecutionException("full");
+            });
+
+            assertThatThrownBy(() -> busy.submitPdf(USER_ID, "last-30-days"))
+                    .isInstanceOf(RejectedExecutionException.class);
+            verify(historyRepository, times(2)).save(argThat(job ->
+                    job.getStatus() != ReportHistory.ReportStatus.COMPLETED));
+            verifyNoInteractions(reportsService);
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // purgeExpired
+    // ─────────────────────────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("purgeExpired()")
+    class PurgeExpired {
+
+        @Test
+        @DisplayName("deletes finished exports past retention and keeps running ones")
+        void deletesOldFinishedExports() throws Exception {
+            Path file = Files.writeString(exportDir.resolve("old.pdf"), "%PDF");
+            ReportHistory done = new ReportHistory();
+            done.setStatus(ReportHistory.ReportStatus.COMPLETED);
+            done.setFilePath(file.toString());
+            ReportHistory running = new ReportHistory();
+            running.setStatus(ReportHistory.ReportStatus.PROCESSING);
+            when(historyRepository.findByGeneratedAtBefore(any(LocalDateTime.class)))
+                    .thenReturn(List.of(done, running));
+
+            service(Runnable::run).purgeExpired();
+
+            assertThat(file).doesNotExist();
+            verify(historyRepository).delete(done);
+            verify(historyRepository, never()).delete(running);
+        }
+
+        @Test
+        @DisplayName("fails exports that lost their worker and removes their partial file")
+        void failsOrphanedExports() throws Exception {
+            ReportHistory orphan = new ReportHistory();
+            orphan.setId(UUID.randomUUID());
+            orphan.setStatus(ReportHistory.ReportStatus.PROCESSING);
+            Path partial = Files.writeString(exportDir.resolve(orphan.getId() + ".pdf.part"), "%PDF");
+            when(historyRepository.findByStatusInAndGeneratedAtBefore(anyCollection(), any(LocalDateTime.class)))
+                    .thenReturn(List.of(orphan));
+
+            service(Runnable::run).purgeExpired();
+
+            assertThat(partial).doesNotExist();
+            assertThat(orphan.getStatus()).isEqualTo(ReportHistory.ReportStatus.FAILED);
+            assertThat(orphan.getErrorMessage()).isEqualTo("Report generation was interrupted, request it again");
+            verify(historyRepository).save(orphan);
+        }
+    }
+}
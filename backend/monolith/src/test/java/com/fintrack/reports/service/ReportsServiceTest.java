@@ -0,0 +1,301 @@
+package com.fintrack.reports.service;
+
+import com.fintrack.reports.datasource.ReportDataSource;
+import com.fintrack.reports.insights.IncomeDropRule;
+import com.fintrack.reports.insights.InsightEngine;
+import com.fintrack.reports.insights.OverBudgetRule;
+import com.fintrack.reports.insights.SavingsRateRule;
+import com.fintrack.reports.insights.SpendingSpikeRule;
+import com.fintrack.reports.insights.SubscriptionCreepRule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ReportsService.
+ * Uses Mockito — no Spring context, no database.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReportsService")
+class ReportsServiceTest {
+
+    @Mock
+    private ReportDataSource reportDataSource;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @Spy
+    private ReportSectionRunner sectionRunner =
+            new ReportSectionRunner(executor, new SimpleMeterRegistry(), 5000, true);
+
+    @Mock
+    private ReportCacheService reportCache;
+
+    @Spy
+    private InsightEngine insightEngine = new InsightEngine(
+            List.of(new SavingsRateRule(), new IncomeDropRule(), new OverBudgetRule(),
+                    new SpendingSpikeRule(), new SubscriptionCreepRule()),
+            new SimpleMeterRegistry(), 50, 15, 100);
+
+    @InjectMocks
+    private ReportsService reportsService;
+
+    private static final String USER_ID = "user-rpt-001";
+
+    @BeforeEach
+    void setUp() {
+        // Cache always misses: every call computes
+        lenient().when(reportCache.getOrCompute(any(), any())).thenAnswer(inv ->
+                inv.<Supplier<ReportCacheService.Computed>>getArgument(1).get().payload());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /** Stubs the data source with a snapshot built from the given rows over the requested windows. */
+    private void stubTransactions(Object[]... rows) {
+        when(reportDataSource.loadSnapshot(eq(USER_ID), any(), any(), any(), any()))
+                .thenAnswer(inv -> {
+                    ReportSnapshot.Builder builder = ReportSnapshot.builder(
+                            inv.getArgument(1), inv.getArgument(2), inv.getArgument(3), inv.getArgument(4));
+                    for (Object[] r : rows) {
+                        builder.add((LocalDate) r[0], new BigDecimal(r[2].toString()), (String) r[1],
+                                (String) r[3], (String) r[4]);
+                    }
+                    return builder.build();
+                });
+        lenient().when(reportDataSource.getSavingsGoals(USER_ID)).thenReturn(List.of());
+        lenient().when(reportDataSource.getCategoryBudgets(eq(USER_ID), any()))
+                .thenReturn(Map.of());
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // getFinancialReports
+    // ─────────────────────────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("getFinancialReports()")
+    class GetFinancialReports {
+
+        @Test
+        @DisplayName("loads the transaction snapshot once for all sections")
+        void loadsSnapshotOnce() {
+            LocalDate today = LocalDate.now();
+            stubTransactions(
+                    new Object[] { today, "INCOME", 3000, "Income", "Salary" },
+                    new Object[] { today, "EXPENSE", 120.50, "Food & Dining", "Grocer" },
+                    new Object[] { today, "EXPENSE", 80, "Food & Dining", "Grocer" },
+                    new Object[] { today.minusDays(40), "INCOME", 2000, "Income", "Salary" });
+
+            Map<String, Object> report = reportsService.getFinancialReports(USER_ID, "last-30-days");
+
+            verify(reportDataSource, times(1)).loadSnapshot(eq(USER_ID), any(), any(), any(), any());
+            assertThat(report).containsKeys("summary", "monthlyData", "categoryBreakdown",
+                    "savingsGoals", "topExpenses", "insights");
+        }
+
+        @Test
+        @DisplayName("splits current and previous windows from the shared snapshot")
+        void computesSummaryFromBothWindows() {
+            LocalDate today = LocalDate.now();
+            stubTransactions(
+                    new Object[] { today, "INCOME", 3000, "Income", "Salary" },
+                    new Object[] { today, "EXPENSE", 200.50, "Food & Dining", "Grocer" },
+                    new Object[] { today.minusDays(40), "INCOME", 2000, "Income", "Salary" });
+
+            Map<String, Object> report = reportsService.getFinancialReports(USER_ID, "last-30-days");
+
+            @SuppressWarnings("unchecked")
+            Map<String, Object> summary = (Map<String, Object>) report.get("summary");
+            assertThat((BigDecimal) summary.get("netIncome")).isEqualByComparingTo("3000");
+            assertThat((BigDecimal) summary.get("totalExpenses")).isEqualByComparingTo("200.50");
+            assertThat((BigDecimal) summary.get("incomeChange")).isEqualByComparingTo("50");
+
+            @SuppressWarnings("unchecked")
+            List<Map<String, Object>> topExpenses = (List<Map<String, Object>>) report.get("topExpenses");
+            assertThat(topExpenses).hasSize(1);
+            assertThat(topExpenses.get(0).get("vendor")).isEqualTo("Grocer");
+        }
+
+        @Test
+        @DisplayName("looks up budgets for all categories in a single call")
+        void looksUpBudgetsOnce() {
+            LocalDate today = LocalDate.now();
+            stubTransactions(
+                    new Object[] { today, "EXPENSE", 600, "Food & Dining", "Grocer" },
+                    new Object[] { today, "EXPENSE", 50, "Transportation", "Metro" },
+                    new Object[] { today, "EXPENSE", 40, "Shopping", "Store" });
+            Map<String, BigDecimal> budgets = ReportDataSource.newBudgetMap();
+            budgets.put("food & dining", BigDecimal.valueOf(500));
+            when(reportDataSource.getCategoryBudgets(eq(USER_ID), any())).thenReturn(budgets);
+
+            Map<String, Object> report = reportsService.getFinancialReports(USER_ID, "last-30-days");
+
+            verify(reportDataSource, times(1)).getCategoryBudgets(eq(USER_ID), any());
+            @SuppressWarnings("unchecked")
+            List<Map<String, Object>> categories = (List<Map<String, Object>>) report.get("categoryBreakdown");
+            assertThat(categories).hasSize(3);
+            assertThat((BigDecimal) categories.get(0).get("budget")).isEqualByComparingTo("500");
+            assertThat((BigDecimal) categories.get(1).get("budget")).isEqualByComparingTo("1000");
+            assertThat(report.get("insights").toString()).contains("Food & Dining is 20% over budget");
+        }
+
+        @Test
+        @DisplayName("falls back to an empty section when one data lookup fails")
+        void failedSectionFallsBack() {
+            LocalDate today = LocalDate.now();
+            stubTransactions(new Object[] { today, "EXPENSE", 25, "Shopping", "Store" });
+            when(reportDataSource.getSavingsGoals(USER_ID)).thenThrow(new IllegalStateException("goals down"));
+
+            Map<String, Object> report = reportsService.getFinancialReports(USER_ID, "last-30-days");
+
+            assertThat(report.get("savingsGoals")).asList().isEmpty();
+            assertThat(report.get("categoryBreakdown")).asList().hasSize(1);
+        }
+
+        @Test
+        @DisplayName("marks the report as not cacheable when a section falls back")
+        void degradedReportIsNotCacheable() {
+            LocalDate today = LocalDate.now();
+            stubTransactions(new Object[] { today, "EXPENSE", 25, "Shopping", "Store" });
+            when(reportDataSource.getCategoryBudgets(eq(USER_ID), any()))
+                    .thenThrow(new IllegalStateException("budgets down"));
+            ReportCacheService.Computed[] computed = new ReportCacheService.Computed[1];
+            doAnswer(inv -> {
+                computed[0] = inv.<Supplier<ReportCacheService.Computed>>getArgument(1).get();
+                return computed[0].payload();
+            }).when(reportCache).getOrCompute(any(), any());
+
+            reportsService.getFinancialReports(USER_ID, "last-30-days");
+
+            assertThat(computed[0].cacheable()).isFalse();
+        }
+
+        @Test
+        @DisplayName("does not cache an empty report when the transactions cannot be loaded")
+        void failedSnapshotIsNotCacheable() {
+            when(reportDataSource.loadSnapshot(eq(USER_ID), any(), any(), any(), any()))
+                    .thenThrow(new IllegalStateException("transactions down"));
+            lenient().when(reportDataSource.getSavingsGoals(USER_ID)).thenReturn(List.of());
+            lenient().when(reportDataSource.getCategoryBudgets(eq(USER_ID), any())).thenReturn(Map.of());
+            ReportCacheService.Computed[] computed = new ReportCacheService.Computed[1];
+            doAnswer(inv -> {
+                computed[0] = inv.<Supplier<ReportCacheService.Computed>>getArgument(1).get();
+                return computed[0].payload();
+            }).when(reportCache).getOrCompute(any(), any());
+
+            Map<String, Object> report = reportsService.getFinancialReports(USER_ID, "last-30-days");
+
+            assertThat(report.get("topExpenses")).asList().isEmpty();
+            assertThat(computed[0].cacheable()).isFalse();
+        }
+
+        @Test
+        @DisplayName("asks the data source for ranked top expenses when the snapshot comes from rollups")
+        void topExpensesBypassRollups() {
+            LocalDate today = LocalDate.now();
+            when(reportDataSource.loadSnapshot(eq(USER_ID), any(), any(), any(), any()))
+                    .thenAnswer(inv -> ReportSnapshot.builder(
+                                    inv.getArgument(1), inv.getArgument(2), inv.getArgument(3), inv.getArgument(4))
+                            .aggregated()
+                            .add(today, new BigDecimal("90"), "EXPENSE", "Shopping", null)
+                            .build());
+            when(reportDataSource.getTopExpenses(eq(USER_ID), any(), any(), eq(5))).thenReturn(List.of(
+                    new ReportDataSource.TopExpense("Store", "Shopping", new BigDecimal("60"), 1),
+                    new ReportDataSource.TopExpense("Kiosk", "Shopping", new BigDecimal("30"), 1)));
+            when(reportDataSource.getSavingsGoals(USER_ID)).thenReturn(List.of());
+            when(reportDataSource.getCategoryBudgets(eq(USER_ID), any())).thenReturn(Map.of());
+
+            Map<String, Object> report = reportsService.getFinancialReports(USER_ID, "last-30-days");
+
+            @SuppressWarnings("unchecked")
+            List<Map<String, Object>> topExpenses = (List<Map<String, Object>>) report.get("topExpenses");
+            assertThat(topExpenses).extracting(e -> e.get("vendor")).containsExactly("Store", "Kiosk");
+            @SuppressWarnings("unchecked")
+            Map<String, Object> summary = (Map<String, Object>) report.get("summary");
+            assertThat((BigDecimal) summary.get("totalExpenses")).isEqualByComparingTo("90");
+        }
+
+        @Test
+        @DisplayName("keeps only the five highest-spend vendors, highest first")
+        void ranksTopFiveVendors() {
+            LocalDate today = LocalDate.now();
+            stubTransactions(
+                    new Object[] { today, "EXPENSE", 10, "Shopping", "A" },
+                    new Object[] { today, "EXPENSE", 70, "Shopping", "B" },
+                    new Object[] { today, "EXPENSE", 15, "Shopping", "C" },
+                    new Object[] { today, "EXPENSE", 50, "Shopping", "D" },
+                    new Object[] { today, "EXPENSE", 20, "Shopping", "E" },
+                    new Object[] { today, "EXPENSE", 60, "Shopping", "F" },
+                    new Object[] { today, "EXPENSE", 30, "Food & Dining", "C" },
+                    new Object[] { today, "INCOME", 900, "Income", "Salary" });
+
+            Map<String, Object> report = reportsService.getFinancialReports(USER_ID, "last-30-days");
+
+            @SuppressWarnings("unchecked")
+            List<Map<String, Object>> topExpenses = (List<Map<String, Object>>) report.get("topExpenses");
+            assertThat(topExpenses).extracting(e -> e.get("vendor")).containsExactly("B", "F", "D", "C", "E");
+            // alphabetically first category, like the repository query
+            assertThat(topExpenses.get(3).get("category")).isEqualTo("Food & Dining");
+            assertThat(topExpenses.get(3).get("frequency")).isEqualTo(2L);
+            verify(reportDataSource, never()).getTopExpenses(any(), any(), any(), anyInt());
+        }
+
+        @Test
+        @DisplayName("orders the monthly trend by year and month and zero-fills gaps")
+        void monthlyTrendIsYearAware() {
+            LocalDate today = LocalDate.now();
+            LocalDate yearAgo = today.minusYears(1);
+            stubTransactions(
+                    new Object[] { today, "EXPENSE", 100, "Shopping", "Store" },
+                    new Object[] { yearAgo, "EXPENSE", 40, "Shopping", "Store" },
+                    new Object[] { yearAgo, "INCOME", 500, "Income", "Salary" });
+
+            Map<String, Object> report = reportsService.getFinancialReports(USER_ID, "last-year");
+
+            @SuppressWarnings("unchecked")
+            List<Map<String, Object>> months = (List<Map<String, Object>>) report.get("monthlyData");
+            assertThat(months).hasSize(13);
+            assertThat(months.get(0).get("yearMonth")).isEqualTo(java.time.YearMonth.from(yearAgo).toString());
+            assertThat(months.get(12).get("yearMonth")).isEqualTo(java.time.YearMonth.from(today).toString());
+            assertThat((BigDecimal) months.get(0).get("expenses")).isEqualByComparingTo("40");
+            assertThat((BigDecimal) months.get(0).get("savings")).isEqualByComparingTo("460");
+            assertThat((BigDecimal) months.get(6).get("expenses")).isEqualByComparingTo("0");
+            assertThat((BigDecimal) months.get(12).get("expenses")).isEqualByComparingTo("100");
+            assertThat(months.get(0).get("month")).isNotEqualTo(months.get(12).get("month"));
+        }
+
+        @Test
+        @DisplayName("returns the empty-state insight when there are no transactions")
+        void emptyStateInsight() {
+            stubTransactions();
+
+            Map<String, Object> report = reportsService.getFinancialReports(USER_ID, "last-30-days");
+
+            assertThat(report.get("categoryBreakdown")).asList().isEmpty();
+            assertThat(report.get("insights")).asList().hasSize(1);
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.fintrack.reports.service;
+
+import com.fintrack.reports.entity.ReportHistory;
+import com.fintrack.reports.entity.ScheduledReport;
+import com.fintrack.reports.repository.ReportHistoryRepository;
+import com.fintrack.reports.repository.ScheduledReportRepository;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ScheduledReportExecutor.
+ * Uses Mockito — no Spring context, no database.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ScheduledReportExecutor")
+class ScheduledReportExecutorTest {
+
+    @Mock
+    private ScheduledReportRepository scheduledReportRepository;
+
+    @Mock
+    private ReportHistoryRepository historyRepository;
+
+    @Mock
+    private ReportExportService reportExportService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private JavaMailSender mailSender;
+
+    @TempDir
+    Path exportDir;
+
+    private static final UUID USER_ID = UUID.fromString("00000000-0000-0000-0000-0000000000aa");
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 2, 8, 0);
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(inv ->
+                inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        lenient().when(reportExportService.createJob(eq(USER_ID), anyString(), anyString())).thenAnswer(inv -> {
+            ReportHistory job = new ReportHistory();
+            job.setId(UUID.randomUUID());
+            job.setUserId(USER_ID);
+            job.setStatus(ReportHistory.ReportStatus.PENDING);
+            job.setDateRange(inv.getArgument(2));
+            return job;
+        });
+    }
+
+    private ScheduledReportExecutor executor(Executor pool, int maxInFlight) {
+        return new ScheduledReportExecutor(scheduledReportRepository, historyRepository, reportExportService,
+                transactionTemplate, pool, mailSender, true, 10, maxInFlight);
+    }
+
+    private ScheduledReport schedule(String frequency, LocalDateTime nextRun) {
+        ScheduledReport report = new ScheduledReport();
+        report.setId(UUID.randomUUID());
+        report.setUserId(USER_ID);
+        report.setReportType("FINANCIAL");
+        report.setFrequency(frequency);
+        report.setStartDate(LocalDate.of(2026, 1, 1));
+        report.setFormat("PDF");
+        report.setDeliveryMethod("DOWNLOAD");
+        report.setNextRun(nextRun);
+        return report;
+    }
+
+    private ReportHistory completed(UUID id, Path file) {
+        ReportHistory job = new ReportHistory();
+        job.setId(id);
+        job.setUserId(USER_ID);
+        job.setStatus(ReportHistory.ReportStatus.COMPLETED);
+        job.setFilePath(file.toString());
+        return job;
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // runDue
+    // ─────────────────────────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("runDue()")
+    class RunDue {
+
+        @Test
+        @DisplayName("advances nextRun and renders each claimed schedule")
+        void advancesAndRenders() {
+            ScheduledReport weekly = schedule("WEEKLY", NOW.minusMinutes(5));
+            when(scheduledReportRepository.claimDueReports(eq(NOW), any(Pageable.class)))
+                    .thenReturn(List.of(weekly));
+            when(reportExportService.render(any(), eq(USER_ID.toString()), eq("last-7-days"),
+                    eq(ReportExportService.Format.PDF)))
+                    .thenReturn(Optional.empty());
+
+            int dispatched = executor(Runnable::run, 20).runDue(NOW);
+
+            assertThat(dispatched).isEqualTo(1);
+            assertThat(weekly.getLastRun()).isEqualTo(NOW);
+            assertThat(weekly.getNextRun()).isEqualTo(NOW.minusMinutes(5).plusWeeks(1));
+            assertThat(weekly.getActive()).isTrue();
+            verify(scheduledReportRepository).saveAll(List.of(weekly));
+            verify(reportExportService).createJob(USER_ID, ScheduledReportExecutor.REPORT_TYPE_SCHEDULED, "last-7-days");
+        }
+
+        @Test
+        @DisplayName("deactivates a schedule whose next run falls after its end date")
+        void deactivatesPastEndDate() {
+            ScheduledReport monthly = schedule("MONTHLY", NOW.minusHours(1));
+            monthly.setEndDate(NOW.toLocalDate().plusDays(10));
+            when(scheduledReportRepository.claimDueReports(eq(NOW), any(Pageable.class)))
+                    .thenReturn(List.of(monthly));
+
+            executor(Runnable::run, 20).runDue(NOW);
+
+            assertThat(monthly.getActive()).isFalse();
+        }
+
+        @Test
+        @DisplayName("never claims more runs than the worker pool has room for")
+        void claimsOnlyFreeCapacity() {
+            List<Runnable> queued = new ArrayList<>();
+            when(scheduledReportRepository.claimDueReports(eq(NOW), any(Pageable.class)))
+                    .thenReturn(List.of(schedule("DAILY", NOW), schedule("DAILY", NOW)));
+
+            int dispatched = executor(queued::add, 2).runDue(NOW);
+
+            assertThat(dispatched).isEqualTo(2);
+            assertThat(queued).hasSize(2);
+            verify(scheduledReportRepository, times(1))
+                    .claimDueReports(eq(NOW), argThat(page -> page.getPageSize() == 2));
+        }
+
+        @Test
+        @DisplayName("renders EXCEL schedules as xlsx")
+        void rendersExcel() {
+            ScheduledReport excel = schedule("MONTHLY", NOW);
+            excel.setFormat("EXCEL");
+            when(scheduledReportRepository.claimDueReports(eq(NOW), any(Pageable.class))).thenReturn(List.of(excel));
+            when(reportExportService.render(any(), any(), eq("last-30-days"), any())).thenReturn(Optional.empty());
+
+            executor(Runnable::run, 20).runDue(NOW);
+
+            verify(reportExportService).render(any(), eq(USER_ID.toString()), eq("last-30-days"),
+                    eq(ReportExportService.Format.XLSX));
+        }
+
+        @Test
+        @DisplayName("marks unsupported formats FAILED without rendering")
+        void rejectsUnsupportedFormat() {
+            ScheduledReport json = schedule("DAILY", NOW);
+            json.setFormat("JSON");
+            ReportHistory job = new ReportHistory();
+            when(scheduledReportRepository.claimDueReports(eq(NOW), any(Pageable.class))).thenReturn(List.of(json));
+            when(reportExportService.findJob(eq(USER_ID.toString()), any())).thenReturn(Optional.of(job));
+
+            executor(Runnable::run, 20).runDue(NOW);
+
+            verify(reportExportService).markFailed(job, "Unsupported format JSON");
+            verify(reportExportService, never()).render(any(), any(), any(), any());
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // delivery
+    // ─────────────────────────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("email delivery")
+    class Delivery {
+
+        @Test
+        @DisplayName("emails the rendered PDF to the delivery address")
+        void emailsAttachment() throws Exception {
+            Path file = Files.writeString(exportDir.resolve("report.pdf"), "%PDF-1.4");
+            ScheduledReport report = schedule("WEEKLY", NOW);
+            report.setDeliveryMethod("EMAIL");
+            report.setDeliveryEmail("owner@example.com");
+            when(scheduledReportRepository.claimDueReports(eq(NOW), any(Pageable.class))).thenReturn(List.of(report));
+            when(reportExportService.render(any(), any(), any(), any()))
+                    .thenAnswer(inv -> Optional.of(completed(inv.getArgument(0), file)));
+            when(reportExportService.completedFile(any())).thenReturn(Optional.of(file));
+            when(mailSender.createMimeMessage()).thenReturn(new MimeMessage((Session) null));
+
+            executor(Runnable::run, 20).runDue(NOW);
+
+            verify(mailSender).send(any(MimeMessage.class));
+            verify(historyRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("keeps the file for download and notes the failure when sending fails")
+        void keepsFileWhenSendFails() throws Exception {
+            Path file = Files.writeString(exportDir.resolve("report.pdf"), "%PDF-1.4");
+            ScheduledReport report = schedule("WEEKLY", NOW);
+            report.setDeliveryMethod("EMAIL");
+            report.setDeliveryEmail("owner@example.com");
+            when(scheduledReportRepository.claimDueReports(eq(NOW), any(Pageable.class))).thenReturn(List.of(report));
+            when(reportExportService.render(any(), any(), any(), any()))
+                    .thenAnswer(inv -> Optional.of(completed(inv.getArgument(0), file)));
+            when(reportExportService.completedFile(any())).thenReturn(Optional.of(file));
+            when(mailSender.createMimeMessage()).thenReturn(new MimeMessage((Session) null));
+            doThrow(new org.springframework.mail.MailSendException("smtp down"))
+                    .when(mailSender).send(any(MimeMessage.class));
+
+            executor(Runnable::run, 20).runDue(NOW);
+
+            verify(historyRepository).save(argThat(job ->
+                    job.getStatus() == ReportHistory.ReportStatus.COMPLETED
+                            && job.getErrorMessage().startsWith("Email delivery failed")));
+            assertThat(file).exists();
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // nextRun
+    // ─────────────────────────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("nextRun()")
+    class NextRun {
+
+        @Test
+        @DisplayName("skips occurrences missed while the app was down")
+        void skipsMissedRuns() {
+            LocalDateTime due = NOW.minusDays(3);
+            assertThat(ScheduledReportExecutor.nextRun("DAILY", due, NOW)).isEqualTo(NOW.plusDays(1));
+        }
+
+        @Test
+        @DisplayName("returns null for an unknown frequency")
+        void unknownFrequency() {
+            assertThat(ScheduledReportExecutor.nextRun("HOURLY", NOW, NOW)).isNull();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.fintrack.reports.service;
+
+import com.fintrack.reports.repository.TransactionAggregateRepository;
+import com.fintrack.transactions.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TransactionRollupBackfillJob.
+ * Uses Mockito — no Spring context, no database.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TransactionRollupBackfillJob")
+class TransactionRollupBackfillJobTest {
+
+    @Mock
+    private TransactionRollupService rollupService;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private TransactionAggregateRepository aggregateRepository;
+
+    @InjectMocks
+    private TransactionRollupBackfillJob job;
+
+    private static final String ROLLED_UP = "00000000-0000-0000-0000-0000000000aa";
+    private static final String MISSING = "00000000-0000-0000-0000-0000000000bb";
+
+    @BeforeEach
+    void setUp() {
+        when(rollupService.isEnabled()).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("backfills only users without rollups")
+    void backfillsMissingUsers() {
+        when(aggregateRepository.findDistinctUserIds()).thenReturn(List.of(UUID.fromString(ROLLED_UP)));
+        when(transactionRepository.findDistinctUserIds()).thenReturn(List.of(ROLLED_UP, MISSING, "legacy-user"));
+
+        assertThat(job.backfillMissingUsers()).isEqualTo(1);
+
+        verify(rollupService).rebuildUser(MISSING);
+        verify(rollupService, never()).rebuildUser(ROLLED_UP);
+    }
+
+    @Test
+    @DisplayName("nightly rebuilds users whose rollups drifted, even when they have some")
+    void reconcilesDriftedUsers() {
+        when(aggregateRepository.findUserIdsOutOfStep()).thenReturn(List.of(ROLLED_UP, MISSING, "legacy-user"));
+        doThrow(new IllegalStateException("db down")).when(rollupService).rebuildUser(ROLLED_UP);
+
+        job.nightly();
+
+        verify(rollupService).rebuildUser(ROLLED_UP);
+        verify(rollupService).rebuildUser(MISSING);
+        verify(rollupService, never()).rebuildUser("legacy-user");
+    }
+}
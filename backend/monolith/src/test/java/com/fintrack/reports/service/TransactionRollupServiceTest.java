@@ -0,0 +1,71 @@
+package com.fintrack.reports.service;
+
+import com.fintrack.reports.repository.TransactionAggregateRepository;
+import com.fintrack.transactions.repository.TransactionRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TransactionRollupService.
+ * Uses Mockito — no Spring context, no database.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TransactionRollupService")
+class TransactionRollupServiceTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private TransactionAggregateRepository aggregateRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private TransactionRollupService rollupService;
+
+    private static final UUID USER = UUID.fromString("00000000-0000-0000-0000-0000000000aa");
+
+    @Test
+    @DisplayName("takes the per-user advisory lock on PostgreSQL before deleting rollups")
+    @SuppressWarnings("unchecked")
+    void locksBeforeRebuildOnPostgres() {
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn(true);
+        when(transactionRepository.findDateBounds(USER.toString())).thenReturn(List.of());
+
+        rollupService.rebuildUser(USER.toString());
+
+        InOrder order = inOrder(jdbcTemplate, aggregateRepository);
+        order.verify(jdbcTemplate).query(eq("SELECT pg_advisory_xact_lock(?)"), any(ResultSetExtractor.class),
+                eq(USER.getMostSignificantBits() ^ USER.getLeastSignificantBits()));
+        order.verify(aggregateRepository).deleteAllByUserId(USER);
+    }
+
+    @Test
+    @DisplayName("rebuilds without the lock on other databases")
+    @SuppressWarnings("unchecked")
+    void noLockElsewhere() {
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn(false);
+        when(transactionRepository.findDateBounds(USER.toString())).thenReturn(List.of());
+
+        rollupService.rebuildUser(USER.toString());
+
+        verify(aggregateRepository).deleteAllByUserId(USER);
+        verify(jdbcTemplate, never()).query(anyString(), any(ResultSetExtractor.class), any(Object[].class));
+    }
+}
@@ -6,6 +6,7 @@ import com.fintrack.auth.security.JwtUtil;
 import com.fintrack.transactions.dto.CreateTransactionRequest;
 import com.fintrack.transactions.dto.TransactionResponse;
 import com.fintrack.transactions.repository.TransactionRepository;
+import com.fintrack.transactions.service.TransactionExportService;
 import com.fintrack.transactions.service.TransactionService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -57,6 +58,9 @@ class TransactionControllerTest {
     @SuppressWarnings("unused")
     private TransactionRepository transactionRepository;
 
+    @MockBean
+    private TransactionExportService transactionExportService;
+
     private ObjectMapper objectMapper;
     private static final String USER_ID = "user-txn-001";
 
@@ -100,23 +104,25 @@ class TransactionControllerTest {
         @Test
         @DisplayName("returns 200 with list of transactions")
         void validUser_returnsTransactions() throws Exception {
-            when(transactionService.getAllTransactions(USER_ID))
-                    .thenReturn(List.of(
+            when(transactionService.listTransactions(USER_ID, null, 500))
+                    .thenReturn(new TransactionService.TransactionPage(List.of(
                             sampleResponse(1L, "EXPENSE", 45.00),
                             sampleResponse(2L, "INCOME",  3000.00)
-                    ));
+                    ), null));
 
             mockMvc.perform(get("/api/transactions")
                             .header("X-User-Id", USER_ID))
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$.length()").value(2))
-                    .andExpect(jsonPath("$[0].userId").value(USER_ID));
+                    .andExpect(jsonPath("$[0].userId").value(USER_ID))
+                    .andExpect(header().doesNotExist("X-Next-Cursor"));
         }
 
         @Test
         @DisplayName("returns empty array when user has no transactions")
         void emptyList() throws Exception {
-            when(transactionService.getAllTransactions(USER_ID)).thenReturn(List.of());
+            when(transactionService.listTransactions(USER_ID, null, 500))
+                    .thenReturn(new TransactionService.TransactionPage(List.of(), null));
 
             mockMvc.perform(get("/api/transactions")
                             .header("X-User-Id", USER_ID))
@@ -125,23 +131,32 @@ class TransactionControllerTest {
         }
 
         @Test
-        @DisplayName("respects limit query parameter (caps at MAX)")
-        void respectsLimitParam() throws Exception {
-            // Return 5 items, but limit=2 — controller should trim to 2
-            List<TransactionResponse> five = List.of(
-                    sampleResponse(1L, "EXPENSE", 10),
-                    sampleResponse(2L, "EXPENSE", 20),
-                    sampleResponse(3L, "EXPENSE", 30),
-                    sampleResponse(4L, "EXPENSE", 40),
-                    sampleResponse(5L, "EXPENSE", 50)
-            );
-            when(transactionService.getAllTransactions(USER_ID)).thenReturn(five);
+        @DisplayName("passes the cursor and capped limit and returns the next cursor in headers")
+        void pagesWithCursor() throws Exception {
+            when(transactionService.listTransactions(USER_ID, "abc", 2000))
+                    .thenReturn(new TransactionService.TransactionPage(
+                            List.of(sampleResponse(3L, "EXPENSE", 10)), "def"));
 
             mockMvc.perform(get("/api/transactions")
                             .header("X-User-Id", USER_ID)
-                            .param("limit", "2"))
+                            .param("limit", "5000")
+                            .param("cursor", "abc"))
                     .andExpect(status().isOk())
-                    .andExpect(jsonPath("$.length()").value(2));
+                    .andExpect(jsonPath("$.length()").value(1))
+                    .andExpect(header().string("X-Next-Cursor", "def"))
+                    .andExpect(header().string("Link", "<http://localhost/api/transactions?cursor=def&limit=2000>; rel=\"next\""));
+        }
+
+        @Test
+        @DisplayName("returns 400 for a malformed cursor")
+        void invalidCursor() throws Exception {
+            when(transactionService.listTransactions(USER_ID, "%%%", 500))
+                    .thenThrow(new IllegalArgumentException("Invalid cursor"));
+
+            mockMvc.perform(get("/api/transactions")
+                            .header("X-User-Id", USER_ID)
+                            .param("cursor", "%%%"))
+                    .andExpect(status().isBadRequest());
         }
     }
 
@@ -265,4 +280,85 @@ class TransactionControllerTest {
                     .andExpect(jsonPath("$.transactionCount").value(10));
         }
     }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // GET /api/transactions/export/xlsx
+    // ─────────────────────────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("GET /api/transactions/export/xlsx")
+    class ExportXlsx {
+
+        @Test
+        @DisplayName("returns 401 without user header")
+        void missingHeader_returns401() throws Exception {
+            mockMvc.perform(get("/api/transactions/export/xlsx"))
+                    .andExpect(status().isUnauthorized());
+        }
+
+        @Test
+        @DisplayName("returns 400 for an unparseable date")
+        void badDate_returns400() throws Exception {
+            mockMvc.perform(get("/api/transactions/export/xlsx")
+                            .param("startDate", "yesterday")
+                            .header("X-User-Id", USER_ID))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("streams the workbook written by the export service")
+        void streamsWorkbook() throws Exception {
+            doAnswer(inv -> {
+                inv.<java.io.OutputStream>getArgument(3).write("PK".getBytes());
+                return 1;
+            }).when(transactionExportService).writeXlsx(eq(USER_ID), eq(LocalDate.of(2024, 1, 1)), isNull(), any());
+
+            var result = mockMvc.perform(get("/api/transactions/export/xlsx")
+                            .param("startDate", "2024-01-01")
+                            .header("X-User-Id", USER_ID))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Content-Type", TransactionExportService.XLSX_CONTENT_TYPE))
+                    .andExpect(content().string("PK"));
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // GET /api/transactions/export/csv and /export/ndjson
+    // ─────────────────────────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("GET /api/transactions/export/csv|ndjson")
+    class ExportText {
+
+        @Test
+        @DisplayName("streams CSV written by the export service")
+        void streamsCsv() throws Exception {
+            doAnswer(inv -> {
+                inv.<java.io.OutputStream>getArgument(3).write("id,date\n".getBytes());
+                return 0;
+            }).when(transactionExportService).writeCsv(eq(USER_ID), isNull(), isNull(), any());
+
+            var result = mockMvc.perform(get("/api/transactions/export/csv")
+                            .header("X-User-Id", USER_ID))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Content-Type", "text/csv"))
+                    .andExpect(header().string("Content-Disposition", "attachment; filename=\"transactions.csv\""))
+                    .andExpect(content().string("id,date\n"));
+        }
+
+        @Test
+        @DisplayName("returns 401 for NDJSON without user header")
+        void ndjsonMissingHeader_returns401() throws Exception {
+            mockMvc.perform(get("/api/transactions/export/ndjson"))
+                    .andExpect(status().isUnauthorized());
+        }
+    }
 }
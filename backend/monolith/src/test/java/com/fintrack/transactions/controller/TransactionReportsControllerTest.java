@@ -0,0 +1,169 @@
+package com.fintrack.transactions.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fintrack.auth.security.JwtUtil;
+import com.fintrack.reports.service.ReportSnapshot;
+import com.fintrack.transactions.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Controller slice tests for TransactionReportsController.
+ */
+@WebMvcTest(
+    controllers = TransactionReportsController.class,
+    excludeAutoConfiguration = SecurityAutoConfiguration.class
+)
+@ActiveProfiles("test")
+@DisplayName("TransactionReportsController")
+class TransactionReportsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private TransactionRepository transactionRepository;
+
+    @MockBean
+    private TransactionTemplate transactionTemplate;
+
+    // Required so @WebMvcTest can wire the JwtAuthenticationFilter in SecurityConfig
+    @MockBean
+    @SuppressWarnings("unused")
+    private JwtUtil jwtUtil;
+
+    private static final String USER_ID = "user-rpt-002";
+
+    @BeforeEach
+    void setUp() {
+        // Run the callback inline — there is no real transaction manager in the slice
+        doAnswer(inv -> {
+            inv.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // GET /api/transactions/reports (NDJSON)
+    // ─────────────────────────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("GET /api/transactions/reports as NDJSON")
+    class StreamReports {
+
+        @Test
+        @DisplayName("streams one compact row per transaction that decodes into a snapshot")
+        void streamsCompactRows() throws Exception {
+            LocalDate day = LocalDate.of(2026, 3, 14);
+            when(transactionRepository.streamReportRows(USER_ID, day.minusDays(30), day))
+                    .thenReturn(Stream.of(
+                            new Object[] { day, new BigDecimal("42.5"), "EXPENSE", "Food & Dining", "Grocer" },
+                            new Object[] { day, new BigDecimal("3000"), "INCOME", "Income", null },
+                            new Object[] { null, new BigDecimal("1"), "EXPENSE", "Other", "Skipped" }));
+
+            MvcResult pending = mockMvc.perform(get("/api/transactions/reports")
+                            .param("userId", USER_ID)
+                            .param("startDate", day.minusDays(30).toString())
+                            .param("endDate", day.toString())
+                            .accept(MediaType.APPLICATION_NDJSON))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            MvcResult result = mockMvc.perform(asyncDispatch(pending))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                    .andReturn();
+
+            byte[] body = result.getResponse().getContentAsByteArray();
+            assertThat(new String(body)).startsWith("[" + day.toEpochDay() + ",4250,\"EXPENSE\"");
+
+            ReportSnapshot snapshot = ReportSnapshot.fromNdjson(new ByteArrayInputStream(body),
+                    objectMapper.getFactory(), day.minusDays(30), day, null, null);
+            assertThat(snapshot.size()).isEqualTo(2);
+            assertThat(snapshot.currentTotals().expenses()).isEqualByComparingTo("42.50");
+            assertThat(snapshot.currentTotals().income()).isEqualByComparingTo("3000");
+            assertThat(snapshot.vendorName(snapshot.vendorId(0))).isEqualTo("Grocer");
+        }
+
+        @Test
+        @DisplayName("returns 400 for an unparseable date")
+        void rejectsBadDate() throws Exception {
+            mockMvc.perform(get("/api/transactions/reports")
+                            .param("userId", USER_ID)
+                            .param("startDate", "not-a-date")
+                            .param("endDate", "2026-03-14")
+                            .accept(MediaType.APPLICATION_NDJSON))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // GET /api/transactions/reports/top-expenses
+    // ─────────────────────────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("GET /api/transactions/reports/top-expenses")
+    class TopExpenses {
+
+        @Test
+        @DisplayName("returns the database-ranked vendors limited to the requested size")
+        void returnsRankedVendors() throws Exception {
+            when(transactionRepository.findTopExpenseVendors(eq(USER_ID), any(), any(), any()))
+                    .thenReturn(List.of(
+                            new Object[] { "Landlord", "Housing", new BigDecimal("1200.00"), 1L },
+                            new Object[] { null, "Other", new BigDecimal("80.00"), 3L }));
+
+            mockMvc.perform(get("/api/transactions/reports/top-expenses")
+                            .param("userId", USER_ID)
+                            .param("startDate", "2026-01-01")
+                            .param("endDate", "2026-01-31")
+                            .param("limit", "2"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(2))
+                    .andExpect(jsonPath("$[0].vendor").value("Landlord"))
+                    .andExpect(jsonPath("$[0].amount").value(1200.00))
+                    .andExpect(jsonPath("$[1].vendor").value(""))
+                    .andExpect(jsonPath("$[1].frequency").value(3));
+
+            verify(transactionRepository).findTopExpenseVendors(eq(USER_ID), eq(LocalDate.of(2026, 1, 1)),
+                    eq(LocalDate.of(2026, 1, 31)), argThat(p -> p.getPageSize() == 2 && p.getPageNumber() == 0));
+        }
+
+        @Test
+        @DisplayName("returns 400 for a non-positive limit")
+        void rejectsNonPositiveLimit() throws Exception {
+            mockMvc.perform(get("/api/transactions/reports/top-expenses")
+                            .param("userId", USER_ID)
+                            .param("startDate", "2026-01-01")
+                            .param("endDate", "2026-01-31")
+                            .param("limit", "0"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.fintrack.transactions.service;
+
+import com.fintrack.transactions.dto.TransactionDTO;
+import com.fintrack.transactions.service.TransactionImportService.ImportRow;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for TransactionCsvReader and CsvSchema detection.
+ * No Spring context, no database.
+ */
+@DisplayName("TransactionCsvReader")
+class TransactionCsvReaderTest {
+
+    private static final String USER_ID = "user-csv-001";
+
+    private final TransactionCsvReader reader = new TransactionCsvReader(50);
+
+    private List<ImportRow> read(String csv) throws IOException {
+        return read(csv, USER_ID);
+    }
+
+    private List<ImportRow> read(String csv, String userId) throws IOException {
+        try (Stream<ImportRow> rows = reader.rows(new StringReader(csv), userId)) {
+            return rows.toList();
+        }
+    }
+
+    private static TransactionDTO tx(ImportRow row) {
+        assertThat(row.error()).isNull();
+        return row.transaction();
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Schema detection
+    // ─────────────────────────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("schema detection")
+    class Detection {
+
+        @Test
+        @DisplayName("maps aliased columns and reads ISO dates and plain amounts")
+        void isoAndAliases() throws IOException {
+            List<ImportRow> rows = read("Txn_Date,Desc,Value,Category,Type,Vendor,Memo\n"
+                    + "2026-10-01,Salary,\"$2,500.00\",Income,INCOME,ACME,October\n"
+                    + "2026-10-02,Coffee,(3.20),,EXPENSE,,\n");
+
+            TransactionDTO salary = tx(rows.get(0));
+            assertThat(salary.getDate()).isEqualTo(LocalDate.of(2026, 10, 1));
+            assertThat(salary.getAmount()).isEqualByComparingTo("2500.00");
+            assertThat(salary.getType()).isEqualTo("INCOME");
+            assertThat(salary.getMerchantName()).isEqualTo("ACME");
+            assertThat(salary.getNotes()).isEqualTo("October");
+            assertThat(salary.getUserId()).isEqualTo(USER_ID);
+
+            TransactionDTO coffee = tx(rows.get(1));
+            assertThat(coffee.getAmount()).isEqualByComparingTo("3.20");
+            assertThat(coffee.getCategory()).isEqualTo("EXPENSE");
+            assertThat(coffee.getMerchantName()).isNull();
+        }
+
+        @Test
+        @DisplayName("detects semicolons, day-first dates and decimal commas")
+        void europeanExport() throws IOException {
+            List<ImportRow> rows = read("Datum;Date;Description;Amount\n"
+                    + "x;03.10.2026;Bakery;1.234,56 €\n"
+                    + "x;25.10.2026;Rent;-850,00\n");
+
+            assertThat(tx(rows.get(0)).getDate()).isEqualTo(LocalDate.of(2026, 10, 3));
+            assertThat(tx(rows.get(0)).getAmount()).isEqualTo(new BigDecimal("1234.56"));
+            assertThat(tx(rows.get(1)).getDate()).isEqualTo(LocalDate.of(2026, 10, 25));
+            assertThat(tx(rows.get(1)).getAmount()).isEqualTo(new BigDecimal("850.00"));
+        }
+
+        @Test
+        @DisplayName("reads month-first dates when the second field passes 12")
+        void monthFirst() throws IOException {
+            List<ImportRow> rows = read("date,description,amount\n"
+                    + "10/3/2026,a,1\n"
+                    + "10/31/2026,b,2\n");
+
+            assertThat(rows).extracting(r -> tx(r).getDate())
+                    .containsExactly(LocalDate.of(2026, 10, 3), LocalDate.of(2026, 10, 31));
+        }
+
+        @Test
+        @DisplayName("rejects rows that do not fit the detected layout, with their line")
+        void rejectsBadRows() throws IOException {
+            List<ImportRow> rows = read("date,description,amount\n"
+                    + "2026-10-01,ok,1.00\n"
+                    + "2026-02-30,bad date,1.00\n"
+                    + "2026-10-02,no amount,\n"
+                    + "2026-10-03,bad amount,1.2.3\n");
+
+            assertThat(rows.get(0).error()).isNull();
+            assertThat(rows.subList(1, 4)).extracting(ImportRow::line, ImportRow::error).containsExactly(
+                    tuple(3L, "Unable to parse date: 2026-02-30"),
+                    tuple(4L, "Amount is required"),
+                    tuple(5L, "Invalid amount: 1.2.3"));
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Presets
+    // ─────────────────────────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("presets")
+    class Presets {
+
+        @Test
+        @DisplayName("reuses a settled schema for a later file with the same header")
+        void reusesSettledSchema() throws IOException {
+            read("Date;Description;Amount\n25/10/2026;Rent;850,00\n");
+
+            // Ambiguous on its own: would default to month first and a decimal point
+            List<ImportRow> rows = read("Date;Description;Amount\n03/10/2026;Bakery;1.234\n");
+
+            assertThat(tx(rows.get(0)).getDate()).isEqualTo(LocalDate.of(2026, 10, 3));
+            assertThat(tx(rows.get(0)).getAmount()).isEqualTo(new BigDecimal("1234"));
+        }
+
+        @Test
+        @DisplayName("does not keep a schema the samples left ambiguous")
+        void skipsAmbiguousSchema() throws IOException {
+            read("Date;Description;Amount\n03/10/2026;Bakery;1\n");
+
+            List<ImportRow> rows = read("Date;Description;Amount\n25/10/2026;Rent;850,00\n");
+
+            assertThat(tx(rows.get(0)).getDate()).isEqualTo(LocalDate.of(2026, 10, 25));
+            assertThat(tx(rows.get(0)).getAmount()).isEqualTo(new BigDecimal("850.00"));
+        }
+
+        @Test
+        @DisplayName("does not learn a schema from a file with no rows")
+        void skipsEmptyFile() throws IOException {
+            assertThat(read("date,description,amount\n")).isEmpty();
+
+            List<ImportRow> rows = read("date,description,amount\n10/3/2026,a,1\n");
+
+            assertThat(tx(rows.get(0)).getDate()).isEqualTo(LocalDate.of(2026, 10, 3));
+        }
+
+        @Test
+        @DisplayName("lets a file's own samples overrule the preset for its header")
+        void samplesOverrulePreset() throws IOException {
+            read("Date;Description;Amount\n25/10/2026;Rent;850,00\n");
+
+            List<ImportRow> rows = read("Date;Description;Amount\n10/31/2026;Rent;850.50\n");
+
+            assertThat(tx(rows.get(0)).getDate()).isEqualTo(LocalDate.of(2026, 10, 31));
+            assertThat(tx(rows.get(0)).getAmount()).isEqualTo(new BigDecimal("850.50"));
+        }
+
+        @Test
+        @DisplayName("keeps presets to the user whose file settled them")
+        void presetsArePerUser() throws IOException {
+            read("Date;Description;Amount\n25/10/2026;Rent;850,00\n");
+
+            List<ImportRow> rows = read("Date;Description;Amount\n03/10/2026;Bakery;1.234\n", "user-csv-002");
+
+            assertThat(tx(rows.get(0)).getDate()).isEqualTo(LocalDate.of(2026, 3, 10));
+            assertThat(tx(rows.get(0)).getAmount()).isEqualTo(new BigDecimal("1.234"));
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.fintrack.transactions.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fintrack.transactions.repository.TransactionRepository;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TransactionExportService.
+ * Uses Mockito — no Spring context, no database.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TransactionExportService")
+class TransactionExportServiceTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    private TransactionExportService transactionExportService;
+
+    private static final String USER_ID = "user-export-001";
+
+    @BeforeEach
+    void setUp() {
+        transactionExportService = new TransactionExportService(transactionRepository, new ObjectMapper());
+    }
+
+    private static Object[] ledgerRow(long id, LocalDate date, String description, String amount) {
+        return new Object[] { id, date, description, null, "Food", "EXPENSE",
+                new BigDecimal(amount), "completed", null, null };
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // writeXlsx
+    // ─────────────────────────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("writeXlsx()")
+    class WriteXlsx {
+
+        @Test
+        @DisplayName("writes every streamed row, including those flushed out of the window")
+        void writesAllRows() throws Exception {
+            int count = TransactionExportService.XLSX_ROW_WINDOW * 5;
+            LocalDate day = LocalDate.of(2024, 3, 1);
+            when(transactionRepository.streamLedgerRows(USER_ID, day, day)).thenReturn(
+                    IntStream.range(0, count).mapToObj(i -> ledgerRow(i, day, "Txn " + i, "12.50")));
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            int written = transactionExportService.writeXlsx(USER_ID, day, day, out);
+
+            assertThat(written).isEqualTo(count);
+            try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+                Sheet sheet = workbook.getSheet("Transactions");
+                assertThat(sheet.getLastRowNum()).isEqualTo(count);
+                Row first = sheet.getRow(1);
+                assertThat(first.getCell(2).getStringCellValue()).isEqualTo("Txn 0");
+                assertThat(first.getCell(1).getLocalDateTimeCellValue().toLocalDate()).isEqualTo(day);
+                assertThat(first.getCell(6).getNumericCellValue()).isEqualTo(12.5);
+                assertThat(first.getCell(3)).isNull();
+            }
+        }
+
+        @Test
+        @DisplayName("exports the whole ledger when no dates are given")
+        void openEndedRange() {
+            when(transactionRepository.streamLedgerRows(USER_ID,
+                    TransactionExportService.EARLIEST, TransactionExportService.LATEST)).thenReturn(Stream.empty());
+
+            int written = transactionExportService.writeXlsx(USER_ID, null, null, new ByteArrayOutputStream());
+
+            assertThat(written).isZero();
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // writeCsv / writeNdjson
+    // ─────────────────────────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("writeCsv() / writeNdjson()")
+    class TextFormats {
+
+        private final LocalDate day = LocalDate.of(2024, 3, 1);
+
+        @Test
+        @DisplayName("writes a header and quotes values that contain commas")
+        void writesCsv() {
+            when(transactionRepository.streamLedgerRows(USER_ID, day, day)).thenReturn(Stream.of(
+                    ledgerRow(1, day, "Coffee, large", "4.50"),
+                    ledgerRow(2, day, "Lunch", "12.00")));
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            int written = transactionExportService.writeCsv(USER_ID, day, day, out);
+
+            assertThat(written).isEqualTo(2);
+            assertThat(out.toString(StandardCharsets.UTF_8).split("\r\n")).containsExactly(
+                    "id,date,description,merchant,category,type,amount,status,notes,tags",
+                    "1,2024-03-01,\"Coffee, large\",,Food,EXPENSE,4.50,completed,,",
+                    "2,2024-03-01,Lunch,,Food,EXPENSE,12.00,completed,,");
+        }
+
+        @Test
+        @DisplayName("writes one JSON object per line with exact amounts")
+        void writesNdjson() throws Exception {
+            when(transactionRepository.streamLedgerRows(USER_ID, day, day)).thenReturn(Stream.of(
+                    ledgerRow(1, day, "Coffee", "4.50"),
+                    ledgerRow(2, day, "Lunch", "12.00")));
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            int written = transactionExportService.writeNdjson(USER_ID, day, day, out);
+
+            String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+            assertThat(written).isEqualTo(2);
+            assertThat(lines).hasSize(2);
+            JsonNode first = new ObjectMapper().readTree(lines[0]);
+            assertThat(first.get("id").asLong()).isEqualTo(1);
+            assertThat(first.get("date").asText()).isEqualTo("2024-03-01");
+            assertThat(first.get("amount").decimalValue()).isEqualByComparingTo("4.50");
+            assertThat(first.get("merchant").isNull()).isTrue();
+        }
+    }
+}
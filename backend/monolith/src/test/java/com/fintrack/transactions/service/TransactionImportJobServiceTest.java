@@ -0,0 +1,230 @@
+package com.fintrack.transactions.service;
+
+import com.fintrack.transactions.entity.ImportJob;
+import com.fintrack.transactions.repository.ImportJobRepository;
+import com.fintrack.transactions.service.TransactionImportService.ImportResult;
+import com.fintrack.transactions.service.TransactionImportService.ImportRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TransactionImportJobService.
+ * Uses Mockito and a same-thread executor — no Spring context, no database.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TransactionImportJobService")
+class TransactionImportJobServiceTest {
+
+    @Mock
+    private ImportJobRepository jobRepository;
+
+    @Mock
+    private TransactionImportService importService;
+
+    @TempDir
+    Path spoolDir;
+
+    private final List<Long> progressBytes = new ArrayList<>();
+
+    private static final String USER_ID = "user-job-001";
+    private static final String CSV = "date,description,amount\n"
+            + "2026-10-01,Groceries,12.50\n"
+            + "2026-10-02,Coffee,3.20\n"
+            + "not-a-date,Broken,1.00\n";
+
+    /**
+     * Simulates the repository: assigns ids on first save and serves them back from findById.
+     * Records the bytes read at each progress save.
+     */
+    private void stubRepository() {
+        when(jobRepository.save(any(ImportJob.class))).thenAnswer(inv -> {
+            ImportJob job = inv.getArgument(0);
+            if (job.getId() == null) {
+                job.setId(UUID.randomUUID());
+                lenient().when(jobRepository.findById(job.getId())).thenReturn(Optional.of(job));
+            }
+            if (job.getStatus() == ImportJob.Status.PROCESSING && job.getRowsRead() > 0) {
+                progressBytes.add(job.getBytesRead());
+            }
+            return job;
+        });
+    }
+
+    /** Drains the rows like the real import and reports progress once. */
+    @SuppressWarnings("unchecked")
+    private void stubImport() {
+        when(importService.importTransactions(eq(USER_ID), any(Iterator.class), anyBoolean(), any())).thenAnswer(inv -> {
+            Iterator<ImportRow> rows = inv.getArgument(1);
+            Consumer<ImportResult> onChunk = inv.getArgument(3);
+            int total = 0;
+            List<String> errors = new ArrayList<>();
+            while (rows.hasNext()) {
+                ImportRow row = rows.next();
+                total++;
+                if (row.error() != null) errors.add("Row " + row.line() + ": " + row.error());
+            }
+            ImportResult result = new ImportResult(total, total - errors.size(), 0, errors.size(), errors, false);
+            onChunk.accept(result);
+            return result;
+        });
+    }
+
+    private TransactionImportJobService service(Executor executor) {
+        return new TransactionImportJobService(jobRepository, importService, new TransactionCsvReader(50),
+                executor, spoolDir.toString(), DataSize.ofMegabytes(100), 72, 60);
+    }
+
+    private static MockMultipartFile upload(String content) {
+        return new MockMultipartFile("file", "statement.csv", "text/csv", content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // submit
+    // ─────────────────────────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("submit()")
+    class Submit {
+
+        @BeforeEach
+        void setUp() {
+            stubRepository();
+        }
+
+        @Test
+        @DisplayName("streams the spooled file, records progress and removes the file")
+        void completesJob() throws Exception {
+            stubImport();
+
+            ImportJob job = service(Runnable::run).submit(USER_ID, upload(CSV), false);
+
+            assertThat(job.getStatus()).isEqualTo(ImportJob.Status.COMPLETED);
+            assertThat(job.getRowsRead()).isEqualTo(3);
+            assertThat(job.getImported()).isEqualTo(2);
+            assertThat(job.getFailed()).isEqualTo(1);
+            assertThat(job.errorList()).containsExactly("Row 4: Unable to parse date: not-a-date");
+            assertThat(job.progressPercent()).isEqualTo(100);
+            assertThat(progressBytes).containsExactly((long) CSV.length());
+            assertThat(spoolDir.resolve(job.getId() + ".csv")).doesNotExist();
+        }
+
+        @Test
+        @DisplayName("leaves clearing the user's transactions to the import itself")
+        void passesClearFirstToImport() throws Exception {
+            stubImport();
+
+            ImportJob job = service(Runnable::run).submit(USER_ID, upload(CSV), true);
+
+            assertThat(job.isClearFirst()).isTrue();
+            verify(importService).importTransactions(eq(USER_ID), any(), eq(true), any());
+        }
+
+        @Test
+        @DisplayName("fails the job and drops the spooled file when the queue is full")
+        void queueFull() throws Exception {
+            Executor full = task -> { throw new RejectedExecutionException("full"); };
+
+            assertThatThrownBy(() -> service(full).submit(USER_ID, upload(CSV), false))
+                    .isInstanceOf(RejectedExecutionException.class);
+
+            verify(jobRepository, atLeastOnce()).save(argThat(job ->
+                    job.getStatus() == ImportJob.Status.FAILED
+                            && "Import queue is full, try again shortly".equals(job.getErrorMessage())));
+            assertThat(spoolDir).isEmptyDirectory();
+            verifyNoInteractions(importService);
+        }
+
+        @Test
+        @DisplayName("keeps committed counters when the import stops part-way")
+        void failsPartWay() throws Exception {
+            when(importService.importTransactions(eq(USER_ID), any(), anyBoolean(), any())).thenAnswer(inv -> {
+                inv.<Consumer<ImportResult>>getArgument(3).accept(new ImportResult(5000, 5000, 0, 0, List.of(), false));
+                throw new IllegalStateException("malformed quote");
+            });
+
+            ImportJob job = service(Runnable::run).submit(USER_ID, upload(CSV), false);
+
+            assertThat(job.getStatus()).isEqualTo(ImportJob.Status.FAILED);
+            assertThat(job.getImported()).isEqualTo(5000);
+            assertThat(job.getErrorMessage()).startsWith("Import stopped after 5000 rows");
+            try (var files = Files.list(spoolDir)) {
+                assertThat(files).isEmpty();
+            }
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // purgeExpired
+    // ─────────────────────────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("purgeExpired()")
+    class PurgeExpired {
+
+        @Test
+        @DisplayName("deletes finished jobs past retention and keeps running ones")
+        void purgesFinishedJobs() {
+            ImportJob done = new ImportJob();
+            done.setStatus(ImportJob.Status.COMPLETED);
+            ImportJob running = new ImportJob();
+            running.setStatus(ImportJob.Status.PROCESSING);
+            when(jobRepository.findByCreatedAtBefore(any(LocalDateTime.class))).thenReturn(List.of(done, running));
+
+            service(Runnable::run).purgeExpired();
+
+            verify(jobRepository).delete(done);
+            verify(jobRepository, never()).delete(running);
+        }
+
+        @Test
+        @DisplayName("fails jobs that lost their worker and removes leftover spooled files")
+        void failsOrphanedJobs() throws Exception {
+            ImportJob orphan = new ImportJob();
+            orphan.setId(UUID.randomUUID());
+            orphan.setStatus(ImportJob.Status.PROCESSING);
+            orphan.setImported(5000);
+            Path orphanFile = Files.writeString(spoolDir.resolve(orphan.getId() + ".csv"), CSV);
+            Path leftover = Files.writeString(spoolDir.resolve(UUID.randomUUID() + ".csv"), CSV);
+            Files.setLastModifiedTime(leftover, FileTime.from(Instant.now().minus(Duration.ofDays(4))));
+            Path queued = Files.writeString(spoolDir.resolve(UUID.randomUUID() + ".csv"), CSV);
+            when(jobRepository.findStale(anyCollection(), any(LocalDateTime.class))).thenReturn(List.of(orphan));
+
+            service(Runnable::run).purgeExpired();
+
+            assertThat(orphan.getStatus()).isEqualTo(ImportJob.Status.FAILED);
+            assertThat(orphan.getErrorMessage()).startsWith("Import was interrupted after 5000 rows");
+            verify(jobRepository).save(orphan);
+            assertThat(orphanFile).doesNotExist();
+            assertThat(leftover).doesNotExist();
+            assertThat(queued).exists();
+        }
+    }
+}
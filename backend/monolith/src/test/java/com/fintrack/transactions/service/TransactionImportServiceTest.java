@@ -0,0 +1,346 @@
+package com.fintrack.transactions.service;
+
+import com.fintrack.transactions.client.MLClassifierClient;
+import com.fintrack.transactions.dto.TransactionDTO;
+import com.fintrack.transactions.event.TransactionsChangedEvent;
+import com.fintrack.transactions.service.TransactionImportService.ImportResult;
+import com.fintrack.transactions.service.TransactionImportService.ImportRow;
+import com.fintrack.transactions.service.TransactionImportService.Pending;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TransactionImportService.
+ * Uses Mockito — no Spring context, no database.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TransactionImportService")
+class TransactionImportServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private MLClassifierClient mlClassifierClient;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private TransactionImportService importService;
+
+    private final List<List<Long>> insertedChunks = new ArrayList<>();
+
+    private static final String USER_ID = "user-imp-001";
+    private static final LocalDate DAY = LocalDate.of(2026, 10, 1);
+
+    @BeforeEach
+    void setUp() {
+        importService = new TransactionImportService(jdbcTemplate, transactionTemplate, mlClassifierClient,
+                eventPublisher, 500, 2);
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(inv ->
+                inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        lenient().when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class))).thenAnswer(inv -> {
+                    Collection<Pending> chunk = inv.getArgument(1);
+                    insertedChunks.add(chunk.stream().map(pending -> pending.row().line()).toList());
+                    int[] counts = new int[chunk.size()];
+                    Arrays.fill(counts, 1);
+                    return new int[][] { counts };
+                });
+    }
+
+    private static ImportRow row(long line, String description, String category, LocalDate date) {
+        TransactionDTO t = new TransactionDTO();
+        t.setDate(date);
+        t.setDescription(description);
+        t.setAmount(new BigDecimal("12.50"));
+        t.setType("EXPENSE");
+        t.setCategory(category);
+        return ImportRow.of(line, t);
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Validation and categorization
+    // ─────────────────────────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("validation")
+    class Validation {
+
+        @Test
+        @DisplayName("reports invalid and unparseable rows by line and imports the rest")
+        void rejectsInvalidRows() {
+            ImportRow tooLong = row(3, "x".repeat(501), "Food", DAY);
+            ImportRow wrongType = row(4, "Refund", "Food", DAY);
+            wrongType.transaction().setType("TRANSFER");
+
+            ImportResult result = importService.importTransactions(USER_ID, List.of(
+                    row(2, "Groceries", "Food", DAY), tooLong, wrongType,
+                    ImportRow.rejected(5, "Amount is required")));
+
+            assertThat(result.totalRows()).isEqualTo(4);
+            assertThat(result.imported()).isEqualTo(1);
+            assertThat(result.failed()).isEqualTo(3);
+            assertThat(result.errors()).containsExactly(
+                    "Row 3: Description is longer than 500 characters",
+                    "Row 4: Type must be INCOME or EXPENSE",
+                    "Row 5: Amount is required");
+            assertThat(insertedChunks).containsExactly(List.of(2L));
+        }
+
+        @Test
+        @DisplayName("classifies each distinct uncategorized description once")
+        void categorizesOncePerDescription() {
+            when(mlClassifierClient.classifyTransaction(eq("Uber trip"), any(), any())).thenReturn("Transportation");
+
+            List<ImportRow> rows = List.of(row(2, "Uber trip", null, DAY), row(3, "Uber trip", "", DAY),
+                    row(4, "Uber trip", "Travel", DAY));
+            importService.importTransactions(USER_ID, rows);
+
+            verify(mlClassifierClient, times(1)).classifyTransaction(any(), any(), any());
+            assertThat(rows).extracting(r -> r.transaction().getCategory())
+                    .containsExactly("Transportation", "Transportation", "Travel");
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Chunked inserts
+    // ─────────────────────────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("chunked inserts")
+    class Chunks {
+
+        @Test
+        @DisplayName("inserts one batch per chunk and publishes one event for every date")
+        void chunksAndSingleEvent() {
+            importService.importTransactions(USER_ID, List.of(
+                    row(2, "a", "Food", DAY), row(3, "b", "Food", DAY),
+                    row(4, "c", "Food", DAY.plusDays(1)), row(5, "d", "Food", DAY.plusDays(2)),
+                    row(6, "e", "Food", DAY.plusDays(3))));
+
+            assertThat(insertedChunks).containsExactly(List.of(2L, 3L), List.of(4L, 5L), List.of(6L));
+            verify(jdbcTemplate, times(3)).batchUpdate(anyString(), anyCollection(), eq(500),
+                    any(ParameterizedPreparedStatementSetter.class));
+
+            ArgumentCaptor<TransactionsChangedEvent> event = ArgumentCaptor.forClass(TransactionsChangedEvent.class);
+            verify(eventPublisher, times(1)).publishEvent(event.capture());
+            assertThat(event.getValue().dates())
+                    .containsExactlyInAnyOrder(DAY, DAY.plusDays(1), DAY.plusDays(2), DAY.plusDays(3));
+        }
+
+        @Test
+        @DisplayName("counts a failed chunk and keeps the chunks that committed")
+        void failedChunk() {
+            when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(),
+                    any(ParameterizedPreparedStatementSetter.class)))
+                    .thenReturn(new int[][] { { 1, 1 } })
+                    .thenThrow(new DataIntegrityViolationException("value too long"));
+
+            ImportResult result = importService.importTransactions(USER_ID, List.of(
+                    row(2, "a", "Food", DAY), row(3, "b", "Food", DAY),
+                    row(4, "c", "Food", DAY.plusDays(5)), row(5, "d", "Food", DAY.plusDays(5))));
+
+            assertThat(result.imported()).isEqualTo(2);
+            assertThat(result.failed()).isEqualTo(2);
+            assertThat(result.errors()).containsExactly("Rows 4-5 not imported: value too long");
+
+            ArgumentCaptor<TransactionsChangedEvent> event = ArgumentCaptor.forClass(TransactionsChangedEvent.class);
+            verify(eventPublisher).publishEvent(event.capture());
+            assertThat(event.getValue().dates()).containsExactly(DAY);
+        }
+
+        @Test
+        @DisplayName("replaces the user's transactions in the first chunk's transaction")
+        void replacesWithFirstChunk() {
+            importService.importTransactions(USER_ID, List.of(row(2, "a", "Food", DAY), row(3, "b", "Food", DAY),
+                    row(4, "c", "Food", DAY)).iterator(), true, progress -> { });
+
+            InOrder order = inOrder(transactionTemplate, jdbcTemplate);
+            order.verify(transactionTemplate).execute(any());
+            order.verify(jdbcTemplate).update("DELETE FROM transactions WHERE user_id = ?", USER_ID);
+            order.verify(jdbcTemplate).batchUpdate(anyString(), anyCollection(), anyInt(),
+                    any(ParameterizedPreparedStatementSetter.class));
+            verify(jdbcTemplate, times(1)).update(anyString(), any(Object[].class));
+            // Nothing to deduplicate against once the old rows are gone
+            verify(jdbcTemplate, never()).queryForObject(anyString(), eq(Long.class), any(Object[].class));
+
+            ArgumentCaptor<TransactionsChangedEvent> event = ArgumentCaptor.forClass(TransactionsChangedEvent.class);
+            verify(eventPublisher).publishEvent(event.capture());
+            assertThat(event.getValue().allDates()).isTrue();
+        }
+
+        @Test
+        @DisplayName("keeps the user's transactions when a replacing import has no valid row")
+        void keepsTransactionsWhenNothingToReplaceWith() {
+            importService.importTransactions(USER_ID,
+                    List.of(ImportRow.rejected(2, "Unable to parse date: 31.02.2026")).iterator(), true, progress -> { });
+
+            verifyNoInteractions(jdbcTemplate, eventPublisher);
+        }
+
+        @Test
+        @DisplayName("publishes nothing when no row was imported")
+        void nothingImported() {
+            ImportResult result = importService.importTransactions(USER_ID,
+                    List.of(ImportRow.rejected(2, "Unable to parse date: 31.02.2026")));
+
+            assertThat(result.imported()).isZero();
+            verifyNoInteractions(jdbcTemplate, eventPublisher);
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Duplicate detection
+    // ─────────────────────────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("duplicate detection")
+    class Duplicates {
+
+        private String fingerprint(String description) {
+            return new TransactionFingerprint().next(DAY, new BigDecimal("12.50"), "EXPENSE", description, null);
+        }
+
+        /** The user already has the given fingerprints. */
+        private void existing(String... fingerprints) throws Exception {
+            when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), eq(USER_ID)))
+                    .thenReturn((long) fingerprints.length);
+            lenient().doAnswer(inv -> {
+                RowCallbackHandler handler = inv.getArgument(1);
+                ResultSet rs = mock(ResultSet.class);
+                for (String fingerprint : fingerprints) {
+                    when(rs.getString(1)).thenReturn(fingerprint);
+                    handler.processRow(rs);
+                }
+                return null;
+            }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+            when(jdbcTemplate.queryForList(startsWith("SELECT fingerprint"), eq(String.class), any(Object[].class)))
+                    .thenReturn(List.of(fingerprints));
+        }
+
+        @Test
+        @DisplayName("skips rows the user already has and inserts only new ones")
+        void skipsExisting() throws Exception {
+            existing(fingerprint("a"), fingerprint("b"));
+
+            ImportResult result = importService.importTransactions(USER_ID, List.of(
+                    row(2, "a", "Food", DAY), row(3, "b", "Food", DAY), row(4, "c", "Food", DAY)));
+
+            assertThat(result.duplicates()).isEqualTo(2);
+            assertThat(result.imported()).isEqualTo(1);
+            assertThat(insertedChunks).containsExactly(List.of(4L));
+            // Only the first chunk had rows the Bloom filter could have seen
+            verify(jdbcTemplate, times(1)).queryForList(anyString(), eq(String.class), any(Object[].class));
+        }
+
+        @Test
+        @DisplayName("counts rows a concurrent import inserted first as duplicates")
+        void countsConflictsAsDuplicates() {
+            when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(),
+                    any(ParameterizedPreparedStatementSetter.class))).thenReturn(new int[][] { { 1, 0 } });
+
+            ImportResult result = importService.importTransactions(USER_ID, List.of(
+                    row(2, "a", "Food", DAY), row(3, "b", "Food", DAY.plusDays(1))));
+
+            assertThat(result.imported()).isEqualTo(1);
+            assertThat(result.duplicates()).isEqualTo(1);
+            ArgumentCaptor<TransactionsChangedEvent> event = ArgumentCaptor.forClass(TransactionsChangedEvent.class);
+            verify(eventPublisher).publishEvent(event.capture());
+            assertThat(event.getValue().dates()).containsExactly(DAY);
+        }
+
+        @Test
+        @DisplayName("moves a hand-entered row that matches an imported one to a free fingerprint")
+        void backfillAvoidsTakenFingerprints() throws Exception {
+            TransactionFingerprint sequence = new TransactionFingerprint();
+            String imported = sequence.next(DAY, new BigDecimal("12.50"), "EXPENSE", "a", null);
+            String free = sequence.next(DAY, new BigDecimal("12.50"), "EXPENSE", "a", null);
+            existing(imported);
+            doAnswer(inv -> {
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getLong(1)).thenReturn(7L);
+                when(rs.getDate(2)).thenReturn(java.sql.Date.valueOf(DAY));
+                when(rs.getBigDecimal(3)).thenReturn(new BigDecimal("12.50"));
+                when(rs.getString(4)).thenReturn("EXPENSE");
+                when(rs.getString(5)).thenReturn("a");
+                inv.<RowCallbackHandler>getArgument(1).processRow(rs);
+                return null;
+            }).when(jdbcTemplate).query(startsWith("SELECT id"), any(RowCallbackHandler.class), eq(USER_ID));
+
+            importService.importTransactions(USER_ID, List.of(row(2, "c", "Food", DAY)));
+
+            ArgumentCaptor<List<Object[]>> updates = ArgumentCaptor.captor();
+            verify(jdbcTemplate).batchUpdate(startsWith("UPDATE"), updates.capture());
+            assertThat(updates.getValue()).singleElement()
+                    .satisfies(update -> assertThat(update).containsExactly(free, 7L));
+        }
+
+        @Test
+        @DisplayName("keeps identical rows within one file apart by occurrence")
+        void identicalRowsInOneFile() {
+            ImportResult result = importService.importTransactions(USER_ID, List.of(
+                    row(2, "Coffee", "Food", DAY), row(3, "Coffee", "Food", DAY)));
+
+            assertThat(result.imported()).isEqualTo(2);
+            assertThat(result.duplicates()).isZero();
+        }
+
+        @Test
+        @DisplayName("normalizes case, spacing and amount scale")
+        void normalizesFingerprint() {
+            String plain = new TransactionFingerprint().next(DAY, new BigDecimal("3.2"), "EXPENSE", "coffee shop", "Cafe");
+            String messy = new TransactionFingerprint().next(DAY, new BigDecimal("3.20"), "EXPENSE", "  Coffee   SHOP ",
+                    "CAFE");
+            String refund = new TransactionFingerprint().next(DAY, new BigDecimal("3.2"), "INCOME", "coffee shop", "Cafe");
+            TransactionFingerprint sameFile = new TransactionFingerprint();
+
+            assertThat(messy).isEqualTo(plain).hasSize(TransactionFingerprint.LENGTH);
+            assertThat(refund).isNotEqualTo(plain);
+            assertThat(sameFile.next(DAY, BigDecimal.ONE, "EXPENSE", "x", null))
+                    .isNotEqualTo(sameFile.next(DAY, BigDecimal.ONE, "EXPENSE", "x", null));
+        }
+
+        @Test
+        @DisplayName("keeps counting occurrences past 100k distinct rows in one file")
+        void countsOccurrencesAcrossLargeFiles() {
+            TransactionFingerprint sameFile = new TransactionFingerprint();
+            String first = sameFile.next(DAY, BigDecimal.ONE, "EXPENSE", "coffee", null);
+            for (int i = 0; i < 100_001; i++) {
+                sameFile.next(DAY, BigDecimal.valueOf(i + 2), "EXPENSE", "row", null);
+            }
+
+            assertThat(sameFile.next(DAY, BigDecimal.ONE, "EXPENSE", "coffee", null)).isNotEqualTo(first);
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.fintrack.transactions.client.MLClassifierClient;
 import com.fintrack.transactions.dto.CreateTransactionRequest;
 import com.fintrack.transactions.dto.TransactionResponse;
 import com.fintrack.transactions.entity.Transaction;
+import com.fintrack.transactions.event.TransactionsChangedEvent;
 import com.fintrack.transactions.repository.TransactionRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,6 +14,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -42,6 +44,9 @@ class TransactionServiceTest {
     @Mock
     private MLClassifierClient mlClassifierClient;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private TransactionService transactionService;
 
@@ -152,40 +157,59 @@ class TransactionServiceTest {
     }
 
     // ─────────────────────────────────────────────────────────────────────────
-    // getAllTransactions
+    // listTransactions
     // ─────────────────────────────────────────────────────────────────────────
 
     @Nested
-    @DisplayName("getAllTransactions()")
-    class GetAllTransactions {
+    @DisplayName("listTransactions()")
+    class ListTransactions {
+
+        private Transaction txn(long id, LocalDate date) {
+            Transaction t = buildTxn(id, "EXPENSE", 10, "Food");
+            t.setDate(date);
+            return t;
+        }
 
         @Test
-        @DisplayName("returns all transactions sorted by date descending")
-        void returnsSortedDescending() {
-            Transaction older = buildTxn(1L, "EXPENSE", 20, "Food");
-            older.setDate(LocalDate.of(2026, 3, 1));
-            Transaction newer = buildTxn(2L, "INCOME", 100, "Income");
-            newer.setDate(LocalDate.of(2026, 4, 1));
+        @DisplayName("returns the first page and a cursor when more rows follow")
+        void firstPage() {
+            LocalDate day = LocalDate.of(2026, 4, 1);
+            when(transactionRepository.findFirstPage(USER_ID, 3))
+                    .thenReturn(List.of(txn(9L, day), txn(7L, day), txn(5L, day.minusDays(1))));
+
+            TransactionService.TransactionPage page = transactionService.listTransactions(USER_ID, null, 2);
+
+            assertThat(page.items()).extracting(TransactionResponse::getId).containsExactly(9L, 7L);
+            assertThat(page.nextCursor()).isNotNull();
 
-            Page<Transaction> page = new PageImpl<>(List.of(older, newer));
-            when(transactionRepository.findByUserId(eq(USER_ID), any(Pageable.class))).thenReturn(page);
+            // The cursor seeks past the last row returned
+            when(transactionRepository.findPageBefore(USER_ID, day, 7L, 3))
+                    .thenReturn(List.of(txn(5L, day.minusDays(1))));
 
-            List<TransactionResponse> result = transactionService.getAllTransactions(USER_ID);
+            TransactionService.TransactionPage next =
+                    transactionService.listTransactions(USER_ID, page.nextCursor(), 2);
 
-            assertThat(result).hasSize(2);
-            // newest first
-            assertThat(result.get(0).getDate()).isAfterOrEqualTo(result.get(1).getDate());
+            assertThat(next.items()).extracting(TransactionResponse::getId).containsExactly(5L);
+            assertThat(next.nextCursor()).isNull();
         }
 
         @Test
-        @DisplayName("returns empty list when user has no transactions")
+        @DisplayName("returns an empty last page when user has no transactions")
         void returnsEmptyList() {
-            when(transactionRepository.findByUserId(eq(USER_ID), any(Pageable.class)))
-                    .thenReturn(Page.empty());
+            when(transactionRepository.findFirstPage(USER_ID, 501)).thenReturn(List.of());
 
-            List<TransactionResponse> result = transactionService.getAllTransactions(USER_ID);
+            TransactionService.TransactionPage page = transactionService.listTransactions(USER_ID, null, 500);
 
-            assertThat(result).isEmpty();
+            assertThat(page.items()).isEmpty();
+            assertThat(page.nextCursor()).isNull();
+        }
+
+        @Test
+        @DisplayName("rejects a malformed cursor")
+        void invalidCursor() {
+            assertThatThrownBy(() -> transactionService.listTransactions(USER_ID, "not-a-cursor", 10))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Invalid cursor");
         }
     }
 
@@ -210,6 +234,17 @@ class TransactionServiceTest {
             verify(transactionRepository).delete(txn);
         }
 
+        @Test
+        @DisplayName("publishes a change event for the deleted transaction's date")
+        void publishesChangeEvent() {
+            Transaction txn = buildTxn(11L, "EXPENSE", 50, "Shopping");
+            when(transactionRepository.findByIdAndUserId(11L, USER_ID)).thenReturn(Optional.of(txn));
+
+            transactionService.deleteTransaction(11L, USER_ID);
+
+            verify(eventPublisher).publishEvent(TransactionsChangedEvent.of(USER_ID, txn.getDate()));
+        }
+
         @Test
         @DisplayName("throws RuntimeException when transaction not found or wrong user")
         void throwsWhenNotFound() {
@@ -270,5 +305,21 @@ class TransactionServiceTest {
             BigDecimal balance = (BigDecimal) summary.get("balance");
             assertThat(balance).isEqualByComparingTo(new BigDecimal("1500"));
         }
+
+        @Test
+        @DisplayName("summarizes preloaded transactions inside the window only")
+        void summarizesPreloadedWindow() {
+            Transaction income  = buildTxn(1L, "INCOME",  2500, "Income");
+            Transaction expense = buildTxn(2L, "EXPENSE", 1000, "Rent");
+            Transaction earlier = buildTxn(3L, "EXPENSE", 400, "Rent");
+            earlier.setDate(LocalDate.now().minusMonths(2));
+
+            Map<String, Object> summary = transactionService.getTransactionSummary(
+                    List.of(income, expense, earlier), LocalDate.now().minusMonths(1), LocalDate.now());
+
+            assertThat((BigDecimal) summary.get("totalExpenses")).isEqualByComparingTo(new BigDecimal("1000"));
+            assertThat(summary.get("transactionCount")).isEqualTo(2L);
+            verifyNoInteractions(transactionRepository);
+        }
     }
 }
@@ -0,0 +1,72 @@
+package com.fintrack.reports_service.client;
+
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.util.UriBuilder;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Non-blocking GET access to one upstream service.
+ *
+ * Each attempt runs through the upstream's circuit breaker; transient failures (connect
+ * errors, timeouts, 5xx) are retried with exponential backoff up to {@code maxRetries} times.
+ * While the breaker is open calls fail fast with {@link CallNotPermittedException}, which is
+ * not retried. Errors are propagated to the caller rather than mapped to empty bodies.
+ */
+@Slf4j
+public class UpstreamClient {
+
+    private final String name;
+    private final WebClient webClient;
+    private final CircuitBreaker circuitBreaker;
+    private final Retry retry;
+
+    public UpstreamClient(String name, WebClient webClient, CircuitBreaker circuitBreaker,
+                          int maxRetries, Duration retryBackoff) {
+        this.name = name;
+        this.webClient = webClient;
+        this.circuitBreaker = circuitBreaker;
+        this.retry = Retry.backoff(maxRetries, retryBackoff)
+                .filter(UpstreamClient::isTransient)
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public <T> Mono<T> get(Function<UriBuilder, URI> uri, ParameterizedTypeReference<T> type) {
+        return webClient.get()
+                .uri(uri)
+                .accept(MediaType.APPLICATION_JSON)
+                .retrieve()
+                .bodyToMono(type)
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                .retryWhen(retry)
+                .doOnError(e -> log.warn("Call to {} failed: {}", name, e.toString()));
+    }
+
+    /** Failures worth another attempt, and the ones the circuit breaker counts. */
+    public static boolean isTransient(Throwable e) {
+        if (e instanceof WebClientResponseException response) {
+            return response.getStatusCode().is5xxServerError()
+                    && response.getStatusCode().value() != HttpStatus.NOT_IMPLEMENTED.value();
+        }
+        // connect failures and response timeouts arrive wrapped in WebClientRequestException
+        return e instanceof WebClientRequestException || e instanceof TimeoutException;
+    }
+}
@@ -0,0 +1,102 @@
+package com.fintrack.reports_service.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.interceptor.CacheResolver;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.cache.interceptor.SimpleCacheResolver;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Size-bounded, TTL'd Caffeine caches for computed report sections.
+ *
+ * Every entry is keyed by a {@link UserCacheKey}, so a user's entries can be dropped together
+ * when their transactions change. Stats recording is on, which lets the actuator publish
+ * {@code cache.gets}, {@code cache.puts} and {@code cache.evictions} per cache to Micrometer.
+ *
+ * The caches are built async because the report sections are {@code Mono}s: Spring caches
+ * the emitted value, so a section that fails upstream is not cached at all. Sections built
+ * from no data opt out with {@code unless}, so a user's first transactions show up at once.
+ *
+ * The value is stored when the section completes, after an invalidation may already have run.
+ * The user cache resolver binds each load to the user's {@link UserCacheGenerations generation}
+ * when it starts, so such a result is dropped instead of stored.
+ */
+@Configuration
+public class CacheConfig {
+
+    public static final String SUMMARY = "reports.summary";
+    public static final String MONTHLY = "reports.monthly";
+    public static final String CATEGORIES = "reports.categories";
+    public static final String GOALS = "reports.goals";
+    public static final String INSIGHTS = "reports.insights";
+
+    public static final String USER_KEY_GENERATOR = "userCacheKeyGenerator";
+    public static final String USER_CACHE_RESOLVER = "userCacheResolver";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${reports.cache.maximum-size:10000}") long maximumSize,
+            @Value("${reports.cache.ttl:5m}") Duration ttl,
+            @Value("${reports.cache.goals-ttl:15m}") Duration goalsTtl) {
+
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(
+                cache(SUMMARY, maximumSize, ttl),
+                cache(MONTHLY, maximumSize, ttl),
+                cache(CATEGORIES, maximumSize, ttl),
+                cache(GOALS, maximumSize, goalsTtl),
+                cache(INSIGHTS, maximumSize, ttl)));
+        return cacheManager;
+    }
+
+    // Far longer than any section load takes
+    @Bean
+    public UserCacheGenerations userCacheGenerations(
+            @Value("${reports.cache.ttl:5m}") Duration ttl,
+            @Value("${reports.cache.goals-ttl:15m}") Duration goalsTtl) {
+        return new UserCacheGenerations((ttl.compareTo(goalsTtl) > 0 ? ttl : goalsTtl).multipliedBy(2));
+    }
+
+    /** Keys on the user id (first argument) plus the remaining arguments. */
+    @Bean(USER_KEY_GENERATOR)
+    public KeyGenerator userCacheKeyGenerator() {
+        return (target, method, params) -> new UserCacheKey(String.valueOf(params[0]),
+                method.getName(), Arrays.asList(Arrays.copyOfRange(params, 1, params.length)));
+    }
+
+    /**
+     * The named caches, bound to the generation of the user (first argument). Spring resolves
+     * caches once per call but generates the key again on put, so the generation lives here.
+     */
+    @Bean(USER_CACHE_RESOLVER)
+    public CacheResolver userCacheResolver(CacheManager cacheManager, UserCacheGenerations generations) {
+        SimpleCacheResolver caches = new SimpleCacheResolver(cacheManager);
+        return context -> {
+            String userId = String.valueOf(context.getArgs()[0]);
+            return caches.resolveCaches(context).stream()
+                    .map(cache -> generations.bind(cache, userId))
+                    .toList();
+        };
+    }
+
+    private CaffeineCache cache(String name, long maximumSize, Duration ttl) {
+        return new CaffeineCache(name, Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync(), true);
+    }
+
+    /** Cache key for a per-user computation; the method name keeps shared caches unambiguous. */
+    public record UserCacheKey(String userId, String method, List<Object> args) {
+    }
+}
@@ -0,0 +1,111 @@
+package com.fintrack.reports_service.config;
+
+import com.fintrack.reports_service.client.UpstreamClient;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * Non-blocking clients for the transactions and budgets services.
+ *
+ * Both share one pooled, keep-alive reactor-netty connector with explicit connect and
+ * response timeouts. Each upstream gets its own circuit breaker, so a failing budgets-service
+ * does not trip calls to the transactions-service.
+ */
+@Slf4j
+@Configuration
+public class UpstreamConfig {
+
+    public static final String TRANSACTIONS = "transactions";
+    public static final String BUDGETS = "budgets";
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider upstreamConnectionProvider(
+            @Value("${services.http.max-connections:200}") int maxConnections,
+            @Value("${services.http.pending-acquire-timeout:2s}") Duration pendingAcquireTimeout,
+            @Value("${services.http.max-idle-time:30s}") Duration maxIdleTime) {
+        return ConnectionProvider.builder("upstream")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .evictInBackground(maxIdleTime)
+                .build();
+    }
+
+    @Bean
+    public HttpClient upstreamHttpClient(
+            ConnectionProvider upstreamConnectionProvider,
+            @Value("${services.http.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${services.http.read-timeout:5s}") Duration readTimeout) {
+        return HttpClient.create(upstreamConnectionProvider)
+                .keepAlive(true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(readTimeout);
+    }
+
+    @Bean
+    public CircuitBreakerRegistry upstreamCircuitBreakers(
+            @Value("${services.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+            @Value("${services.circuit-breaker.sliding-window-size:20}") int slidingWindowSize,
+            @Value("${services.circuit-breaker.minimum-calls:10}") int minimumCalls,
+            @Value("${services.circuit-breaker.open-duration:30s}") Duration openDuration) {
+        return CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumCalls)
+                .waitDurationInOpenState(openDuration)
+                .permittedNumberOfCallsInHalfOpenState(3)
+                // 4xx answers say nothing about the upstream's health
+                .recordException(UpstreamClient::isTransient)
+                .build());
+    }
+
+    @Bean
+    public UpstreamClient transactionsUpstream(
+            WebClient.Builder webClientBuilder,
+            HttpClient upstreamHttpClient,
+            CircuitBreakerRegistry upstreamCircuitBreakers,
+            @Value("${services.transactions.url:http://localhost:8082}") String baseUrl,
+            @Value("${services.http.retries:2}") int retries,
+            @Value("${services.http.retry-backoff:100ms}") Duration retryBackoff) {
+        return upstream(TRANSACTIONS, baseUrl, webClientBuilder, upstreamHttpClient,
+                upstreamCircuitBreakers, retries, retryBackoff);
+    }
+
+    @Bean
+    public UpstreamClient budgetsUpstream(
+            WebClient.Builder webClientBuilder,
+            HttpClient upstreamHttpClient,
+            CircuitBreakerRegistry upstreamCircuitBreakers,
+            @Value("${services.budgets.url:http://localhost:8085}") String baseUrl,
+            @Value("${services.http.retries:2}") int retries,
+            @Value("${services.http.retry-backoff:100ms}") Duration retryBackoff) {
+        return upstream(BUDGETS, baseUrl, webClientBuilder, upstreamHttpClient,
+                upstreamCircuitBreakers, retries, retryBackoff);
+    }
+
+    private UpstreamClient upstream(String name, String baseUrl, WebClient.Builder webClientBuilder,
+                                    HttpClient httpClient, CircuitBreakerRegistry circuitBreakers,
+                                    int retries, Duration retryBackoff) {
+        CircuitBreaker circuitBreaker = circuitBreakers.circuitBreaker(name);
+        circuitBreaker.getEventPublisher().onStateTransition(event ->
+                log.warn("Circuit breaker for {}-service: {}", name, event.getStateTransition()));
+
+        WebClient webClient = webClientBuilder.clone()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+        return new UpstreamClient(name, webClient, circuitBreaker, retries, retryBackoff);
+    }
+}
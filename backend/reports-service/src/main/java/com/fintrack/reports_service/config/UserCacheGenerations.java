@@ -0,0 +1,143 @@
+package com.fintrack.reports_service.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * The cache generation of each user, bumped by every invalidation. A section load binds the
+ * caches it uses to the user's generation when it starts ({@link #bind}); when the section
+ * completes, its result is only kept if no invalidation has run in between.
+ *
+ * A user's generation is kept for {@code retention} after the last bump, which must outlive
+ * any section load; after that the user is back at generation 0.
+ */
+public class UserCacheGenerations {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final Cache<String, Long> generations;
+
+    public UserCacheGenerations(Duration retention) {
+        this.generations = Caffeine.newBuilder()
+                .expireAfterWrite(retention)
+                .build();
+    }
+
+    public long current(String userId) {
+        Long generation = generations.getIfPresent(userId);
+        return generation != null ? generation : 0L;
+    }
+
+    public void bump(String userId) {
+        generations.put(userId, clock.incrementAndGet());
+    }
+
+    /** The given cache, dropping writes for {@code userId} once their generation has moved on. */
+    public org.springframework.cache.Cache bind(org.springframework.cache.Cache cache, String userId) {
+        return new BoundCache(cache, userId, current(userId));
+    }
+
+    /**
+     * Reads go straight to the delegate. A write is checked again after it lands, because an
+     * invalidation may bump and evict between the first check and the write.
+     */
+    private final class BoundCache implements org.springframework.cache.Cache {
+
+        private final org.springframework.cache.Cache delegate;
+        private final String userId;
+        private final long generation;
+
+        BoundCache(org.springframework.cache.Cache delegate, String userId, long generation) {
+            this.delegate = delegate;
+            this.userId = userId;
+            this.generation = generation;
+        }
+
+        private boolean stale() {
+            return current(userId) != generation;
+        }
+
+        @Override
+        public String getName() {
+            return delegate.getName();
+        }
+
+        @Override
+        public Object getNativeCache() {
+            return delegate.getNativeCache();
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            return delegate.get(key);
+        }
+
+        @Override
+        public <T> T get(Object key, Class<T> type) {
+            return delegate.get(key, type);
+        }
+
+        @Override
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            return delegate.get(key, valueLoader);
+        }
+
+        @Override
+        public CompletableFuture<?> retrieve(Object key) {
+            return delegate.retrieve(key);
+        }
+
+        @Override
+        public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+            return delegate.retrieve(key, valueLoader);
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            if (stale()) {
+                return;
+            }
+            delegate.put(key, value);
+            if (stale()) {
+                delegate.evict(key);
+            }
+        }
+
+        @Override
+        public ValueWrapper putIfAbsent(Object key, Object value) {
+            if (stale()) {
+                return delegate.get(key);
+            }
+            ValueWrapper existing = delegate.putIfAbsent(key, value);
+            if (existing == null && stale()) {
+                delegate.evict(key);
+            }
+            return existing;
+        }
+
+        @Override
+        public void evict(Object key) {
+            delegate.evict(key);
+        }
+
+        @Override
+        public boolean evictIfPresent(Object key) {
+            return delegate.evictIfPresent(key);
+        }
+
+        @Override
+        public void clear() {
+            delegate.clear();
+        }
+
+        @Override
+        public boolean invalidate() {
+            return delegate.invalidate();
+        }
+    }
+}
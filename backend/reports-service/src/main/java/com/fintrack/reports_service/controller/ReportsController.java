@@ -1,11 +1,14 @@
 package com.fintrack.reports_service.controller;
 
 import com.fintrack.reports_service.service.PdfGeneratorService;
+import com.fintrack.reports_service.service.ReportsCacheInvalidator;
 import com.fintrack.reports_service.service.ReportsService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.util.List;
 import java.util.Map;
@@ -17,54 +20,51 @@ public class ReportsController {
 
     private final ReportsService reportsService;
     private final PdfGeneratorService pdfGeneratorService; // ✅ Added
+    private final ReportsCacheInvalidator cacheInvalidator;
 
     @GetMapping("/financial")
-    public ResponseEntity<Map<String, Object>> getFinancialReports(
+    public Mono<ResponseEntity<Map<String, Object>>> getFinancialReports(
             @RequestParam(defaultValue = "last-30-days") String range,
             @RequestHeader(value = "X-User-Id", required = false) String userId,
             Authentication authentication) {
 
         String finalUserId = userId != null ? userId : getUserIdFromAuth(authentication);
-        Map<String, Object> reports = reportsService.getFinancialReports(finalUserId, range);
-        return ResponseEntity.ok(reports);
+        return reportsService.getFinancialReports(finalUserId, range).map(ResponseEntity::ok);
     }
 
     @GetMapping("/monthly-summary")
-    public ResponseEntity<List<Map<String, Object>>> getMonthlySummary(
+    public Mono<ResponseEntity<List<Map<String, Object>>>> getMonthlySummary(
             @RequestParam(defaultValue = "last-6-months") String range,
             @RequestHeader(value = "X-User-Id", required = false) String userId,
             Authentication authentication) {
 
         String finalUserId = userId != null ? userId : getUserIdFromAuth(authentication);
-        List<Map<String, Object>> summary = reportsService.getMonthlySummary(finalUserId, range);
-        return ResponseEntity.ok(summary);
+        return reportsService.getMonthlySummary(finalUserId, range).map(ResponseEntity::ok);
     }
 
     @GetMapping("/category-breakdown")
-    public ResponseEntity<List<Map<String, Object>>> getCategoryBreakdown(
+    public Mono<ResponseEntity<List<Map<String, Object>>>> getCategoryBreakdown(
             @RequestParam(defaultValue = "last-30-days") String range,
             @RequestHeader(value = "X-User-Id", required = false) String userId,
             Authentication authentication) {
 
         String finalUserId = userId != null ? userId : getUserIdFromAuth(authentication);
         java.time.LocalDate[] dateRange = parseDateRange(range);
-        List<Map<String, Object>> breakdown = reportsService.getCategoryBreakdown(
-                finalUserId, dateRange[0], dateRange[1]);
-        return ResponseEntity.ok(breakdown);
+        return reportsService.getCategoryBreakdown(finalUserId, dateRange[0], dateRange[1])
+                .map(ResponseEntity::ok);
     }
 
     @GetMapping("/savings-goals")
-    public ResponseEntity<List<Map<String, Object>>> getSavingsGoals(
+    public Mono<ResponseEntity<List<Map<String, Object>>>> getSavingsGoals(
             @RequestHeader(value = "X-User-Id", required = false) String userId,
             Authentication authentication) {
 
         String finalUserId = userId != null ? userId : getUserIdFromAuth(authentication);
-        List<Map<String, Object>> goals = reportsService.getSavingsGoals(finalUserId);
-        return ResponseEntity.ok(goals);
+        return reportsService.getSavingsGoals(finalUserId).map(ResponseEntity::ok);
     }
 
     @GetMapping("/top-expenses")
-    public ResponseEntity<List<Map<String, Object>>> getTopExpenses(
+    public Mono<ResponseEntity<List<Map<String, Object>>>> getTopExpenses(
             @RequestParam(defaultValue = "last-30-days") String range,
             @RequestParam(defaultValue = "5") int limit,
             @RequestHeader(value = "X-User-Id", required = false) String userId,
@@ -72,46 +72,43 @@ public class ReportsController {
 
         String finalUserId = userId != null ? userId : getUserIdFromAuth(authentication);
         java.time.LocalDate[] dateRange = parseDateRange(range);
-        List<Map<String, Object>> expenses = reportsService.getTopExpenses(
-                finalUserId, dateRange[0], dateRange[1], limit);
-        return ResponseEntity.ok(expenses);
+        return reportsService.getTopExpenses(finalUserId, dateRange[0], dateRange[1], limit)
+                .map(ResponseEntity::ok);
     }
 
     @GetMapping("/insights")
-    public ResponseEntity<List<String>> getFinancialInsights(
+    public Mono<ResponseEntity<List<String>>> getFinancialInsights(
             @RequestParam(defaultValue = "last-30-days") String range,
             @RequestHeader(value = "X-User-Id", required = false) String userId,
             Authentication authentication) {
 
         String finalUserId = userId != null ? userId : getUserIdFromAuth(authentication);
         java.time.LocalDate[] dateRange = parseDateRange(range);
-        List<String> insights = reportsService.generateInsights(
-                finalUserId, dateRange[0], dateRange[1]);
-        return ResponseEntity.ok(insights);
+        return reportsService.generateInsights(finalUserId, dateRange[0], dateRange[1])
+                .map(ResponseEntity::ok);
     }
 
     // ✅ FIXED - was returning empty new byte[0], now generates a real PDF
     @GetMapping("/export/pdf")
-    public ResponseEntity<byte[]> exportReportPDF(
+    public Mono<ResponseEntity<byte[]>> exportReportPDF(
             @RequestParam(defaultValue = "last-30-days") String range,
             @RequestHeader(value = "X-User-Id", required = false) String userId,
             Authentication authentication) {
 
         String finalUserId = userId != null ? userId : getUserIdFromAuth(authentication);
 
-        // Fetch the same report data shown in the Overview tab
-        Map<String, Object> reportData = reportsService.getFinancialReports(finalUserId, range);
-
-        // Generate real PDF bytes
-        byte[] pdfBytes = pdfGeneratorService.generateFinancialReport(reportData, range);
-
         String filename = "financial-report-" + range + ".pdf";
 
-        return ResponseEntity.ok()
-                .header("Content-Type", "application/pdf")
-                .header("Content-Disposition", "attachment; filename=\"" + filename + "\"")
-                .header("Content-Length", String.valueOf(pdfBytes.length))
-                .body(pdfBytes);
+        // Fetch the same report data shown in the Overview tab, then render the PDF off the
+        // upstream client's event loop
+        return reportsService.getFinancialReports(finalUserId, range)
+                .publishOn(Schedulers.boundedElastic())
+                .map(reportData -> pdfGeneratorService.generateFinancialReport(reportData, range))
+                .map(pdfBytes -> ResponseEntity.ok()
+                        .header("Content-Type", "application/pdf")
+                        .header("Content-Disposition", "attachment; filename=\"" + filename + "\"")
+                        .header("Content-Length", String.valueOf(pdfBytes.length))
+                        .body(pdfBytes));
     }
 
     @GetMapping("/comparison")
@@ -136,6 +133,22 @@ public class ReportsController {
                 "forecast", List.of()));
     }
 
+    /**
+     * Drops the user's cached report sections. Called by the transactions-service after a
+     * transaction is created, updated or deleted.
+     */
+    @PostMapping("/cache/invalidate")
+    public ResponseEntity<Map<String, Object>> invalidateCache(
+            @RequestParam(value = "userId", required = false) String userIdParam,
+            @RequestHeader(value = "X-User-Id", required = false) String userId,
+            Authentication authentication) {
+
+        String finalUserId = userId != null ? userId
+                : userIdParam != null ? userIdParam : getUserIdFromAuth(authentication);
+        int evicted = cacheInvalidator.evictUser(finalUserId);
+        return ResponseEntity.ok(Map.of("userId", finalUserId, "evicted", evicted));
+    }
+
     private String getUserIdFromAuth(Authentication authentication) {
         if (authentication == null || authentication.getPrincipal() == null) {
             return "1";
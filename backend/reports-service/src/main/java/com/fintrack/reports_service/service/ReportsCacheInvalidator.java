@@ -0,0 +1,54 @@
+package com.fintrack.reports_service.service;
+
+import com.fintrack.reports_service.config.CacheConfig;
+import com.fintrack.reports_service.config.UserCacheGenerations;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+
+/**
+ * Drops every cached report section that belongs to one user. Called when the
+ * transactions-service reports a change to that user's ledger.
+ *
+ * The user's cache generation is bumped first, so sections still loading from before the
+ * change are not stored when they complete.
+ */
+@Slf4j
+@Service
+public class ReportsCacheInvalidator {
+
+    private final CacheManager cacheManager;
+    private final UserCacheGenerations generations;
+    private final Counter invalidations;
+
+    public ReportsCacheInvalidator(CacheManager cacheManager, UserCacheGenerations generations,
+                                   MeterRegistry meterRegistry) {
+        this.cacheManager = cacheManager;
+        this.generations = generations;
+        this.invalidations = Counter.builder("reports.cache.invalidations")
+                .description("Per-user report cache invalidations")
+                .register(meterRegistry);
+    }
+
+    /** Returns the number of entries removed across all report caches. */
+    public int evictUser(String userId) {
+        generations.bump(userId);
+        int removed = 0;
+        for (String name : cacheManager.getCacheNames()) {
+            if (cacheManager.getCache(name) instanceof CaffeineCache cache) {
+                Cache<Object, Object> nativeCache = cache.getNativeCache();
+                int before = nativeCache.asMap().size();
+                nativeCache.asMap().keySet().removeIf(key ->
+                        key instanceof CacheConfig.UserCacheKey userKey && userKey.userId().equals(userId));
+                removed += before - nativeCache.asMap().size();
+            }
+        }
+        invalidations.increment();
+        log.debug("Evicted {} cached report entries for user {}", removed, userId);
+        return removed;
+    }
+}
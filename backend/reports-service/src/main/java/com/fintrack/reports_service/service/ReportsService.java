@@ -3,13 +3,18 @@
 // ==========================================
 package com.fintrack.reports_service.service;
 
-import lombok.RequiredArgsConstructor;
+import com.fintrack.reports_service.client.UpstreamClient;
+import com.fintrack.reports_service.config.CacheConfig;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.http.*;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -18,67 +23,104 @@ import java.time.format.TextStyle;
 import java.util.*;
 import java.util.stream.Collectors;
 
+/**
+ * Report sections computed from the transactions and budgets services.
+ *
+ * Every section is a {@code Mono} over non-blocking upstream calls, so no request thread
+ * waits on a slow upstream. An upstream failure fails the section instead of turning into
+ * an empty list; the composite report substitutes an empty value and lists the section
+ * under {@code degraded}, and nothing is cached for it.
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class ReportsService {
 
-    private final RestTemplate restTemplate;
+    private static final ParameterizedTypeReference<List<Map<String, Object>>> LIST_OF_MAPS =
+            new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<Map<String, Object>> MAP =
+            new ParameterizedTypeReference<>() {};
+
+    private static final BigDecimal DEFAULT_BUDGET = BigDecimal.valueOf(1000);
+
+    // Per-category budget lookups in flight at once for one breakdown
+    private static final int BUDGET_LOOKUP_CONCURRENCY = 8;
+
+    // Shown until the user has transactions; never cached, so the first ones show up at once
+    public static final List<String> NO_TRANSACTIONS_INSIGHTS =
+            List.of("Start adding transactions to get personalized financial insights.");
 
-    // Transaction service runs on port 8082
-    @Value("${services.transactions.url:http://localhost:8082}")
-    private String transactionsServiceUrl;
+    private final UpstreamClient transactionsUpstream;
+    private final UpstreamClient budgetsUpstream;
 
-    // Goals/Budgets service runs on port 8085
-    @Value("${services.budgets.url:http://localhost:8085}")
-    private String budgetsServiceUrl;
+    // Proxy to this bean, so sections composed internally still go through the cache
+    @Lazy
+    @Autowired
+    private ReportsService self;
+
+    public ReportsService(@Qualifier("transactionsUpstream") UpstreamClient transactionsUpstream,
+                          @Qualifier("budgetsUpstream") UpstreamClient budgetsUpstream) {
+        this.transactionsUpstream = transactionsUpstream;
+        this.budgetsUpstream = budgetsUpstream;
+    }
 
     /**
-     * Get comprehensive financial reports
+     * Get comprehensive financial reports. All sections are fetched concurrently.
      */
-    public Map<String, Object> getFinancialReports(String userId, String dateRange) {
+    public Mono<Map<String, Object>> getFinancialReports(String userId, String dateRange) {
         log.info("Generating financial reports for user: {} with range: {}", userId, dateRange);
         
         LocalDate[] dateRangeArray = parseDateRange(dateRange);
         LocalDate startDate = dateRangeArray[0];
         LocalDate endDate = dateRangeArray[1];
-
-        Map<String, Object> report = new HashMap<>();
-        
-        // Get summary data
-        report.put("summary", getFinancialSummary(userId, startDate, endDate, dateRange));
-        
-        // Get monthly trend data
-        report.put("monthlyData", getMonthlySummary(userId, dateRange));
-        
-        // Get category breakdown
-        report.put("categoryBreakdown", getCategoryBreakdown(userId, startDate, endDate));
-        
-        // Get savings goals
-        report.put("savingsGoals", getSavingsGoals(userId));
-        
-        // Get top expenses
-        report.put("topExpenses", getTopExpenses(userId, startDate, endDate, 5));
-        
-        // Get insights
-        report.put("insights", generateInsights(userId, startDate, endDate));
-        
-        log.info("Successfully generated financial reports for user: {}", userId);
-        return report;
+        List<String> degraded = Collections.synchronizedList(new ArrayList<>());
+
+        return Mono.zip(
+                section("summary", self.getFinancialSummary(userId, startDate, endDate, dateRange),
+                        Map.<String, Object>of(), degraded),
+                section("monthlyData", self.getMonthlySummary(userId, dateRange), List.<Map<String, Object>>of(), degraded),
+                section("categoryBreakdown", self.getCategoryBreakdown(userId, startDate, endDate),
+                        List.<Map<String, Object>>of(), degraded),
+                section("savingsGoals", self.getSavingsGoals(userId), List.<Map<String, Object>>of(), degraded),
+                section("topExpenses", getTopExpenses(userId, startDate, endDate, 5),
+                        List.<Map<String, Object>>of(), degraded),
+                section("insights", self.generateInsights(userId, startDate, endDate), List.<String>of(), degraded))
+            .map(sections -> {
+                Map<String, Object> report = new HashMap<>();
+                report.put("summary", sections.getT1());
+                report.put("monthlyData", sections.getT2());
+                report.put("categoryBreakdown", sections.getT3());
+                report.put("savingsGoals", sections.getT4());
+                report.put("topExpenses", sections.getT5());
+                report.put("insights", sections.getT6());
+                if (!degraded.isEmpty()) {
+                    report.put("degraded", List.copyOf(degraded));
+                    log.warn("Financial report for user {} is missing sections {}", userId, degraded);
+                } else {
+                    log.info("Successfully generated financial reports for user: {}", userId);
+                }
+                return report;
+            });
     }
 
     /**
-     * Get financial summary with changes
+     * Get financial summary with changes. A period with no income or expenses is not cached,
+     * like the empty list sections.
      */
-    public Map<String, Object> getFinancialSummary(String userId, LocalDate startDate, 
-                                                   LocalDate endDate, String dateRange) {
-        // Current period
-        List<Map<String, Object>> currentTransactions = getTransactionsFromService(userId, startDate, endDate);
-        
-        // Previous period for comparison
+    @Cacheable(cacheNames = CacheConfig.SUMMARY, cacheResolver = CacheConfig.USER_CACHE_RESOLVER,
+            keyGenerator = CacheConfig.USER_KEY_GENERATOR,
+            unless = "#result['netIncome'].signum() == 0 and #result['totalExpenses'].signum() == 0")
+    public Mono<Map<String, Object>> getFinancialSummary(String userId, LocalDate startDate,
+                                                         LocalDate endDate, String dateRange) {
+        // Current and previous period, fetched concurrently
         LocalDate[] previousRange = getPreviousPeriod(dateRange);
-        List<Map<String, Object>> previousTransactions = getTransactionsFromService(userId, previousRange[0], previousRange[1]);
+        return Mono.zip(
+                getTransactionsFromService(userId, startDate, endDate),
+                getTransactionsFromService(userId, previousRange[0], previousRange[1]))
+            .map(periods -> buildSummary(periods.getT1(), periods.getT2()));
+    }
 
+    private Map<String, Object> buildSummary(List<Map<String, Object>> currentTransactions,
+                                             List<Map<String, Object>> previousTransactions) {
         BigDecimal currentIncome = calculateTotalByType(currentTransactions, "INCOME");
         BigDecimal currentExpenses = calculateTotalByType(currentTransactions, "EXPENSE");
         BigDecimal currentSavings = currentIncome.subtract(currentExpenses);
@@ -108,13 +150,15 @@ public class ReportsService {
     /**
      * Get monthly summary for trend charts
      */
-    public List<Map<String, Object>> getMonthlySummary(String userId, String dateRange) {
+    @Cacheable(cacheNames = CacheConfig.MONTHLY, cacheResolver = CacheConfig.USER_CACHE_RESOLVER,
+            keyGenerator = CacheConfig.USER_KEY_GENERATOR, unless = "#result.isEmpty()")
+    public Mono<List<Map<String, Object>>> getMonthlySummary(String userId, String dateRange) {
         LocalDate[] range = parseDateRange(dateRange);
-        LocalDate startDate = range[0];
-        LocalDate endDate = range[1];
-
-        List<Map<String, Object>> transactions = getTransactionsFromService(userId, startDate, endDate);
+        return getTransactionsFromService(userId, range[0], range[1])
+            .map(transactions -> buildMonthlySummary(userId, transactions));
+    }
 
+    private List<Map<String, Object>> buildMonthlySummary(String userId, List<Map<String, Object>> transactions) {
         if (transactions.isEmpty()) {
             log.info("No transactions found for user {} in date range", userId);
             return new ArrayList<>();
@@ -150,26 +194,39 @@ public class ReportsService {
     }
 
     /**
-     * Get spending breakdown by category
+     * Get spending breakdown by category. Budgets are looked up concurrently per category.
      */
-    public List<Map<String, Object>> getCategoryBreakdown(String userId, LocalDate startDate, 
-                                                          LocalDate endDate) {
-        List<Map<String, Object>> allTransactions = getTransactionsFromService(userId, startDate, endDate);
-        
-        // Filter expenses only
-        List<Map<String, Object>> expenses = allTransactions.stream()
-            .filter(t -> "EXPENSE".equals(t.get("type")))
-            .collect(Collectors.toList());
-
-        if (expenses.isEmpty()) {
-            log.info("No expenses found for user {} in date range", userId);
-            return new ArrayList<>();
-        }
-
-        // Group by category
-        Map<String, List<Map<String, Object>>> categoryGroups = expenses.stream()
-            .collect(Collectors.groupingBy(t -> (String) t.get("category")));
+    @Cacheable(cacheNames = CacheConfig.CATEGORIES, cacheResolver = CacheConfig.USER_CACHE_RESOLVER,
+            keyGenerator = CacheConfig.USER_KEY_GENERATOR, unless = "#result.isEmpty()")
+    public Mono<List<Map<String, Object>>> getCategoryBreakdown(String userId, LocalDate startDate,
+                                                                LocalDate endDate) {
+        return getTransactionsFromService(userId, startDate, endDate)
+            .flatMap(allTransactions -> {
+                // Filter expenses only
+                List<Map<String, Object>> expenses = allTransactions.stream()
+                    .filter(t -> "EXPENSE".equals(t.get("type")))
+                    .collect(Collectors.toList());
+
+                if (expenses.isEmpty()) {
+                    log.info("No expenses found for user {} in date range", userId);
+                    return Mono.just(new ArrayList<Map<String, Object>>());
+                }
+
+                // Group by category
+                Map<String, List<Map<String, Object>>> categoryGroups = expenses.stream()
+                    .collect(Collectors.groupingBy(t -> (String) t.get("category")));
+
+                return Flux.fromIterable(categoryGroups.keySet())
+                    .flatMap(category -> getBudgetForCategory(userId, category)
+                        .map(budget -> Map.entry(category, budget)), BUDGET_LOOKUP_CONCURRENCY)
+                    .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                    .map(budgets -> buildCategoryBreakdown(expenses, categoryGroups, budgets));
+            });
+    }
 
+    private List<Map<String, Object>> buildCategoryBreakdown(List<Map<String, Object>> expenses,
+                                                             Map<String, List<Map<String, Object>>> categoryGroups,
+                                                             Map<String, BigDecimal> budgets) {
         List<Map<String, Object>> breakdown = new ArrayList<>();
         BigDecimal totalExpenses = calculateTotal(expenses);
 
@@ -180,12 +237,9 @@ public class ReportsService {
             Map<String, Object> categoryData = new HashMap<>();
             BigDecimal categoryTotal = calculateTotal(entry.getValue());
             
-            // Get budget for this category
-            BigDecimal budget = getBudgetForCategory(userId, entry.getKey());
-            
             categoryData.put("name", entry.getKey());
             categoryData.put("amount", categoryTotal);
-            categoryData.put("budget", budget);
+            categoryData.put("budget", budgets.get(entry.getKey()));
             categoryData.put("percentage", calculatePercentage(categoryTotal, totalExpenses));
             categoryData.put("color", colors[colorIndex++ % colors.length]);
             
@@ -200,60 +254,53 @@ public class ReportsService {
     /**
      * Get savings goals progress
      */
-    public List<Map<String, Object>> getSavingsGoals(String userId) {
-        try {
-            String url = budgetsServiceUrl + "/api/goals?userId=" + userId;
-            
-            log.debug("Fetching savings goals from: {}", url);
-            
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            HttpEntity<?> entity = new HttpEntity<>(headers);
-            
-            ResponseEntity<List<Map<String, Object>>> response = restTemplate.exchange(
-                url,
-                HttpMethod.GET,
-                entity,
-                new ParameterizedTypeReference<List<Map<String, Object>>>() {}
-            );
-            
-            List<Map<String, Object>> goals = response.getBody();
-            if (goals == null || goals.isEmpty()) {
-                log.info("No savings goals found for user: {}", userId);
-                return new ArrayList<>();
-            }
+    @Cacheable(cacheNames = CacheConfig.GOALS, cacheResolver = CacheConfig.USER_CACHE_RESOLVER,
+            keyGenerator = CacheConfig.USER_KEY_GENERATOR, unless = "#result.isEmpty()")
+    public Mono<List<Map<String, Object>>> getSavingsGoals(String userId) {
+        log.debug("Fetching savings goals for user: {}", userId);
+        return budgetsUpstream.get(uri -> uri.path("/api/goals")
+                        .queryParam("userId", userId)
+                        .build(), LIST_OF_MAPS)
+            .defaultIfEmpty(List.of())
+            .map(goals -> buildSavingsGoals(userId, goals));
+    }
+
+    private List<Map<String, Object>> buildSavingsGoals(String userId, List<Map<String, Object>> goals) {
+        if (goals.isEmpty()) {
+            log.info("No savings goals found for user: {}", userId);
+            return new ArrayList<>();
+        }
             
-            String[] colors = {"#10b981", "#3b82f6", "#f59e0b", "#8b5cf6"};
-            List<Map<String, Object>> result = new ArrayList<>();
+        String[] colors = {"#10b981", "#3b82f6", "#f59e0b", "#8b5cf6"};
+        List<Map<String, Object>> result = new ArrayList<>();
             
-            for (int i = 0; i < goals.size(); i++) {
-                Map<String, Object> goal = goals.get(i);
-                Map<String, Object> goalData = new HashMap<>();
-                goalData.put("name", goal.get("name"));
-                goalData.put("current", goal.get("currentAmount"));
-                goalData.put("target", goal.get("targetAmount"));
+        for (int i = 0; i < goals.size(); i++) {
+            Map<String, Object> goal = goals.get(i);
+            Map<String, Object> goalData = new HashMap<>();
+            goalData.put("name", goal.get("name"));
+            goalData.put("current", goal.get("currentAmount"));
+            goalData.put("target", goal.get("targetAmount"));
                 
-                BigDecimal current = new BigDecimal(goal.get("currentAmount").toString());
-                BigDecimal target = new BigDecimal(goal.get("targetAmount").toString());
-                goalData.put("progress", calculateProgress(current, target));
-                goalData.put("color", colors[i % colors.length]);
-                result.add(goalData);
-            }
-            
-            return result;
-        } catch (Exception e) {
-            log.error("Error fetching savings goals for user {}: {}", userId, e.getMessage());
-            return new ArrayList<>();
+            BigDecimal current = new BigDecimal(goal.get("currentAmount").toString());
+            BigDecimal target = new BigDecimal(goal.get("targetAmount").toString());
+            goalData.put("progress", calculateProgress(current, target));
+            goalData.put("color", colors[i % colors.length]);
+            result.add(goalData);
         }
+            
+        return result;
     }
 
     /**
      * Get top expenses by vendor
      */
-    public List<Map<String, Object>> getTopExpenses(String userId, LocalDate startDate, 
-                                                    LocalDate endDate, int limit) {
-        List<Map<String, Object>> allTransactions = getTransactionsFromService(userId, startDate, endDate);
-        
+    public Mono<List<Map<String, Object>>> getTopExpenses(String userId, LocalDate startDate,
+                                                          LocalDate endDate, int limit) {
+        return getTransactionsFromService(userId, startDate, endDate)
+            .map(allTransactions -> buildTopExpenses(allTransactions, limit));
+    }
+
+    private List<Map<String, Object>> buildTopExpenses(List<Map<String, Object>> allTransactions, int limit) {
         // Filter expenses only
         List<Map<String, Object>> expenses = allTransactions.stream()
             .filter(t -> "EXPENSE".equals(t.get("type")))
@@ -288,17 +335,22 @@ public class ReportsService {
     }
 
     /**
-     * Generate financial insights
+     * Generate financial insights. The no-transactions placeholder is not cached.
      */
-    public List<String> generateInsights(String userId, LocalDate startDate, LocalDate endDate) {
-        List<String> insights = new ArrayList<>();
-        
-        List<Map<String, Object>> transactions = getTransactionsFromService(userId, startDate, endDate);
+    @Cacheable(cacheNames = CacheConfig.INSIGHTS, cacheResolver = CacheConfig.USER_CACHE_RESOLVER,
+            keyGenerator = CacheConfig.USER_KEY_GENERATOR,
+            unless = "#result.isEmpty() or #result == T(com.fintrack.reports_service.service.ReportsService).NO_TRANSACTIONS_INSIGHTS")
+    public Mono<List<String>> generateInsights(String userId, LocalDate startDate, LocalDate endDate) {
+        return getTransactionsFromService(userId, startDate, endDate)
+            .flatMap(transactions -> transactions.isEmpty()
+                ? Mono.just(NO_TRANSACTIONS_INSIGHTS)
+                : self.getCategoryBreakdown(userId, startDate, endDate)
+                    .map(categories -> buildInsights(transactions, categories)));
+    }
 
-        if (transactions.isEmpty()) {
-            insights.add("Start adding transactions to get personalized financial insights.");
-            return insights;
-        }
+    private List<String> buildInsights(List<Map<String, Object>> transactions,
+                                       List<Map<String, Object>> categories) {
+        List<String> insights = new ArrayList<>();
 
         BigDecimal income = calculateTotalByType(transactions, "INCOME");
         BigDecimal expenses = calculateTotalByType(transactions, "EXPENSE");
@@ -319,7 +371,6 @@ public class ReportsService {
         }
 
         // Category over-budget insights
-        List<Map<String, Object>> categories = getCategoryBreakdown(userId, startDate, endDate);
         for (Map<String, Object> category : categories) {
             BigDecimal amount = (BigDecimal) category.get("amount");
             BigDecimal budget = (BigDecimal) category.get("budget");
@@ -342,57 +393,39 @@ public class ReportsService {
 
     // ========== REST API Helper Methods ==========
 
-    private List<Map<String, Object>> getTransactionsFromService(String userId, LocalDate startDate, LocalDate endDate) {
-        try {
-            String url = String.format("%s/api/transactions/reports?userId=%s&startDate=%s&endDate=%s",
-                transactionsServiceUrl, userId, startDate.toString(), endDate.toString());
-            
-            log.debug("Fetching transactions from: {}", url);
-            
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            HttpEntity<?> entity = new HttpEntity<>(headers);
-            
-            ResponseEntity<List<Map<String, Object>>> response = restTemplate.exchange(
-                url,
-                HttpMethod.GET,
-                entity,
-                new ParameterizedTypeReference<List<Map<String, Object>>>() {}
-            );
-            
-            List<Map<String, Object>> transactions = response.getBody();
-            log.debug("Fetched {} transactions", transactions != null ? transactions.size() : 0);
-            
-            return transactions != null ? transactions : new ArrayList<>();
-        } catch (Exception e) {
-            log.error("Error fetching transactions from service: {}", e.getMessage());
-            return new ArrayList<>();
-        }
+    private Mono<List<Map<String, Object>>> getTransactionsFromService(String userId, LocalDate startDate, LocalDate endDate) {
+        log.debug("Fetching transactions for user {} from {} to {}", userId, startDate, endDate);
+        return transactionsUpstream.get(uri -> uri.path("/api/transactions/reports")
+                        .queryParam("userId", userId)
+                        .queryParam("startDate", startDate)
+                        .queryParam("endDate", endDate)
+                        .build(), LIST_OF_MAPS)
+            .defaultIfEmpty(List.of())
+            .doOnNext(transactions -> log.debug("Fetched {} transactions", transactions.size()));
     }
 
-    private BigDecimal getBudgetForCategory(String userId, String category) {
-        try {
-            String url = String.format("%s/api/budgets/category?userId=%s&category=%s",
-                budgetsServiceUrl, userId, category);
-            
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            HttpEntity<?> entity = new HttpEntity<>(headers);
-            
-            ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
-                url,
-                HttpMethod.GET,
-                entity,
-                new ParameterizedTypeReference<Map<String, Object>>() {}
-            );
-            
-            if (response.getBody() != null && response.getBody().get("amount") != null) {
-                return new BigDecimal(response.getBody().get("amount").toString());
-            }
-        } catch (Exception e) {
-            log.debug("Budget not found for category {}: {}", category, e.getMessage());
-        }
-        return BigDecimal.valueOf(1000); // Default budget
+    /** The category's budget, or the default when the budgets-service has none for it. */
+    private Mono<BigDecimal> getBudgetForCategory(String userId, String category) {
+        return budgetsUpstream.get(uri -> uri.path("/api/budgets/category")
+                        .queryParam("userId", userId)
+                        .queryParam("category", category)
+                        .build(), MAP)
+            .onErrorResume(WebClientResponseException.NotFound.class, e -> {
+                log.debug("Budget not found for category {}", category);
+                return Mono.empty();
+            })
+            .filter(body -> body.get("amount") != null)
+            .map(body -> new BigDecimal(body.get("amount").toString()))
+            .defaultIfEmpty(DEFAULT_BUDGET);
+    }
+
+    /** A section of the composite report: on failure, its fallback, recorded as degraded. */
+    private <T> Mono<T> section(String name, Mono<T> section, T fallback, List<String> degraded) {
+        return section.onErrorResume(e -> {
+            log.warn("Report section '{}' unavailable: {}", name, e.toString());
+            degraded.add(name);
+            return Mono.just(fallback);
+        });
     }
 
     // ========== Helper Methods ==========
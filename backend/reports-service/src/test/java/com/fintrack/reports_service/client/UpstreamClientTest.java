@@ -0,0 +1,142 @@
+package com.fintrack.reports_service.client;
+
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for UpstreamClient.
+ * Responses are stubbed at the WebClient exchange function — no server, no Spring context.
+ */
+@DisplayName("UpstreamClient")
+class UpstreamClientTest {
+
+    private static final ParameterizedTypeReference<Map<String, Object>> MAP = new ParameterizedTypeReference<>() {};
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private UpstreamClient client(CircuitBreaker circuitBreaker, HttpStatus... statuses) {
+        Deque<HttpStatus> responses = new ArrayDeque<>(List.of(statuses));
+        WebClient webClient = WebClient.builder()
+                .baseUrl("http://upstream")
+                .exchangeFunction(request -> {
+                    calls.incrementAndGet();
+                    HttpStatus status = responses.size() > 1 ? responses.poll() : responses.peek();
+                    return Mono.just(ClientResponse.create(status)
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .body(status.is2xxSuccessful() ? "{\"amount\": 250}" : "{}")
+                            .build());
+                })
+                .build();
+        return new UpstreamClient("test", webClient, circuitBreaker, 2, Duration.ofMillis(1));
+    }
+
+    private static CircuitBreaker breaker() {
+        return CircuitBreaker.of("test", CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .recordException(UpstreamClient::isTransient)
+                .build());
+    }
+
+    private Mono<Map<String, Object>> get(UpstreamClient client) {
+        return client.get(uri -> uri.path("/api/budgets").build(), MAP);
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Retries
+    // ─────────────────────────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("retries")
+    class Retries {
+
+        @Test
+        @DisplayName("retries a 503 and returns the body once the upstream recovers")
+        void retriesServerErrors() {
+            UpstreamClient client = client(breaker(), HttpStatus.SERVICE_UNAVAILABLE, HttpStatus.OK);
+
+            assertThat(get(client).block()).containsEntry("amount", 250);
+            assertThat(calls).hasValue(2);
+        }
+
+        @Test
+        @DisplayName("gives up after the configured number of retries with the upstream error")
+        void boundedRetries() {
+            UpstreamClient client = client(breaker(), HttpStatus.BAD_GATEWAY);
+
+            assertThatThrownBy(() -> get(client).block())
+                    .isInstanceOf(WebClientResponseException.BadGateway.class);
+            assertThat(calls).hasValue(3);
+        }
+
+        @Test
+        @DisplayName("does not retry client errors")
+        void noRetryOnClientErrors() {
+            UpstreamClient client = client(breaker(), HttpStatus.NOT_FOUND);
+
+            assertThatThrownBy(() -> get(client).block())
+                    .isInstanceOf(WebClientResponseException.NotFound.class);
+            assertThat(calls).hasValue(1);
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Circuit breaker
+    // ─────────────────────────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("circuit breaker")
+    class Breaker {
+
+        @Test
+        @DisplayName("opens on repeated server errors and then fails fast without calling out")
+        void opensAndFailsFast() {
+            CircuitBreaker circuitBreaker = breaker();
+            UpstreamClient client = client(circuitBreaker, HttpStatus.INTERNAL_SERVER_ERROR);
+
+            assertThatThrownBy(() -> get(client).block()).isInstanceOf(WebClientResponseException.class);
+            assertThatThrownBy(() -> get(client).block()).isInstanceOf(CallNotPermittedException.class);
+            assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+            int before = calls.get();
+            assertThatThrownBy(() -> get(client).block()).isInstanceOf(CallNotPermittedException.class);
+            assertThat(calls).hasValue(before);
+        }
+
+        @Test
+        @DisplayName("does not count client errors as failures")
+        void ignoresClientErrors() {
+            CircuitBreaker circuitBreaker = breaker();
+            UpstreamClient client = client(circuitBreaker, HttpStatus.NOT_FOUND);
+
+            for (int i = 0; i < 6; i++) {
+                assertThatThrownBy(() -> get(client).block())
+                        .isInstanceOf(WebClientResponseException.NotFound.class);
+            }
+            assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        }
+    }
+}
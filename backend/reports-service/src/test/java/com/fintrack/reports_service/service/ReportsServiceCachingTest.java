@@ -0,0 +1,176 @@
+package com.fintrack.reports_service.service;
+
+import com.fintrack.reports_service.client.UpstreamClient;
+import com.fintrack.reports_service.config.CacheConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Checks what the report section caches keep: failures, empty results and loads overtaken by
+ * an invalidation are recomputed, real results are served from the cache.
+ * Uses a minimal Spring context for the caching proxy — no server, no database.
+ */
+@SpringBootTest(classes = ReportsServiceCachingTest.Config.class, webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@DisplayName("ReportsService caching")
+class ReportsServiceCachingTest {
+
+    private static final String USER_ID = "user-cache-001";
+    private static final LocalDate TODAY = LocalDate.now();
+
+    private static final String TRANSACTIONS = """
+            [{"date": "%s", "type": "INCOME", "amount": 3000, "category": "Salary", "description": "Payroll"},
+             {"date": "%s", "type": "EXPENSE", "amount": 80, "category": "Food", "description": "Grocer"}]
+            """.formatted(TODAY, TODAY);
+
+    private static final AtomicInteger calls = new AtomicInteger();
+    private static final AtomicReference<HttpStatus> status = new AtomicReference<>();
+    private static final AtomicReference<String> body = new AtomicReference<>();
+    // Upstream replies wait for this; the body is read when the request arrives
+    private static final AtomicReference<Mono<Void>> gate = new AtomicReference<>(Mono.empty());
+
+    @Configuration
+    @EnableCaching
+    @Import({ CacheConfig.class, ReportsService.class, ReportsCacheInvalidator.class })
+    static class Config {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        UpstreamClient transactionsUpstream() {
+            WebClient webClient = WebClient.builder()
+                    .baseUrl("http://upstream")
+                    .exchangeFunction(request -> {
+                        calls.incrementAndGet();
+                        ClientResponse response = ClientResponse.create(status.get())
+                                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                                .body(body.get())
+                                .build();
+                        return gate.get().then(Mono.just(response));
+                    })
+                    .build();
+            return new UpstreamClient("transactions", webClient, CircuitBreaker.ofDefaults("transactions"),
+                    0, Duration.ofMillis(1));
+        }
+
+        @Bean
+        UpstreamClient budgetsUpstream() {
+            WebClient webClient = WebClient.builder()
+                    .baseUrl("http://upstream")
+                    .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.NOT_FOUND).build()))
+                    .build();
+            return new UpstreamClient("budgets", webClient, CircuitBreaker.ofDefaults("budgets"),
+                    0, Duration.ofMillis(1));
+        }
+    }
+
+    @Autowired
+    private ReportsService service;
+
+    @Autowired
+    private ReportsCacheInvalidator invalidator;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void reset() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        calls.set(0);
+        status.set(HttpStatus.OK);
+        body.set(TRANSACTIONS);
+        gate.set(Mono.empty());
+    }
+
+    @Test
+    @DisplayName("does not cache a summary or insights when the upstream fails")
+    void upstreamFailure() {
+        status.set(HttpStatus.BAD_REQUEST);
+        body.set("{}");
+
+        assertThatThrownBy(() -> service.getFinancialSummary(USER_ID, TODAY, TODAY, "1month").block());
+        assertThatThrownBy(() -> service.generateInsights(USER_ID, TODAY, TODAY).block());
+
+        status.set(HttpStatus.OK);
+        body.set(TRANSACTIONS);
+        assertThat((BigDecimal) service.getFinancialSummary(USER_ID, TODAY, TODAY, "1month").block()
+                .get("totalExpenses")).isEqualByComparingTo("80");
+        assertThat(service.generateInsights(USER_ID, TODAY, TODAY).block())
+                .isNotEqualTo(ReportsService.NO_TRANSACTIONS_INSIGHTS);
+    }
+
+    @Test
+    @DisplayName("does not cache a summary or insights built from no transactions")
+    void emptyUpstream() {
+        body.set("[]");
+
+        service.getFinancialSummary(USER_ID, TODAY, TODAY, "1month").block();
+        assertThat(service.generateInsights(USER_ID, TODAY, TODAY).block())
+                .isEqualTo(ReportsService.NO_TRANSACTIONS_INSIGHTS);
+
+        body.set(TRANSACTIONS);
+        assertThat((BigDecimal) service.getFinancialSummary(USER_ID, TODAY, TODAY, "1month").block()
+                .get("netIncome")).isEqualByComparingTo("3000");
+        assertThat(service.generateInsights(USER_ID, TODAY, TODAY).block())
+                .isNotEqualTo(ReportsService.NO_TRANSACTIONS_INSIGHTS);
+    }
+
+    @Test
+    @DisplayName("serves a computed summary from the cache")
+    void cachesResults() {
+        service.getFinancialSummary(USER_ID, TODAY, TODAY, "1month").block();
+        int fetched = calls.get();
+
+        service.getFinancialSummary(USER_ID, TODAY, TODAY, "1month").block();
+
+        assertThat(calls.get()).isEqualTo(fetched);
+    }
+
+    @Test
+    @DisplayName("does not cache a section that was loading when the user's cache was invalidated")
+    void invalidationDuringLoad() {
+        Sinks.Empty<Void> release = Sinks.empty();
+        gate.set(release.asMono());
+        CompletableFuture<Map<String, Object>> loading =
+                service.getFinancialSummary(USER_ID, TODAY, TODAY, "1month").toFuture();
+
+        invalidator.evictUser(USER_ID);
+        body.set(TRANSACTIONS.replace("3000", "5000"));
+        gate.set(Mono.empty());
+        release.tryEmitEmpty();
+
+        assertThat((BigDecimal) loading.join().get("netIncome")).isEqualByComparingTo("3000");
+        assertThat((BigDecimal) service.getFinancialSummary(USER_ID, TODAY, TODAY, "1month").block()
+                .get("netIncome")).isEqualByComparingTo("5000");
+    }
+}
@@ -0,0 +1,134 @@
+package com.fintrack.reports_service.service;
+
+import com.fintrack.reports_service.client.UpstreamClient;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for ReportsService.
+ * Upstream responses are stubbed at the WebClient exchange function — no server, no Spring context.
+ */
+@DisplayName("ReportsService")
+class ReportsServiceTest {
+
+    private static final String USER_ID = "user-rpt-001";
+    private static final LocalDate TODAY = LocalDate.now();
+
+    private static final String TRANSACTIONS = """
+            [{"date": "%s", "type": "INCOME", "amount": 3000, "category": "Salary", "description": "Payroll"},
+             {"date": "%s", "type": "EXPENSE", "amount": 1200, "category": "Rent", "description": "Landlord"},
+             {"date": "%s", "type": "EXPENSE", "amount": 80, "category": "Food", "description": "Grocer"}]
+            """.formatted(TODAY, TODAY, TODAY);
+
+    private record Reply(HttpStatus status, String body) {
+    }
+
+    private static UpstreamClient upstream(Function<String, Reply> replies) {
+        WebClient webClient = WebClient.builder()
+                .baseUrl("http://upstream")
+                .exchangeFunction(request -> {
+                    Reply reply = replies.apply(request.url().getPath() + "?" + request.url().getQuery());
+                    return Mono.just(ClientResponse.create(reply.status())
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .body(reply.body())
+                            .build());
+                })
+                .build();
+        return new UpstreamClient("test", webClient, CircuitBreaker.ofDefaults("test"), 0, Duration.ofMillis(1));
+    }
+
+    private static ReportsService service(Function<String, Reply> budgets) {
+        ReportsService service = new ReportsService(
+                upstream(path -> new Reply(HttpStatus.OK, TRANSACTIONS)), upstream(budgets));
+        ReflectionTestUtils.setField(service, "self", service);
+        return service;
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Category breakdown
+    // ─────────────────────────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("getCategoryBreakdown()")
+    class CategoryBreakdown {
+
+        @Test
+        @DisplayName("uses the upstream budget and falls back to the default when there is none")
+        void budgets() {
+            ReportsService service = service(path -> path.contains("category=Rent")
+                    ? new Reply(HttpStatus.OK, "{\"amount\": 1100}")
+                    : new Reply(HttpStatus.NOT_FOUND, "{}"));
+
+            List<Map<String, Object>> breakdown = service.getCategoryBreakdown(USER_ID, TODAY.minusDays(30), TODAY)
+                    .block();
+
+            assertThat(breakdown).extracting(c -> c.get("name")).containsExactly("Rent", "Food");
+            assertThat(breakdown).extracting(c -> c.get("budget"))
+                    .containsExactly(new BigDecimal("1100"), BigDecimal.valueOf(1000));
+        }
+
+        @Test
+        @DisplayName("fails instead of guessing budgets when the budgets-service errors")
+        void upstreamFailure() {
+            ReportsService service = service(path -> new Reply(HttpStatus.SERVICE_UNAVAILABLE, "{}"));
+
+            assertThatThrownBy(() -> service.getCategoryBreakdown(USER_ID, TODAY.minusDays(30), TODAY).block())
+                    .isInstanceOf(WebClientResponseException.ServiceUnavailable.class);
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Composite report
+    // ─────────────────────────────────────────────────────────────────────────
+
+    @Nested
+    @DisplayName("getFinancialReports()")
+    class FinancialReports {
+
+        @Test
+        @DisplayName("serves the other sections and lists the failed ones as degraded")
+        void degradedSections() {
+            ReportsService service = service(path -> new Reply(HttpStatus.SERVICE_UNAVAILABLE, "{}"));
+
+            Map<String, Object> report = service.getFinancialReports(USER_ID, "last-30-days").block();
+
+            assertThat(report.get("degraded")).asList()
+                    .containsExactlyInAnyOrder("categoryBreakdown", "savingsGoals", "insights");
+            assertThat(report.get("categoryBreakdown")).asList().isEmpty();
+            assertThat(((Map<?, ?>) report.get("summary")).get("totalExpenses")).isEqualTo(new BigDecimal("1280"));
+            assertThat(report.get("topExpenses")).asList().hasSize(2);
+        }
+
+        @Test
+        @DisplayName("has no degraded key when every section loads")
+        void complete() {
+            ReportsService service = service(path -> path.startsWith("/api/goals")
+                    ? new Reply(HttpStatus.OK, "[]")
+                    : new Reply(HttpStatus.OK, "{\"amount\": 2000}"));
+
+            Map<String, Object> report = service.getFinancialReports(USER_ID, "last-30-days").block();
+
+            assertThat(report).doesNotContainKey("degraded");
+            assertThat(report.get("insights")).asList().isNotEmpty();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.fintrack.transactions.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Tells the reports-service that a user's ledger changed so it drops that user's cached
+ * report sections. Best effort: the call is made off the request thread once the surrounding
+ * transaction commits, and a failure only means reports stay stale until their cache TTL.
+ */
+@Slf4j
+@Component
+public class ReportsCacheClient {
+
+    @Value("${services.reports.url:http://localhost:8084}")
+    private String reportsServiceUrl;
+
+    @Value("${services.reports.cache-invalidation.enabled:true}")
+    private boolean enabled;
+
+    private final RestTemplate restTemplate;
+
+    public ReportsCacheClient() {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(500);
+        requestFactory.setReadTimeout(1000);
+        this.restTemplate = new RestTemplate(requestFactory);
+    }
+
+    public void userChanged(String userId) {
+        if (!enabled || userId == null) return;
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(userId);
+                }
+            });
+        } else {
+            invalidate(userId);
+        }
+    }
+
+    private void invalidate(String userId) {
+        CompletableFuture.runAsync(() -> {
+            try {
+                restTemplate.postForLocation(reportsServiceUrl + "/api/reports/cache/invalidate?userId={userId}",
+                        null, userId);
+            } catch (Exception e) {
+                log.debug("Reports cache invalidation failed for user {}: {}", userId, e.getMessage());
+            }
+        });
+    }
+}
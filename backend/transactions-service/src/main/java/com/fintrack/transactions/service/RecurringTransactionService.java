@@ -1,5 +1,6 @@
 package com.fintrack.transactions.service;
 
+import com.fintrack.transactions.client.ReportsCacheClient;
 import com.fintrack.transactions.dto.CreateRecurringTransactionRequest;
 import com.fintrack.transactions.dto.RecurringTransactionResponse;
 import com.fintrack.transactions.entity.RecurringTransaction;
@@ -25,6 +26,7 @@ public class RecurringTransactionService {
 
     private final RecurringTransactionRepository recurringTransactionRepository;
     private final TransactionRepository transactionRepository;
+    private final ReportsCacheClient reportsCacheClient;
 
     @Transactional
     public RecurringTransactionResponse createRecurringTransaction(
@@ -131,6 +133,7 @@ public class RecurringTransactionService {
 
         transactionRepository.save(transaction);
         log.info("Created transaction from recurring ID: {}", recurring.getId());
+        reportsCacheClient.userChanged(recurring.getUserId());
     }
 
     private void updateNextOccurrence(RecurringTransaction recurring) {
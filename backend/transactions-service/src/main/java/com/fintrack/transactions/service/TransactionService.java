@@ -1,6 +1,7 @@
 package com.fintrack.transactions.service;
 
 import com.fintrack.transactions.client.MLClassifierClient;
+import com.fintrack.transactions.client.ReportsCacheClient;
 import com.fintrack.transactions.dto.*;
 import com.fintrack.transactions.entity.Transaction;
 import com.fintrack.transactions.repository.TransactionRepository;
@@ -26,6 +27,7 @@ public class TransactionService {
 
     private final TransactionRepository transactionRepository;
     private final MLClassifierClient mlClassifierClient;
+    private final ReportsCacheClient reportsCacheClient;
 
     @Transactional
     public TransactionResponse createTransaction(CreateTransactionRequest request, String userId) {
@@ -56,6 +58,7 @@ public class TransactionService {
 
         Transaction saved = transactionRepository.save(transaction);
         log.info("Transaction created with ID: {}", saved.getId());
+        reportsCacheClient.userChanged(userId);
 
         return mapToResponse(saved);
     }
@@ -88,6 +91,7 @@ public class TransactionService {
 
         Transaction saved = transactionRepository.save(transaction);
         log.info("Transaction created with ID: {}", saved.getId());
+        reportsCacheClient.userChanged(userId);
 
         return mapToResponse(saved);
     }
@@ -130,6 +134,7 @@ public class TransactionService {
 
         Transaction updated = transactionRepository.save(transaction);
         log.info("Transaction updated: {}", updated.getId());
+        reportsCacheClient.userChanged(userId);
 
         return mapToResponse(updated);
     }
@@ -141,6 +146,7 @@ public class TransactionService {
                 .orElseThrow(() -> new RuntimeException("Transaction not found"));
         transactionRepository.delete(transaction);
         log.info("Transaction deleted: {}", id);
+        reportsCacheClient.userChanged(userId);
     }
 
     public Map<String, Object> getTransactionSummary(String userId, LocalDate startDate, LocalDate endDate) {